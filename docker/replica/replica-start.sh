@@ -0,0 +1,14 @@
+#!/bin/sh
+# Clones the primary on first start, then runs as a hot standby.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup -h postgres -U replicator -D "$PGDATA" -R -X stream; do
+    echo "waiting for primary..."
+    rm -rf "${PGDATA:?}"/*
+    sleep 2
+  done
+  chmod 0700 "$PGDATA"
+fi
+
+exec postgres
@@ -0,0 +1,87 @@
+package com.shipping.freightops.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link Money} against the {@code BigDecimal} arithmetic it replaced, for a booking's final price
+ * and a voyage's owner split. Run with {@code ./mvnw -Pbenchmarks test-compile exec:exec}; add
+ * {@code -Djmh.args="-prof gc"} for allocation rates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+  private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+  private BigDecimal basePrice;
+  private BigDecimal discountPercent;
+  private BigDecimal revenue;
+  private BigDecimal costs;
+  private BigDecimal[] shares;
+
+  @Setup
+  public void setUp() {
+    basePrice = new BigDecimal("2450.00");
+    discountPercent = new BigDecimal("12.50");
+    revenue = new BigDecimal("1843250.00");
+    costs = new BigDecimal("1211876.45");
+    shares =
+        new BigDecimal[] {
+          new BigDecimal("40.00"),
+          new BigDecimal("33.33"),
+          new BigDecimal("16.67"),
+          new BigDecimal("10.00")
+        };
+  }
+
+  @Benchmark
+  public BigDecimal finalPrice_bigDecimal() {
+    BigDecimal discount = discountPercent.divide(HUNDRED, 4, RoundingMode.HALF_UP);
+    return basePrice.multiply(BigDecimal.ONE.subtract(discount)).setScale(2, RoundingMode.HALF_UP);
+  }
+
+  @Benchmark
+  public BigDecimal finalPrice_money() {
+    return Money.of(basePrice).discounted(Money.basisPoints(discountPercent)).toBigDecimal();
+  }
+
+  @Benchmark
+  public void ownerSplit_bigDecimal(Blackhole blackhole) {
+    BigDecimal netProfit = revenue.subtract(costs);
+    for (BigDecimal share : shares) {
+      blackhole.consume(revenue.multiply(share).divide(HUNDRED, 2, RoundingMode.HALF_UP));
+      blackhole.consume(costs.multiply(share).divide(HUNDRED, 2, RoundingMode.HALF_UP));
+      blackhole.consume(netProfit.multiply(share).divide(HUNDRED, 2, RoundingMode.HALF_UP));
+    }
+  }
+
+  @Benchmark
+  public void ownerSplit_money(Blackhole blackhole) {
+    Money totalRevenue = Money.of(revenue);
+    Money totalCosts = Money.of(costs);
+    Money netProfit = totalRevenue.minus(totalCosts);
+    for (BigDecimal share : shares) {
+      long basisPoints = Money.basisPoints(share);
+      blackhole.consume(totalRevenue.percent(basisPoints).toBigDecimal());
+      blackhole.consume(totalCosts.percent(basisPoints).toBigDecimal());
+      blackhole.consume(netProfit.percent(basisPoints).toBigDecimal());
+    }
+  }
+}
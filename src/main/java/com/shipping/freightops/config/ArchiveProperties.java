@@ -0,0 +1,52 @@
+package com.shipping.freightops.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Archiving of orders that belong to long-completed voyages. */
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+  /** Whether the nightly archive run is active. Default: true */
+  private boolean enabled = true;
+
+  /** Days a voyage must have been COMPLETED before its orders are archived. Default: 90 */
+  private int completedForDays = 90;
+
+  /** Orders moved per transaction. Default: 500 */
+  private int chunkSize = 500;
+
+  /** When the archive job runs. Default: 0 45 3 * * * */
+  private String cron = "0 45 3 * * *";
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getCompletedForDays() {
+    return completedForDays;
+  }
+
+  public void setCompletedForDays(int completedForDays) {
+    this.completedForDays = completedForDays;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+
+  public String getCron() {
+    return cron;
+  }
+
+  public void setCron(String cron) {
+    this.cron = cron;
+  }
+}
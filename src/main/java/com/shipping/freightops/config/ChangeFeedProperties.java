@@ -0,0 +1,45 @@
+package com.shipping.freightops.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** The {@code /api/v1/changes} feed for integration partners. */
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+
+  /** Largest page a client may request. Default: 1000 */
+  private int maxLimit = 1000;
+
+  /**
+   * How long entries are kept; a client whose token is older misses the purged changes. Default:
+   * 30d
+   */
+  private Duration retention = Duration.ofDays(30);
+
+  /** When entries older than the retention are purged. Default: 0 20 3 * * * */
+  private String purgeCron = "0 20 3 * * *";
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public void setMaxLimit(int maxLimit) {
+    this.maxLimit = maxLimit;
+  }
+
+  public Duration getRetention() {
+    return retention;
+  }
+
+  public void setRetention(Duration retention) {
+    this.retention = retention;
+  }
+
+  public String getPurgeCron() {
+    return purgeCron;
+  }
+
+  public void setPurgeCron(String purgeCron) {
+    this.purgeCron = purgeCron;
+  }
+}
@@ -0,0 +1,19 @@
+package com.shipping.freightops.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Agent commission statements behind {@code /api/v1/commissions}. */
+@ConfigurationProperties(prefix = "app.commissions")
+public class CommissionProperties {
+
+  /** When the nightly job recomputes stale statements. Default: 0 55 3 * * * */
+  private String cron = "0 55 3 * * *";
+
+  public String getCron() {
+    return cron;
+  }
+
+  public void setCron(String cron) {
+    this.cron = cron;
+  }
+}
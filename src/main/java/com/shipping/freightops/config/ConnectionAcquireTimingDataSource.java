@@ -0,0 +1,63 @@
+package com.shipping.freightops.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times {@link #getConnection()} on a pool and tags the wait with the repository method that
+ * triggered it ({@code repository=none} when the connection was taken outside a repository call,
+ * for example when a service transaction begins).
+ */
+class ConnectionAcquireTimingDataSource extends DelegatingDataSource {
+
+  static final String ACQUIRE_METRIC = "freightops.connection.acquire";
+
+  private final String pool;
+  private final Supplier<MeterRegistry> registry;
+
+  ConnectionAcquireTimingDataSource(
+      DataSource target, String pool, Supplier<MeterRegistry> registry) {
+    super(target);
+    this.pool = pool;
+    this.registry = registry;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    long start = System.nanoTime();
+    try {
+      return super.getConnection();
+    } finally {
+      record(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    long start = System.nanoTime();
+    try {
+      return super.getConnection(username, password);
+    } finally {
+      record(System.nanoTime() - start);
+    }
+  }
+
+  private void record(long nanos) {
+    RepositoryMetricsInterceptor.RepositoryCall call =
+        RepositoryMetricsInterceptor.current()
+            .orElse(new RepositoryMetricsInterceptor.RepositoryCall("none", "none"));
+    Timer.builder(ACQUIRE_METRIC)
+        .description("Time spent waiting for a pooled JDBC connection")
+        .tag("pool", pool)
+        .tag("repository", call.repository())
+        .tag("method", call.method())
+        .register(registry.get())
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+}
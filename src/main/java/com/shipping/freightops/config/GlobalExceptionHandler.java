@@ -5,9 +5,11 @@ import com.shipping.freightops.exception.PdfGenerationException;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -63,6 +65,13 @@ public class GlobalExceptionHandler {
     return buildError(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
   }
 
+  /** A transaction ran out of its time budget; the request may succeed when retried. */
+  @ExceptionHandler({QueryTimeoutException.class, TransactionTimedOutException.class})
+  public ResponseEntity<Map<String, Object>> handleTimeout(RuntimeException ex) {
+    return buildError(
+        HttpStatus.SERVICE_UNAVAILABLE, "The request took too long to process; try again later");
+  }
+
   @ExceptionHandler(PdfGenerationException.class)
   public ResponseEntity<Map<String, Object>> handlePdfError(PdfGenerationException ex) {
     return buildError(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
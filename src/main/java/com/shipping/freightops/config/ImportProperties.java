@@ -0,0 +1,19 @@
+package com.shipping.freightops.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Bulk CSV import of containers, customers and ports. */
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+
+  /** Rows validated, deduplicated and inserted per transaction. Default: 1000 */
+  private int chunkSize = 1000;
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+}
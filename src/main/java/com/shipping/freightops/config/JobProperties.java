@@ -0,0 +1,36 @@
+package com.shipping.freightops.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The runner of cluster-wide background jobs, see {@link com.shipping.freightops.job.JobRunner}.
+ */
+@ConfigurationProperties(prefix = "app.jobs")
+public class JobProperties {
+
+  /**
+   * Jobs running at once on one instance. Each running job holds one pooled connection for its lock
+   * and another while a chunk runs. Default: 3
+   */
+  private int maxConcurrency = 3;
+
+  /** How long finished runs are kept in {@code job_run}. Default: 90d */
+  private Duration historyRetention = Duration.ofDays(90);
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public void setMaxConcurrency(int maxConcurrency) {
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  public Duration getHistoryRetention() {
+    return historyRetention;
+  }
+
+  public void setHistoryRetention(Duration historyRetention) {
+    this.historyRetention = historyRetention;
+  }
+}
@@ -0,0 +1,105 @@
+package com.shipping.freightops.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Delivery of outbox events to in-process handlers. */
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+  /** Whether the relay polls the outbox. Default: true */
+  private boolean enabled = true;
+
+  /** Events claimed per relay transaction. Default: 100 */
+  private int batchSize = 100;
+
+  /**
+   * Delay before the first retry of a failed event; doubled on every further failure. Default: 5s
+   */
+  private Duration retryDelay = Duration.ofSeconds(5);
+
+  /** Upper bound of the retry delay. Default: 1h */
+  private Duration maxRetryDelay = Duration.ofHours(1);
+
+  /**
+   * Failed deliveries after which an event is parked as FAILED: it is no longer retried, and later
+   * events of its aggregate are delivered without it. Default: 15
+   */
+  private int maxAttempts = 15;
+
+  /**
+   * Transaction timeout of one event's handlers, in whole seconds. The batch transaction that holds
+   * the claimed events is given this much per event. Default: 10s
+   */
+  private Duration eventTimeout = Duration.ofSeconds(10);
+
+  /** How long delivered events are kept before the nightly purge. Default: 7d */
+  private Duration retention = Duration.ofDays(7);
+
+  /** When delivered events older than the retention are purged. Default: 0 30 3 * * * */
+  private String purgeCron = "0 30 3 * * *";
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public Duration getRetryDelay() {
+    return retryDelay;
+  }
+
+  public void setRetryDelay(Duration retryDelay) {
+    this.retryDelay = retryDelay;
+  }
+
+  public Duration getMaxRetryDelay() {
+    return maxRetryDelay;
+  }
+
+  public void setMaxRetryDelay(Duration maxRetryDelay) {
+    this.maxRetryDelay = maxRetryDelay;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public Duration getEventTimeout() {
+    return eventTimeout;
+  }
+
+  public void setEventTimeout(Duration eventTimeout) {
+    this.eventTimeout = eventTimeout;
+  }
+
+  public Duration getRetention() {
+    return retention;
+  }
+
+  public void setRetention(Duration retention) {
+    this.retention = retention;
+  }
+
+  public String getPurgeCron() {
+    return purgeCron;
+  }
+
+  public void setPurgeCron(String purgeCron) {
+    this.purgeCron = purgeCron;
+  }
+}
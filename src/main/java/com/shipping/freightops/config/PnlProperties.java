@@ -0,0 +1,33 @@
+package com.shipping.freightops.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Running voyage P&L behind {@code /api/v1/voyages/{voyageId}/pnl}. */
+@ConfigurationProperties(prefix = "app.pnl")
+public class PnlProperties {
+
+  /**
+   * When the nightly job reconciles open voyages against their orders and costs. Default: 0 50 3 *
+   * * *
+   */
+  private String cron = "0 50 3 * * *";
+
+  /** Voyages reconciled per chunk of the nightly job, each in its own transaction. Default: 100 */
+  private int chunkSize = 100;
+
+  public String getCron() {
+    return cron;
+  }
+
+  public void setCron(String cron) {
+    this.cron = cron;
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  public void setChunkSize(int chunkSize) {
+    this.chunkSize = chunkSize;
+  }
+}
@@ -0,0 +1,68 @@
+package com.shipping.freightops.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Replaces the auto-configured pool with a primary/replica pair when {@code
+ * app.datasource.replica.enabled=true}. JPA, JdbcTemplate and the transaction manager all see the
+ * routing proxy, so services only need {@code @Transactional(readOnly = true)} to read from the
+ * replica.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource pool =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    pool.setPoolName("primary");
+    return pool;
+  }
+
+  @Bean
+  @ConfigurationProperties("app.datasource.replica.hikari")
+  public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+    DataSourceBuilder<HikariDataSource> builder =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(properties.getUrl())
+            .username(properties.getUsername())
+            .password(properties.getPassword());
+    if (StringUtils.hasText(properties.getDriverClassName())) {
+      builder.driverClassName(properties.getDriverClassName());
+    }
+    HikariDataSource pool = builder.build();
+    pool.setPoolName("replica");
+    pool.setReadOnly(true);
+    return pool;
+  }
+
+  @Bean
+  public ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("replicaDataSource") DataSource replica, ReplicaDataSourceProperties properties) {
+    return new ReplicaLagMonitor(replica, properties);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primary,
+      @Qualifier("replicaDataSource") DataSource replica,
+      ReplicaLagMonitor lagMonitor) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+  }
+}
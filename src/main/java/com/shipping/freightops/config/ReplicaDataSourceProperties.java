@@ -0,0 +1,103 @@
+package com.shipping.freightops.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection settings for the optional read replica. When {@code enabled} is false (the default)
+ * the application runs against the single {@code spring.datasource} pool.
+ */
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+  /** Whether read-only transactions are routed to the replica. Default: false */
+  private boolean enabled = false;
+
+  private String url;
+
+  private String username;
+
+  private String password;
+
+  /** Optional; derived from the JDBC url when blank. */
+  private String driverClassName;
+
+  /** Replica is skipped while its replay lag exceeds this value. Default: 10s */
+  private Duration maxLag = Duration.ofSeconds(10);
+
+  /** How long a lag measurement is trusted before it is taken again. Default: 5s */
+  private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+  /**
+   * Query returning the replica lag in seconds. A {@code NULL} result means the server is not
+   * replaying WAL (for instance a promoted replica) and is treated as zero lag. A replica that has
+   * replayed everything it received is not behind, however long ago the primary last committed.
+   */
+  private String lagQuery =
+      "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+          + " ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public void setUrl(String url) {
+    this.url = url;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public String getPassword() {
+    return password;
+  }
+
+  public void setPassword(String password) {
+    this.password = password;
+  }
+
+  public String getDriverClassName() {
+    return driverClassName;
+  }
+
+  public void setDriverClassName(String driverClassName) {
+    this.driverClassName = driverClassName;
+  }
+
+  public Duration getMaxLag() {
+    return maxLag;
+  }
+
+  public void setMaxLag(Duration maxLag) {
+    this.maxLag = maxLag;
+  }
+
+  public Duration getLagCheckInterval() {
+    return lagCheckInterval;
+  }
+
+  public void setLagCheckInterval(Duration lagCheckInterval) {
+    this.lagCheckInterval = lagCheckInterval;
+  }
+
+  public String getLagQuery() {
+    return lagQuery;
+  }
+
+  public void setLagQuery(String lagQuery) {
+    this.lagQuery = lagQuery;
+  }
+}
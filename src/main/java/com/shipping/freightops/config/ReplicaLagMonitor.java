@@ -0,0 +1,91 @@
+package com.shipping.freightops.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks whether the read replica is healthy and close enough to the primary to serve reads.
+ *
+ * <p>The lag is measured on demand and cached for {@code lagCheckInterval}; only one caller
+ * refreshes at a time while the others keep using the last verdict, so routing never blocks on a
+ * slow replica. A failed measurement or a lag above {@code maxLag} marks the replica unusable until
+ * the next successful check.
+ */
+public class ReplicaLagMonitor {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+  private final DataSource replica;
+  private final String lagQuery;
+  private final Duration maxLag;
+  private final Duration checkInterval;
+  private final Clock clock;
+
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private volatile boolean usable = false;
+  private volatile Instant checkedAt = Instant.MIN;
+
+  public ReplicaLagMonitor(DataSource replica, ReplicaDataSourceProperties properties) {
+    this(
+        replica,
+        properties.getLagQuery(),
+        properties.getMaxLag(),
+        properties.getLagCheckInterval(),
+        Clock.systemUTC());
+  }
+
+  ReplicaLagMonitor(
+      DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval, Clock clock) {
+    this.replica = replica;
+    this.lagQuery = lagQuery;
+    this.maxLag = maxLag;
+    this.checkInterval = checkInterval;
+    this.clock = clock;
+  }
+
+  /** Returns the current verdict, refreshing it first when the cached one has expired. */
+  public boolean isReplicaUsable() {
+    Instant now = clock.instant();
+    boolean expired = !now.isBefore(checkedAt.plus(checkInterval));
+    if (expired && refreshing.compareAndSet(false, true)) {
+      try {
+        usable = measure();
+        checkedAt = now;
+      } finally {
+        refreshing.set(false);
+      }
+    }
+    return usable;
+  }
+
+  /** Forces the replica out of rotation until the next scheduled check. */
+  public void markUnusable() {
+    usable = false;
+    checkedAt = clock.instant();
+  }
+
+  private boolean measure() {
+    try (Connection con = replica.getConnection();
+        Statement st = con.createStatement();
+        ResultSet rs = st.executeQuery(lagQuery)) {
+      double lagSeconds = rs.next() ? rs.getDouble(1) : 0;
+      if (lagSeconds * 1000 > maxLag.toMillis()) {
+        log.warn("Replica lag {}s exceeds {}, routing reads to primary", lagSeconds, maxLag);
+        return false;
+      }
+      return true;
+    } catch (SQLException ex) {
+      log.warn("Replica lag check failed, routing reads to primary: {}", ex.getMessage());
+      return false;
+    }
+  }
+}
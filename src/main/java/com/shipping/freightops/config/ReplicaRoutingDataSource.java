@@ -0,0 +1,63 @@
+package com.shipping.freightops.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections requested inside a {@code @Transactional(readOnly = true)} transaction to the
+ * replica pool and everything else to the primary.
+ *
+ * <p>The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that defers the
+ * physical connection until the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  public enum Route {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final DataSource primary;
+  private final ReplicaLagMonitor lagMonitor;
+
+  public ReplicaRoutingDataSource(
+      DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+    this.primary = primary;
+    this.lagMonitor = lagMonitor;
+    setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && lagMonitor.isReplicaUsable()) {
+      return Route.REPLICA;
+    }
+    return Route.PRIMARY;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (determineCurrentLookupKey() != Route.REPLICA) {
+      return primary.getConnection();
+    }
+    try {
+      return super.getConnection();
+    } catch (SQLException ex) {
+      log.warn("Replica connection failed, falling back to primary: {}", ex.getMessage());
+      lagMonitor.markUnusable();
+      return primary.getConnection();
+    }
+  }
+}
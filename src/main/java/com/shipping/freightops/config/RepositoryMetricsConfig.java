@@ -0,0 +1,62 @@
+package com.shipping.freightops.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Instruments every Spring Data repository with {@link RepositoryMetricsInterceptor} and every
+ * Hikari pool with {@link ConnectionAcquireTimingDataSource}.
+ *
+ * <p>Both post-processors are static and resolve the {@link MeterRegistry} on first use, so they do
+ * not pull the registry (and everything it depends on) into early bean creation.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+  @Bean
+  static BeanPostProcessor repositoryMetricsPostProcessor(
+      ObjectProvider<MeterRegistry> registry, ObjectProvider<RepositoryMetricsProperties> props) {
+    Supplier<MeterRegistry> meterRegistry = SingletonSupplier.of(registry::getObject);
+    Supplier<RepositoryMetricsProperties> properties = SingletonSupplier.of(props::getObject);
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+          factoryBean.addRepositoryFactoryCustomizer(
+              factory ->
+                  factory.addRepositoryProxyPostProcessor(
+                      (proxyFactory, repositoryInformation) ->
+                          proxyFactory.addAdvice(
+                              new RepositoryMetricsInterceptor(
+                                  repositoryInformation.getRepositoryInterface(),
+                                  meterRegistry,
+                                  properties))));
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  static BeanPostProcessor connectionAcquireTimingPostProcessor(
+      ObjectProvider<MeterRegistry> registry) {
+    Supplier<MeterRegistry> meterRegistry = SingletonSupplier.of(registry::getObject);
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource pool) {
+          String name = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+          return new ConnectionAcquireTimingDataSource(pool, name, meterRegistry);
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,124 @@
+package com.shipping.freightops.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Collectors;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Wraps every call on one Spring Data repository. Records how many rows the call returned ({@code
+ * freightops.repository.rows}), exposes the call to {@link ConnectionAcquireTimingDataSource} so
+ * connection waits can be attributed to it, and logs a sample of slow calls with their arguments.
+ *
+ * <p>Latency itself is the {@code spring.data.repository.invocations} timer Spring Boot already
+ * records for every repository method.
+ */
+class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+  static final String ROWS_METRIC = "freightops.repository.rows";
+
+  private static final Logger slowLog =
+      LoggerFactory.getLogger("com.shipping.freightops.SLOW_QUERY");
+
+  /** The repository method currently running on this thread, if any. */
+  record RepositoryCall(String repository, String method) {}
+
+  private static final ThreadLocal<RepositoryCall> CURRENT = new ThreadLocal<>();
+
+  private final String repository;
+  private final Supplier<MeterRegistry> registry;
+  private final Supplier<RepositoryMetricsProperties> properties;
+
+  RepositoryMetricsInterceptor(
+      Class<?> repositoryInterface,
+      Supplier<MeterRegistry> registry,
+      Supplier<RepositoryMetricsProperties> properties) {
+    this.repository = repositoryInterface.getSimpleName();
+    this.registry = registry;
+    this.properties = properties;
+  }
+
+  static Optional<RepositoryCall> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    RepositoryCall call = new RepositoryCall(repository, invocation.getMethod().getName());
+    RepositoryCall outer = CURRENT.get();
+    CURRENT.set(call);
+    long start = System.nanoTime();
+    try {
+      Object result = invocation.proceed();
+      rowCount(result)
+          .ifPresent(
+              rows ->
+                  DistributionSummary.builder(ROWS_METRIC)
+                      .description("Rows returned by a repository method")
+                      .tag("repository", call.repository())
+                      .tag("method", call.method())
+                      .register(registry.get())
+                      .record(rows));
+      return result;
+    } finally {
+      long elapsedNanos = System.nanoTime() - start;
+      if (outer == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(outer);
+      }
+      if (elapsedNanos >= properties.get().getSlowThreshold().toNanos() && sampled()) {
+        slowLog.warn(
+            "Slow repository call {}.{} took {} ms, args={}",
+            call.repository(),
+            call.method(),
+            elapsedNanos / 1_000_000,
+            describe(invocation.getArguments()));
+      }
+    }
+  }
+
+  private boolean sampled() {
+    double rate = properties.get().getSlowLogSampleRate();
+    return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  /** Rows in a query result; empty for results that are not rows, such as counts or flags. */
+  static Optional<Integer> rowCount(Object result) {
+    if (result == null) return Optional.of(0);
+    if (result instanceof Collection<?> collection) return Optional.of(collection.size());
+    if (result instanceof Slice<?> slice) return Optional.of(slice.getNumberOfElements());
+    if (result instanceof Optional<?> optional) return Optional.of(optional.isPresent() ? 1 : 0);
+    if (result instanceof Map<?, ?> map) return Optional.of(map.size());
+    if (result.getClass().isArray()) return Optional.of(Array.getLength(result));
+    if (result instanceof Number
+        || result instanceof Boolean
+        || result instanceof CharSequence
+        || result instanceof BaseStream<?, ?>) {
+      return Optional.empty();
+    }
+    return Optional.of(1);
+  }
+
+  private String describe(Object[] arguments) {
+    return Arrays.stream(arguments).map(this::describe).collect(Collectors.joining(", ", "[", "]"));
+  }
+
+  private String describe(Object argument) {
+    String text = String.valueOf(argument);
+    int max = properties.get().getMaxArgumentLength();
+    return text.length() <= max ? text : text.substring(0, max) + "...";
+  }
+}
@@ -0,0 +1,42 @@
+package com.shipping.freightops.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Per-repository query metrics and the slow repository call log. */
+@ConfigurationProperties(prefix = "app.metrics.repository")
+public class RepositoryMetricsProperties {
+
+  /** Repository calls at least this slow are candidates for the slow-query log. Default: 500ms */
+  private Duration slowThreshold = Duration.ofMillis(500);
+
+  /** Fraction of slow calls that are actually logged, from 0.0 to 1.0. Default: 1.0 */
+  private double slowLogSampleRate = 1.0;
+
+  /** Longest rendering of a single argument in the slow-query log. Default: 200 */
+  private int maxArgumentLength = 200;
+
+  public Duration getSlowThreshold() {
+    return slowThreshold;
+  }
+
+  public void setSlowThreshold(Duration slowThreshold) {
+    this.slowThreshold = slowThreshold;
+  }
+
+  public double getSlowLogSampleRate() {
+    return slowLogSampleRate;
+  }
+
+  public void setSlowLogSampleRate(double slowLogSampleRate) {
+    this.slowLogSampleRate = slowLogSampleRate;
+  }
+
+  public int getMaxArgumentLength() {
+    return maxArgumentLength;
+  }
+
+  public void setMaxArgumentLength(int maxArgumentLength) {
+    this.maxArgumentLength = maxArgumentLength;
+  }
+}
@@ -0,0 +1,55 @@
+package com.shipping.freightops.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Daily booking rollups behind the {@code /api/v1/dashboards} endpoints. */
+@ConfigurationProperties(prefix = "app.rollups")
+public class RollupProperties {
+
+  /** Longest date range, in days, a dashboard query may span. Default: 366 */
+  private int maxRangeDays = 366;
+
+  /** Most keys a ranking may return. Default: 100 */
+  private int maxLimit = 100;
+
+  /**
+   * Days before today rebuilt from the orders by the nightly job, which repairs any drift of the
+   * incremental updates; 0 only purges the applied-event ledger. Default: 2
+   */
+  private int rebuildDays = 2;
+
+  /** When the nightly rollup job runs. Default: 0 40 3 * * * */
+  private String cron = "0 40 3 * * *";
+
+  public int getMaxRangeDays() {
+    return maxRangeDays;
+  }
+
+  public void setMaxRangeDays(int maxRangeDays) {
+    this.maxRangeDays = maxRangeDays;
+  }
+
+  public int getMaxLimit() {
+    return maxLimit;
+  }
+
+  public void setMaxLimit(int maxLimit) {
+    this.maxLimit = maxLimit;
+  }
+
+  public int getRebuildDays() {
+    return rebuildDays;
+  }
+
+  public void setRebuildDays(int rebuildDays) {
+    this.rebuildDays = rebuildDays;
+  }
+
+  public String getCron() {
+    return cron;
+  }
+
+  public void setCron(String cron) {
+    this.cron = cron;
+  }
+}
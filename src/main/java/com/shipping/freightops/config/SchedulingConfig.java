@@ -0,0 +1,84 @@
+package com.shipping.freightops.config;
+
+import com.shipping.freightops.job.ClusterJob;
+import com.shipping.freightops.job.JobRunner;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.TriggerContext;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.scheduling.support.CronTrigger;
+
+/**
+ * Background maintenance jobs; switched off with {@code app.scheduling.enabled=false}. Every
+ * enabled {@link ClusterJob} is triggered on its cron and handed to the {@link JobRunner} with the
+ * fire time, so that each fire time runs once across the cluster. Jobs that {@link
+ * ClusterJob#runsAtStartup() run at startup} are also handed to it once the instance is ready.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(
+    prefix = "app.scheduling",
+    name = "enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class SchedulingConfig implements SchedulingConfigurer {
+
+  private final JobRunner jobRunner;
+
+  public SchedulingConfig(JobRunner jobRunner) {
+    this.jobRunner = jobRunner;
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    for (ClusterJob job : jobRunner.getJobs()) {
+      if (job.isEnabled()) {
+        FireTimeTrigger trigger = new FireTimeTrigger(job.cron());
+        registrar.addTriggerTask(
+            () -> jobRunner.submit(job.name(), trigger.currentFireTime()), trigger);
+      }
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void runStartupJobs() {
+    for (ClusterJob job : jobRunner.getJobs()) {
+      if (job.isEnabled() && job.runsAtStartup()) {
+        jobRunner.submit(job.name());
+      }
+    }
+  }
+
+  /**
+   * A cron trigger that remembers the fire time it computed last. The scheduler computes the next
+   * fire time only after the task has run, so while the task runs that is the task's own.
+   */
+  private static final class FireTimeTrigger implements Trigger {
+
+    private final CronTrigger cron;
+    private volatile Instant fireTime;
+
+    FireTimeTrigger(String expression) {
+      this.cron = new CronTrigger(expression);
+    }
+
+    @Override
+    public Instant nextExecution(TriggerContext triggerContext) {
+      Instant next = cron.nextExecution(triggerContext);
+      fireTime = next;
+      return next;
+    }
+
+    LocalDateTime currentFireTime() {
+      return LocalDateTime.ofInstant(fireTime, ZoneId.systemDefault());
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.shipping.freightops.config;
+
+import com.shipping.freightops.enums.PartitionRetentionAction;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Monthly partition maintenance for {@code tracking_event}. Only applies on PostgreSQL. */
+@ConfigurationProperties(prefix = "app.tracking.partitions")
+public class TrackingPartitionProperties {
+
+  /** Months after the current one for which partitions are created in advance. Default: 3 */
+  private int monthsAhead = 3;
+
+  /** Full months of events kept attached; 0 keeps everything. Default: 24 */
+  private int retentionMonths = 24;
+
+  /** Applied to partitions older than the retention window. Default: DETACH */
+  private PartitionRetentionAction retentionAction = PartitionRetentionAction.DETACH;
+
+  /** When partitions are created and retention is applied. Default: 0 15 3 * * * */
+  private String cron = "0 15 3 * * *";
+
+  public int getMonthsAhead() {
+    return monthsAhead;
+  }
+
+  public void setMonthsAhead(int monthsAhead) {
+    this.monthsAhead = monthsAhead;
+  }
+
+  public int getRetentionMonths() {
+    return retentionMonths;
+  }
+
+  public void setRetentionMonths(int retentionMonths) {
+    this.retentionMonths = retentionMonths;
+  }
+
+  public PartitionRetentionAction getRetentionAction() {
+    return retentionAction;
+  }
+
+  public void setRetentionAction(PartitionRetentionAction retentionAction) {
+    this.retentionAction = retentionAction;
+  }
+
+  public String getCron() {
+    return cron;
+  }
+
+  public void setCron(String cron) {
+    this.cron = cron;
+  }
+}
@@ -0,0 +1,43 @@
+package com.shipping.freightops.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Applies {@link TransactionTimeoutInterceptor} to every method that has a transaction attribute,
+ * ordered outside the transaction advice so timeouts raised on commit are seen as well.
+ */
+@Configuration
+public class TransactionTimeoutConfig {
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor transactionTimeoutAdvisor(
+      TransactionAttributeSource attributeSource, ObjectProvider<MeterRegistry> registry) {
+    StaticMethodMatcherPointcut pointcut =
+        new StaticMethodMatcherPointcut() {
+          @Override
+          public boolean matches(Method method, Class<?> targetClass) {
+            return attributeSource.getTransactionAttribute(method, targetClass) != null;
+          }
+        };
+    DefaultPointcutAdvisor advisor =
+        new DefaultPointcutAdvisor(
+            pointcut,
+            new TransactionTimeoutInterceptor(
+                attributeSource, SingletonSupplier.of(registry::getObject)));
+    advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+    return advisor;
+  }
+}
@@ -0,0 +1,74 @@
+package com.shipping.freightops.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+/**
+ * Sits outside every {@code @Transactional} method. When the outermost transactional call fails
+ * because its time budget ran out, counts {@code freightops.transaction.timeouts} tagged with the
+ * transaction's label (see {@link TransactionTimeouts}) and rethrows the failure as a Spring {@link
+ * QueryTimeoutException}, so callers see one exception type whatever layer noticed the timeout.
+ */
+class TransactionTimeoutInterceptor implements MethodInterceptor {
+
+  static final String TIMEOUTS_METRIC = "freightops.transaction.timeouts";
+
+  /** Set while an intercepted call is running; nested calls share the outer transaction. */
+  private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+  private final TransactionAttributeSource attributeSource;
+  private final Supplier<MeterRegistry> registry;
+
+  TransactionTimeoutInterceptor(
+      TransactionAttributeSource attributeSource, Supplier<MeterRegistry> registry) {
+    this.attributeSource = attributeSource;
+    this.registry = registry;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    if (ACTIVE.get() != null) {
+      return invocation.proceed();
+    }
+    ACTIVE.set(Boolean.TRUE);
+    try {
+      return invocation.proceed();
+    } catch (RuntimeException ex) {
+      if (!TransactionTimeouts.isTimeout(ex)) {
+        throw ex;
+      }
+      String budget = budgetOf(invocation);
+      Counter.builder(TIMEOUTS_METRIC)
+          .description("Transactions that ran out of their time budget")
+          .tag("budget", budget)
+          .register(registry.get())
+          .increment();
+      if (ex instanceof QueryTimeoutException || ex instanceof TransactionTimedOutException) {
+        throw ex;
+      }
+      throw new QueryTimeoutException("Exceeded the '" + budget + "' transaction timeout", ex);
+    } finally {
+      ACTIVE.remove();
+    }
+  }
+
+  private String budgetOf(MethodInvocation invocation) {
+    Method method = invocation.getMethod();
+    Class<?> targetClass =
+        invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+    TransactionAttribute attribute = attributeSource.getTransactionAttribute(method, targetClass);
+    if (attribute == null || attribute.getLabels().isEmpty()) {
+      return TransactionTimeouts.DEFAULT;
+    }
+    return attribute.getLabels().iterator().next();
+  }
+}
@@ -0,0 +1,74 @@
+package com.shipping.freightops.config;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Timeout budgets per class of transaction. Services pick one with
+ * {@code @Transactional(timeoutString = TransactionTimeouts.REPORT_TIMEOUT, label =
+ * TransactionTimeouts.REPORT)}; the timeout bounds every statement run inside the transaction, and
+ * the label tags {@code freightops.transaction.timeouts} when it is exceeded. Transactions without
+ * a label use {@code spring.transaction.default-timeout}.
+ *
+ * <p>Values are seconds, configured under {@code app.transaction.timeout.*}.
+ */
+public final class TransactionTimeouts {
+
+  /** Order creation and other booking writes; short so bookings never queue behind reports. */
+  public static final String BOOKING = "booking";
+
+  public static final String BOOKING_TIMEOUT = "${app.transaction.timeout.booking:5}";
+
+  /** Interactive lookups and listings. */
+  public static final String READ = "read";
+
+  public static final String READ_TIMEOUT = "${app.transaction.timeout.read:10}";
+
+  /** Aggregating reports such as voyage financials and price suggestions. */
+  public static final String REPORT = "report";
+
+  public static final String REPORT_TIMEOUT = "${app.transaction.timeout.report:30}";
+
+  /** Streamed exports, which legitimately hold one transaction for the whole download. */
+  public static final String EXPORT = "export";
+
+  public static final String EXPORT_TIMEOUT = "${app.transaction.timeout.export:600}";
+
+  /** Budget name used for transactions that carry no label. */
+  public static final String DEFAULT = "default";
+
+  /** PostgreSQL {@code query_canceled}, raised for statement and query timeouts. */
+  private static final String QUERY_CANCELED = "57014";
+
+  private TransactionTimeouts() {}
+
+  /**
+   * Whether {@code ex} was caused by a transaction or statement running out of time, however the
+   * persistence provider or driver chose to wrap it.
+   */
+  public static boolean isTimeout(Throwable ex) {
+    for (Throwable t = ex; t != null; t = t.getCause()) {
+      if (t instanceof QueryTimeoutException
+          || t instanceof TransactionTimedOutException
+          || t instanceof jakarta.persistence.QueryTimeoutException
+          || t instanceof org.hibernate.QueryTimeoutException
+          || t instanceof SQLTimeoutException) {
+        return true;
+      }
+      if (t instanceof SQLException sql && QUERY_CANCELED.equals(sql.getSQLState())) {
+        return true;
+      }
+      if (t instanceof org.hibernate.TransactionException
+          && t.getMessage() != null
+          && t.getMessage().contains("timeout expired")) {
+        return true;
+      }
+      if (t.getCause() == t) {
+        break;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,23 @@
+package com.shipping.freightops.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** The fleet utilization dashboard behind {@code /api/v1/voyages/utilization}. */
+@ConfigurationProperties(prefix = "app.utilization")
+public class UtilizationProperties {
+
+  /**
+   * How long the fleet figures are served from memory. Bookings and voyage changes on this node
+   * drop them at once; this bounds how stale a change made on another node can be. Default: 5s
+   */
+  private Duration cacheTtl = Duration.ofSeconds(5);
+
+  public Duration getCacheTtl() {
+    return cacheTtl;
+  }
+
+  public void setCacheTtl(Duration cacheTtl) {
+    this.cacheTtl = cacheTtl;
+  }
+}
@@ -0,0 +1,46 @@
+package com.shipping.freightops.controller;
+
+import com.shipping.freightops.dto.ChangeFeedResponse;
+import com.shipping.freightops.enums.ChangeEntityType;
+import com.shipping.freightops.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.EnumSet;
+import java.util.Set;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Incremental change feed for integration partners. */
+@RestController
+@RequestMapping("/api/v1/changes")
+public class ChangeController {
+
+  private final ChangeFeedService changeFeedService;
+
+  public ChangeController(ChangeFeedService changeFeedService) {
+    this.changeFeedService = changeFeedService;
+  }
+
+  /**
+   * Changes to voyages, freight orders, voyage prices and tracking events after {@code since},
+   * ordered by change sequence. Omit {@code since} for a full history.
+   */
+  @Operation(summary = "List changes since a token")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Page of changes returned"),
+    @ApiResponse(responseCode = "400", description = "Invalid token or limit")
+  })
+  @GetMapping
+  public ResponseEntity<ChangeFeedResponse> list(
+      @RequestParam(required = false) String since,
+      @RequestParam(required = false) Set<ChangeEntityType> types,
+      @RequestParam(defaultValue = "100") int limit) {
+    Set<ChangeEntityType> filter =
+        types == null || types.isEmpty() ? Set.of() : EnumSet.copyOf(types);
+    return ResponseEntity.ok(changeFeedService.getChanges(since, filter, limit));
+  }
+}
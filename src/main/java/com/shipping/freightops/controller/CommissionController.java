@@ -0,0 +1,58 @@
+package com.shipping.freightops.controller;
+
+import com.shipping.freightops.dto.CommissionStatementResponse;
+import com.shipping.freightops.repository.projection.CommissionStatement;
+import com.shipping.freightops.service.CommissionStatementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.time.YearMonth;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Monthly agent commission statements; {@code period} is a month such as {@code 2025-03}. */
+@RestController
+@RequestMapping("/api/v1/commissions/statements")
+public class CommissionController {
+
+  private final CommissionStatementService statementService;
+
+  public CommissionController(CommissionStatementService statementService) {
+    this.statementService = statementService;
+  }
+
+  @Operation(summary = "Generate the commission statements of all agents for a month")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Statements generated"),
+    @ApiResponse(responseCode = "400", description = "The month has not ended yet")
+  })
+  @PostMapping
+  public ResponseEntity<List<CommissionStatementResponse>> generate(
+      @RequestParam YearMonth period) {
+    return ResponseEntity.ok(toResponses(statementService.generate(period)));
+  }
+
+  @Operation(summary = "List the commission statements of a month")
+  @ApiResponse(responseCode = "200", description = "Statements returned, by agent name")
+  @GetMapping
+  public ResponseEntity<List<CommissionStatementResponse>> list(@RequestParam YearMonth period) {
+    return ResponseEntity.ok(toResponses(statementService.getStatements(period)));
+  }
+
+  @Operation(summary = "Recompute the stale commission statements of a month")
+  @ApiResponse(responseCode = "200", description = "All statements of the month returned")
+  @PostMapping("/refresh")
+  public ResponseEntity<List<CommissionStatementResponse>> refresh(@RequestParam YearMonth period) {
+    return ResponseEntity.ok(toResponses(statementService.refresh(period)));
+  }
+
+  private static List<CommissionStatementResponse> toResponses(
+      List<CommissionStatement> statements) {
+    return statements.stream().map(CommissionStatementResponse::fromProjection).toList();
+  }
+}
@@ -1,16 +1,21 @@
 package com.shipping.freightops.controller;
 
+import com.shipping.freightops.dto.BulkImportResponse;
 import com.shipping.freightops.dto.ContainerLabelResponse;
 import com.shipping.freightops.dto.ContainerResponse;
 import com.shipping.freightops.dto.CreateContainerRequest;
 import com.shipping.freightops.entity.Container;
 import com.shipping.freightops.enums.ContainerSize;
 import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.repository.projection.ContainerSummary;
+import com.shipping.freightops.service.BulkImportService;
 import com.shipping.freightops.service.ContainerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import org.springframework.http.HttpHeaders;
@@ -23,9 +28,11 @@ import org.springframework.web.bind.annotation.*;
 public class ContainerController {
 
   private final ContainerService containerService;
+  private final BulkImportService importService;
 
-  public ContainerController(ContainerService containerService) {
+  public ContainerController(ContainerService containerService, BulkImportService importService) {
     this.containerService = containerService;
+    this.importService = importService;
   }
 
   /** Register a new container. */
@@ -44,6 +51,20 @@ public class ContainerController {
     return ResponseEntity.created(location).body(body);
   }
 
+  /**
+   * Bulk-import containers from a CSV body. Rows are streamed and inserted in batches; every row
+   * that is invalid or already exists is listed in the returned report.
+   */
+  @Operation(summary = "Bulk-import containers from CSV")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Import finished; see the row report"),
+    @ApiResponse(responseCode = "400", description = "Missing or malformed CSV header")
+  })
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ResponseEntity<BulkImportResponse> importCsv(InputStream csv) throws IOException {
+    return ResponseEntity.ok(importService.importContainers(csv));
+  }
+
   /** List all containers, optionally filtered by size and/or type. */
   @Operation(summary = "List all containers with optional size and type filters")
   @ApiResponses({@ApiResponse(responseCode = "200", description = "List of containers returned")})
@@ -51,8 +72,8 @@ public class ContainerController {
   public ResponseEntity<List<ContainerResponse>> list(
       @RequestParam(required = false) ContainerSize size,
       @RequestParam(required = false) ContainerType type) {
-    List<Container> containers = containerService.getAllContainers(size, type);
-    List<ContainerResponse> body = containers.stream().map(ContainerResponse::fromEntity).toList();
+    List<ContainerSummary> containers = containerService.getAllContainers(size, type);
+    List<ContainerResponse> body = containers.stream().map(ContainerResponse::fromSummary).toList();
     return ResponseEntity.ok(body);
   }
 
@@ -1,10 +1,14 @@
 package com.shipping.freightops.controller;
 
+import com.shipping.freightops.dto.BulkImportResponse;
 import com.shipping.freightops.dto.CreateCustomerRequest;
 import com.shipping.freightops.dto.CustomerResponse;
 import com.shipping.freightops.entity.Customer;
+import com.shipping.freightops.service.BulkImportService;
 import com.shipping.freightops.service.CustomerService;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
@@ -15,9 +19,11 @@ import org.springframework.web.bind.annotation.*;
 public class CustomerController {
 
   private final CustomerService service;
+  private final BulkImportService importService;
 
-  public CustomerController(CustomerService service) {
+  public CustomerController(CustomerService service, BulkImportService importService) {
     this.service = service;
+    this.importService = importService;
   }
 
   @PostMapping
@@ -29,6 +35,15 @@ public class CustomerController {
     return ResponseEntity.created(location).body(body);
   }
 
+  /**
+   * Bulk-import customers from a CSV body. Rows are streamed and inserted in batches; every row
+   * that is invalid or already exists is listed in the returned report.
+   */
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ResponseEntity<BulkImportResponse> importCsv(InputStream csv) throws IOException {
+    return ResponseEntity.ok(importService.importCustomers(csv));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<CustomerResponse> getById(@PathVariable Long id) {
     Customer customer = service.getCustomer(id);
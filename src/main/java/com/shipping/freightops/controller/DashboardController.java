@@ -0,0 +1,83 @@
+package com.shipping.freightops.controller;
+
+import com.shipping.freightops.dto.BookingTotalsResponse;
+import com.shipping.freightops.dto.DailyBookingsResponse;
+import com.shipping.freightops.enums.RollupDimension;
+import com.shipping.freightops.service.BookingRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Management dashboards. Every endpoint reads the daily booking rollups only, so response times do
+ * not grow with the number of orders.
+ */
+@RestController
+@RequestMapping("/api/v1/dashboards/bookings")
+public class DashboardController {
+
+  private final BookingRollupService rollupService;
+
+  public DashboardController(BookingRollupService rollupService) {
+    this.rollupService = rollupService;
+  }
+
+  /** Bookings, TEU and revenue per key of {@code dimension} over a date range, by revenue. */
+  @Operation(summary = "Rank routes, agents or customers by booked revenue")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Totals returned"),
+    @ApiResponse(responseCode = "400", description = "Invalid date range or limit")
+  })
+  @GetMapping
+  public ResponseEntity<List<BookingTotalsResponse>> totals(
+      @RequestParam RollupDimension dimension,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "20") int limit) {
+    return ResponseEntity.ok(
+        rollupService.getTotals(dimension, from, to, limit).stream()
+            .map(BookingTotalsResponse::fromProjection)
+            .toList());
+  }
+
+  /** Daily figures of all bookings, or of one route, agent or customer. */
+  @Operation(summary = "Daily bookings, TEU and revenue")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Days with bookings returned"),
+    @ApiResponse(responseCode = "400", description = "Invalid date range or missing key")
+  })
+  @GetMapping("/daily")
+  public ResponseEntity<List<DailyBookingsResponse>> daily(
+      @RequestParam(defaultValue = "TOTAL") RollupDimension dimension,
+      @RequestParam(required = false) String key,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return ResponseEntity.ok(
+        rollupService.getDaily(dimension, key, from, to).stream()
+            .map(DailyBookingsResponse::fromProjection)
+            .toList());
+  }
+
+  /** Rebuilds the rollups of {@code [from, to]} from the orders, e.g. for history. */
+  @Operation(summary = "Rebuild the booking rollups of a date range")
+  @ApiResponses({
+    @ApiResponse(responseCode = "204", description = "Rollups rebuilt"),
+    @ApiResponse(responseCode = "400", description = "'from' is after 'to'")
+  })
+  @PostMapping("/backfill")
+  public ResponseEntity<Void> backfill(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    rollupService.backfill(from, to);
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -0,0 +1,56 @@
+package com.shipping.freightops.controller;
+
+import com.shipping.freightops.enums.ExportFormat;
+import com.shipping.freightops.service.FinancialReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Fleet-wide financial reports, streamed as NDJSON or CSV. */
+@RestController
+@RequestMapping("/api/v1/reports")
+public class FinancialReportController {
+
+  private final FinancialReportService reportService;
+
+  public FinancialReportController(FinancialReportService reportService) {
+    this.reportService = reportService;
+  }
+
+  /** Financial summary and owner split of every voyage completed in a date range. */
+  @Operation(summary = "Export the financial summaries of the voyages completed in a date range")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Report streamed"),
+    @ApiResponse(responseCode = "400", description = "'to' is before 'from'")
+  })
+  @GetMapping("/voyage-financials")
+  public void voyageFinancials(
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+      HttpServletResponse response)
+      throws IOException {
+    // validated before the response is typed as NDJSON/CSV, so the error can still render as JSON
+    reportService.validateRange(from, to);
+    response.setContentType(format.getContentType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment()
+            .filename("voyage-financials-" + from + "-" + to + "." + format.getFileExtension())
+            .build()
+            .toString());
+    reportService.writeReport(format, from, to, response.getOutputStream());
+  }
+}
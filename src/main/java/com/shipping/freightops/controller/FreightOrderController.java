@@ -4,22 +4,35 @@ import com.itextpdf.text.DocumentException;
 import com.shipping.freightops.dto.*;
 import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.entity.TrackingEvent;
+import com.shipping.freightops.enums.ExportFormat;
+import com.shipping.freightops.enums.PageCountMode;
+import com.shipping.freightops.exception.BadRequestException;
 import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.repository.projection.FreightOrderSummary;
+import com.shipping.freightops.service.FreightOrderExportService;
 import com.shipping.freightops.service.FreightOrderService;
 import com.shipping.freightops.service.InvoiceService;
 import com.shipping.freightops.service.TrackingEventService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.OptionalLong;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
@@ -38,16 +51,19 @@ public class FreightOrderController {
   private final InvoiceService invoiceService;
   private final FreightOrderRepository freightOrderRepository;
   private final TrackingEventService trackingEventService;
+  private final FreightOrderExportService exportService;
 
   public FreightOrderController(
       FreightOrderService service,
       InvoiceService invoiceService,
       FreightOrderRepository freightOrderRepository,
-      TrackingEventService trackingEventService) {
+      TrackingEventService trackingEventService,
+      FreightOrderExportService exportService) {
     this.service = service;
     this.invoiceService = invoiceService;
     this.freightOrderRepository = freightOrderRepository;
     this.trackingEventService = trackingEventService;
+    this.exportService = exportService;
   }
 
   /** Create a new freight order. */
@@ -80,7 +96,10 @@ public class FreightOrderController {
     return ResponseEntity.ok(FreightOrderResponse.fromEntity(order));
   }
 
-  /** List all freight orders, optionally filtered by voyage. */
+  /**
+   * List all freight orders, optionally filtered by voyage. {@code count=NONE} or {@code
+   * count=ESTIMATED} skips the exact {@code COUNT(*)}.
+   */
   @Operation(summary = "List all freight orders with optional voyage filter")
   @ApiResponses({
     @ApiResponse(responseCode = "200", description = "Paged list of freight orders returned")
@@ -88,14 +107,63 @@ public class FreightOrderController {
   @GetMapping
   public ResponseEntity<PageResponse<FreightOrderResponse>> list(
       @RequestParam(required = false) Long voyageId,
+      @RequestParam(defaultValue = "EXACT") PageCountMode count,
       @ParameterObject @PageableDefault(size = 20) Pageable pageable) {
-    Page<FreightOrder> orders =
+    if (count == PageCountMode.EXACT) {
+      Page<FreightOrderSummary> orders =
+          (voyageId != null)
+              ? service.getOrdersByVoyage(voyageId, pageable)
+              : service.getAllOrders(pageable);
+
+      Page<FreightOrderResponse> mapped = orders.map(FreightOrderResponse::fromSummary);
+      return ResponseEntity.ok(PageResponse.from(mapped));
+    }
+
+    Slice<FreightOrderSummary> orders =
         (voyageId != null)
-            ? service.getOrdersByVoyage(voyageId, pageable)
-            : service.getAllOrders(pageable);
+            ? service.getOrdersByVoyageSlice(voyageId, pageable)
+            : service.getAllOrdersSlice(pageable);
+    Slice<FreightOrderResponse> mapped = orders.map(FreightOrderResponse::fromSummary);
+    if (count == PageCountMode.NONE) {
+      return ResponseEntity.ok(PageResponse.fromSlice(mapped));
+    }
+    OptionalLong estimate =
+        mapped.hasNext() ? service.estimateOrderCount(voyageId) : OptionalLong.empty();
+    return ResponseEntity.ok(PageResponse.fromSlice(mapped, estimate));
+  }
 
-    Page<FreightOrderResponse> mapped = orders.map(FreightOrderResponse::fromEntity);
-    return ResponseEntity.ok(PageResponse.from(mapped));
+  /**
+   * Streams every order matching the filters as NDJSON or CSV. Rows are written to the response as
+   * they are read, so the export is not paged and does not hold the result in memory.
+   */
+  @Operation(summary = "Export freight orders as NDJSON or CSV")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Orders streamed"),
+    @ApiResponse(responseCode = "400", description = "'from' is not before 'to'")
+  })
+  @GetMapping("/export")
+  public void export(
+      @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+      @RequestParam(required = false) Long voyageId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      HttpServletResponse response)
+      throws IOException {
+    // validated before the response is typed as NDJSON/CSV, so the error can still render as JSON
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new BadRequestException("'from' must be before 'to'");
+    }
+    response.setContentType(format.getContentType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment()
+            .filename("freight-orders." + format.getFileExtension())
+            .build()
+            .toString());
+    exportService.export(format, voyageId, from, to, response.getOutputStream());
   }
 
   @GetMapping("/{id}/invoice")
@@ -0,0 +1,70 @@
+package com.shipping.freightops.controller;
+
+import com.shipping.freightops.dto.JobRunResponse;
+import com.shipping.freightops.entity.JobRun;
+import com.shipping.freightops.exception.BadRequestException;
+import com.shipping.freightops.job.JobRunner;
+import com.shipping.freightops.repository.JobRunRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Run history and manual triggering of the cluster jobs. */
+@RestController
+@RequestMapping("/api/v1/jobs")
+public class JobController {
+
+  private static final int MAX_LIMIT = 200;
+
+  private final JobRunner jobRunner;
+  private final JobRunRepository runRepository;
+
+  public JobController(JobRunner jobRunner, JobRunRepository runRepository) {
+    this.jobRunner = jobRunner;
+    this.runRepository = runRepository;
+  }
+
+  /** Most recent runs first, optionally of one job. */
+  @Operation(summary = "List recent job runs")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Runs returned"),
+    @ApiResponse(responseCode = "400", description = "Invalid limit")
+  })
+  @GetMapping("/runs")
+  public ResponseEntity<List<JobRunResponse>> runs(
+      @RequestParam(required = false) String job, @RequestParam(defaultValue = "20") int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new BadRequestException("'limit' must be between 1 and " + MAX_LIMIT);
+    }
+    PageRequest page = PageRequest.of(0, limit);
+    List<JobRun> runs =
+        job == null
+            ? runRepository.findAllByOrderByIdDesc(page)
+            : runRepository.findByJobNameOrderByIdDesc(job, page);
+    return ResponseEntity.ok(runs.stream().map(JobRunResponse::fromEntity).toList());
+  }
+
+  /**
+   * Starts a run now. The run is skipped if the job is already running on any instance; see {@code
+   * GET /api/v1/jobs/runs} for the outcome.
+   */
+  @Operation(summary = "Trigger a job run")
+  @ApiResponses({
+    @ApiResponse(responseCode = "202", description = "Run started"),
+    @ApiResponse(responseCode = "404", description = "Job not found")
+  })
+  @PostMapping("/{name}/runs")
+  public ResponseEntity<Void> trigger(@PathVariable String name) {
+    jobRunner.submit(name);
+    return ResponseEntity.accepted().build();
+  }
+}
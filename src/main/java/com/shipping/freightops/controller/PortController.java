@@ -1,10 +1,14 @@
 package com.shipping.freightops.controller;
 
+import com.shipping.freightops.dto.BulkImportResponse;
 import com.shipping.freightops.dto.CreatePortRequest;
 import com.shipping.freightops.dto.PortResponse;
 import com.shipping.freightops.entity.Port;
+import com.shipping.freightops.service.BulkImportService;
 import com.shipping.freightops.service.PortService;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
@@ -21,9 +25,11 @@ import org.springframework.web.bind.annotation.RestController;
 public class PortController {
 
   private final PortService service;
+  private final BulkImportService importService;
 
-  public PortController(PortService service) {
+  public PortController(PortService service, BulkImportService importService) {
     this.service = service;
+    this.importService = importService;
   }
 
   /** Create a new port. */
@@ -35,6 +41,15 @@ public class PortController {
     return ResponseEntity.created(location).body(body);
   }
 
+  /**
+   * Bulk-import ports from a CSV body. Rows are streamed and inserted in batches; every row that is
+   * invalid or already exists is listed in the returned report.
+   */
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public ResponseEntity<BulkImportResponse> importCsv(InputStream csv) throws IOException {
+    return ResponseEntity.ok(importService.importPorts(csv));
+  }
+
   /** Get a single port by ID. */
   @GetMapping("/{id}")
   public ResponseEntity<PortResponse> getById(@PathVariable Long id) {
@@ -2,7 +2,6 @@ package com.shipping.freightops.controller;
 
 import com.shipping.freightops.dto.ContainerTrackingResponse;
 import com.shipping.freightops.dto.OrderTrackingResponse;
-import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.service.TrackingService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,8 +21,7 @@ public class TrackingController {
 
   @GetMapping("/order/{orderId}")
   public ResponseEntity<OrderTrackingResponse> trackOrder(@PathVariable Long orderId) {
-    FreightOrder order = trackingService.trackOrder(orderId);
-    return ResponseEntity.ok(OrderTrackingResponse.fromEntity(order));
+    return ResponseEntity.ok(trackingService.trackOrder(orderId));
   }
 
   @GetMapping("/container/{containerCode}")
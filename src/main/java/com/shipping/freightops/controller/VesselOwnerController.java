@@ -1,8 +1,10 @@
 package com.shipping.freightops.controller;
 
 import com.shipping.freightops.dto.AddVesselOwnerRequest;
+import com.shipping.freightops.dto.OwnerStatementResponse;
 import com.shipping.freightops.dto.VesselOwnerResponse;
 import com.shipping.freightops.entity.VesselOwner;
+import com.shipping.freightops.service.OwnerLedgerService;
 import com.shipping.freightops.service.VesselOwnerService;
 import jakarta.validation.Valid;
 import java.net.URI;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /** REST controller for managing vessel ownership. */
@@ -22,9 +25,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class VesselOwnerController {
 
   private final VesselOwnerService vesselOwnerService;
+  private final OwnerLedgerService ownerLedgerService;
 
-  public VesselOwnerController(VesselOwnerService vesselOwnerService) {
+  public VesselOwnerController(
+      VesselOwnerService vesselOwnerService, OwnerLedgerService ownerLedgerService) {
     this.vesselOwnerService = vesselOwnerService;
+    this.ownerLedgerService = ownerLedgerService;
   }
 
   /** Add an owner to a vessel. */
@@ -51,4 +57,15 @@ public class VesselOwnerController {
     vesselOwnerService.removeOwner(vesselId, ownerId);
     return ResponseEntity.noContent().build();
   }
+
+  /** An owner's quarterly statement across the vessel's voyages, read from the owner ledger. */
+  @GetMapping("/statement")
+  public ResponseEntity<OwnerStatementResponse> getStatement(
+      @PathVariable Long vesselId,
+      @RequestParam String ownerEmail,
+      @RequestParam int year,
+      @RequestParam int quarter) {
+    return ResponseEntity.ok(
+        ownerLedgerService.getQuarterlyStatement(vesselId, ownerEmail, year, quarter));
+  }
 }
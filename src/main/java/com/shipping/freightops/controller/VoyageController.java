@@ -6,9 +6,14 @@ import com.shipping.freightops.entity.Voyage;
 import com.shipping.freightops.entity.VoyageCost;
 import com.shipping.freightops.entity.VoyagePrice;
 import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.PageCountMode;
 import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.projection.FreightOrderSummary;
+import com.shipping.freightops.repository.projection.VoyageSummary;
+import com.shipping.freightops.service.FleetUtilizationService;
 import com.shipping.freightops.service.FreightOrderService;
 import com.shipping.freightops.service.PriceSuggestionService;
+import com.shipping.freightops.service.VoyagePnlService;
 import com.shipping.freightops.service.VoyageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,9 +21,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import java.util.OptionalLong;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -30,14 +37,20 @@ public class VoyageController {
   private final VoyageService voyageService;
   private final FreightOrderService freightOrderService;
   private final PriceSuggestionService priceSuggestionService;
+  private final VoyagePnlService pnlService;
+  private final FleetUtilizationService utilizationService;
 
   public VoyageController(
       VoyageService voyageService,
       FreightOrderService freightOrderService,
-      PriceSuggestionService priceSuggestionService) {
+      PriceSuggestionService priceSuggestionService,
+      VoyagePnlService pnlService,
+      FleetUtilizationService utilizationService) {
     this.voyageService = voyageService;
     this.freightOrderService = freightOrderService;
     this.priceSuggestionService = priceSuggestionService;
+    this.pnlService = pnlService;
+    this.utilizationService = utilizationService;
   }
 
   @Operation(summary = "Get all voyages")
@@ -46,7 +59,7 @@ public class VoyageController {
   })
   @GetMapping()
   public ResponseEntity<List<VoyageResponse>> getAll() {
-    List<Voyage> voyages = voyageService.getAll();
+    List<VoyageSummary> voyages = voyageService.getAll();
     return ResponseEntity.ok(VoyageResponse.VoyageResponses(voyages));
   }
 
@@ -69,11 +82,27 @@ public class VoyageController {
   })
   @GetMapping("/{voyageId}/containers")
   public ResponseEntity<PageResponse<VoyageContainerResponse>> getAllContainersByVoyageId(
-      @PathVariable Long voyageId, @ParameterObject @PageableDefault(size = 20) Pageable pageable) {
+      @PathVariable Long voyageId,
+      @RequestParam(defaultValue = "EXACT") PageCountMode count,
+      @ParameterObject @PageableDefault(size = 20) Pageable pageable) {
+    if (count == PageCountMode.EXACT) {
+      Page<FreightOrderSummary> order = freightOrderService.getOrdersByVoyage(voyageId, pageable);
+      Page<VoyageContainerResponse> containers = order.map(VoyageContainerResponse::fromSummary);
+      return ResponseEntity.ok(PageResponse.from(containers));
+    }
 
-    Page<FreightOrder> order = freightOrderService.getOrdersByVoyage(voyageId, pageable);
-    Page<VoyageContainerResponse> containers = order.map(VoyageContainerResponse::fromEntity);
-    return ResponseEntity.ok(PageResponse.from(containers));
+    Slice<VoyageContainerResponse> containers =
+        freightOrderService
+            .getOrdersByVoyageSlice(voyageId, pageable)
+            .map(VoyageContainerResponse::fromSummary);
+    if (count == PageCountMode.NONE) {
+      return ResponseEntity.ok(PageResponse.fromSlice(containers));
+    }
+    OptionalLong estimate =
+        containers.hasNext()
+            ? freightOrderService.estimateOrderCount(voyageId)
+            : OptionalLong.empty();
+    return ResponseEntity.ok(PageResponse.fromSlice(containers, estimate));
   }
 
   @Operation(summary = "Create a new voyage")
@@ -106,7 +135,7 @@ public class VoyageController {
   @ApiResponses({@ApiResponse(responseCode = "200", description = "Filtered voyages retrieved")})
   @GetMapping(params = "status")
   public ResponseEntity<List<VoyageResponse>> getAllByStatus(@RequestParam VoyageStatus status) {
-    List<Voyage> voyages = voyageService.getAllByStatus(status);
+    List<VoyageSummary> voyages = voyageService.getAllByStatus(status);
     return ResponseEntity.ok(VoyageResponse.VoyageResponses(voyages));
   }
 
@@ -132,10 +161,25 @@ public class VoyageController {
   })
   @GetMapping("/{voyageId}/prices")
   public ResponseEntity<PageResponse<VoyagePriceResponse>> getVoyagePrices(
-      @PathVariable Long voyageId, @ParameterObject @PageableDefault(size = 20) Pageable pageable) {
-    Page<VoyagePrice> voyagePrices = voyageService.getAllPricesByVoyageId(voyageId, pageable);
-    Page<VoyagePriceResponse> mapped = voyagePrices.map(VoyagePriceResponse::fromEntity);
-    return ResponseEntity.ok(PageResponse.from(mapped));
+      @PathVariable Long voyageId,
+      @RequestParam(defaultValue = "EXACT") PageCountMode count,
+      @ParameterObject @PageableDefault(size = 20) Pageable pageable) {
+    if (count == PageCountMode.EXACT) {
+      Page<VoyagePrice> voyagePrices = voyageService.getAllPricesByVoyageId(voyageId, pageable);
+      Page<VoyagePriceResponse> mapped = voyagePrices.map(VoyagePriceResponse::fromEntity);
+      return ResponseEntity.ok(PageResponse.from(mapped));
+    }
+
+    Slice<VoyagePriceResponse> mapped =
+        voyageService
+            .getPricesByVoyageIdSlice(voyageId, pageable)
+            .map(VoyagePriceResponse::fromEntity);
+    if (count == PageCountMode.NONE) {
+      return ResponseEntity.ok(PageResponse.fromSlice(mapped));
+    }
+    OptionalLong estimate =
+        mapped.hasNext() ? voyageService.estimatePriceCount(voyageId) : OptionalLong.empty();
+    return ResponseEntity.ok(PageResponse.fromSlice(mapped, estimate));
   }
 
   @Operation(summary = "Create a cost line item for a voyage")
@@ -177,6 +221,26 @@ public class VoyageController {
     return ResponseEntity.ok(voyageService.getFinancialSummary(voyageId));
   }
 
+  @Operation(summary = "Get the running P&L of a voyage")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Running P&L retrieved"),
+    @ApiResponse(responseCode = "404", description = "Voyage not found")
+  })
+  @GetMapping("/{voyageId}/pnl")
+  public ResponseEntity<VoyagePnlResponse> getPnl(@PathVariable Long voyageId) {
+    return ResponseEntity.ok(pnlService.getPnl(voyageId));
+  }
+
+  @Operation(summary = "Reconcile the running P&L of a voyage against its orders and costs")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "Running P&L reconciled"),
+    @ApiResponse(responseCode = "404", description = "Voyage not found")
+  })
+  @PostMapping("/{voyageId}/pnl/reconcile")
+  public ResponseEntity<VoyagePnlReconciliationResponse> reconcilePnl(@PathVariable Long voyageId) {
+    return ResponseEntity.ok(pnlService.reconcile(voyageId));
+  }
+
   @Operation(summary = "Get AI-suggested price range for a voyage and container size")
   @ApiResponses({
     @ApiResponse(responseCode = "200", description = "Price suggestion retrieved"),
@@ -188,6 +252,13 @@ public class VoyageController {
     return ResponseEntity.ok(priceSuggestionService.getPriceSuggestion(voyageId, containerSize));
   }
 
+  @Operation(summary = "Get the load of every planned or in-progress voyage")
+  @ApiResponses({@ApiResponse(responseCode = "200", description = "Fleet utilization retrieved")})
+  @GetMapping("/utilization")
+  public ResponseEntity<List<VoyageUtilizationResponse>> getFleetUtilization() {
+    return ResponseEntity.ok(utilizationService.getFleetUtilization());
+  }
+
   @Operation(summary = "Get load summary for a voyage")
   @ApiResponses({
     @ApiResponse(responseCode = "200", description = "Voyage load retrieved"),
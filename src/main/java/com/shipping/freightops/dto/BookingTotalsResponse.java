@@ -0,0 +1,28 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.repository.projection.BookingTotals;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookingTotalsResponse {
+  /** Route ({@code CNSHA-NLRTM}), agent id or customer id, depending on the dimension. */
+  private String key;
+
+  private long bookings;
+  private long teu;
+  private BigDecimal revenue;
+
+  public static BookingTotalsResponse fromProjection(BookingTotals totals) {
+    BookingTotalsResponse dto = new BookingTotalsResponse();
+    dto.key = totals.key();
+    dto.bookings = totals.bookings();
+    dto.teu = totals.teu();
+    dto.revenue = totals.revenue();
+    return dto;
+  }
+}
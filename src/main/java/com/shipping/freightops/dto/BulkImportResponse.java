@@ -0,0 +1,40 @@
+package com.shipping.freightops.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Outcome of a bulk CSV import. Every row that was not imported is listed in {@code errors}. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class BulkImportResponse {
+  private long rowsRead;
+  private long imported;
+  private long rejected;
+  private List<RowError> errors;
+
+  public BulkImportResponse(long rowsRead, long imported, List<RowError> errors) {
+    this.rowsRead = rowsRead;
+    this.imported = imported;
+    this.rejected = errors.size();
+    this.errors = errors;
+  }
+
+  /** Why one CSV row was not imported. {@code line} is the 1-based line the row starts on. */
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  public static class RowError {
+    private long line;
+    private String key;
+    private List<String> messages;
+
+    public RowError(long line, String key, List<String> messages) {
+      this.line = line;
+      this.key = key;
+      this.messages = messages;
+    }
+  }
+}
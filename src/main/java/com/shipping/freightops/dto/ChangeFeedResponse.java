@@ -0,0 +1,26 @@
+package com.shipping.freightops.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of the change feed. Pass {@code nextToken} as {@code since} to get the following page;
+ * when {@code hasMore} is false the client is up to date and should keep the token for its next
+ * poll.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeFeedResponse {
+  private List<ChangeResponse> changes;
+  private String nextToken;
+  private boolean hasMore;
+
+  public ChangeFeedResponse(List<ChangeResponse> changes, String nextToken, boolean hasMore) {
+    this.changes = changes;
+    this.nextToken = nextToken;
+    this.hasMore = hasMore;
+  }
+}
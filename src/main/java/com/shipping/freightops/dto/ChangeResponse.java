@@ -0,0 +1,30 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.entity.ChangeLogEntry;
+import com.shipping.freightops.enums.ChangeEntityType;
+import com.shipping.freightops.enums.ChangeOperation;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChangeResponse {
+  private long seq;
+  private ChangeEntityType entityType;
+  private Long entityId;
+  private ChangeOperation operation;
+  private LocalDateTime changedAt;
+
+  public static ChangeResponse fromEntity(ChangeLogEntry entry) {
+    ChangeResponse dto = new ChangeResponse();
+    dto.seq = entry.getSeq();
+    dto.entityType = entry.getEntityType();
+    dto.entityId = entry.getEntityId();
+    dto.operation = entry.getOperation();
+    dto.changedAt = entry.getChangedAt();
+    return dto;
+  }
+}
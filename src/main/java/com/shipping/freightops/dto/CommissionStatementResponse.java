@@ -0,0 +1,47 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.enums.AgentType;
+import com.shipping.freightops.repository.projection.CommissionStatement;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class CommissionStatementResponse {
+  private Long agentId;
+  private String agentName;
+  private AgentType agentType;
+  private YearMonth period;
+  private long orderCount;
+  private BigDecimal orderValueUsd;
+
+  /** The agent's rate when the statement was generated. */
+  private BigDecimal commissionPercent;
+
+  private BigDecimal commissionUsd;
+
+  /** Whether a later change may have moved the figures and the statement awaits a refresh. */
+  private boolean stale;
+
+  private LocalDateTime computedAt;
+
+  public static CommissionStatementResponse fromProjection(CommissionStatement statement) {
+    CommissionStatementResponse dto = new CommissionStatementResponse();
+    dto.agentId = statement.agentId();
+    dto.agentName = statement.agentName();
+    dto.agentType = statement.agentType();
+    dto.period = YearMonth.from(statement.periodStart());
+    dto.orderCount = statement.orderCount();
+    dto.orderValueUsd = statement.orderValueUsd();
+    dto.commissionPercent = statement.commissionPercent();
+    dto.commissionUsd = statement.commissionUsd();
+    dto.stale = statement.stale();
+    dto.computedAt = statement.computedAt();
+    return dto;
+  }
+}
@@ -3,6 +3,7 @@ package com.shipping.freightops.dto;
 import com.shipping.freightops.entity.Container;
 import com.shipping.freightops.enums.ContainerSize;
 import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.repository.projection.ContainerSummary;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -32,4 +33,16 @@ public class ContainerResponse {
     dto.createdAt = container.getCreatedAt();
     return dto;
   }
+
+  /** Factory method to map a listing projection → response DTO. */
+  public static ContainerResponse fromSummary(ContainerSummary container) {
+    ContainerResponse dto = new ContainerResponse();
+    dto.id = container.id();
+    dto.containerCode = container.containerCode();
+    dto.size = container.size();
+    dto.type = container.type();
+    dto.teu = container.teu();
+    dto.createdAt = container.createdAt();
+    return dto;
+  }
 }
@@ -1,5 +1,6 @@
 package com.shipping.freightops.dto;
 
+import com.shipping.freightops.entity.ArchivedFreightOrder;
 import com.shipping.freightops.entity.Container;
 import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.enums.ContainerSize;
@@ -48,4 +49,20 @@ public class ContainerTrackingResponse {
 
     return dto;
   }
+
+  /**
+   * Combines the voyages of live orders with those of orders already moved to the archive, in
+   * departure order.
+   */
+  public static ContainerTrackingResponse fromContainer(
+      Container container, List<FreightOrder> orders, List<ArchivedFreightOrder> archived) {
+    ContainerTrackingResponse dto =
+        orders.isEmpty() ? fromContainer(container) : fromEntities(orders);
+    if (archived.isEmpty()) return dto;
+    List<VoyageTrackingResponse> voyages = new ArrayList<>(dto.voyages);
+    archived.forEach(order -> voyages.add(VoyageTrackingResponse.fromArchive(order)));
+    voyages.sort((v1, v2) -> v1.getDepartureTime().compareTo(v2.getDepartureTime()));
+    dto.voyages = voyages;
+    return dto;
+  }
 }
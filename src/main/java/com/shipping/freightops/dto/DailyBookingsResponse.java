@@ -0,0 +1,27 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.repository.projection.DailyBookings;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyBookingsResponse {
+  private LocalDate date;
+  private long bookings;
+  private long teu;
+  private BigDecimal revenue;
+
+  public static DailyBookingsResponse fromProjection(DailyBookings day) {
+    DailyBookingsResponse dto = new DailyBookingsResponse();
+    dto.date = day.date();
+    dto.bookings = day.bookings();
+    dto.teu = day.teu();
+    dto.revenue = day.revenue();
+    return dto;
+  }
+}
@@ -1,5 +1,6 @@
 package com.shipping.freightops.dto;
 
+import com.shipping.freightops.entity.VoyageFinancialSnapshot;
 import java.math.BigDecimal;
 import java.util.List;
 import lombok.Getter;
@@ -33,4 +34,14 @@ public class FinancialSummaryResponse {
     response.owners = owners;
     return response;
   }
+
+  public static FinancialSummaryResponse fromEntity(VoyageFinancialSnapshot snapshot) {
+    return fromValues(
+        snapshot.getVoyageNumber(),
+        snapshot.getTotalRevenueUsd().toBigDecimal(),
+        snapshot.getTotalCostsUsd().toBigDecimal(),
+        snapshot.getNetProfitUsd().toBigDecimal(),
+        snapshot.getOrderCount(),
+        snapshot.getOwners().stream().map(OwnerFinancialShareResponse::fromEntity).toList());
+  }
 }
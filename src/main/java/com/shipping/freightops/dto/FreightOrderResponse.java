@@ -2,6 +2,7 @@ package com.shipping.freightops.dto;
 
 import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.repository.projection.FreightOrderSummary;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.Getter;
@@ -50,4 +51,25 @@ public class FreightOrderResponse {
     dto.discountReason = order.getDiscountReason();
     return dto;
   }
+
+  /** Factory method to map a listing projection → response DTO. */
+  public static FreightOrderResponse fromSummary(FreightOrderSummary summary) {
+    FreightOrderResponse dto = new FreightOrderResponse();
+    dto.id = summary.id();
+    dto.voyageNumber = summary.voyageNumber();
+    dto.containerCode = summary.containerCode();
+    dto.agentId = summary.agentId();
+    dto.agentName = summary.agentName();
+    dto.customerName = summary.customerName();
+    dto.customerEmail = summary.customerEmail();
+    dto.orderedBy = summary.orderedBy();
+    dto.notes = summary.notes();
+    dto.status = summary.status();
+    dto.createdAt = summary.createdAt();
+    dto.discountPercent = summary.discountPercent();
+    dto.finalPrice = summary.finalPrice();
+    dto.basePriceUsd = summary.basePriceUsd();
+    dto.discountReason = summary.discountReason();
+    return dto;
+  }
 }
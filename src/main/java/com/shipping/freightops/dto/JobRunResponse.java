@@ -0,0 +1,43 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.entity.JobRun;
+import com.shipping.freightops.enums.JobRunStatus;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class JobRunResponse {
+  private Long id;
+  private String jobName;
+  private String node;
+  private JobRunStatus status;
+  private LocalDateTime scheduledFor;
+  private LocalDateTime startedAt;
+  private LocalDateTime finishedAt;
+  private Long durationMs;
+  private int chunks;
+  private String checkpoint;
+  private Long resumedFrom;
+  private String error;
+
+  public static JobRunResponse fromEntity(JobRun run) {
+    JobRunResponse dto = new JobRunResponse();
+    dto.id = run.getId();
+    dto.jobName = run.getJobName();
+    dto.node = run.getNode();
+    dto.status = run.getStatus();
+    dto.scheduledFor = run.getScheduledFor();
+    dto.startedAt = run.getStartedAt();
+    dto.finishedAt = run.getFinishedAt();
+    dto.durationMs = run.getDurationMs();
+    dto.chunks = run.getChunks();
+    dto.checkpoint = run.getCheckpoint();
+    dto.resumedFrom = run.getResumedFrom();
+    dto.error = run.getError();
+    return dto;
+  }
+}
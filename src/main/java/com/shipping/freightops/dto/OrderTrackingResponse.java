@@ -1,5 +1,7 @@
 package com.shipping.freightops.dto;
 
+import com.shipping.freightops.entity.ArchivedFreightOrder;
+import com.shipping.freightops.entity.ArchivedTrackingEvent;
 import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.entity.TrackingEvent;
 import com.shipping.freightops.enums.ContainerSize;
@@ -29,16 +31,16 @@ public class OrderTrackingResponse {
   private LocalDateTime departureTime;
   private LocalDateTime estimatedArrival;
   private VoyageStatus voyageStatus;
-  private List<TrackingEvent> events = new ArrayList<>();
+  private List<TrackingEventResponse> events = new ArrayList<>();
 
-  public static OrderTrackingResponse fromEntity(FreightOrder order) {
+  public static OrderTrackingResponse fromEntity(FreightOrder order, List<TrackingEvent> events) {
     OrderTrackingResponse dto = new OrderTrackingResponse();
     dto.orderId = order.getId();
     dto.status = order.getStatus();
     dto.ContainerCode = order.getContainer().getContainerCode();
     dto.containerSize = order.getContainer().getSize();
     dto.containerType = order.getContainer().getType();
-    dto.events = order.getEvents();
+    dto.events = events.stream().map(TrackingEventResponse::fromEntity).toList();
     if (order.getVoyage() != null) {
       dto.voyageNumber = order.getVoyage().getVoyageNumber();
       dto.vesselName = order.getVoyage().getVessel().getName();
@@ -50,4 +52,24 @@ public class OrderTrackingResponse {
     }
     return dto;
   }
+
+  /** Builds the same view from an order that has been moved to the archive. */
+  public static OrderTrackingResponse fromArchive(
+      ArchivedFreightOrder order, List<ArchivedTrackingEvent> events) {
+    OrderTrackingResponse dto = new OrderTrackingResponse();
+    dto.orderId = order.getId();
+    dto.status = order.getStatus();
+    dto.ContainerCode = order.getContainerCode();
+    dto.containerSize = order.getContainerSize();
+    dto.containerType = order.getContainerType();
+    dto.events = events.stream().map(TrackingEventResponse::fromArchive).toList();
+    dto.voyageNumber = order.getVoyageNumber();
+    dto.vesselName = order.getVesselName();
+    dto.departurePort = order.getDeparturePortName();
+    dto.arrivalPort = order.getArrivalPortName();
+    dto.departureTime = order.getDepartureTime();
+    dto.estimatedArrival = order.getArrivalTime();
+    dto.voyageStatus = order.getVoyageStatus();
+    return dto;
+  }
 }
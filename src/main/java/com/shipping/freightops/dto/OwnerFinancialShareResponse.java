@@ -1,5 +1,7 @@
 package com.shipping.freightops.dto;
 
+import com.shipping.freightops.entity.VoyageFinancialSnapshot;
+import com.shipping.freightops.util.Money;
 import java.math.BigDecimal;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -29,4 +31,25 @@ public class OwnerFinancialShareResponse {
     response.profitShareUsd = profitShareUsd;
     return response;
   }
+
+  /** The owner's {@code sharePercent} of each figure, rounded half up to cents. */
+  public static OwnerFinancialShareResponse fromShare(
+      String ownerName, BigDecimal sharePercent, Money revenue, Money costs, Money profit) {
+    long basisPoints = Money.basisPoints(sharePercent);
+    return fromValues(
+        ownerName,
+        sharePercent,
+        revenue.percent(basisPoints).toBigDecimal(),
+        costs.percent(basisPoints).toBigDecimal(),
+        profit.percent(basisPoints).toBigDecimal());
+  }
+
+  public static OwnerFinancialShareResponse fromEntity(VoyageFinancialSnapshot.OwnerShare share) {
+    return fromValues(
+        share.getOwnerName(),
+        share.getSharePercent(),
+        share.getRevenueShareUsd().toBigDecimal(),
+        share.getCostShareUsd().toBigDecimal(),
+        share.getProfitShareUsd().toBigDecimal());
+  }
 }
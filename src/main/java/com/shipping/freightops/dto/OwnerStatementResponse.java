@@ -0,0 +1,89 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.entity.VesselOwnerLedgerEntry;
+import com.shipping.freightops.enums.LedgerEntryType;
+import com.shipping.freightops.util.Money;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** A vessel owner's ledger entries for a period and their totals. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class OwnerStatementResponse {
+  private Long vesselId;
+  private String ownerEmail;
+
+  /** The name on the latest entry, or {@code null} if nothing was booked in the period. */
+  private String ownerName;
+
+  private LocalDate periodStart;
+
+  /** Last day of the period, inclusive. */
+  private LocalDate periodEnd;
+
+  private BigDecimal revenueUsd;
+  private BigDecimal costsUsd;
+  private BigDecimal profitUsd;
+  private List<Entry> entries;
+
+  public static OwnerStatementResponse fromEntries(
+      Long vesselId,
+      String ownerEmail,
+      LocalDate periodStart,
+      LocalDate periodEnd,
+      List<VesselOwnerLedgerEntry> entries) {
+    Money revenue = Money.ZERO;
+    Money costs = Money.ZERO;
+    Money profit = Money.ZERO;
+    for (VesselOwnerLedgerEntry entry : entries) {
+      revenue = revenue.plus(entry.getRevenueUsd());
+      costs = costs.plus(entry.getCostsUsd());
+      profit = profit.plus(entry.getProfitUsd());
+    }
+    OwnerStatementResponse dto = new OwnerStatementResponse();
+    dto.vesselId = vesselId;
+    dto.ownerEmail = ownerEmail;
+    dto.ownerName = entries.isEmpty() ? null : entries.get(entries.size() - 1).getOwnerName();
+    dto.periodStart = periodStart;
+    dto.periodEnd = periodEnd;
+    dto.revenueUsd = revenue.toBigDecimal();
+    dto.costsUsd = costs.toBigDecimal();
+    dto.profitUsd = profit.toBigDecimal();
+    dto.entries = entries.stream().map(Entry::fromEntity).toList();
+    return dto;
+  }
+
+  /** One amount booked to the owner, at the share the voyage was split at. */
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  public static class Entry {
+    private Long voyageId;
+    private String voyageNumber;
+    private LedgerEntryType entryType;
+    private BigDecimal sharePercent;
+    private BigDecimal revenueUsd;
+    private BigDecimal costsUsd;
+    private BigDecimal profitUsd;
+    private LocalDateTime bookedAt;
+
+    public static Entry fromEntity(VesselOwnerLedgerEntry entry) {
+      Entry dto = new Entry();
+      dto.voyageId = entry.getVoyageId();
+      dto.voyageNumber = entry.getVoyageNumber();
+      dto.entryType = entry.getEntryType();
+      dto.sharePercent = entry.getSharePercent();
+      dto.revenueUsd = entry.getRevenueUsd().toBigDecimal();
+      dto.costsUsd = entry.getCostsUsd().toBigDecimal();
+      dto.profitUsd = entry.getProfitUsd().toBigDecimal();
+      dto.bookedAt = entry.getBookedAt();
+      return dto;
+    }
+  }
+}
@@ -1,10 +1,14 @@
 package com.shipping.freightops.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.shipping.freightops.enums.PageCountMode;
 import java.util.List;
+import java.util.OptionalLong;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 @Getter
 @Setter
@@ -13,8 +17,15 @@ public class PageResponse<T> {
   private List<T> content;
   private int page;
   private int size;
-  private long totalElements;
-  private int totalPages;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Long totalElements;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer totalPages;
+
+  private boolean hasNext;
+  private PageCountMode countMode = PageCountMode.EXACT;
 
   public PageResponse(List<T> content, int page, int size, long totalElements, int totalPages) {
     this.content = content;
@@ -22,6 +33,7 @@ public class PageResponse<T> {
     this.size = size;
     this.totalElements = totalElements;
     this.totalPages = totalPages;
+    this.hasNext = page + 1 < totalPages;
   }
 
   /** Factory method to convert from Spring Page */
@@ -33,4 +45,43 @@ public class PageResponse<T> {
         page.getTotalElements(),
         page.getTotalPages());
   }
+
+  /** Factory method to convert from a count-free Spring Slice; totals are omitted. */
+  public static <T> PageResponse<T> fromSlice(Slice<T> slice) {
+    PageResponse<T> response = new PageResponse<>();
+    response.content = slice.getContent();
+    response.page = slice.getNumber();
+    response.size = slice.getSize();
+    response.hasNext = slice.hasNext();
+    response.countMode = PageCountMode.NONE;
+    return response;
+  }
+
+  /**
+   * Factory method to convert from a Slice plus an approximate row count. On the last slice the
+   * total is known exactly and replaces the estimate; otherwise the estimate is raised to at least
+   * cover the rows already seen. An empty slice past the first page only says the page is out of
+   * range, so it reports the estimate as is.
+   */
+  public static <T> PageResponse<T> fromSlice(Slice<T> slice, OptionalLong estimatedTotal) {
+    PageResponse<T> response = fromSlice(slice);
+    response.countMode = PageCountMode.ESTIMATED;
+    long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+    Long total;
+    if (!slice.hasNext() && (slice.hasContent() || slice.getNumber() == 0)) {
+      total = seen;
+    } else if (!slice.hasContent()) {
+      total = estimatedTotal.isPresent() ? estimatedTotal.getAsLong() : null;
+    } else if (estimatedTotal.isPresent()) {
+      total = Math.max(estimatedTotal.getAsLong(), seen + 1);
+    } else {
+      total = null;
+    }
+    if (total != null) {
+      response.totalElements = total;
+      response.totalPages =
+          slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize());
+    }
+    return response;
+  }
 }
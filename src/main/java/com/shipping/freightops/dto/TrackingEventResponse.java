@@ -0,0 +1,49 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.entity.ArchivedTrackingEvent;
+import com.shipping.freightops.entity.TrackingEvent;
+import com.shipping.freightops.enums.EventType;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class TrackingEventResponse {
+  private Long id;
+  private EventType eventType;
+  private String description;
+  private String location;
+  private String performedBy;
+  private LocalDateTime eventTime;
+  private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+
+  public static TrackingEventResponse fromEntity(TrackingEvent event) {
+    TrackingEventResponse dto = new TrackingEventResponse();
+    dto.id = event.getId();
+    dto.eventType = event.getEventType();
+    dto.description = event.getDescription();
+    dto.location = event.getLocation();
+    dto.performedBy = event.getPerformedBy();
+    dto.eventTime = event.getEventTime();
+    dto.createdAt = event.getCreatedAt();
+    dto.updatedAt = event.getUpdatedAt();
+    return dto;
+  }
+
+  public static TrackingEventResponse fromArchive(ArchivedTrackingEvent event) {
+    TrackingEventResponse dto = new TrackingEventResponse();
+    dto.id = event.getId();
+    dto.eventType = event.getEventType();
+    dto.description = event.getDescription();
+    dto.location = event.getLocation();
+    dto.performedBy = event.getPerformedBy();
+    dto.eventTime = event.getEventTime();
+    dto.createdAt = event.getCreatedAt();
+    dto.updatedAt = event.getUpdatedAt();
+    return dto;
+  }
+}
@@ -4,6 +4,7 @@ import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.enums.ContainerSize;
 import com.shipping.freightops.enums.ContainerType;
 import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.repository.projection.FreightOrderSummary;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -28,4 +29,14 @@ public class VoyageContainerResponse {
     dto.orderStatus = order.getStatus();
     return dto;
   }
+
+  public static VoyageContainerResponse fromSummary(FreightOrderSummary order) {
+    VoyageContainerResponse dto = new VoyageContainerResponse();
+    dto.containerCode = order.containerCode();
+    dto.containerSize = order.containerSize();
+    dto.containerType = order.containerType();
+    dto.orderedBy = order.orderedBy();
+    dto.orderStatus = order.status();
+    return dto;
+  }
 }
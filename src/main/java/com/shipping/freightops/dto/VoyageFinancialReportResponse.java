@@ -0,0 +1,47 @@
+package com.shipping.freightops.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** One voyage of the fleet financial report, with its split between the vessel's owners. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class VoyageFinancialReportResponse {
+  private Long voyageId;
+  private String voyageNumber;
+  private String vesselName;
+  private LocalDateTime completedAt;
+  private int orderCount;
+  private BigDecimal totalRevenueUsd;
+  private BigDecimal totalCostsUsd;
+  private BigDecimal netProfitUsd;
+  private List<OwnerFinancialShareResponse> owners;
+
+  public static VoyageFinancialReportResponse fromValues(
+      Long voyageId,
+      String voyageNumber,
+      String vesselName,
+      LocalDateTime completedAt,
+      int orderCount,
+      BigDecimal totalRevenueUsd,
+      BigDecimal totalCostsUsd,
+      BigDecimal netProfitUsd,
+      List<OwnerFinancialShareResponse> owners) {
+    VoyageFinancialReportResponse dto = new VoyageFinancialReportResponse();
+    dto.voyageId = voyageId;
+    dto.voyageNumber = voyageNumber;
+    dto.vesselName = vesselName;
+    dto.completedAt = completedAt;
+    dto.orderCount = orderCount;
+    dto.totalRevenueUsd = totalRevenueUsd;
+    dto.totalCostsUsd = totalCostsUsd;
+    dto.netProfitUsd = netProfitUsd;
+    dto.owners = owners;
+    return dto;
+  }
+}
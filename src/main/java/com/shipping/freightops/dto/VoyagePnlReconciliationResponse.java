@@ -0,0 +1,28 @@
+package com.shipping.freightops.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class VoyagePnlReconciliationResponse {
+  /** Whether the running figures matched the recomputation. */
+  private boolean consistent;
+
+  /** The running figures before reconciling; {@code null} if the voyage had none yet. */
+  private VoyagePnlResponse recorded;
+
+  /** The figures recomputed from the orders and costs, which are now the running figures. */
+  private VoyagePnlResponse recomputed;
+
+  public static VoyagePnlReconciliationResponse fromValues(
+      boolean consistent, VoyagePnlResponse recorded, VoyagePnlResponse recomputed) {
+    VoyagePnlReconciliationResponse dto = new VoyagePnlReconciliationResponse();
+    dto.consistent = consistent;
+    dto.recorded = recorded;
+    dto.recomputed = recomputed;
+    return dto;
+  }
+}
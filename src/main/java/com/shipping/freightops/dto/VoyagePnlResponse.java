@@ -0,0 +1,49 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.repository.projection.VoyagePnl;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class VoyagePnlResponse {
+  private Long voyageId;
+
+  /** Orders booked on the voyage that are not cancelled. */
+  private long orderCount;
+
+  /** TEU of those orders. */
+  private long bookedTeu;
+
+  private BigDecimal revenueUsd;
+  private BigDecimal costsUsd;
+  private BigDecimal marginUsd;
+
+  /** Margin as a percentage of revenue; {@code null} while nothing is booked. */
+  private BigDecimal marginPercent;
+
+  private LocalDateTime updatedAt;
+
+  public static VoyagePnlResponse fromProjection(VoyagePnl pnl) {
+    VoyagePnlResponse dto = new VoyagePnlResponse();
+    dto.voyageId = pnl.voyageId();
+    dto.orderCount = pnl.orderCount();
+    dto.bookedTeu = pnl.bookedTeu();
+    dto.revenueUsd = pnl.revenueUsd();
+    dto.costsUsd = pnl.costsUsd();
+    dto.marginUsd = pnl.revenueUsd().subtract(pnl.costsUsd());
+    dto.marginPercent =
+        pnl.revenueUsd().signum() == 0
+            ? null
+            : dto.marginUsd
+                .multiply(BigDecimal.valueOf(100))
+                .divide(pnl.revenueUsd(), 2, RoundingMode.HALF_UP);
+    dto.updatedAt = pnl.updatedAt();
+    return dto;
+  }
+}
@@ -2,6 +2,7 @@ package com.shipping.freightops.dto;
 
 import com.shipping.freightops.entity.Voyage;
 import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.projection.VoyageSummary;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,15 +39,27 @@ public class VoyageResponse {
     status = voyage.getStatus();
   }
 
+  // voyage response format from a listing projection
+  public static VoyageResponse fromSummary(VoyageSummary summary) {
+    VoyageResponse dto = new VoyageResponse();
+    dto.id = summary.id();
+    dto.voyageNumber = summary.voyageNumber();
+    dto.vesselName = summary.vesselName();
+    dto.departurePortName = summary.departurePortName();
+    dto.arrivalPortName = summary.arrivalPortName();
+    dto.departureTime = summary.departureTime();
+    dto.arrivalTime = summary.arrivalTime();
+    dto.bookingOpen = summary.bookingOpen();
+    dto.maxCapacityTeu = summary.maxCapacityTeu();
+    dto.status = summary.status();
+    return dto;
+  }
+
   // List of voyage response format
-  public static List<VoyageResponse> VoyageResponses(List<Voyage> voyages) {
+  public static List<VoyageResponse> VoyageResponses(List<VoyageSummary> voyages) {
     if (voyages == null || voyages.isEmpty()) return List.of();
     List<VoyageResponse> responses = new ArrayList<>(voyages.size());
-    voyages.forEach(
-        voyage -> {
-          VoyageResponse response = new VoyageResponse(voyage);
-          responses.add(response);
-        });
+    voyages.forEach(voyage -> responses.add(fromSummary(voyage)));
     return responses;
   }
 }
@@ -1,5 +1,6 @@
 package com.shipping.freightops.dto;
 
+import com.shipping.freightops.entity.ArchivedFreightOrder;
 import com.shipping.freightops.entity.Voyage;
 import com.shipping.freightops.enums.VoyageStatus;
 import java.time.LocalDateTime;
@@ -28,4 +29,15 @@ public class VoyageTrackingResponse {
     dto.arrivalTime = voyage.getArrivalTime();
     return dto;
   }
+
+  public static VoyageTrackingResponse fromArchive(ArchivedFreightOrder order) {
+    VoyageTrackingResponse dto = new VoyageTrackingResponse();
+    dto.voyageNumber = order.getVoyageNumber();
+    dto.status = order.getVoyageStatus();
+    dto.departurePort = order.getDeparturePortName();
+    dto.arrivalPort = order.getArrivalPortName();
+    dto.departureTime = order.getDepartureTime();
+    dto.arrivalTime = order.getArrivalTime();
+    return dto;
+  }
 }
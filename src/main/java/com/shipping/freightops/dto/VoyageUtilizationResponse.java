@@ -0,0 +1,48 @@
+package com.shipping.freightops.dto;
+
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.projection.VoyageUtilization;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** One open voyage on the fleet utilization dashboard. */
+@Getter
+@Setter
+@NoArgsConstructor
+public class VoyageUtilizationResponse {
+  private Long voyageId;
+  private String voyageNumber;
+  private VoyageStatus status;
+  private LocalDateTime departureTime;
+  private int maxCapacityTeu;
+  private long bookedTeu;
+
+  /** Capacity left, never below zero. */
+  private long freeTeu;
+
+  /** Booked TEU as a percentage of capacity, with one decimal. */
+  private double utilizationPercent;
+
+  private boolean bookingOpen;
+  private long containerCount;
+
+  public static VoyageUtilizationResponse fromProjection(VoyageUtilization utilization) {
+    VoyageUtilizationResponse dto = new VoyageUtilizationResponse();
+    dto.voyageId = utilization.voyageId();
+    dto.voyageNumber = utilization.voyageNumber();
+    dto.status = utilization.status();
+    dto.departureTime = utilization.departureTime();
+    dto.maxCapacityTeu = utilization.maxCapacityTeu();
+    dto.bookedTeu = utilization.bookedTeu();
+    dto.freeTeu = Math.max(0, utilization.maxCapacityTeu() - utilization.bookedTeu());
+    dto.utilizationPercent =
+        utilization.maxCapacityTeu() == 0
+            ? 0.0
+            : Math.round((utilization.bookedTeu() * 1000.0) / utilization.maxCapacityTeu()) / 10.0;
+    dto.bookingOpen = utilization.bookingOpen();
+    dto.containerCount = utilization.containerCount();
+    return dto;
+  }
+}
@@ -0,0 +1,68 @@
+package com.shipping.freightops.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * One agent's commission statement for a month. Rows are written with plain JDBC by {@code
+ * CommissionStatementService}; the mapping only describes the table.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@IdClass(AgentCommissionStatement.Key.class)
+@Table(name = "agent_commission_statement")
+public class AgentCommissionStatement {
+
+  @Id
+  @Column(nullable = false)
+  private Long agentId;
+
+  /** First day of the month. */
+  @Id
+  @Column(nullable = false)
+  private LocalDate periodStart;
+
+  /** First day after the month. */
+  @Column(nullable = false)
+  private LocalDate periodEnd;
+
+  /** Delivered orders on voyages completed in the period. */
+  @Column(nullable = false)
+  private long orderCount;
+
+  /** Sum of those orders' final prices in USD. */
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal orderValueUsd;
+
+  @Column(nullable = false, precision = 5, scale = 2)
+  private BigDecimal commissionPercent;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal commissionUsd;
+
+  /** Set when a change may have moved the figures; cleared when they are recomputed. */
+  @Column(nullable = false)
+  private boolean stale;
+
+  @Column(nullable = false)
+  private LocalDateTime computedAt;
+
+  @Getter
+  @NoArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private Long agentId;
+    private LocalDate periodStart;
+  }
+}
@@ -0,0 +1,102 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.enums.VoyageStatus;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A freight order moved out of {@code freight_orders} after its voyage completed. Keeps the
+ * original id and a denormalized copy of the voyage, container, agent and customer details it was
+ * displayed with, so archived orders can be read without the hot tables.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "archived_freight_orders")
+public class ArchivedFreightOrder {
+
+  @Id private Long id;
+
+  @Column(nullable = false)
+  private Long voyageId;
+
+  @Column(nullable = false)
+  private String voyageNumber;
+
+  private String vesselName;
+  private String departurePortName;
+  private String arrivalPortName;
+  private LocalDateTime departureTime;
+  private LocalDateTime arrivalTime;
+
+  @Enumerated(EnumType.STRING)
+  private VoyageStatus voyageStatus;
+
+  @Column(nullable = false)
+  private Long containerId;
+
+  @Column(nullable = false, length = 11)
+  private String containerCode;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ContainerSize containerSize;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private ContainerType containerType;
+
+  @Column(nullable = false)
+  private int containerTeu;
+
+  @Column(nullable = false)
+  private Long agentId;
+
+  private String agentName;
+
+  @Column(nullable = false)
+  private Long customerId;
+
+  private String customerCompanyName;
+  private String customerEmail;
+  private String customerAddress;
+
+  @Column(nullable = false)
+  private String orderedBy;
+
+  @Column(length = 500)
+  private String notes;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private OrderStatus status;
+
+  @Column(nullable = false, precision = 10, scale = 2)
+  private BigDecimal basePriceUsd;
+
+  @Column(nullable = false, precision = 5, scale = 2)
+  private BigDecimal discountPercent;
+
+  @Column(nullable = false, precision = 10, scale = 2)
+  private BigDecimal finalPrice;
+
+  @Column(length = 500)
+  private String discountReason;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+}
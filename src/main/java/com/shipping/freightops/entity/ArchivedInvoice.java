@@ -0,0 +1,33 @@
+package com.shipping.freightops.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** The invoice number issued for an {@link ArchivedFreightOrder}. */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "archived_invoices")
+public class ArchivedInvoice {
+
+  @Id private String id;
+
+  @Column(nullable = false, unique = true)
+  private Long orderId;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+
+  public ArchivedInvoice(String id, Long orderId, LocalDateTime archivedAt) {
+    this.id = id;
+    this.orderId = orderId;
+    this.archivedAt = archivedAt;
+  }
+}
@@ -0,0 +1,45 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.enums.EventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** A tracking event of an {@link ArchivedFreightOrder}, with its original id. */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "archived_tracking_events")
+public class ArchivedTrackingEvent {
+
+  @Id private Long id;
+
+  @Column(nullable = false)
+  private Long freightOrderId;
+
+  private EventType eventType;
+
+  @Column(nullable = false)
+  private String description;
+
+  private String location;
+  private String performedBy;
+
+  @Column(nullable = false)
+  private LocalDateTime eventTime;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+}
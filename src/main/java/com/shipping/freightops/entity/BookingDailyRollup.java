@@ -0,0 +1,62 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.enums.RollupDimension;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bookings, TEU and revenue of one day for one key of a {@link RollupDimension}. Rows are
+ * maintained with plain JDBC by the rollup handler and backfill; the mapping only describes the
+ * table.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@IdClass(BookingDailyRollup.Key.class)
+@Table(name = "booking_daily_rollup")
+public class BookingDailyRollup {
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private RollupDimension dimension;
+
+  /** Day the orders were placed, in server time. */
+  @Id
+  @Column(nullable = false)
+  private LocalDate bookingDate;
+
+  @Id
+  @Column(nullable = false, length = 32)
+  private String dimensionKey;
+
+  @Column(nullable = false)
+  private long bookings;
+
+  @Column(nullable = false)
+  private long teu;
+
+  /** Sum of the orders' final prices in USD. */
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal revenue;
+
+  @Getter
+  @NoArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private RollupDimension dimension;
+    private LocalDate bookingDate;
+    private String dimensionKey;
+  }
+}
@@ -0,0 +1,20 @@
+package com.shipping.freightops.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * An outbox event whose effect is already part of {@link BookingDailyRollup}, so that a redelivery
+ * is not counted twice. Written with plain JDBC; the mapping only describes the table.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "booking_rollup_applied_event")
+public class BookingRollupAppliedEvent {
+
+  @Id private Long eventId;
+}
@@ -0,0 +1,54 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.enums.ChangeEntityType;
+import com.shipping.freightops.enums.ChangeOperation;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * One row of the change feed. {@code seq} is assigned from a database sequence when the change is
+ * flushed, so it orders changes even when several share a timestamp; {@code txid} is the id of the
+ * writing transaction, which the database fills in. Rows are written by {@link ChangeLogListener}
+ * and only read through JPA.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "change_log")
+public class ChangeLogEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long seq;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private ChangeEntityType entityType;
+
+  @Column(nullable = false)
+  private Long entityId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private ChangeOperation operation;
+
+  @Column(nullable = false)
+  private LocalDateTime changedAt;
+
+  /** {@code pg_current_xact_id()} of the writing transaction; 0 on other databases. */
+  @ColumnDefault("0")
+  @Column(nullable = false, insertable = false, updatable = false)
+  private Long txid;
+}
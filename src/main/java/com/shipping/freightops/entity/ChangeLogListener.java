@@ -0,0 +1,70 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.enums.ChangeEntityType;
+import com.shipping.freightops.enums.ChangeOperation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Records inserts, updates and deletes of the entities published on the change feed. The row is
+ * written in the same transaction as the change itself, so it commits or rolls back with it.
+ *
+ * <p>Lifecycle callbacks must not use the persistence context, so the row is inserted with plain
+ * JDBC on the transaction's connection. Instantiated by Hibernate through Spring, which injects the
+ * template.
+ */
+public class ChangeLogListener {
+
+  private static final String INSERT =
+      """
+      INSERT INTO change_log (entity_type, entity_id, operation, changed_at)
+      VALUES (:entityType, :entityId, :operation, :changedAt)
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public ChangeLogListener(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @PostPersist
+  void created(BaseEntity entity) {
+    append(entity, ChangeOperation.CREATED);
+  }
+
+  @PostUpdate
+  void updated(BaseEntity entity) {
+    append(entity, ChangeOperation.UPDATED);
+  }
+
+  @PostRemove
+  void deleted(BaseEntity entity) {
+    append(entity, ChangeOperation.DELETED);
+  }
+
+  private void append(BaseEntity entity, ChangeOperation operation) {
+    jdbcTemplate.update(
+        INSERT,
+        Map.of(
+            "entityType", typeOf(entity).name(),
+            "entityId", entity.getId(),
+            "operation", operation.name(),
+            "changedAt", LocalDateTime.now()));
+  }
+
+  private static ChangeEntityType typeOf(BaseEntity entity) {
+    return switch (entity) {
+      case Voyage voyage -> ChangeEntityType.VOYAGE;
+      case FreightOrder order -> ChangeEntityType.FREIGHT_ORDER;
+      case VoyagePrice price -> ChangeEntityType.VOYAGE_PRICE;
+      case TrackingEvent event -> ChangeEntityType.TRACKING_EVENT;
+      default ->
+          throw new IllegalStateException(
+              "No change feed type for " + entity.getClass().getSimpleName());
+    };
+  }
+}
@@ -15,6 +15,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Table(name = "freight_orders")
 public class FreightOrder extends BaseEntity {
 
@@ -11,7 +11,9 @@ import lombok.Setter;
 @Entity
 public class Invoice {
   @Id private String id;
-  @OneToOne private FreightOrder order;
+
+  @OneToOne(fetch = FetchType.LAZY)
+  private FreightOrder order;
 
   public Invoice(FreightOrder order, String id) {
     this.id = id;
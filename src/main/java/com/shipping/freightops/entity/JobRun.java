@@ -0,0 +1,72 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.enums.JobRunStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** One run of a {@link com.shipping.freightops.job.ClusterJob}, written as it progresses. */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+    name = "job_run",
+    uniqueConstraints = {
+      @UniqueConstraint(
+          name = "uc_job_run_scheduled",
+          columnNames = {"job_name", "scheduled_for"})
+    })
+public class JobRun {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 64)
+  private String jobName;
+
+  /** The instance that ran the job, as {@code pid@host}. */
+  @Column(nullable = false)
+  private String node;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private JobRunStatus status;
+
+  /** The cron fire time this run was started for; {@code null} for a run started by hand. */
+  private LocalDateTime scheduledFor;
+
+  @Column(nullable = false)
+  private LocalDateTime startedAt;
+
+  private LocalDateTime finishedAt;
+
+  private Long durationMs;
+
+  /** Chunks completed by this run. */
+  @Column(nullable = false)
+  private int chunks;
+
+  /**
+   * Where the next chunk starts; {@code null} before the first chunk and once the job is done. A
+   * run that did not succeed is resumed from here.
+   */
+  private String checkpoint;
+
+  /** The unfinished run this one picked up from, if any. */
+  private Long resumedFrom;
+
+  @Column(length = 1000)
+  private String error;
+}
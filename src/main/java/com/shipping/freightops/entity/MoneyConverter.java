@@ -0,0 +1,21 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.util.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.math.BigDecimal;
+
+/** Stores {@link Money} in a {@code NUMERIC(p, 2)} column. */
+@Converter(autoApply = true)
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+  @Override
+  public BigDecimal convertToDatabaseColumn(Money money) {
+    return money == null ? null : money.toBigDecimal();
+  }
+
+  @Override
+  public Money convertToEntityAttribute(BigDecimal amount) {
+    return amount == null ? null : Money.of(amount);
+  }
+}
@@ -0,0 +1,69 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.enums.ChangeEntityType;
+import com.shipping.freightops.enums.DomainEventType;
+import com.shipping.freightops.enums.OutboxEventStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * A domain event waiting to be delivered. Rows are inserted in the transaction of the business
+ * change and read and updated by the relay with plain JDBC; the mapping only describes the table.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_event")
+public class OutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 32)
+  private ChangeEntityType aggregateType;
+
+  @Column(nullable = false)
+  private Long aggregateId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 64)
+  private DomainEventType eventType;
+
+  /** JSON object describing the event. */
+  @Column(nullable = false, length = 4000)
+  private String payload;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private OutboxEventStatus status;
+
+  /** Failed delivery attempts so far. */
+  @Column(nullable = false)
+  private int attempts;
+
+  /** Not offered to handlers before this time; pushed back after each failure. */
+  @Column(nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  /** When every handler accepted the event; {@code null} while pending. */
+  private LocalDateTime publishedAt;
+
+  @Column(length = 1000)
+  private String lastError;
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.shipping.freightops.enums.EventType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToOne;
 import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
@@ -15,8 +17,9 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(ChangeLogListener.class)
 public class TrackingEvent extends BaseEntity {
-  @ManyToOne(optional = false)
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JsonIgnore
   private FreightOrder freightOrder;
 
@@ -28,6 +31,9 @@ public class TrackingEvent extends BaseEntity {
 
   private String location;
   private String performedBy;
+
+  /** Partition key of {@code tracking_event}; defaults to the insert time when not given. */
+  @Column(nullable = false)
   private LocalDateTime eventTime;
 
   public TrackingEvent(
@@ -44,4 +50,12 @@ public class TrackingEvent extends BaseEntity {
     this.performedBy = performedBy;
     this.eventTime = eventTime;
   }
+
+  @Override
+  protected void onCreate() {
+    super.onCreate();
+    if (eventTime == null) {
+      eventTime = getCreatedAt();
+    }
+  }
 }
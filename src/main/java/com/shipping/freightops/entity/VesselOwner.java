@@ -2,6 +2,7 @@ package com.shipping.freightops.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -25,7 +26,7 @@ import org.hibernate.annotations.OnDeleteAction;
 @Table(name = "vessel_owners")
 public class VesselOwner extends BaseEntity {
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "vessel_id", nullable = false)
   @OnDelete(action = OnDeleteAction.CASCADE)
   private Vessel vessel;
@@ -0,0 +1,89 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.enums.LedgerEntryType;
+import com.shipping.freightops.util.Money;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * An amount credited to a vessel owner for a voyage, at the share the owner held when it was
+ * booked. Entries are only ever added; a voyage's figures changing is booked as a further entry.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "vessel_owner_ledger")
+public class VesselOwnerLedgerEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long vesselId;
+
+  @Column(nullable = false)
+  private String ownerName;
+
+  /** Identifies the owner across voyages; missing only for entries from before the ledger. */
+  private String ownerEmail;
+
+  @Column(nullable = false)
+  private Long voyageId;
+
+  @Column(nullable = false)
+  private String voyageNumber;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private LedgerEntryType entryType;
+
+  @Column(nullable = false, precision = 5, scale = 2)
+  private BigDecimal sharePercent;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private Money revenueUsd;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private Money costsUsd;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private Money profitUsd;
+
+  @Column(nullable = false)
+  private LocalDateTime bookedAt;
+
+  public VesselOwnerLedgerEntry(
+      Long vesselId,
+      VoyageFinancialSnapshot snapshot,
+      VoyageFinancialSnapshot.OwnerShare owner,
+      LedgerEntryType entryType,
+      Money revenueUsd,
+      Money costsUsd,
+      Money profitUsd,
+      LocalDateTime bookedAt) {
+    this.vesselId = vesselId;
+    this.ownerName = owner.getOwnerName();
+    this.ownerEmail = owner.getOwnerEmail();
+    this.voyageId = snapshot.getVoyageId();
+    this.voyageNumber = snapshot.getVoyageNumber();
+    this.entryType = entryType;
+    this.sharePercent = owner.getSharePercent();
+    this.revenueUsd = revenueUsd;
+    this.costsUsd = costsUsd;
+    this.profitUsd = profitUsd;
+    this.bookedAt = bookedAt;
+  }
+}
@@ -3,6 +3,7 @@ package com.shipping.freightops.entity;
 import com.shipping.freightops.enums.VoyageStatus;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -21,6 +22,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Table(name = "voyages")
 public class Voyage extends BaseEntity {
 
@@ -60,4 +62,7 @@ public class Voyage extends BaseEntity {
   private int maxCapacityTeu;
 
   @Column private boolean bookingOpen;
+
+  /** When the voyage last moved to COMPLETED; drives archiving of its orders. */
+  private LocalDateTime completedAt;
 }
@@ -0,0 +1,91 @@
+package com.shipping.freightops.entity;
+
+import com.shipping.freightops.util.Money;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The financial summary of a voyage, materialized when the voyage is completed so that it is read
+ * without aggregating orders and costs. Revenue and the owners' shares are fixed at completion; a
+ * cost added later updates the cost and profit figures. The snapshot is removed if the voyage
+ * leaves COMPLETED.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "voyage_financial_snapshot")
+public class VoyageFinancialSnapshot {
+
+  @Id private Long voyageId;
+
+  @Column(nullable = false)
+  private String voyageNumber;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private Money totalRevenueUsd;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private Money totalCostsUsd;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private Money netProfitUsd;
+
+  /** Delivered orders the revenue was summed over. */
+  @Column(nullable = false)
+  private int orderCount;
+
+  @Column(nullable = false)
+  private LocalDateTime computedAt;
+
+  @ElementCollection
+  @CollectionTable(
+      name = "voyage_financial_snapshot_owner",
+      joinColumns = @JoinColumn(name = "voyage_id"))
+  @OrderColumn(name = "owner_index")
+  private List<OwnerShare> owners = new ArrayList<>();
+
+  public VoyageFinancialSnapshot(Long voyageId) {
+    this.voyageId = voyageId;
+  }
+
+  /** One owner's split of the voyage, at the share the owner held when it was completed. */
+  @Getter
+  @Setter
+  @NoArgsConstructor
+  @Embeddable
+  public static class OwnerShare {
+
+    @Column(nullable = false)
+    private String ownerName;
+
+    /** Missing for owners who had left the vessel before emails were kept here. */
+    private String ownerEmail;
+
+    @Column(nullable = false, precision = 5, scale = 2)
+    private BigDecimal sharePercent;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money revenueShareUsd;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money costShareUsd;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private Money profitShareUsd;
+  }
+}
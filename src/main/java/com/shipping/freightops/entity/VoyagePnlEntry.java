@@ -0,0 +1,41 @@
+package com.shipping.freightops.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running profit and loss of one voyage. The row is maintained with plain JDBC by {@code
+ * VoyagePnlService}; the mapping only describes the table.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "voyage_pnl")
+public class VoyagePnlEntry {
+
+  @Id private Long voyageId;
+
+  /** Orders booked on the voyage that are not cancelled. */
+  @Column(nullable = false)
+  private long orderCount;
+
+  /** TEU of those orders. */
+  @Column(nullable = false)
+  private long bookedTeu;
+
+  /** Sum of those orders' final prices in USD. */
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal revenueUsd;
+
+  @Column(nullable = false, precision = 19, scale = 2)
+  private BigDecimal costsUsd;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+}
@@ -13,6 +13,7 @@ import lombok.Setter;
 @Setter
 @NoArgsConstructor
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Table(
     name = "voyage_prices",
     uniqueConstraints = {
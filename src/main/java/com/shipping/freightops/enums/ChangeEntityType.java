@@ -0,0 +1,9 @@
+package com.shipping.freightops.enums;
+
+/** Entity types published on the change feed. */
+public enum ChangeEntityType {
+  VOYAGE,
+  FREIGHT_ORDER,
+  VOYAGE_PRICE,
+  TRACKING_EVENT
+}
@@ -0,0 +1,8 @@
+package com.shipping.freightops.enums;
+
+/** What happened to an entity in a change feed entry. */
+public enum ChangeOperation {
+  CREATED,
+  UPDATED,
+  DELETED
+}
@@ -0,0 +1,19 @@
+package com.shipping.freightops.enums;
+
+/** Events written to the outbox, each belonging to one aggregate type. */
+public enum DomainEventType {
+  ORDER_CREATED(ChangeEntityType.FREIGHT_ORDER),
+  ORDER_DISCOUNT_UPDATED(ChangeEntityType.FREIGHT_ORDER),
+  VOYAGE_STATUS_CHANGED(ChangeEntityType.VOYAGE),
+  VOYAGE_BOOKING_CLOSED(ChangeEntityType.VOYAGE);
+
+  private final ChangeEntityType aggregateType;
+
+  DomainEventType(ChangeEntityType aggregateType) {
+    this.aggregateType = aggregateType;
+  }
+
+  public ChangeEntityType getAggregateType() {
+    return aggregateType;
+  }
+}
@@ -0,0 +1,25 @@
+package com.shipping.freightops.enums;
+
+/** Output format of a streamed export. */
+public enum ExportFormat {
+  /** One JSON object per line, {@code application/x-ndjson}. */
+  NDJSON("application/x-ndjson", "ndjson"),
+  /** Comma-separated values with a header row, {@code text/csv}. */
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String fileExtension;
+
+  ExportFormat(String contentType, String fileExtension) {
+    this.contentType = contentType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+}
@@ -0,0 +1,12 @@
+package com.shipping.freightops.enums;
+
+/** Outcome of one run of a cluster job. */
+public enum JobRunStatus {
+  /** In progress, or its node died; the next run marks it {@link #INTERRUPTED}. */
+  RUNNING,
+  SUCCEEDED,
+  /** A chunk threw; the next run resumes after the last completed chunk. */
+  FAILED,
+  /** Stopped between chunks by a shutdown or a node failure; the next run resumes. */
+  INTERRUPTED
+}
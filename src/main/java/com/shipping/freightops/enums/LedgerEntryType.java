@@ -0,0 +1,15 @@
+package com.shipping.freightops.enums;
+
+/** Why an amount was booked to a vessel owner's ledger. */
+public enum LedgerEntryType {
+  /** The owner's split of a voyage when it was completed. */
+  COMPLETION,
+  /** The change to the owner's split after a cost was added to a completed voyage. */
+  LATE_COST,
+  /**
+   * The change to the owner's split after a delivered order of a completed voyage was discounted.
+   */
+  CREDIT_NOTE,
+  /** Reverses the owner's split of a voyage that left COMPLETED. */
+  REOPENING
+}
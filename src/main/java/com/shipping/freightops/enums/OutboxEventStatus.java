@@ -0,0 +1,11 @@
+package com.shipping.freightops.enums;
+
+/** Delivery state of an outbox event. */
+public enum OutboxEventStatus {
+  /** Waiting for delivery, or for its next retry. */
+  PENDING,
+  /** Accepted by every handler. */
+  PUBLISHED,
+  /** Parked after {@code app.outbox.max-attempts} failed deliveries; no longer retried. */
+  FAILED
+}
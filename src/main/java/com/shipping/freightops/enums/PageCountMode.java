@@ -0,0 +1,11 @@
+package com.shipping.freightops.enums;
+
+/** How a paged endpoint reports the total number of matching rows. */
+public enum PageCountMode {
+  /** Runs an exact {@code COUNT(*)} alongside the page query. */
+  EXACT,
+  /** Skips the count entirely; only {@code hasNext} is reported. */
+  NONE,
+  /** Skips the count and reports a total taken from database planner statistics. */
+  ESTIMATED
+}
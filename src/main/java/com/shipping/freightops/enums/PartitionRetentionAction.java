@@ -0,0 +1,9 @@
+package com.shipping.freightops.enums;
+
+/** What happens to a time partition once it falls outside the retention window. */
+public enum PartitionRetentionAction {
+  /** Detach it and keep it as a standalone table, ready to be dumped or archived. */
+  DETACH,
+  /** Detach and drop it. */
+  DROP
+}
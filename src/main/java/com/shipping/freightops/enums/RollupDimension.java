@@ -0,0 +1,15 @@
+package com.shipping.freightops.enums;
+
+/**
+ * How the daily booking rollups are broken down. Each dimension has its own key: {@link #TOTAL}
+ * uses the single key {@code ALL}, {@link #ROUTE} the departure and arrival UN/LOCODEs joined by a
+ * dash (e.g. {@code CNSHA-NLRTM}), and {@link #AGENT} and {@link #CUSTOMER} the entity id.
+ */
+public enum RollupDimension {
+  TOTAL,
+  ROUTE,
+  AGENT,
+  CUSTOMER;
+
+  public static final String TOTAL_KEY = "ALL";
+}
@@ -0,0 +1,36 @@
+package com.shipping.freightops.job;
+
+/**
+ * A background job that runs on one instance of the cluster at a time. Every bean of this type is
+ * scheduled on its {@link #cron()} and run by {@link JobRunner}.
+ *
+ * <p>Work is split into chunks, each committed on its own. After every chunk the runner records the
+ * returned cursor, so a run that failed or whose instance died resumes where it stopped. A crash
+ * between a chunk's commit and that record repeats the chunk, so chunks must be idempotent.
+ */
+public interface ClusterJob {
+
+  /** Unique name; identifies the job's lock, its runs and its checkpoint. */
+  String name();
+
+  /** Spring cron expression of the schedule. */
+  String cron();
+
+  /** Whether the job is scheduled at all. */
+  default boolean isEnabled() {
+    return true;
+  }
+
+  /** Whether the job is also run once when an instance has started, outside its schedule. */
+  default boolean runsAtStartup() {
+    return false;
+  }
+
+  /**
+   * Does one chunk of work.
+   *
+   * @param cursor where the previous chunk stopped, or {@code null} at the start of a run
+   * @return the cursor for the next chunk, or {@code null} when the run is complete
+   */
+  String runChunk(String cursor);
+}
@@ -0,0 +1,97 @@
+package com.shipping.freightops.job;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Elects the instance that runs a job with a PostgreSQL advisory lock.
+ *
+ * <p>The lock is taken with {@code pg_try_advisory_xact_lock} in a transaction on a connection of
+ * its own, kept open while the job runs. Ending that transaction releases the lock, and so does the
+ * connection dropping when the instance dies, so a lock can never be left behind in the pool. The
+ * open transaction does no writes and holds no snapshot between statements, so it does not keep
+ * vacuum from cleaning up. On other databases every instance is its own leader.
+ */
+@Component
+public class JobLock {
+
+  /** First key of every job lock, so they cannot collide with other advisory locks. */
+  static final int NAMESPACE = 0x6A6F6273; // "jobs"
+
+  private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(?, hashtext(?))";
+
+  private final DataSource dataSource;
+  private final boolean postgres;
+
+  public JobLock(DataSource dataSource) {
+    this.dataSource = dataSource;
+    this.postgres = isPostgres(dataSource);
+  }
+
+  /** Takes the lock of {@code jobName}; empty when another instance holds it. */
+  public Optional<Lease> tryAcquire(String jobName) {
+    if (!postgres) {
+      return Optional.of(() -> {});
+    }
+    Connection connection = null;
+    try {
+      connection = dataSource.getConnection();
+      connection.setAutoCommit(false);
+      boolean locked;
+      try (PreparedStatement statement = connection.prepareStatement(TRY_LOCK)) {
+        statement.setInt(1, NAMESPACE);
+        statement.setString(2, jobName);
+        try (ResultSet rs = statement.executeQuery()) {
+          locked = rs.next() && rs.getBoolean(1);
+        }
+      }
+      if (!locked) {
+        release(connection);
+        return Optional.empty();
+      }
+      Connection held = connection;
+      return Optional.of(() -> release(held));
+    } catch (SQLException e) {
+      if (connection != null) {
+        release(connection);
+      }
+      throw new UncategorizedSQLException("Acquiring lock of job " + jobName, TRY_LOCK, e);
+    }
+  }
+
+  private static void release(Connection connection) {
+    try {
+      connection.rollback();
+    } catch (SQLException e) {
+      // closing a connection in a failed state discards it, which releases the lock too
+    } finally {
+      JdbcUtils.closeConnection(connection);
+    }
+  }
+
+  private static boolean isPostgres(DataSource dataSource) {
+    try {
+      String product =
+          JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+      return "PostgreSQL".equalsIgnoreCase(product);
+    } catch (MetaDataAccessException e) {
+      return false;
+    }
+  }
+
+  /** A held job lock; closing it releases the lock. */
+  @FunctionalInterface
+  public interface Lease extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
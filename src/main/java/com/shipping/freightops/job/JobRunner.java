@@ -0,0 +1,247 @@
+package com.shipping.freightops.job;
+
+import com.shipping.freightops.config.JobProperties;
+import com.shipping.freightops.entity.JobRun;
+import com.shipping.freightops.enums.JobRunStatus;
+import com.shipping.freightops.repository.JobRunRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs {@link ClusterJob}s so that each executes on one instance of the cluster at a time.
+ *
+ * <p>A run first takes the job's {@link JobLock}; when another instance holds it the run is
+ * skipped, as that instance is already doing the work. Every instance fires the same cron, so a
+ * scheduled run is also skipped when its fire time already has a run, which happens when a short
+ * job finished before a later instance's trigger. The run is recorded in {@code job_run} with its
+ * duration and outcome, and its checkpoint is updated after every chunk. A run whose predecessor
+ * did not succeed starts from the predecessor's checkpoint.
+ *
+ * <p>Runs execute on virtual threads; at most {@code app.jobs.max-concurrency} run at once on an
+ * instance, the rest wait for a permit. On shutdown, running jobs stop after their current chunk.
+ */
+@Service
+public class JobRunner {
+
+  public static final String RUNS_METRIC = "freightops.jobs.runs";
+  public static final String SKIPPED_METRIC = "freightops.jobs.skipped";
+
+  private static final Logger log = LoggerFactory.getLogger(JobRunner.class);
+  private static final int MAX_ERROR_LENGTH = 1000;
+  private static final String NODE = ManagementFactory.getRuntimeMXBean().getName();
+
+  private final Map<String, ClusterJob> jobs;
+  private final JobLock jobLock;
+  private final JobRunRepository runRepository;
+  private final JobProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore permits;
+  private final Set<String> running = ConcurrentHashMap.newKeySet();
+  private volatile boolean stopping;
+
+  public JobRunner(
+      List<ClusterJob> jobs,
+      JobLock jobLock,
+      JobRunRepository runRepository,
+      JobProperties properties,
+      MeterRegistry meterRegistry) {
+    this.jobs = jobs.stream().collect(Collectors.toMap(ClusterJob::name, Function.identity()));
+    this.jobLock = jobLock;
+    this.runRepository = runRepository;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.permits = new Semaphore(properties.getMaxConcurrency());
+  }
+
+  public List<ClusterJob> getJobs() {
+    return List.copyOf(jobs.values());
+  }
+
+  /**
+   * Starts a run of {@code jobName} on a virtual thread.
+   *
+   * @throws IllegalArgumentException if no such job exists
+   */
+  public CompletableFuture<Optional<JobRunStatus>> submit(String jobName) {
+    return submit(jobName, null);
+  }
+
+  /**
+   * Starts the run of {@code jobName} scheduled for {@code scheduledFor} on a virtual thread,
+   * unless another instance has already run it.
+   *
+   * @param scheduledFor the cron fire time, or {@code null} for a run that is not scheduled
+   * @throws IllegalArgumentException if no such job exists
+   */
+  public CompletableFuture<Optional<JobRunStatus>> submit(
+      String jobName, LocalDateTime scheduledFor) {
+    ClusterJob job = getJob(jobName);
+    return CompletableFuture.supplyAsync(() -> run(job, scheduledFor), executor)
+        .whenComplete(
+            (status, e) -> {
+              if (e != null) {
+                log.error("Job {} could not run", jobName, e);
+              }
+            });
+  }
+
+  /**
+   * Runs {@code jobName} on the calling thread.
+   *
+   * @return the outcome, or empty when the job is already running here or on another instance
+   * @throws IllegalArgumentException if no such job exists
+   */
+  public Optional<JobRunStatus> run(String jobName) {
+    return run(getJob(jobName), null);
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    stopping = true;
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      log.warn("Jobs still running at shutdown: {}", running);
+    }
+  }
+
+  private ClusterJob getJob(String jobName) {
+    ClusterJob job = jobs.get(jobName);
+    if (job == null) {
+      throw new IllegalArgumentException("Job not found: " + jobName);
+    }
+    return job;
+  }
+
+  private Optional<JobRunStatus> run(ClusterJob job, LocalDateTime scheduledFor) {
+    if (!running.add(job.name())) {
+      skipped(job, "running");
+      return Optional.empty();
+    }
+    try {
+      permits.acquire();
+      try {
+        Optional<JobLock.Lease> lease = jobLock.tryAcquire(job.name());
+        if (lease.isEmpty()) {
+          skipped(job, "locked");
+          return Optional.empty();
+        }
+        try (JobLock.Lease held = lease.get()) {
+          if (scheduledFor != null
+              && runRepository.existsByJobNameAndScheduledFor(job.name(), scheduledFor)) {
+            skipped(job, "done");
+            return Optional.empty();
+          }
+          return runLocked(job, scheduledFor);
+        }
+      } finally {
+        permits.release();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } finally {
+      running.remove(job.name());
+    }
+  }
+
+  private Optional<JobRunStatus> runLocked(ClusterJob job, LocalDateTime scheduledFor) {
+    LocalDateTime startedAt = LocalDateTime.now();
+    JobRun run = new JobRun();
+    run.setJobName(job.name());
+    run.setNode(NODE);
+    run.setStatus(JobRunStatus.RUNNING);
+    run.setScheduledFor(scheduledFor);
+    run.setStartedAt(startedAt);
+    runRepository
+        .findFirstByJobNameOrderByIdDesc(job.name())
+        .ifPresent(previous -> resumeFrom(previous, run));
+    try {
+      runRepository.save(run);
+    } catch (DataIntegrityViolationException e) {
+      // the slot was taken without the lock, which only happens off PostgreSQL
+      skipped(job, "done");
+      return Optional.empty();
+    }
+
+    long start = System.nanoTime();
+    String cursor = run.getCheckpoint();
+    try {
+      do {
+        if (stopping) {
+          return Optional.of(finish(run, JobRunStatus.INTERRUPTED, null, start));
+        }
+        cursor = job.runChunk(cursor);
+        run.setChunks(run.getChunks() + 1);
+        run.setCheckpoint(cursor);
+        runRepository.save(run);
+      } while (cursor != null);
+      return Optional.of(finish(run, JobRunStatus.SUCCEEDED, null, start));
+    } catch (RuntimeException e) {
+      log.error("Job {} failed after {} chunks", job.name(), run.getChunks(), e);
+      return Optional.of(finish(run, JobRunStatus.FAILED, e, start));
+    } finally {
+      runRepository.deleteFinishedBefore(
+          job.name(), startedAt.minus(properties.getHistoryRetention()));
+    }
+  }
+
+  /** Picks up the checkpoint of an unfinished predecessor; we hold the lock, so it is not live. */
+  private void resumeFrom(JobRun previous, JobRun run) {
+    if (previous.getStatus() == JobRunStatus.RUNNING) {
+      previous.setStatus(JobRunStatus.INTERRUPTED);
+      previous.setFinishedAt(run.getStartedAt());
+      runRepository.save(previous);
+    }
+    if (previous.getStatus() != JobRunStatus.SUCCEEDED && previous.getCheckpoint() != null) {
+      run.setCheckpoint(previous.getCheckpoint());
+      run.setResumedFrom(previous.getId());
+      log.info(
+          "Job {} resumes run {} at checkpoint {}",
+          run.getJobName(),
+          previous.getId(),
+          previous.getCheckpoint());
+    }
+  }
+
+  private JobRunStatus finish(JobRun run, JobRunStatus status, Exception error, long start) {
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    run.setStatus(status);
+    run.setFinishedAt(LocalDateTime.now());
+    run.setDurationMs(duration.toMillis());
+    if (error != null) {
+      String message = String.valueOf(error);
+      run.setError(
+          message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH));
+    }
+    runRepository.save(run);
+    meterRegistry
+        .timer(RUNS_METRIC, "job", run.getJobName(), "status", status.name())
+        .record(duration);
+    return status;
+  }
+
+  private void skipped(ClusterJob job, String reason) {
+    meterRegistry.counter(SKIPPED_METRIC, "job", job.name(), "reason", reason).increment();
+    log.debug("Job {} skipped: {}", job.name(), reason);
+  }
+}
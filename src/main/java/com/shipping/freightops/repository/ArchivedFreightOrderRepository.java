@@ -0,0 +1,39 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.entity.ArchivedFreightOrder;
+import com.shipping.freightops.repository.projection.FreightOrderSummary;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+public interface ArchivedFreightOrderRepository extends JpaRepository<ArchivedFreightOrder, Long> {
+
+  List<ArchivedFreightOrder> findByContainerCode(String containerCode);
+
+  /**
+   * Archived counterpart of {@link FreightOrderRepository#streamSummaries}, with the same filters
+   * and order, read from the denormalized copy. Must be consumed inside a transaction and closed.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      "SELECT new com.shipping.freightops.repository.projection.FreightOrderSummary("
+          + "ao.id, ao.voyageNumber, ao.containerCode, ao.containerSize, ao.containerType,"
+          + " ao.agentId, ao.agentName, ao.customerCompanyName, ao.customerEmail, ao.orderedBy,"
+          + " ao.notes, ao.status, ao.basePriceUsd, ao.discountPercent, ao.finalPrice,"
+          + " ao.discountReason, ao.createdAt)"
+          + " FROM ArchivedFreightOrder ao"
+          + " WHERE (:voyageId IS NULL OR ao.voyageId = :voyageId)"
+          + " AND (CAST(:from AS LocalDateTime) IS NULL OR ao.createdAt >= :from)"
+          + " AND (CAST(:to AS LocalDateTime) IS NULL OR ao.createdAt < :to)"
+          + " ORDER BY ao.id")
+  Stream<FreightOrderSummary> streamSummaries(
+      @Param("voyageId") Long voyageId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+}
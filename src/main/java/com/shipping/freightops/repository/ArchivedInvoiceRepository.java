@@ -0,0 +1,10 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.entity.ArchivedInvoice;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedInvoiceRepository extends JpaRepository<ArchivedInvoice, String> {
+
+  Optional<ArchivedInvoice> findByOrderId(Long orderId);
+}
@@ -0,0 +1,11 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.entity.ArchivedTrackingEvent;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedTrackingEventRepository
+    extends JpaRepository<ArchivedTrackingEvent, Long> {
+
+  List<ArchivedTrackingEvent> findByFreightOrderIdOrderByCreatedAtAsc(Long freightOrderId);
+}
@@ -0,0 +1,270 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.enums.RollupDimension;
+import com.shipping.freightops.repository.projection.BookingTotals;
+import com.shipping.freightops.repository.projection.DailyBookings;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC access to {@code booking_daily_rollup} and its ledger of applied events; callers own
+ * the transaction.
+ */
+@Repository
+public class BookingRollupRepository {
+
+  private static final String ADD =
+      """
+      UPDATE booking_daily_rollup
+      SET bookings = bookings + :bookings, teu = teu + :teu, revenue = revenue + :revenue
+      WHERE dimension = :dimension AND booking_date = :bookingDate AND dimension_key = :key
+      """;
+
+  private static final String INSERT =
+      """
+      INSERT INTO booking_daily_rollup (
+          dimension, booking_date, dimension_key, bookings, teu, revenue)
+      VALUES (:dimension, :bookingDate, :key, :bookings, :teu, :revenue)
+      """;
+
+  /** The rollup keys of one order, live or archived; none of them change after booking. */
+  private static final String ORDER_KEYS =
+      """
+      SELECT fo.created_at, dp.unlocode AS origin, ap.unlocode AS destination, fo.agent_id,
+             fo.customer_id
+      FROM freight_orders fo
+      JOIN voyages v ON v.id = fo.voyage_id
+      JOIN ports dp ON dp.id = v.departure_port_id
+      JOIN ports ap ON ap.id = v.arrival_port_id
+      WHERE fo.id = :id
+      UNION ALL
+      SELECT ao.created_at, dp.unlocode, ap.unlocode, ao.agent_id, ao.customer_id
+      FROM archived_freight_orders ao
+      JOIN voyages v ON v.id = ao.voyage_id
+      JOIN ports dp ON dp.id = v.departure_port_id
+      JOIN ports ap ON ap.id = v.arrival_port_id
+      WHERE ao.id = :id
+      """;
+
+  /** Live and archived orders placed in {@code [from, to)}, grouped by every rollup key at once. */
+  private static final String AGGREGATE_ORDERS =
+      """
+      SELECT origin, destination, agent_id, customer_id, COUNT(*) AS bookings, SUM(teu) AS teu,
+             SUM(final_price) AS revenue
+      FROM (
+          SELECT dp.unlocode AS origin, ap.unlocode AS destination, fo.agent_id, fo.customer_id,
+                 c.teu, fo.final_price
+          FROM freight_orders fo
+          JOIN containers c ON c.id = fo.container_id
+          JOIN voyages v ON v.id = fo.voyage_id
+          JOIN ports dp ON dp.id = v.departure_port_id
+          JOIN ports ap ON ap.id = v.arrival_port_id
+          WHERE fo.created_at >= :from AND fo.created_at < :to
+          UNION ALL
+          SELECT dp.unlocode, ap.unlocode, ao.agent_id, ao.customer_id, ao.container_teu,
+                 ao.final_price
+          FROM archived_freight_orders ao
+          JOIN voyages v ON v.id = ao.voyage_id
+          JOIN ports dp ON dp.id = v.departure_port_id
+          JOIN ports ap ON ap.id = v.arrival_port_id
+          WHERE ao.created_at >= :from AND ao.created_at < :to
+      ) o
+      GROUP BY origin, destination, agent_id, customer_id
+      """;
+
+  /**
+   * Records pending events of orders placed in {@code [from, to)} as applied. Used by the backfill
+   * in the snapshot it aggregated from: the effect of those events is already in the orders it
+   * read.
+   */
+  private static final String MARK_PENDING_APPLIED =
+      """
+      INSERT INTO booking_rollup_applied_event (event_id)
+      SELECT e.id
+      FROM outbox_event e
+      JOIN freight_orders fo ON fo.id = e.aggregate_id
+      WHERE e.aggregate_type = 'FREIGHT_ORDER'
+        AND e.published_at IS NULL
+        AND fo.created_at >= :from AND fo.created_at < :to
+        AND NOT EXISTS (
+            SELECT 1 FROM booking_rollup_applied_event a WHERE a.event_id = e.id)
+      """;
+
+  private static final String PURGE_APPLIED =
+      """
+      DELETE FROM booking_rollup_applied_event
+      WHERE NOT EXISTS (
+          SELECT 1 FROM outbox_event e
+          WHERE e.id = booking_rollup_applied_event.event_id AND e.published_at IS NULL)
+      """;
+
+  private static final String DAILY =
+      """
+      SELECT booking_date, bookings, teu, revenue
+      FROM booking_daily_rollup
+      WHERE dimension = :dimension AND dimension_key = :key
+        AND booking_date >= :from AND booking_date <= :to
+      ORDER BY booking_date
+      """;
+
+  private static final String TOTALS =
+      """
+      SELECT dimension_key, SUM(bookings) AS bookings, SUM(teu) AS teu, SUM(revenue) AS revenue
+      FROM booking_daily_rollup
+      WHERE dimension = :dimension AND booking_date >= :from AND booking_date <= :to
+      GROUP BY dimension_key
+      ORDER BY SUM(revenue) DESC, dimension_key
+      LIMIT :limit
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public BookingRollupRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Records {@code eventId} in the ledger; returns {@code false} if it was already there, in which
+   * case the caller must not apply the event again.
+   */
+  public boolean markApplied(Long eventId) {
+    Integer seen =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM booking_rollup_applied_event WHERE event_id = :id",
+            Map.of("id", eventId),
+            Integer.class);
+    if (seen != null && seen > 0) {
+      return false;
+    }
+    jdbcTemplate.update(
+        "INSERT INTO booking_rollup_applied_event (event_id) VALUES (:id)", Map.of("id", eventId));
+    return true;
+  }
+
+  public Optional<OrderKeys> findOrderKeys(Long orderId) {
+    return jdbcTemplate
+        .query(
+            ORDER_KEYS,
+            Map.of("id", orderId),
+            (rs, rowNum) ->
+                new OrderKeys(
+                    rs.getTimestamp("created_at").toLocalDateTime().toLocalDate(),
+                    route(rs.getString("origin"), rs.getString("destination")),
+                    rs.getLong("agent_id"),
+                    rs.getLong("customer_id")))
+        .stream()
+        .findFirst();
+  }
+
+  /** Adds to one rollup row, creating it on the first booking of its day and key. */
+  public void add(
+      RollupDimension dimension,
+      LocalDate bookingDate,
+      String key,
+      long bookings,
+      long teu,
+      BigDecimal revenue) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("dimension", dimension.name());
+    params.put("bookingDate", bookingDate);
+    params.put("key", key);
+    params.put("bookings", bookings);
+    params.put("teu", teu);
+    params.put("revenue", revenue);
+    if (jdbcTemplate.update(ADD, params) == 0) {
+      jdbcTemplate.update(INSERT, params);
+    }
+  }
+
+  public List<OrderAggregate> aggregateOrders(LocalDateTime from, LocalDateTime to) {
+    return jdbcTemplate.query(
+        AGGREGATE_ORDERS,
+        Map.of("from", from, "to", to),
+        (rs, rowNum) ->
+            new OrderAggregate(
+                route(rs.getString("origin"), rs.getString("destination")),
+                rs.getLong("agent_id"),
+                rs.getLong("customer_id"),
+                rs.getLong("bookings"),
+                rs.getLong("teu"),
+                rs.getBigDecimal("revenue")));
+  }
+
+  /** Replaces every rollup row of {@code bookingDate} with {@code rows}. */
+  public void replaceDay(LocalDate bookingDate, List<RollupRow> rows) {
+    jdbcTemplate.update(
+        "DELETE FROM booking_daily_rollup WHERE booking_date = :bookingDate",
+        Map.of("bookingDate", bookingDate));
+    SqlParameterSource[] batch =
+        rows.stream()
+            .map(
+                row ->
+                    new MapSqlParameterSource()
+                        .addValue("dimension", row.dimension().name())
+                        .addValue("bookingDate", bookingDate)
+                        .addValue("key", row.key())
+                        .addValue("bookings", row.bookings())
+                        .addValue("teu", row.teu())
+                        .addValue("revenue", row.revenue()))
+            .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(INSERT, batch);
+  }
+
+  public int markPendingOrderEventsApplied(LocalDateTime from, LocalDateTime to) {
+    return jdbcTemplate.update(MARK_PENDING_APPLIED, Map.of("from", from, "to", to));
+  }
+
+  /** Forgets applied events that have been delivered; returns the number of rows removed. */
+  public int purgeAppliedEvents() {
+    return jdbcTemplate.update(PURGE_APPLIED, Map.of());
+  }
+
+  public List<DailyBookings> findDaily(
+      RollupDimension dimension, String key, LocalDate from, LocalDate to) {
+    return jdbcTemplate.query(
+        DAILY,
+        Map.of("dimension", dimension.name(), "key", key, "from", from, "to", to),
+        (rs, rowNum) ->
+            new DailyBookings(
+                rs.getObject("booking_date", LocalDate.class),
+                rs.getLong("bookings"),
+                rs.getLong("teu"),
+                rs.getBigDecimal("revenue")));
+  }
+
+  public List<BookingTotals> findTotals(
+      RollupDimension dimension, LocalDate from, LocalDate to, int limit) {
+    return jdbcTemplate.query(
+        TOTALS,
+        Map.of("dimension", dimension.name(), "from", from, "to", to, "limit", limit),
+        (rs, rowNum) ->
+            new BookingTotals(
+                rs.getString("dimension_key"),
+                rs.getLong("bookings"),
+                rs.getLong("teu"),
+                rs.getBigDecimal("revenue")));
+  }
+
+  private static String route(String origin, String destination) {
+    return origin + "-" + destination;
+  }
+
+  /** Booking day and rollup keys of one order. */
+  public record OrderKeys(LocalDate bookingDate, String route, long agentId, long customerId) {}
+
+  /** Orders of one route, agent and customer combination. */
+  public record OrderAggregate(
+      String route, long agentId, long customerId, long bookings, long teu, BigDecimal revenue) {}
+
+  public record RollupRow(
+      RollupDimension dimension, String key, long bookings, long teu, BigDecimal revenue) {}
+}
@@ -0,0 +1,118 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.dto.CreateContainerRequest;
+import com.shipping.freightops.dto.CreateCustomerRequest;
+import com.shipping.freightops.dto.CreatePortRequest;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based natural key lookups and batched inserts for bulk imports. Inserts go through JDBC
+ * batches rather than the persistence context, because identity ids keep Hibernate from batching;
+ * on PostgreSQL {@code reWriteBatchedInserts} turns each batch into multi-row inserts. Callers own
+ * the transaction.
+ */
+@Repository
+public class BulkImportRepository {
+
+  private static final String INSERT_CONTAINER =
+      """
+      INSERT INTO containers (container_code, size, type, teu, created_at, updated_at)
+      VALUES (:containerCode, :size, :type, :teu, :now, :now)
+      """;
+
+  private static final String INSERT_CUSTOMER =
+      """
+      INSERT INTO customers (company_name, contact_name, email, phone, address, created_at,
+                             updated_at)
+      VALUES (:companyName, :contactName, :email, :phone, :address, :now, :now)
+      """;
+
+  private static final String INSERT_PORT =
+      """
+      INSERT INTO ports (unlocode, name, country, created_at, updated_at)
+      VALUES (:unlocode, :name, :country, :now, :now)
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public BulkImportRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Which of {@code codes} are already taken, in one query. */
+  public Set<String> findExistingContainerCodes(Collection<String> codes) {
+    return findExisting(
+        "SELECT container_code FROM containers WHERE container_code IN (:keys)", codes);
+  }
+
+  /** Which of {@code unlocodes} are already taken, in one query. */
+  public Set<String> findExistingUnlocodes(Collection<String> unlocodes) {
+    return findExisting("SELECT unlocode FROM ports WHERE unlocode IN (:keys)", unlocodes);
+  }
+
+  /** Which of the lower-cased {@code emails} already belong to a customer, in one query. */
+  public Set<String> findExistingCustomerEmails(Collection<String> emails) {
+    return findExisting("SELECT LOWER(email) FROM customers WHERE LOWER(email) IN (:keys)", emails);
+  }
+
+  public void insertContainers(List<CreateContainerRequest> rows, LocalDateTime now) {
+    jdbcTemplate.batchUpdate(
+        INSERT_CONTAINER,
+        rows.stream()
+            .map(
+                row ->
+                    new MapSqlParameterSource()
+                        .addValue("containerCode", row.getContainerCode())
+                        .addValue("size", row.getSize().name())
+                        .addValue("type", row.getType().name())
+                        .addValue("teu", row.getSize().getTeu())
+                        .addValue("now", now))
+            .toArray(SqlParameterSource[]::new));
+  }
+
+  public void insertCustomers(List<CreateCustomerRequest> rows, LocalDateTime now) {
+    jdbcTemplate.batchUpdate(
+        INSERT_CUSTOMER,
+        rows.stream()
+            .map(
+                row ->
+                    new MapSqlParameterSource()
+                        .addValue("companyName", row.getCompanyName())
+                        .addValue("contactName", row.getContactName())
+                        .addValue("email", row.getEmail())
+                        .addValue("phone", row.getPhone())
+                        .addValue("address", row.getAddress())
+                        .addValue("now", now))
+            .toArray(SqlParameterSource[]::new));
+  }
+
+  public void insertPorts(List<CreatePortRequest> rows, LocalDateTime now) {
+    jdbcTemplate.batchUpdate(
+        INSERT_PORT,
+        rows.stream()
+            .map(
+                row ->
+                    new MapSqlParameterSource()
+                        .addValue("unlocode", row.getUnlocode())
+                        .addValue("name", row.getName())
+                        .addValue("country", row.getCountry())
+                        .addValue("now", now))
+            .toArray(SqlParameterSource[]::new));
+  }
+
+  private Set<String> findExisting(String sql, Collection<String> keys) {
+    if (keys.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(jdbcTemplate.queryForList(sql, Map.of("keys", keys), String.class));
+  }
+}
@@ -0,0 +1,50 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.entity.ChangeLogEntry;
+import com.shipping.freightops.enums.ChangeEntityType;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+  /** Entries after {@code (txid, seq)} written by transactions below {@code horizon}. */
+  @Query(
+      """
+      SELECT e FROM ChangeLogEntry e
+      WHERE (e.txid > :txid OR (e.txid = :txid AND e.seq > :seq)) AND e.txid < :horizon
+      ORDER BY e.txid, e.seq
+      """)
+  List<ChangeLogEntry> findAfter(
+      @Param("txid") long txid,
+      @Param("seq") long seq,
+      @Param("horizon") long horizon,
+      Limit limit);
+
+  /** As {@link #findAfter}, for the given entity types only. */
+  @Query(
+      """
+      SELECT e FROM ChangeLogEntry e
+      WHERE (e.txid > :txid OR (e.txid = :txid AND e.seq > :seq)) AND e.txid < :horizon
+        AND e.entityType IN :types
+      ORDER BY e.txid, e.seq
+      """)
+  List<ChangeLogEntry> findAfter(
+      @Param("txid") long txid,
+      @Param("seq") long seq,
+      @Param("horizon") long horizon,
+      @Param("types") Collection<ChangeEntityType> types,
+      Limit limit);
+
+  // native: the entity is @Immutable, which bulk JPQL deletes are refused for
+  @Transactional
+  @Modifying
+  @Query(value = "DELETE FROM change_log WHERE changed_at < :cutoff", nativeQuery = true)
+  int deleteChangedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
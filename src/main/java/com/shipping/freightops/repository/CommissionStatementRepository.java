@@ -0,0 +1,276 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.enums.AgentType;
+import com.shipping.freightops.repository.projection.CommissionStatement;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+/** Plain JDBC access to {@code agent_commission_statement}; callers own the transaction. */
+@Repository
+public class CommissionStatementRepository {
+
+  /**
+   * Delivered orders, live and archived, of the voyages completed in {@code [from, to)}, grouped by
+   * agent, with the agent's current rate. {@code %s} narrows the agents.
+   */
+  private static final String TOTALS =
+      """
+      SELECT o.agent_id, COUNT(*) AS order_count, SUM(o.final_price) AS order_value_usd,
+             a.commission_percent
+      FROM (
+          SELECT fo.agent_id, fo.final_price FROM freight_orders fo
+          WHERE fo.status = 'DELIVERED' AND fo.voyage_id IN (SELECT v.id FROM voyages v WHERE %1$s)
+          UNION ALL
+          SELECT ao.agent_id, ao.final_price FROM archived_freight_orders ao
+          WHERE ao.status = 'DELIVERED' AND ao.voyage_id IN (SELECT v.id FROM voyages v WHERE %1$s)
+      ) o
+      JOIN agents a ON a.id = o.agent_id
+      %2$s
+      GROUP BY o.agent_id, a.commission_percent
+      """;
+
+  private static final String IN_RANGE =
+      "v.status = 'COMPLETED' AND v.completed_at >= :from AND v.completed_at < :to";
+
+  private static final String ALL_TOTALS = TOTALS.formatted(IN_RANGE, "");
+
+  private static final String AGENT_TOTALS =
+      TOTALS.formatted(IN_RANGE, "WHERE o.agent_id IN (:agentIds)");
+
+  private static final String FIND =
+      """
+      SELECT s.agent_id, a.name AS agent_name, a.type AS agent_type, s.period_start,
+             s.order_count, s.order_value_usd, s.commission_percent, s.commission_usd, s.stale,
+             s.computed_at
+      FROM agent_commission_statement s
+      JOIN agents a ON a.id = s.agent_id
+      WHERE s.period_start = :periodStart
+      ORDER BY a.name, s.agent_id
+      """;
+
+  /** Rate of each statement of the period; locks them until the transaction ends. */
+  private static final String LOCK_PERIOD =
+      """
+      SELECT agent_id, commission_percent, stale FROM agent_commission_statement
+      WHERE period_start = :periodStart
+      FOR UPDATE
+      """;
+
+  private static final String REPLACE =
+      """
+      UPDATE agent_commission_statement
+      SET order_count = :orderCount, order_value_usd = :orderValueUsd,
+          commission_percent = :commissionPercent, commission_usd = :commissionUsd,
+          stale = FALSE, computed_at = :now
+      WHERE agent_id = :agentId AND period_start = :periodStart
+      """;
+
+  private static final String INSERT =
+      """
+      INSERT INTO agent_commission_statement (agent_id, period_start, period_end, order_count,
+          order_value_usd, commission_percent, commission_usd, stale, computed_at)
+      VALUES (:agentId, :periodStart, :periodEnd, :orderCount, :orderValueUsd, :commissionPercent,
+          :commissionUsd, FALSE, :now)
+      """;
+
+  private static final String DELETE =
+      """
+      DELETE FROM agent_commission_statement
+      WHERE agent_id = :agentId AND period_start = :periodStart
+      """;
+
+  /** The statement of the agent's period in which the voyage was completed, if it is completed. */
+  private static final String MARK_STALE_FOR_ORDER =
+      """
+      UPDATE agent_commission_statement
+      SET stale = TRUE
+      WHERE agent_id = :agentId
+        AND EXISTS (SELECT 1 FROM voyages v
+                    WHERE v.id = :voyageId AND v.status = 'COMPLETED'
+                      AND v.completed_at >= agent_commission_statement.period_start
+                      AND v.completed_at < agent_commission_statement.period_end)
+      """;
+
+  /** The period's statements of the agents with delivered orders on the voyage. */
+  private static final String MARK_STALE_FOR_VOYAGE =
+      """
+      UPDATE agent_commission_statement
+      SET stale = TRUE
+      WHERE period_start = :periodStart
+        AND agent_id IN (
+            SELECT fo.agent_id FROM freight_orders fo
+            WHERE fo.voyage_id = :voyageId AND fo.status = 'DELIVERED'
+            UNION
+            SELECT ao.agent_id FROM archived_freight_orders ao
+            WHERE ao.voyage_id = :voyageId AND ao.status = 'DELIVERED')
+      """;
+
+  private static final String FIRST_STALE_PERIOD =
+      "SELECT MIN(period_start) FROM agent_commission_statement WHERE stale";
+
+  private static final String NEXT_STALE_PERIOD = FIRST_STALE_PERIOD + " AND period_start > :after";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public CommissionStatementRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Totals of every agent with delivered orders on voyages completed in {@code [from, to)}. */
+  public List<AgentTotals> sumDeliveredByAgent(LocalDateTime from, LocalDateTime to) {
+    return jdbcTemplate.query(ALL_TOTALS, range(from, to), CommissionStatementRepository::toTotals);
+  }
+
+  /** Like {@link #sumDeliveredByAgent(LocalDateTime, LocalDateTime)}, for some agents only. */
+  public List<AgentTotals> sumDeliveredByAgent(
+      LocalDateTime from, LocalDateTime to, Collection<Long> agentIds) {
+    MapSqlParameterSource params = range(from, to).addValue("agentIds", agentIds);
+    return jdbcTemplate.query(AGENT_TOTALS, params, CommissionStatementRepository::toTotals);
+  }
+
+  /** The period's statements, by agent name. */
+  public List<CommissionStatement> findByPeriod(LocalDate periodStart) {
+    return jdbcTemplate.query(
+        FIND,
+        Map.of("periodStart", periodStart),
+        (rs, rowNum) ->
+            new CommissionStatement(
+                rs.getLong("agent_id"),
+                rs.getString("agent_name"),
+                AgentType.valueOf(rs.getString("agent_type")),
+                rs.getObject("period_start", LocalDate.class),
+                rs.getLong("order_count"),
+                rs.getBigDecimal("order_value_usd"),
+                rs.getBigDecimal("commission_percent"),
+                rs.getBigDecimal("commission_usd"),
+                rs.getBoolean("stale"),
+                rs.getTimestamp("computed_at").toLocalDateTime()));
+  }
+
+  /**
+   * Locks the period's statements until the transaction ends, so that a statement marked stale
+   * meanwhile is marked again after it is recomputed.
+   */
+  public Map<Long, StatementRate> lockPeriod(LocalDate periodStart) {
+    Map<Long, StatementRate> rates = new HashMap<>();
+    jdbcTemplate.query(
+        LOCK_PERIOD,
+        Map.of("periodStart", periodStart),
+        rs -> {
+          rates.put(
+              rs.getLong("agent_id"),
+              new StatementRate(rs.getBigDecimal("commission_percent"), rs.getBoolean("stale")));
+        });
+    return rates;
+  }
+
+  /** Writes the statements of the period, creating those that do not exist yet. */
+  public void saveAll(
+      LocalDate periodStart, LocalDate periodEnd, List<Statement> statements, LocalDateTime now) {
+    if (statements.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] params =
+        statements.stream()
+            .map(statement -> params(periodStart, periodEnd, statement, now))
+            .toArray(SqlParameterSource[]::new);
+    int[] updated = jdbcTemplate.batchUpdate(REPLACE, params);
+    List<SqlParameterSource> inserts = new ArrayList<>();
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        inserts.add(params[i]);
+      }
+    }
+    if (!inserts.isEmpty()) {
+      jdbcTemplate.batchUpdate(INSERT, inserts.toArray(SqlParameterSource[]::new));
+    }
+  }
+
+  public void deleteAll(LocalDate periodStart, Collection<Long> agentIds) {
+    if (agentIds.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate(
+        DELETE,
+        agentIds.stream()
+            .map(
+                agentId ->
+                    new MapSqlParameterSource()
+                        .addValue("agentId", agentId)
+                        .addValue("periodStart", periodStart))
+            .toArray(SqlParameterSource[]::new));
+  }
+
+  /** Marks stale the agent's statement that covers the voyage, if the voyage is completed. */
+  public void markStaleForOrder(Long agentId, Long voyageId) {
+    jdbcTemplate.update(MARK_STALE_FOR_ORDER, Map.of("agentId", agentId, "voyageId", voyageId));
+  }
+
+  /** Marks stale the statements of the period that count delivered orders of the voyage. */
+  public void markStaleForVoyage(Long voyageId, LocalDate periodStart) {
+    jdbcTemplate.update(
+        MARK_STALE_FOR_VOYAGE, Map.of("voyageId", voyageId, "periodStart", periodStart));
+  }
+
+  /** The first period after {@code after}, or the first of all, with a stale statement. */
+  public Optional<LocalDate> findNextStalePeriod(LocalDate after) {
+    return Optional.ofNullable(
+        after == null
+            ? jdbcTemplate.queryForObject(FIRST_STALE_PERIOD, Map.of(), LocalDate.class)
+            : jdbcTemplate.queryForObject(
+                NEXT_STALE_PERIOD, Map.of("after", after), LocalDate.class));
+  }
+
+  private static MapSqlParameterSource range(LocalDateTime from, LocalDateTime to) {
+    return new MapSqlParameterSource().addValue("from", from).addValue("to", to);
+  }
+
+  private static MapSqlParameterSource params(
+      LocalDate periodStart, LocalDate periodEnd, Statement statement, LocalDateTime now) {
+    return new MapSqlParameterSource()
+        .addValue("agentId", statement.agentId())
+        .addValue("periodStart", periodStart)
+        .addValue("periodEnd", periodEnd)
+        .addValue("orderCount", statement.orderCount())
+        .addValue("orderValueUsd", statement.orderValueUsd())
+        .addValue("commissionPercent", statement.commissionPercent())
+        .addValue("commissionUsd", statement.commissionUsd())
+        .addValue("now", now);
+  }
+
+  private static AgentTotals toTotals(ResultSet rs, int rowNum) throws SQLException {
+    return new AgentTotals(
+        rs.getLong("agent_id"),
+        rs.getLong("order_count"),
+        rs.getBigDecimal("order_value_usd"),
+        rs.getBigDecimal("commission_percent"));
+  }
+
+  /** An agent's delivered orders in a period, and its current rate. */
+  public record AgentTotals(
+      Long agentId, long orderCount, BigDecimal orderValueUsd, BigDecimal commissionPercent) {}
+
+  /** The rate a statement was computed at, and whether it is stale. */
+  public record StatementRate(BigDecimal commissionPercent, boolean stale) {}
+
+  /** The figures a statement is written with. */
+  public record Statement(
+      Long agentId,
+      long orderCount,
+      BigDecimal orderValueUsd,
+      BigDecimal commissionPercent,
+      BigDecimal commissionUsd) {}
+}
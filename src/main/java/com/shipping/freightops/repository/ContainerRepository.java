@@ -3,9 +3,15 @@ package com.shipping.freightops.repository;
 import com.shipping.freightops.entity.Container;
 import com.shipping.freightops.enums.ContainerSize;
 import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.repository.projection.ContainerLabelDocument;
+import com.shipping.freightops.repository.projection.ContainerSummary;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface ContainerRepository extends JpaRepository<Container, Long> {
 
@@ -13,9 +19,32 @@ public interface ContainerRepository extends JpaRepository<Container, Long> {
 
   boolean existsByContainerCode(String containerCode);
 
-  List<Container> findBySize(ContainerSize size);
+  /** Container listing with optional filters; a {@code null} filter matches every value. */
+  @Query(
+      "SELECT new com.shipping.freightops.repository.projection.ContainerSummary("
+          + "c.id, c.containerCode, c.size, c.type, c.teu, c.createdAt)"
+          + " FROM Container c"
+          + " WHERE (:size IS NULL OR c.size = :size)"
+          + " AND (:type IS NULL OR c.type = :type)")
+  List<ContainerSummary> findSummaries(
+      @Param("size") ContainerSize size, @Param("type") ContainerType type);
 
-  List<Container> findByType(ContainerType type);
-
-  List<Container> findBySizeAndType(ContainerSize size, ContainerType type);
+  /**
+   * Label data for a container joined to its earliest departing order in {@code status}, in one
+   * statement. Call with {@code Limit.of(1)}; empty when the container does not exist.
+   */
+  @Query(
+      "SELECT new com.shipping.freightops.repository.projection.ContainerLabelDocument("
+          + "c.containerCode, c.size, c.type, v.voyageNumber, ve.name, dp.name, ap.name,"
+          + " v.departureTime)"
+          + " FROM Container c"
+          + " LEFT JOIN FreightOrder fo ON fo.container = c AND fo.status = :status"
+          + " LEFT JOIN fo.voyage v"
+          + " LEFT JOIN v.vessel ve"
+          + " LEFT JOIN v.departurePort dp"
+          + " LEFT JOIN v.arrivalPort ap"
+          + " WHERE c.id = :id"
+          + " ORDER BY v.departureTime ASC")
+  Optional<ContainerLabelDocument> findLabelDocument(
+      @Param("id") Long containerId, @Param("status") OrderStatus status, Limit limit);
 }
@@ -0,0 +1,198 @@
+package com.shipping.freightops.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC reads behind the fleet financial report. Each method answers for every voyage
+ * completed in {@code [from, to)} at once, grouped by the database; callers own the transaction.
+ */
+@Repository
+public class FinancialReportRepository {
+
+  private static final String IN_RANGE =
+      "v.status = 'COMPLETED' AND v.completed_at >= :from AND v.completed_at < :to";
+
+  private static final String WITHOUT_SNAPSHOT =
+      " AND NOT EXISTS (SELECT 1 FROM voyage_financial_snapshot s WHERE s.voyage_id = v.id)";
+
+  private static final String VOYAGES =
+      """
+      SELECT v.id, v.voyage_number, v.vessel_id, vs.name AS vessel_name, v.completed_at,
+             s.voyage_id AS snapshot_id, s.total_revenue_usd, s.total_costs_usd, s.net_profit_usd,
+             s.order_count
+      FROM voyages v
+      JOIN vessels vs ON vs.id = v.vessel_id
+      LEFT JOIN voyage_financial_snapshot s ON s.voyage_id = v.id
+      WHERE %s
+      ORDER BY v.completed_at, v.id
+      """
+          .formatted(IN_RANGE);
+
+  /** Delivered orders of voyages without a snapshot, live and archived. */
+  private static final String DELIVERED_REVENUE =
+      """
+      SELECT o.voyage_id, COUNT(*) AS order_count, SUM(o.final_price) AS revenue
+      FROM (
+          SELECT fo.voyage_id, fo.final_price FROM freight_orders fo
+          WHERE fo.status = 'DELIVERED'
+            AND fo.voyage_id IN (SELECT v.id FROM voyages v WHERE %1$s%2$s)
+          UNION ALL
+          SELECT ao.voyage_id, ao.final_price FROM archived_freight_orders ao
+          WHERE ao.status = 'DELIVERED'
+            AND ao.voyage_id IN (SELECT v.id FROM voyages v WHERE %1$s%2$s)
+      ) o
+      GROUP BY o.voyage_id
+      """
+          .formatted(IN_RANGE, WITHOUT_SNAPSHOT);
+
+  private static final String COSTS =
+      """
+      SELECT c.voyage_id, SUM(c.amount_usd) AS costs
+      FROM voyage_costs c
+      JOIN voyages v ON v.id = c.voyage_id
+      WHERE %s%s
+      GROUP BY c.voyage_id
+      """
+          .formatted(IN_RANGE, WITHOUT_SNAPSHOT);
+
+  private static final String SNAPSHOT_OWNERS =
+      """
+      SELECT so.voyage_id, so.owner_name, so.share_percent, so.revenue_share_usd,
+             so.cost_share_usd, so.profit_share_usd
+      FROM voyage_financial_snapshot_owner so
+      JOIN voyages v ON v.id = so.voyage_id
+      WHERE %s
+      ORDER BY so.voyage_id, so.owner_index
+      """
+          .formatted(IN_RANGE);
+
+  /** Today's owners of the vessels that sailed the voyages without a snapshot. */
+  private static final String VESSEL_OWNERS =
+      """
+      SELECT o.vessel_id, o.owner_name, o.share_percent
+      FROM vessel_owners o
+      WHERE o.vessel_id IN (SELECT v.vessel_id FROM voyages v WHERE %s%s)
+      ORDER BY o.vessel_id, o.id
+      """
+          .formatted(IN_RANGE, WITHOUT_SNAPSHOT);
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public FinancialReportRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Voyages completed in the range, in completion order, with their snapshot figures if any. */
+  public List<ReportVoyage> findCompletedVoyages(LocalDateTime from, LocalDateTime to) {
+    return jdbcTemplate.query(
+        VOYAGES,
+        range(from, to),
+        (rs, rowNum) ->
+            new ReportVoyage(
+                rs.getLong("id"),
+                rs.getString("voyage_number"),
+                rs.getLong("vessel_id"),
+                rs.getString("vessel_name"),
+                rs.getTimestamp("completed_at").toLocalDateTime(),
+                rs.getObject("snapshot_id") != null,
+                rs.getBigDecimal("total_revenue_usd"),
+                rs.getBigDecimal("total_costs_usd"),
+                rs.getBigDecimal("net_profit_usd"),
+                rs.getInt("order_count")));
+  }
+
+  /** Delivered revenue by voyage, for the voyages in the range without a snapshot. */
+  public Map<Long, DeliveredRevenue> sumDeliveredRevenue(LocalDateTime from, LocalDateTime to) {
+    Map<Long, DeliveredRevenue> revenue = new HashMap<>();
+    jdbcTemplate.query(
+        DELIVERED_REVENUE,
+        range(from, to),
+        rs -> {
+          revenue.put(
+              rs.getLong("voyage_id"),
+              new DeliveredRevenue(rs.getLong("order_count"), rs.getBigDecimal("revenue")));
+        });
+    return revenue;
+  }
+
+  /** Cost totals by voyage, for the voyages in the range without a snapshot. */
+  public Map<Long, BigDecimal> sumCosts(LocalDateTime from, LocalDateTime to) {
+    Map<Long, BigDecimal> costs = new HashMap<>();
+    jdbcTemplate.query(
+        COSTS,
+        range(from, to),
+        rs -> {
+          costs.put(rs.getLong("voyage_id"), rs.getBigDecimal("costs"));
+        });
+    return costs;
+  }
+
+  /** The owner rows of the snapshots in the range, by voyage, in snapshot order. */
+  public Map<Long, List<OwnerShareRow>> findSnapshotOwners(LocalDateTime from, LocalDateTime to) {
+    Map<Long, List<OwnerShareRow>> owners = new HashMap<>();
+    jdbcTemplate.query(
+        SNAPSHOT_OWNERS,
+        range(from, to),
+        rs -> {
+          owners
+              .computeIfAbsent(rs.getLong("voyage_id"), id -> new ArrayList<>())
+              .add(
+                  new OwnerShareRow(
+                      rs.getString("owner_name"),
+                      rs.getBigDecimal("share_percent"),
+                      rs.getBigDecimal("revenue_share_usd"),
+                      rs.getBigDecimal("cost_share_usd"),
+                      rs.getBigDecimal("profit_share_usd")));
+        });
+    return owners;
+  }
+
+  /** Current owners by vessel, for the vessels of the voyages in the range without a snapshot. */
+  public Map<Long, List<VesselShare>> findVesselOwners(LocalDateTime from, LocalDateTime to) {
+    Map<Long, List<VesselShare>> owners = new HashMap<>();
+    jdbcTemplate.query(
+        VESSEL_OWNERS,
+        range(from, to),
+        rs -> {
+          owners
+              .computeIfAbsent(rs.getLong("vessel_id"), id -> new ArrayList<>())
+              .add(new VesselShare(rs.getString("owner_name"), rs.getBigDecimal("share_percent")));
+        });
+    return owners;
+  }
+
+  private static Map<String, Object> range(LocalDateTime from, LocalDateTime to) {
+    return Map.of("from", from, "to", to);
+  }
+
+  /** A completed voyage; the figures are those of its snapshot, or {@code null} if it has none. */
+  public record ReportVoyage(
+      long id,
+      String voyageNumber,
+      long vesselId,
+      String vesselName,
+      LocalDateTime completedAt,
+      boolean snapshotted,
+      BigDecimal totalRevenueUsd,
+      BigDecimal totalCostsUsd,
+      BigDecimal netProfitUsd,
+      int orderCount) {}
+
+  public record DeliveredRevenue(long orderCount, BigDecimal revenue) {}
+
+  public record OwnerShareRow(
+      String ownerName,
+      BigDecimal sharePercent,
+      BigDecimal revenueShareUsd,
+      BigDecimal costShareUsd,
+      BigDecimal profitShareUsd) {}
+
+  public record VesselShare(String ownerName, BigDecimal sharePercent) {}
+}
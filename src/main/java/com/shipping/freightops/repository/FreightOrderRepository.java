@@ -2,49 +2,97 @@ package com.shipping.freightops.repository;
 
 import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.repository.projection.FreightOrderSummary;
+import com.shipping.freightops.repository.projection.InvoiceDocument;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface FreightOrderRepository extends JpaRepository<FreightOrder, Long> {
 
   long countByVoyageId(Long voyageId);
 
-  @Query(
-      value =
-          "SELECT fo FROM FreightOrder fo"
-              + " JOIN FETCH fo.voyage"
-              + " JOIN FETCH fo.container"
-              + " JOIN FETCH fo.agent"
-              + " JOIN FETCH fo.customer",
-      countQuery = "SELECT COUNT(fo) FROM FreightOrder fo")
-  Page<FreightOrder> findAllWithAssociations(Pageable pageable);
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT fo FROM FreightOrder fo WHERE fo.id = :id")
+  Optional<FreightOrder> findByIdForUpdate(@Param("id") Long id);
+
+  String SUMMARY_SELECT =
+      "SELECT new com.shipping.freightops.repository.projection.FreightOrderSummary("
+          + "fo.id, v.voyageNumber, c.containerCode, c.size, c.type, a.id, a.name,"
+          + " cu.companyName, cu.email, fo.orderedBy, fo.notes, fo.status, fo.basePriceUsd,"
+          + " fo.discountPercent, fo.finalPrice, fo.discountReason, fo.createdAt)"
+          + " FROM FreightOrder fo"
+          + " JOIN fo.voyage v"
+          + " JOIN fo.container c"
+          + " JOIN fo.agent a"
+          + " JOIN fo.customer cu";
+
+  @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(fo) FROM FreightOrder fo")
+  Page<FreightOrderSummary> findAllSummaries(Pageable pageable);
+
+  /** Same as {@link #findAllSummaries} but without the {@code COUNT(*)} query. */
+  @Query(SUMMARY_SELECT)
+  Slice<FreightOrderSummary> findSliceOfSummaries(Pageable pageable);
 
   @Query(
-      value =
-          "SELECT fo FROM FreightOrder fo"
-              + " JOIN FETCH fo.voyage"
-              + " JOIN FETCH fo.container"
-              + " JOIN FETCH fo.agent"
-              + " JOIN FETCH fo.customer"
-              + " WHERE fo.voyage.id = :voyageId",
+      value = SUMMARY_SELECT + " WHERE v.id = :voyageId",
       countQuery = "SELECT COUNT(fo) FROM FreightOrder fo WHERE fo.voyage.id = :voyageId")
-  Page<FreightOrder> findByVoyageIdWithAssociations(
+  Page<FreightOrderSummary> findSummariesByVoyageId(
       @Param("voyageId") Long voyageId, Pageable pageable);
 
+  /** Same as {@link #findSummariesByVoyageId} but without the {@code COUNT(*)} query. */
+  @Query(SUMMARY_SELECT + " WHERE v.id = :voyageId")
+  Slice<FreightOrderSummary> findSliceOfSummariesByVoyageId(
+      @Param("voyageId") Long voyageId, Pageable pageable);
+
+  /**
+   * Forward-only stream of order rows for exports, in id order. Rows are DTOs, so nothing
+   * accumulates in the persistence context, and the fetch size keeps the driver from buffering the
+   * whole result. Must be consumed inside a transaction and closed.
+   */
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query(
+      SUMMARY_SELECT
+          + " WHERE (:voyageId IS NULL OR v.id = :voyageId)"
+          + " AND (CAST(:from AS LocalDateTime) IS NULL OR fo.createdAt >= :from)"
+          + " AND (CAST(:to AS LocalDateTime) IS NULL OR fo.createdAt < :to)"
+          + " ORDER BY fo.id")
+  Stream<FreightOrderSummary> streamSummaries(
+      @Param("voyageId") Long voyageId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
   @Query(
       "SELECT fo FROM FreightOrder fo"
-          + " JOIN FETCH fo.voyage"
+          + " JOIN FETCH fo.voyage v"
+          + " JOIN FETCH v.vessel"
+          + " JOIN FETCH v.departurePort"
+          + " JOIN FETCH v.arrivalPort"
           + " JOIN FETCH fo.container"
           + " JOIN FETCH fo.agent"
           + " JOIN FETCH fo.customer"
           + " WHERE fo.id = :id")
   Optional<FreightOrder> findByIdWithAssociations(@Param("id") Long id);
 
+  @Query("SELECT fo.createdAt FROM FreightOrder fo WHERE fo.id = :id")
+  Optional<LocalDateTime> findCreatedAtById(@Param("id") Long id);
+
+  @Query("SELECT fo.id FROM FreightOrder fo WHERE fo.voyage.id = :voyageId ORDER BY fo.id")
+  List<Long> findIdsByVoyageId(@Param("voyageId") Long voyageId, Pageable pageable);
+
   Page<FreightOrder> findByVoyageId(Long voyageId, Pageable pageable);
 
   Page<FreightOrder> findByStatus(OrderStatus status, Pageable pageable);
@@ -53,6 +101,7 @@ public interface FreightOrderRepository extends JpaRepository<FreightOrder, Long
 
   Page<FreightOrder> findByOrderedBy(String orderedBy, Pageable pageable);
 
+  @EntityGraph(attributePaths = "container")
   List<FreightOrder> findByVoyageIdAndStatusIn(Long voyageId, List<OrderStatus> statuses);
 
   List<FreightOrder> findByVoyageIdAndStatus(Long voyageId, OrderStatus status);
@@ -79,11 +128,26 @@ public interface FreightOrderRepository extends JpaRepository<FreightOrder, Long
       """
     SELECT fo
     FROM FreightOrder fo
-    JOIN fo.container c
+    JOIN FETCH fo.container c
+    JOIN FETCH fo.voyage v
+    JOIN FETCH v.departurePort
+    JOIN FETCH v.arrivalPort
     WHERE c.containerCode = :containerCode
     """)
   List<FreightOrder> findByContainerCode(@Param("containerCode") String containerCode);
 
-  Optional<FreightOrder> findFirstByContainer_ContainerCodeAndStatusOrderByVoyage_DepartureTimeAsc(
-      String containerContainerCode, OrderStatus status);
+  /** Everything an invoice prints for a live order, in one statement and without entities. */
+  @Query(
+      "SELECT new com.shipping.freightops.repository.projection.InvoiceDocument("
+          + "fo.id, fo.status, cu.companyName, cu.email, cu.address, v.voyageNumber,"
+          + " c.containerCode, c.size, c.type, dp.name, ap.name, fo.basePriceUsd,"
+          + " fo.discountPercent, fo.finalPrice, fo.discountReason)"
+          + " FROM FreightOrder fo"
+          + " JOIN fo.customer cu"
+          + " JOIN fo.container c"
+          + " JOIN fo.voyage v"
+          + " JOIN v.departurePort dp"
+          + " JOIN v.arrivalPort ap"
+          + " WHERE fo.id = :id")
+  Optional<InvoiceDocument> findInvoiceDocument(@Param("id") Long orderId);
 }
@@ -0,0 +1,28 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.entity.JobRun;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+  Optional<JobRun> findFirstByJobNameOrderByIdDesc(String jobName);
+
+  boolean existsByJobNameAndScheduledFor(String jobName, LocalDateTime scheduledFor);
+
+  List<JobRun> findByJobNameOrderByIdDesc(String jobName, Pageable pageable);
+
+  List<JobRun> findAllByOrderByIdDesc(Pageable pageable);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM JobRun r WHERE r.jobName = :jobName AND r.finishedAt < :cutoff")
+  int deleteFinishedBefore(@Param("jobName") String jobName, @Param("cutoff") LocalDateTime cutoff);
+}
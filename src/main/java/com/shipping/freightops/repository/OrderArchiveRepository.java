@@ -0,0 +1,78 @@
+package com.shipping.freightops.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based moves of freight orders, with their tracking events and invoices, into the archive
+ * tables. Rows are copied with {@code INSERT ... SELECT} and then deleted, so a batch never goes
+ * through the persistence context; callers own the transaction.
+ */
+@Repository
+public class OrderArchiveRepository {
+
+  private static final String COPY_ORDERS =
+      """
+      INSERT INTO archived_freight_orders (
+          id, voyage_id, voyage_number, vessel_name, departure_port_name, arrival_port_name,
+          departure_time, arrival_time, voyage_status, container_id, container_code,
+          container_size, container_type, container_teu, agent_id, agent_name, customer_id,
+          customer_company_name, customer_email, customer_address, ordered_by, notes, status,
+          base_price_usd, discount_percent, final_price, discount_reason, created_at, updated_at,
+          archived_at)
+      SELECT fo.id, v.id, v.voyage_number, vs.name, dp.name, ap.name,
+             v.departure_time, v.arrival_time, v.status, c.id, c.container_code,
+             c.size, c.type, c.teu, a.id, a.name, cu.id,
+             cu.company_name, cu.email, cu.address, fo.ordered_by, fo.notes, fo.status,
+             fo.base_price_usd, fo.discount_percent, fo.final_price, fo.discount_reason,
+             fo.created_at, fo.updated_at, :archivedAt
+      FROM freight_orders fo
+      JOIN voyages v ON v.id = fo.voyage_id
+      JOIN vessels vs ON vs.id = v.vessel_id
+      JOIN ports dp ON dp.id = v.departure_port_id
+      JOIN ports ap ON ap.id = v.arrival_port_id
+      JOIN containers c ON c.id = fo.container_id
+      JOIN agents a ON a.id = fo.agent_id
+      JOIN customers cu ON cu.id = fo.customer_id
+      WHERE fo.id IN (:ids)
+      """;
+
+  private static final String COPY_EVENTS =
+      """
+      INSERT INTO archived_tracking_events (
+          id, freight_order_id, event_type, description, location, performed_by, event_time,
+          created_at, updated_at, archived_at)
+      SELECT id, freight_order_id, event_type, description, location, performed_by, event_time,
+             created_at, updated_at, :archivedAt
+      FROM tracking_event
+      WHERE freight_order_id IN (:ids)
+      """;
+
+  private static final String COPY_INVOICES =
+      """
+      INSERT INTO archived_invoices (id, order_id, archived_at)
+      SELECT id, order_id, :archivedAt FROM invoice WHERE order_id IN (:ids)
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public OrderArchiveRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Moves the given orders and everything hanging off them; returns the number of orders moved. */
+  public int archiveOrders(List<Long> orderIds, LocalDateTime archivedAt) {
+    if (orderIds.isEmpty()) return 0;
+    Map<String, Object> params = Map.of("ids", orderIds, "archivedAt", archivedAt);
+    int moved = jdbcTemplate.update(COPY_ORDERS, params);
+    jdbcTemplate.update(COPY_EVENTS, params);
+    jdbcTemplate.update(COPY_INVOICES, params);
+    jdbcTemplate.update("DELETE FROM invoice WHERE order_id IN (:ids)", params);
+    jdbcTemplate.update("DELETE FROM tracking_event WHERE freight_order_id IN (:ids)", params);
+    jdbcTemplate.update("DELETE FROM freight_orders WHERE id IN (:ids)", params);
+    return moved;
+  }
+}
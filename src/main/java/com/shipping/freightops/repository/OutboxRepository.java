@@ -0,0 +1,135 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.entity.OutboxEvent;
+import com.shipping.freightops.enums.ChangeEntityType;
+import com.shipping.freightops.enums.DomainEventType;
+import com.shipping.freightops.enums.OutboxEventStatus;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Plain JDBC access to {@code outbox_event}; callers own the transaction. */
+@Repository
+public class OutboxRepository {
+
+  private static final String INSERT =
+      """
+      INSERT INTO outbox_event (
+          aggregate_type, aggregate_id, event_type, payload, created_at, status, attempts,
+          next_attempt_at)
+      VALUES (:aggregateType, :aggregateId, :eventType, :payload, :createdAt, 'PENDING', 0,
+              :createdAt)
+      """;
+
+  /**
+   * Pending events that are due and first in line for their aggregate, locked for the caller. Rows
+   * locked by another relay are skipped, and so is every later event of the same aggregate, because
+   * its predecessor is still pending; events of one aggregate are therefore delivered in order. A
+   * parked (FAILED) predecessor no longer holds its successors back.
+   */
+  private static final String CLAIM =
+      """
+      SELECT e.id, e.aggregate_type, e.aggregate_id, e.event_type, e.payload, e.created_at,
+             e.status, e.attempts, e.next_attempt_at, e.published_at, e.last_error
+      FROM outbox_event e
+      WHERE e.status = 'PENDING'
+        AND e.next_attempt_at <= :now
+        AND NOT EXISTS (
+            SELECT 1 FROM outbox_event p
+            WHERE p.aggregate_type = e.aggregate_type
+              AND p.aggregate_id = e.aggregate_id
+              AND p.status = 'PENDING'
+              AND p.id < e.id)
+      ORDER BY e.id
+      LIMIT :limit
+      FOR UPDATE SKIP LOCKED
+      """;
+
+  private static final String MARK_FAILED =
+      """
+      UPDATE outbox_event
+      SET attempts = attempts + 1, next_attempt_at = :nextAttemptAt, last_error = :error
+      WHERE id = :id
+      """;
+
+  private static final String PARK =
+      """
+      UPDATE outbox_event
+      SET status = 'FAILED', attempts = attempts + 1, last_error = :error
+      WHERE id = :id
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public OutboxRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void insert(
+      DomainEventType eventType, Long aggregateId, String payload, LocalDateTime createdAt) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("aggregateType", eventType.getAggregateType().name());
+    params.put("aggregateId", aggregateId);
+    params.put("eventType", eventType.name());
+    params.put("payload", payload);
+    params.put("createdAt", createdAt);
+    jdbcTemplate.update(INSERT, params);
+  }
+
+  public List<OutboxEvent> claimDue(LocalDateTime now, int limit) {
+    return jdbcTemplate.query(
+        CLAIM, Map.of("now", now, "limit", limit), (rs, rowNum) -> toEvent(rs));
+  }
+
+  public void markPublished(List<Long> ids, LocalDateTime publishedAt) {
+    if (ids.isEmpty()) return;
+    jdbcTemplate.update(
+        "UPDATE outbox_event SET status = 'PUBLISHED', published_at = :publishedAt"
+            + " WHERE id IN (:ids)",
+        Map.of("ids", ids, "publishedAt", publishedAt));
+  }
+
+  public void markFailed(Long id, LocalDateTime nextAttemptAt, String error) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("id", id);
+    params.put("nextAttemptAt", nextAttemptAt);
+    params.put("error", error);
+    jdbcTemplate.update(MARK_FAILED, params);
+  }
+
+  /** Gives up on an event: it is no longer retried and no longer blocks its aggregate. */
+  public void markParked(Long id, String error) {
+    jdbcTemplate.update(PARK, Map.of("id", id, "error", error));
+  }
+
+  /** Deletes events delivered before {@code cutoff}; returns the number removed. */
+  public int deletePublishedBefore(LocalDateTime cutoff) {
+    return jdbcTemplate.update(
+        "DELETE FROM outbox_event WHERE published_at < :cutoff", Map.of("cutoff", cutoff));
+  }
+
+  private static OutboxEvent toEvent(ResultSet rs) throws SQLException {
+    return new OutboxEvent(
+        rs.getLong("id"),
+        ChangeEntityType.valueOf(rs.getString("aggregate_type")),
+        rs.getLong("aggregate_id"),
+        DomainEventType.valueOf(rs.getString("event_type")),
+        rs.getString("payload"),
+        rs.getTimestamp("created_at").toLocalDateTime(),
+        OutboxEventStatus.valueOf(rs.getString("status")),
+        rs.getInt("attempts"),
+        rs.getTimestamp("next_attempt_at").toLocalDateTime(),
+        toLocalDateTime(rs.getTimestamp("published_at")),
+        rs.getString("last_error"));
+  }
+
+  private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toLocalDateTime();
+  }
+}
@@ -0,0 +1,96 @@
+package com.shipping.freightops.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.sql.DatabaseMetaData;
+import java.util.OptionalLong;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads approximate row counts from PostgreSQL planner statistics instead of running {@code
+ * COUNT(*)}.
+ *
+ * <p>Estimates are only as fresh as the last {@code ANALYZE}/autovacuum run. On databases other
+ * than PostgreSQL (e.g. the H2 test database) every lookup returns an empty result.
+ */
+@Repository
+public class TableStatisticsRepository {
+
+  private static final Logger log = LoggerFactory.getLogger(TableStatisticsRepository.class);
+  private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final boolean postgres;
+
+  public TableStatisticsRepository(
+      JdbcTemplate jdbcTemplate, DataSource dataSource, ObjectMapper objectMapper) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.objectMapper = objectMapper;
+    this.postgres = isPostgres(dataSource);
+  }
+
+  /** Estimated number of rows in {@code table}, from {@code pg_class.reltuples}. */
+  public OptionalLong estimateRowCount(String table) {
+    requireIdentifier(table);
+    if (!postgres) return OptionalLong.empty();
+    try {
+      Long estimate =
+          jdbcTemplate.queryForObject(
+              "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)",
+              Long.class,
+              table);
+      // reltuples is -1 for tables that have never been analyzed
+      return estimate == null || estimate < 0 ? OptionalLong.empty() : OptionalLong.of(estimate);
+    } catch (DataAccessException ex) {
+      log.debug("Row estimate for {} unavailable: {}", table, ex.getMessage());
+      return OptionalLong.empty();
+    }
+  }
+
+  /**
+   * Estimated number of rows in {@code table} where {@code column = value}, taken from the
+   * planner's row estimate for that predicate.
+   */
+  public OptionalLong estimateRowCount(String table, String column, long value) {
+    requireIdentifier(table);
+    requireIdentifier(column);
+    if (!postgres) return OptionalLong.empty();
+    try {
+      String plan =
+          jdbcTemplate.queryForObject(
+              "EXPLAIN (FORMAT JSON) SELECT 1 FROM " + table + " WHERE " + column + " = " + value,
+              String.class);
+      JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+      return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+    } catch (DataAccessException | JsonProcessingException ex) {
+      log.debug("Row estimate for {}.{} unavailable: {}", table, column, ex.getMessage());
+      return OptionalLong.empty();
+    }
+  }
+
+  private static void requireIdentifier(String name) {
+    if (!IDENTIFIER.matcher(name).matches()) {
+      throw new IllegalArgumentException("Invalid identifier: " + name);
+    }
+  }
+
+  private static boolean isPostgres(DataSource dataSource) {
+    try {
+      String product =
+          JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+      return "PostgreSQL".equalsIgnoreCase(product);
+    } catch (MetaDataAccessException ex) {
+      return false;
+    }
+  }
+}
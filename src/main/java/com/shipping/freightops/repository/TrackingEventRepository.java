@@ -1,9 +1,27 @@
 package com.shipping.freightops.repository;
 
 import com.shipping.freightops.entity.TrackingEvent;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface TrackingEventRepository extends JpaRepository<TrackingEvent, Long> {
-  List<TrackingEvent> findAllByFreightOrder_IdOrderByCreatedAtAsc(Long id);
+
+  /**
+   * Events of one order, oldest first. Pass the order's creation time as {@code since}: {@link
+   * com.shipping.freightops.service.TrackingEventService#createEvent} rejects events timed before
+   * their order, and the bound on the partition key lets PostgreSQL skip every monthly partition
+   * before it.
+   */
+  @Query(
+      """
+    SELECT e FROM TrackingEvent e
+    WHERE e.freightOrder.id = :orderId
+    AND e.eventTime >= :since
+    ORDER BY e.createdAt ASC
+    """)
+  List<TrackingEvent> findByOrderIdSince(
+      @Param("orderId") Long orderId, @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,45 @@
+package com.shipping.freightops.repository;
+
+import java.sql.DatabaseMetaData;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the PostgreSQL transaction snapshot. On databases other than PostgreSQL (e.g. the H2 test
+ * database) transactions carry no ids and every write counts as finished.
+ */
+@Repository
+public class TransactionSnapshotRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean postgres;
+
+  public TransactionSnapshotRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.postgres = isPostgres(dataSource);
+  }
+
+  /**
+   * Lowest transaction id still running, from {@code pg_snapshot_xmin}. Every transaction with a
+   * lower id has committed or rolled back, so its writes are visible from now on; {@link
+   * Long#MAX_VALUE} elsewhere.
+   */
+  public long oldestRunningTxid() {
+    if (!postgres) return Long.MAX_VALUE;
+    return jdbcTemplate.queryForObject(
+        "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+  }
+
+  private static boolean isPostgres(DataSource dataSource) {
+    try {
+      String product =
+          JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+      return "PostgreSQL".equalsIgnoreCase(product);
+    } catch (MetaDataAccessException ex) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.entity.VesselOwnerLedgerEntry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface VesselOwnerLedgerRepository extends JpaRepository<VesselOwnerLedgerEntry, Long> {
+
+  /** One owner's entries for a vessel booked in {@code [from, to)}, in booking order. */
+  @Query(
+      "SELECT e FROM VesselOwnerLedgerEntry e WHERE e.vesselId = :vesselId"
+          + " AND lower(e.ownerEmail) = lower(:ownerEmail)"
+          + " AND e.bookedAt >= :from AND e.bookedAt < :to"
+          + " ORDER BY e.bookedAt, e.id")
+  List<VesselOwnerLedgerEntry> findForStatement(
+      @Param("vesselId") Long vesselId,
+      @Param("ownerEmail") String ownerEmail,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,17 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.entity.VoyageFinancialSnapshot;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface VoyageFinancialSnapshotRepository
+    extends JpaRepository<VoyageFinancialSnapshot, Long> {
+
+  /** The snapshot with its owner rows, in one statement. */
+  @Query(
+      "SELECT s FROM VoyageFinancialSnapshot s LEFT JOIN FETCH s.owners"
+          + " WHERE s.voyageId = :voyageId")
+  Optional<VoyageFinancialSnapshot> findWithOwnersByVoyageId(@Param("voyageId") Long voyageId);
+}
@@ -0,0 +1,158 @@
+package com.shipping.freightops.repository;
+
+import com.shipping.freightops.repository.projection.VoyagePnl;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Plain JDBC access to {@code voyage_pnl}; callers own the transaction. */
+@Repository
+public class VoyagePnlRepository {
+
+  private static final String ADD =
+      """
+      UPDATE voyage_pnl
+      SET order_count = order_count + :orders, booked_teu = booked_teu + :teu,
+          revenue_usd = revenue_usd + :revenue, costs_usd = costs_usd + :costs, updated_at = :now
+      WHERE voyage_id = :voyageId
+      """;
+
+  private static final String REPLACE =
+      """
+      UPDATE voyage_pnl
+      SET order_count = :orders, booked_teu = :teu, revenue_usd = :revenue, costs_usd = :costs,
+          updated_at = :now
+      WHERE voyage_id = :voyageId
+      """;
+
+  private static final String INSERT =
+      """
+      INSERT INTO voyage_pnl (voyage_id, order_count, booked_teu, revenue_usd, costs_usd, updated_at)
+      VALUES (:voyageId, :orders, :teu, :revenue, :costs, :now)
+      """;
+
+  private static final String FIND =
+      """
+      SELECT voyage_id, order_count, booked_teu, revenue_usd, costs_usd, updated_at
+      FROM voyage_pnl
+      WHERE voyage_id = :voyageId
+      """;
+
+  /**
+   * The figures recomputed from the voyage's orders, live and archived, and its costs. Archived
+   * orders keep their container's size rather than its TEU. Returns no row if the voyage does not
+   * exist.
+   */
+  private static final String RECOMPUTE =
+      """
+      SELECT v.id AS voyage_id,
+             (SELECT COUNT(*) FROM freight_orders fo
+              WHERE fo.voyage_id = v.id AND fo.status <> 'CANCELLED')
+           + (SELECT COUNT(*) FROM archived_freight_orders ao
+              WHERE ao.voyage_id = v.id AND ao.status <> 'CANCELLED') AS order_count,
+             COALESCE((SELECT SUM(c.teu) FROM freight_orders fo
+                       JOIN containers c ON c.id = fo.container_id
+                       WHERE fo.voyage_id = v.id AND fo.status <> 'CANCELLED'), 0)
+           + COALESCE((SELECT SUM(ao.container_teu) FROM archived_freight_orders ao
+                       WHERE ao.voyage_id = v.id AND ao.status <> 'CANCELLED'), 0) AS booked_teu,
+             COALESCE((SELECT SUM(fo.final_price) FROM freight_orders fo
+                       WHERE fo.voyage_id = v.id AND fo.status <> 'CANCELLED'), 0)
+           + COALESCE((SELECT SUM(ao.final_price) FROM archived_freight_orders ao
+                       WHERE ao.voyage_id = v.id AND ao.status <> 'CANCELLED'), 0) AS revenue_usd,
+             COALESCE((SELECT SUM(c.amount_usd) FROM voyage_costs c
+                       WHERE c.voyage_id = v.id), 0) AS costs_usd,
+             CAST(:now AS TIMESTAMP) AS updated_at
+      FROM voyages v
+      WHERE v.id = :voyageId
+      """;
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  public VoyagePnlRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Adds to the voyage's figures; returns {@code false} if the voyage has no row yet. */
+  public boolean add(
+      Long voyageId,
+      long orders,
+      long teu,
+      BigDecimal revenue,
+      BigDecimal costs,
+      LocalDateTime now) {
+    return jdbcTemplate.update(ADD, params(voyageId, orders, teu, revenue, costs, now)) > 0;
+  }
+
+  /** Overwrites the voyage's figures with {@code pnl}, creating its row if needed. */
+  public void save(VoyagePnl pnl) {
+    Map<String, Object> params =
+        params(
+            pnl.voyageId(),
+            pnl.orderCount(),
+            pnl.bookedTeu(),
+            pnl.revenueUsd(),
+            pnl.costsUsd(),
+            pnl.updatedAt());
+    if (jdbcTemplate.update(REPLACE, params) == 0) {
+      jdbcTemplate.update(INSERT, params);
+    }
+  }
+
+  public Optional<VoyagePnl> find(Long voyageId) {
+    return jdbcTemplate
+        .query(FIND, Map.of("voyageId", voyageId), VoyagePnlRepository::toPnl)
+        .stream()
+        .findFirst();
+  }
+
+  /**
+   * Like {@link #find}, and locks the row until the transaction ends, so that no increment is
+   * applied between reading and overwriting it.
+   */
+  public Optional<VoyagePnl> findForUpdate(Long voyageId) {
+    return jdbcTemplate
+        .query(FIND + " FOR UPDATE", Map.of("voyageId", voyageId), VoyagePnlRepository::toPnl)
+        .stream()
+        .findFirst();
+  }
+
+  public Optional<VoyagePnl> recompute(Long voyageId, LocalDateTime now) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("voyageId", voyageId);
+    params.put("now", now);
+    return jdbcTemplate.query(RECOMPUTE, params, VoyagePnlRepository::toPnl).stream().findFirst();
+  }
+
+  private static Map<String, Object> params(
+      Long voyageId,
+      long orders,
+      long teu,
+      BigDecimal revenue,
+      BigDecimal costs,
+      LocalDateTime now) {
+    Map<String, Object> params = new HashMap<>();
+    params.put("voyageId", voyageId);
+    params.put("orders", orders);
+    params.put("teu", teu);
+    params.put("revenue", revenue);
+    params.put("costs", costs);
+    params.put("now", now);
+    return params;
+  }
+
+  private static VoyagePnl toPnl(ResultSet rs, int rowNum) throws SQLException {
+    return new VoyagePnl(
+        rs.getLong("voyage_id"),
+        rs.getLong("order_count"),
+        rs.getLong("booked_teu"),
+        rs.getBigDecimal("revenue_usd"),
+        rs.getBigDecimal("costs_usd"),
+        rs.getTimestamp("updated_at").toLocalDateTime());
+  }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,6 +17,8 @@ public interface VoyagePriceRepository extends JpaRepository<VoyagePrice, Long>
 
   Page<VoyagePrice> findByVoyageId(Long voyageId, Pageable pageable);
 
+  Slice<VoyagePrice> findSliceByVoyageId(Long voyageId, Pageable pageable);
+
   @Query(
       """
     SELECT vp FROM VoyagePrice vp
@@ -2,12 +2,20 @@ package com.shipping.freightops.repository;
 
 import com.shipping.freightops.entity.Voyage;
 import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.projection.VoyageFinancials;
+import com.shipping.freightops.repository.projection.VoyageSummary;
+import com.shipping.freightops.repository.projection.VoyageUtilization;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface VoyageRepository extends JpaRepository<Voyage, Long> {
@@ -24,20 +32,92 @@ public interface VoyageRepository extends JpaRepository<Voyage, Long> {
           + " WHERE v.id = :id")
   Optional<Voyage> findByIdWithAssociations(@Param("id") Long id);
 
+  /**
+   * {@link #findByIdWithAssociations} with the voyage row locked for update. The lock is scoped to
+   * the voyage alias, so the vessel and port rows it joins are not locked with it.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.lockMode.v", value = "PESSIMISTIC_WRITE"))
   @Query(
       "SELECT v FROM Voyage v"
           + " JOIN FETCH v.vessel"
           + " JOIN FETCH v.departurePort"
-          + " JOIN FETCH v.arrivalPort")
-  List<Voyage> findAllWithAssociations();
+          + " JOIN FETCH v.arrivalPort"
+          + " WHERE v.id = :id")
+  Optional<Voyage> findByIdWithAssociationsForUpdate(@Param("id") Long id);
 
+  /**
+   * The voyage with its delivered revenue, delivered order count and cost total, summed by the
+   * database in one statement instead of loading every order and cost. Delivered orders count
+   * whether they are still live or have been archived.
+   */
   @Query(
-      "SELECT v FROM Voyage v"
-          + " JOIN FETCH v.vessel"
-          + " JOIN FETCH v.departurePort"
-          + " JOIN FETCH v.arrivalPort"
-          + " WHERE v.status = :status")
-  List<Voyage> findAllByStatusWithAssociations(@Param("status") VoyageStatus status);
+      "SELECT new com.shipping.freightops.repository.projection.VoyageFinancials("
+          + "v.id, v.voyageNumber, v.status, v.vessel.id,"
+          + " COALESCE((SELECT SUM(fo.finalPrice) FROM FreightOrder fo WHERE fo.voyage = v"
+          + " AND fo.status = com.shipping.freightops.enums.OrderStatus.DELIVERED), 0)"
+          + " + COALESCE((SELECT SUM(ao.finalPrice) FROM ArchivedFreightOrder ao"
+          + " WHERE ao.voyageId = v.id"
+          + " AND ao.status = com.shipping.freightops.enums.OrderStatus.DELIVERED), 0),"
+          + " (SELECT COUNT(fo) FROM FreightOrder fo WHERE fo.voyage = v"
+          + " AND fo.status = com.shipping.freightops.enums.OrderStatus.DELIVERED)"
+          + " + (SELECT COUNT(ao) FROM ArchivedFreightOrder ao WHERE ao.voyageId = v.id"
+          + " AND ao.status = com.shipping.freightops.enums.OrderStatus.DELIVERED),"
+          + " (SELECT SUM(c.amountUsd) FROM VoyageCost c WHERE c.voyage = v))"
+          + " FROM Voyage v WHERE v.id = :id")
+  Optional<VoyageFinancials> findFinancialsById(@Param("id") Long id);
+
+  String SUMMARY_SELECT =
+      "SELECT new com.shipping.freightops.repository.projection.VoyageSummary("
+          + "v.id, v.voyageNumber, vs.name, dp.name, ap.name, v.departureTime, v.arrivalTime,"
+          + " v.bookingOpen, v.maxCapacityTeu, v.status)"
+          + " FROM Voyage v"
+          + " JOIN v.vessel vs"
+          + " JOIN v.departurePort dp"
+          + " JOIN v.arrivalPort ap";
+
+  /** Voyages that have been COMPLETED since before {@code cutoff}. */
+  @Query(
+      "SELECT v.id FROM Voyage v"
+          + " WHERE v.status = com.shipping.freightops.enums.VoyageStatus.COMPLETED"
+          + " AND v.completedAt < :cutoff")
+  List<Long> findIdsCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+  /** Like {@link #findIdsCompletedBefore(LocalDateTime)}, from {@code afterId} on in id order. */
+  @Query(
+      "SELECT v.id FROM Voyage v"
+          + " WHERE v.status = com.shipping.freightops.enums.VoyageStatus.COMPLETED"
+          + " AND v.completedAt < :cutoff AND v.id > :afterId"
+          + " ORDER BY v.id")
+  List<Long> findIdsCompletedBefore(
+      @Param("cutoff") LocalDateTime cutoff, @Param("afterId") long afterId, Limit limit);
+
+  /** Voyages in one of {@code statuses}, from {@code afterId} on in id order. */
+  @Query("SELECT v.id FROM Voyage v WHERE v.status IN :statuses AND v.id > :afterId ORDER BY v.id")
+  List<Long> findIdsByStatusIn(
+      @Param("statuses") Collection<VoyageStatus> statuses,
+      @Param("afterId") long afterId,
+      Limit limit);
+
+  @Query(SUMMARY_SELECT)
+  List<VoyageSummary> findAllSummaries();
+
+  @Query(SUMMARY_SELECT + " WHERE v.status = :status")
+  List<VoyageSummary> findSummariesByStatus(@Param("status") VoyageStatus status);
+
+  /**
+   * Booked TEU and orders of every voyage in {@code statuses}, by departure, from the running
+   * figures in {@code voyage_pnl} rather than the orders. A voyage without a row counts as empty.
+   */
+  @Query(
+      "SELECT new com.shipping.freightops.repository.projection.VoyageUtilization("
+          + "v.id, v.voyageNumber, v.status, v.departureTime, v.maxCapacityTeu, v.bookingOpen,"
+          + " COALESCE(p.bookedTeu, 0L), COALESCE(p.orderCount, 0L))"
+          + " FROM Voyage v"
+          + " LEFT JOIN VoyagePnlEntry p ON p.voyageId = v.id"
+          + " WHERE v.status IN :statuses"
+          + " ORDER BY v.departureTime, v.id")
+  List<VoyageUtilization> findUtilizationByStatusIn(
+      @Param("statuses") Collection<VoyageStatus> statuses);
 
   Optional<Voyage> findByVoyageNumber(String voyageNumber);
 
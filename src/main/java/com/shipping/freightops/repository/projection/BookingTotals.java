@@ -0,0 +1,6 @@
+package com.shipping.freightops.repository.projection;
+
+import java.math.BigDecimal;
+
+/** Rollup figures of one dimension key, summed over a date range. */
+public record BookingTotals(String key, long bookings, long teu, BigDecimal revenue) {}
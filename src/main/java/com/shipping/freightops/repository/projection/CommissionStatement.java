@@ -0,0 +1,19 @@
+package com.shipping.freightops.repository.projection;
+
+import com.shipping.freightops.enums.AgentType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** An agent's commission statement for the month starting on {@code periodStart}. */
+public record CommissionStatement(
+    Long agentId,
+    String agentName,
+    AgentType agentType,
+    LocalDate periodStart,
+    long orderCount,
+    BigDecimal orderValueUsd,
+    BigDecimal commissionPercent,
+    BigDecimal commissionUsd,
+    boolean stale,
+    LocalDateTime computedAt) {}
@@ -0,0 +1,19 @@
+package com.shipping.freightops.repository.projection;
+
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import java.time.LocalDateTime;
+
+/**
+ * What a container label prints: the container and, when it is booked, the earliest departing
+ * voyage it is confirmed on. The voyage fields are {@code null} for an unbooked container.
+ */
+public record ContainerLabelDocument(
+    String containerCode,
+    ContainerSize size,
+    ContainerType type,
+    String voyageNumber,
+    String vesselName,
+    String departurePortName,
+    String arrivalPortName,
+    LocalDateTime departureTime) {}
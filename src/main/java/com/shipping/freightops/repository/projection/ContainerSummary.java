@@ -0,0 +1,14 @@
+package com.shipping.freightops.repository.projection;
+
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import java.time.LocalDateTime;
+
+/** Read-only row for container listings, selected without creating managed entities. */
+public record ContainerSummary(
+    Long id,
+    String containerCode,
+    ContainerSize size,
+    ContainerType type,
+    int teu,
+    LocalDateTime createdAt) {}
@@ -0,0 +1,7 @@
+package com.shipping.freightops.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/** Rollup figures of one day. */
+public record DailyBookings(LocalDate date, long bookings, long teu, BigDecimal revenue) {}
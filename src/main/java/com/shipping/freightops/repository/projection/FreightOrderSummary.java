@@ -0,0 +1,30 @@
+package com.shipping.freightops.repository.projection;
+
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for freight order listings, selected with a JPQL constructor expression so that no
+ * managed {@code FreightOrder} or associated entities are created.
+ */
+public record FreightOrderSummary(
+    Long id,
+    String voyageNumber,
+    String containerCode,
+    ContainerSize containerSize,
+    ContainerType containerType,
+    Long agentId,
+    String agentName,
+    String customerName,
+    String customerEmail,
+    String orderedBy,
+    String notes,
+    OrderStatus status,
+    BigDecimal basePriceUsd,
+    BigDecimal discountPercent,
+    BigDecimal finalPrice,
+    String discountReason,
+    LocalDateTime createdAt) {}
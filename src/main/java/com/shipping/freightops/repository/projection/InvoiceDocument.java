@@ -0,0 +1,48 @@
+package com.shipping.freightops.repository.projection;
+
+import com.shipping.freightops.entity.ArchivedFreightOrder;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.OrderStatus;
+import java.math.BigDecimal;
+
+/**
+ * The order fields an invoice shows, read in one query from either a live or an archived order so
+ * that the PDF is rendered without a persistence context.
+ */
+public record InvoiceDocument(
+    Long orderId,
+    OrderStatus status,
+    String customerCompanyName,
+    String customerEmail,
+    String customerAddress,
+    String voyageNumber,
+    String containerCode,
+    ContainerSize containerSize,
+    ContainerType containerType,
+    String departurePortName,
+    String arrivalPortName,
+    BigDecimal basePriceUsd,
+    BigDecimal discountPercent,
+    BigDecimal finalPrice,
+    String discountReason) {
+
+  public static InvoiceDocument fromArchive(ArchivedFreightOrder order) {
+    return new InvoiceDocument(
+        order.getId(),
+        order.getStatus(),
+        order.getCustomerCompanyName(),
+        order.getCustomerEmail(),
+        order.getCustomerAddress(),
+        order.getVoyageNumber(),
+        order.getContainerCode(),
+        order.getContainerSize(),
+        order.getContainerType(),
+        order.getDeparturePortName(),
+        order.getArrivalPortName(),
+        order.getBasePriceUsd(),
+        order.getDiscountPercent(),
+        order.getFinalPrice(),
+        order.getDiscountReason());
+  }
+}
@@ -0,0 +1,18 @@
+package com.shipping.freightops.repository.projection;
+
+import com.shipping.freightops.enums.VoyageStatus;
+import java.math.BigDecimal;
+
+/**
+ * A voyage's delivered revenue, delivered order count and total costs, aggregated by the database
+ * in the same statement that reads the voyage, over its live and archived orders. Revenue is zero
+ * and costs are {@code null} when there is nothing to add up.
+ */
+public record VoyageFinancials(
+    Long voyageId,
+    String voyageNumber,
+    VoyageStatus status,
+    Long vesselId,
+    BigDecimal deliveredRevenue,
+    long deliveredOrderCount,
+    BigDecimal totalCosts) {}
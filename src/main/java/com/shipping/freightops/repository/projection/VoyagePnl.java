@@ -0,0 +1,16 @@
+package com.shipping.freightops.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Booked revenue and costs of a voyage, either as kept in {@code voyage_pnl} or recomputed from the
+ * orders and costs themselves.
+ */
+public record VoyagePnl(
+    Long voyageId,
+    long orderCount,
+    long bookedTeu,
+    BigDecimal revenueUsd,
+    BigDecimal costsUsd,
+    LocalDateTime updatedAt) {}
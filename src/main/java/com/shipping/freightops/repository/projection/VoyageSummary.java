@@ -0,0 +1,20 @@
+package com.shipping.freightops.repository.projection;
+
+import com.shipping.freightops.enums.VoyageStatus;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row for voyage listings, selected with a JPQL constructor expression so that no managed
+ * {@code Voyage}, {@code Vessel} or {@code Port} entities are created.
+ */
+public record VoyageSummary(
+    Long id,
+    String voyageNumber,
+    String vesselName,
+    String departurePortName,
+    String arrivalPortName,
+    LocalDateTime departureTime,
+    LocalDateTime arrivalTime,
+    boolean bookingOpen,
+    int maxCapacityTeu,
+    VoyageStatus status) {}
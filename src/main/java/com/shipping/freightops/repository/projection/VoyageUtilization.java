@@ -0,0 +1,15 @@
+package com.shipping.freightops.repository.projection;
+
+import com.shipping.freightops.enums.VoyageStatus;
+import java.time.LocalDateTime;
+
+/** Booked load of one voyage, read with its running figures. */
+public record VoyageUtilization(
+    Long voyageId,
+    String voyageNumber,
+    VoyageStatus status,
+    LocalDateTime departureTime,
+    int maxCapacityTeu,
+    boolean bookingOpen,
+    long bookedTeu,
+    long containerCount) {}
@@ -0,0 +1,104 @@
+package com.shipping.freightops.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.shipping.freightops.entity.OutboxEvent;
+import com.shipping.freightops.enums.DomainEventType;
+import com.shipping.freightops.enums.RollupDimension;
+import com.shipping.freightops.repository.BookingRollupRepository;
+import com.shipping.freightops.repository.BookingRollupRepository.OrderKeys;
+import java.math.BigDecimal;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the daily booking rollups current from order events. A new order adds one booking, its TEU
+ * and its price to its day; a discount change adds the price difference. Amounts come from the
+ * event, so an event delivered late still applies the change it describes; the keys are read from
+ * the order, as none of them change after booking. Each event is recorded in the same transaction
+ * as its effect, so a redelivery is skipped.
+ */
+@Component
+public class BookingRollupHandler implements OutboxEventHandler {
+
+  private static final Logger log = LoggerFactory.getLogger(BookingRollupHandler.class);
+
+  private final BookingRollupRepository rollupRepository;
+  private final ObjectReader payloadReader;
+
+  public BookingRollupHandler(BookingRollupRepository rollupRepository, ObjectMapper objectMapper) {
+    this.rollupRepository = rollupRepository;
+    this.payloadReader = objectMapper.reader(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+  }
+
+  @Override
+  public boolean supports(DomainEventType type) {
+    return type == DomainEventType.ORDER_CREATED || type == DomainEventType.ORDER_DISCOUNT_UPDATED;
+  }
+
+  @Override
+  public void handle(OutboxEvent event) {
+    if (!rollupRepository.markApplied(event.getId())) {
+      return;
+    }
+    Optional<OrderKeys> keys = rollupRepository.findOrderKeys(event.getAggregateId());
+    if (keys.isEmpty()) {
+      log.warn(
+          "Freight order {} of outbox event {} no longer exists",
+          event.getAggregateId(),
+          event.getId());
+      return;
+    }
+    JsonNode payload = read(event);
+    if (event.getEventType() == DomainEventType.ORDER_CREATED) {
+      apply(keys.get(), 1, payload.get("teu").asLong(), payload.get("finalPrice").decimalValue());
+    } else {
+      BigDecimal difference =
+          payload
+              .get("finalPrice")
+              .decimalValue()
+              .subtract(payload.get("previousFinalPrice").decimalValue());
+      apply(keys.get(), 0, 0, difference);
+    }
+  }
+
+  /** Rows are always updated in the same order, so concurrent handlers cannot deadlock. */
+  private void apply(OrderKeys keys, long bookings, long teu, BigDecimal revenue) {
+    rollupRepository.add(
+        RollupDimension.TOTAL,
+        keys.bookingDate(),
+        RollupDimension.TOTAL_KEY,
+        bookings,
+        teu,
+        revenue);
+    rollupRepository.add(
+        RollupDimension.ROUTE, keys.bookingDate(), keys.route(), bookings, teu, revenue);
+    rollupRepository.add(
+        RollupDimension.AGENT,
+        keys.bookingDate(),
+        String.valueOf(keys.agentId()),
+        bookings,
+        teu,
+        revenue);
+    rollupRepository.add(
+        RollupDimension.CUSTOMER,
+        keys.bookingDate(),
+        String.valueOf(keys.customerId()),
+        bookings,
+        teu,
+        revenue);
+  }
+
+  private JsonNode read(OutboxEvent event) {
+    try {
+      return payloadReader.readTree(event.getPayload());
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unreadable payload of outbox event " + event.getId(), e);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.RollupProperties;
+import com.shipping.freightops.config.TransactionTimeouts;
+import com.shipping.freightops.enums.RollupDimension;
+import com.shipping.freightops.exception.BadRequestException;
+import com.shipping.freightops.job.ClusterJob;
+import com.shipping.freightops.repository.BookingRollupRepository;
+import com.shipping.freightops.repository.BookingRollupRepository.OrderAggregate;
+import com.shipping.freightops.repository.BookingRollupRepository.RollupRow;
+import com.shipping.freightops.repository.projection.BookingTotals;
+import com.shipping.freightops.repository.projection.DailyBookings;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Daily booking rollups for the management dashboards.
+ *
+ * <p>Dashboards read only {@code booking_daily_rollup}, so their cost depends on the days and keys
+ * asked for, not on the number of orders. The rows are kept current by {@link
+ * BookingRollupHandler}; {@link #backfill} rebuilds whole days from live and archived orders, for
+ * history from before the rollups existed or to repair a day. As a {@link ClusterJob} it rebuilds
+ * the last few days every night.
+ */
+@Service
+public class BookingRollupService implements ClusterJob {
+
+  private static final Logger log = LoggerFactory.getLogger(BookingRollupService.class);
+  private static final int BACKFILL_ATTEMPTS = 3;
+
+  private final BookingRollupRepository rollupRepository;
+  private final RollupProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate backfillTransaction;
+
+  public BookingRollupService(
+      BookingRollupRepository rollupRepository,
+      RollupProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.rollupRepository = rollupRepository;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.backfillTransaction = new TransactionTemplate(transactionManager);
+    // the orders read and the pending events marked as applied must come from one snapshot
+    this.backfillTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+  }
+
+  @Override
+  public String name() {
+    return "booking-rollups";
+  }
+
+  @Override
+  public String cron() {
+    return properties.getCron();
+  }
+
+  /**
+   * Purges the ledger of applied events, then rebuilds the last {@code app.rollups.rebuild-days}
+   * days before today, one day per chunk; the cursor is the next day to rebuild.
+   */
+  @Override
+  public String runChunk(String cursor) {
+    LocalDate today = LocalDate.now();
+    LocalDate day;
+    if (cursor == null) {
+      int purged = transactionTemplate.execute(status -> rollupRepository.purgeAppliedEvents());
+      if (purged > 0) {
+        log.info("Purged {} applied booking rollup events", purged);
+      }
+      day = today.minusDays(properties.getRebuildDays());
+    } else {
+      day = LocalDate.parse(cursor);
+      rebuildDay(day);
+      day = day.plusDays(1);
+    }
+    return day.isBefore(today) ? day.toString() : null;
+  }
+
+  /**
+   * Rebuilds the rollups of every day in {@code [from, to]}, one day per transaction; returns the
+   * number of days rebuilt. Order events still waiting in the outbox for a rebuilt day are marked
+   * as applied in the same snapshot, so the handler neither loses nor double-counts them. A day
+   * that collides with a concurrent handler is retried.
+   */
+  public int backfill(LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new BadRequestException("'from' must not be after 'to'");
+    }
+    int days = 0;
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      rebuildDay(day);
+      days++;
+    }
+    log.info("Rebuilt booking rollups of {} days from {} to {}", days, from, to);
+    return days;
+  }
+
+  /** Daily figures of one key; {@code TOTAL} ignores the key. Days without bookings are omitted. */
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public List<DailyBookings> getDaily(
+      RollupDimension dimension, String key, LocalDate from, LocalDate to) {
+    validateRange(from, to);
+    if (dimension == RollupDimension.TOTAL) {
+      key = RollupDimension.TOTAL_KEY;
+    } else if (key == null || key.isBlank()) {
+      throw new BadRequestException("'key' is required for dimension " + dimension);
+    }
+    return rollupRepository.findDaily(dimension, key, from, to);
+  }
+
+  /** Keys of {@code dimension} with the highest revenue over {@code [from, to]}. */
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public List<BookingTotals> getTotals(
+      RollupDimension dimension, LocalDate from, LocalDate to, int limit) {
+    validateRange(from, to);
+    if (limit < 1 || limit > properties.getMaxLimit()) {
+      throw new BadRequestException(
+          "'limit' must be between 1 and " + properties.getMaxLimit() + ", got " + limit);
+    }
+    return rollupRepository.findTotals(dimension, from, to, limit);
+  }
+
+  private void rebuildDay(LocalDate day) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        backfillTransaction.executeWithoutResult(
+            status -> {
+              List<OrderAggregate> orders =
+                  rollupRepository.aggregateOrders(
+                      day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+              rollupRepository.replaceDay(day, toRows(orders));
+              rollupRepository.markPendingOrderEventsApplied(
+                  day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            });
+        return;
+      } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+        if (attempt == BACKFILL_ATTEMPTS) {
+          throw e;
+        }
+        log.info("Rebuilding booking rollups of {} collided with a live update, retrying", day);
+      }
+    }
+  }
+
+  /** Folds the per-combination aggregates into one row per dimension key. */
+  private static List<RollupRow> toRows(List<OrderAggregate> orders) {
+    Map<RollupDimension, Map<String, RollupRow>> rows = new LinkedHashMap<>();
+    for (OrderAggregate order : orders) {
+      merge(rows, RollupDimension.TOTAL, RollupDimension.TOTAL_KEY, order);
+      merge(rows, RollupDimension.ROUTE, order.route(), order);
+      merge(rows, RollupDimension.AGENT, String.valueOf(order.agentId()), order);
+      merge(rows, RollupDimension.CUSTOMER, String.valueOf(order.customerId()), order);
+    }
+    return rows.values().stream().flatMap(byKey -> byKey.values().stream()).toList();
+  }
+
+  private static void merge(
+      Map<RollupDimension, Map<String, RollupRow>> rows,
+      RollupDimension dimension,
+      String key,
+      OrderAggregate order) {
+    rows.computeIfAbsent(dimension, d -> new LinkedHashMap<>())
+        .merge(
+            key,
+            new RollupRow(dimension, key, order.bookings(), order.teu(), order.revenue()),
+            (a, b) ->
+                new RollupRow(
+                    dimension,
+                    key,
+                    a.bookings() + b.bookings(),
+                    a.teu() + b.teu(),
+                    a.revenue().add(b.revenue())));
+  }
+
+  private void validateRange(LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new BadRequestException("'from' must not be after 'to'");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= properties.getMaxRangeDays()) {
+      throw new BadRequestException(
+          "Date range must not exceed " + properties.getMaxRangeDays() + " days");
+    }
+  }
+}
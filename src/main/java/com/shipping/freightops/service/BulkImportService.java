@@ -0,0 +1,299 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.ImportProperties;
+import com.shipping.freightops.dto.BulkImportResponse;
+import com.shipping.freightops.dto.BulkImportResponse.RowError;
+import com.shipping.freightops.dto.CreateContainerRequest;
+import com.shipping.freightops.dto.CreateCustomerRequest;
+import com.shipping.freightops.dto.CreatePortRequest;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.exception.BadRequestException;
+import com.shipping.freightops.repository.BulkImportRepository;
+import com.shipping.freightops.util.CsvReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Bulk CSV import of containers, customers and ports.
+ *
+ * <p>The file is read as a stream and processed {@code app.import.chunk-size} rows at a time: rows
+ * of a chunk are parsed and validated in parallel, checked against existing natural keys with one
+ * {@code IN} query, and the rest are inserted with a JDBC batch in their own transaction. Rows that
+ * are invalid or duplicate are reported with their line number and never stop the import.
+ */
+@Service
+public class BulkImportService {
+
+  private final Validator validator;
+  private final TransactionTemplate transactionTemplate;
+  private final ImportProperties properties;
+
+  private final ImportSpec<CreateContainerRequest> containers;
+  private final ImportSpec<CreateCustomerRequest> customers;
+  private final ImportSpec<CreatePortRequest> ports;
+
+  public BulkImportService(
+      BulkImportRepository importRepository,
+      Validator validator,
+      PlatformTransactionManager transactionManager,
+      ImportProperties properties) {
+    this.validator = validator;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+
+    this.containers =
+        new ImportSpec<>(
+            "container code",
+            List.of("containerCode", "size", "type"),
+            BulkImportService::toContainer,
+            CreateContainerRequest::getContainerCode,
+            importRepository::findExistingContainerCodes,
+            importRepository::insertContainers);
+    this.customers =
+        new ImportSpec<>(
+            "email",
+            List.of("companyName", "contactName", "email"),
+            BulkImportService::toCustomer,
+            row -> row.getEmail().toLowerCase(Locale.ROOT),
+            importRepository::findExistingCustomerEmails,
+            importRepository::insertCustomers);
+    this.ports =
+        new ImportSpec<>(
+            "unlocode",
+            List.of("unlocode", "name", "country"),
+            BulkImportService::toPort,
+            CreatePortRequest::getUnlocode,
+            importRepository::findExistingUnlocodes,
+            importRepository::insertPorts);
+  }
+
+  /** Imports containers from CSV with columns {@code containerCode,size,type}. */
+  public BulkImportResponse importContainers(InputStream csv) throws IOException {
+    return importCsv(csv, containers);
+  }
+
+  /**
+   * Imports customers from CSV with columns {@code companyName,contactName,email} and optional
+   * {@code phone,address}. Emails are matched case-insensitively.
+   */
+  public BulkImportResponse importCustomers(InputStream csv) throws IOException {
+    return importCsv(csv, customers);
+  }
+
+  /** Imports ports from CSV with columns {@code unlocode,name,country}. */
+  public BulkImportResponse importPorts(InputStream csv) throws IOException {
+    return importCsv(csv, ports);
+  }
+
+  private <T> BulkImportResponse importCsv(InputStream csv, ImportSpec<T> spec) throws IOException {
+    CsvReader reader =
+        new CsvReader(new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8)));
+    List<String> header;
+    try {
+      header = reader.readRecord();
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException(e.getMessage());
+    }
+    if (header == null) {
+      throw new BadRequestException("CSV is empty; expected a header row");
+    }
+    List<String> columns = header.stream().map(String::trim).toList();
+    List<String> missing =
+        spec.requiredColumns().stream().filter(c -> !columns.contains(c)).toList();
+    if (!missing.isEmpty()) {
+      throw new BadRequestException("CSV header is missing columns: " + missing);
+    }
+
+    Set<String> seenKeys = new HashSet<>();
+    List<RowError> errors = new ArrayList<>();
+    List<RawRow> chunk = new ArrayList<>(properties.getChunkSize());
+    long rowsRead = 0;
+    long imported = 0;
+    while (true) {
+      List<String> record;
+      try {
+        record = reader.readRecord();
+      } catch (IllegalArgumentException e) {
+        errors.add(new RowError(reader.getRecordLine(), null, List.of(e.getMessage())));
+        break;
+      }
+      if (record == null) {
+        break;
+      }
+      if (record.size() == 1 && record.get(0).isBlank()) {
+        continue;
+      }
+      rowsRead++;
+      chunk.add(new RawRow(reader.getRecordLine(), toValues(columns, record)));
+      if (chunk.size() == properties.getChunkSize()) {
+        imported += importChunk(chunk, spec, seenKeys, errors);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      imported += importChunk(chunk, spec, seenKeys, errors);
+    }
+    errors.sort(Comparator.comparingLong(RowError::getLine));
+    return new BulkImportResponse(rowsRead, imported, errors);
+  }
+
+  private <T> int importChunk(
+      List<RawRow> chunk, ImportSpec<T> spec, Set<String> seenKeys, List<RowError> errors) {
+    List<ParsedRow<T>> parsed = chunk.parallelStream().map(row -> parse(row, spec)).toList();
+
+    List<ParsedRow<T>> candidates = new ArrayList<>();
+    for (ParsedRow<T> row : parsed) {
+      if (!row.errors().isEmpty()) {
+        errors.add(new RowError(row.line(), row.key(), row.errors()));
+      } else if (!seenKeys.add(row.key())) {
+        errors.add(
+            new RowError(
+                row.line(), row.key(), List.of("Duplicate " + spec.keyName() + " in file")));
+      } else {
+        candidates.add(row);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return 0;
+    }
+
+    List<ParsedRow<T>> accepted = new ArrayList<>();
+    Set<String> existing;
+    try {
+      existing =
+          transactionTemplate.execute(
+              status -> {
+                Set<String> taken =
+                    spec.findExisting().apply(candidates.stream().map(ParsedRow::key).toList());
+                candidates.stream()
+                    .filter(row -> !taken.contains(row.key()))
+                    .forEach(accepted::add);
+                if (!accepted.isEmpty()) {
+                  spec.insert()
+                      .accept(
+                          accepted.stream().map(ParsedRow::value).toList(), LocalDateTime.now());
+                }
+                return taken;
+              });
+    } catch (DataIntegrityViolationException e) {
+      // another writer took one of the keys after the lookup; the whole chunk was rolled back
+      for (ParsedRow<T> row : candidates) {
+        errors.add(
+            new RowError(
+                row.line(),
+                row.key(),
+                List.of("Not imported: a conflicting row was written concurrently")));
+      }
+      return 0;
+    }
+    for (ParsedRow<T> row : candidates) {
+      if (existing.contains(row.key())) {
+        errors.add(
+            new RowError(
+                row.line(), row.key(), List.of(capitalize(spec.keyName()) + " already exists")));
+      }
+    }
+    return accepted.size();
+  }
+
+  private <T> ParsedRow<T> parse(RawRow row, ImportSpec<T> spec) {
+    T value;
+    try {
+      value = spec.parser().apply(row.values());
+    } catch (IllegalArgumentException e) {
+      return new ParsedRow<>(row.line(), null, null, List.of(e.getMessage()));
+    }
+    List<String> messages =
+        validator.validate(value).stream()
+            .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+            .map(ConstraintViolation::getMessage)
+            .toList();
+    String key = messages.isEmpty() ? spec.key().apply(value) : null;
+    return new ParsedRow<>(row.line(), value, key, messages);
+  }
+
+  private static Map<String, String> toValues(List<String> columns, List<String> record) {
+    Map<String, String> values = new HashMap<>();
+    for (int i = 0; i < columns.size() && i < record.size(); i++) {
+      String value = record.get(i).trim();
+      values.put(columns.get(i), value.isEmpty() ? null : value);
+    }
+    return values;
+  }
+
+  private static CreateContainerRequest toContainer(Map<String, String> values) {
+    CreateContainerRequest request = new CreateContainerRequest();
+    request.setContainerCode(values.get("containerCode"));
+    request.setSize(toEnum(ContainerSize.class, "size", values.get("size")));
+    request.setType(toEnum(ContainerType.class, "type", values.get("type")));
+    return request;
+  }
+
+  private static CreateCustomerRequest toCustomer(Map<String, String> values) {
+    CreateCustomerRequest request = new CreateCustomerRequest();
+    request.setCompanyName(values.get("companyName"));
+    request.setContactName(values.get("contactName"));
+    request.setEmail(values.get("email"));
+    request.setPhone(values.get("phone"));
+    request.setAddress(values.get("address"));
+    return request;
+  }
+
+  private static CreatePortRequest toPort(Map<String, String> values) {
+    CreatePortRequest request = new CreatePortRequest();
+    request.setUnlocode(values.get("unlocode"));
+    request.setName(values.get("name"));
+    request.setCountry(values.get("country"));
+    return request;
+  }
+
+  private static <E extends Enum<E>> E toEnum(Class<E> type, String column, String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid " + column + ": " + value);
+    }
+  }
+
+  private static String capitalize(String text) {
+    return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+  }
+
+  /** How one entity type is parsed, keyed, deduplicated and inserted. */
+  private record ImportSpec<T>(
+      String keyName,
+      List<String> requiredColumns,
+      Function<Map<String, String>, T> parser,
+      Function<T, String> key,
+      Function<Collection<String>, Set<String>> findExisting,
+      BiConsumer<List<T>, LocalDateTime> insert) {}
+
+  private record RawRow(long line, Map<String, String> values) {}
+
+  private record ParsedRow<T>(long line, T value, String key, List<String> errors) {}
+}
@@ -0,0 +1,135 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.ChangeFeedProperties;
+import com.shipping.freightops.dto.ChangeFeedResponse;
+import com.shipping.freightops.dto.ChangeResponse;
+import com.shipping.freightops.entity.ChangeLogEntry;
+import com.shipping.freightops.enums.ChangeEntityType;
+import com.shipping.freightops.exception.BadRequestException;
+import com.shipping.freightops.job.ClusterJob;
+import com.shipping.freightops.repository.ChangeLogRepository;
+import com.shipping.freightops.repository.TransactionSnapshotRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serves the change log as a cursor-paged feed, in the order the writing transactions began and
+ * then in sequence order. The cursor token is {@code txid:seq} of the last change a client has
+ * seen; pages are read with an index range scan from there, however long the log grows.
+ *
+ * <p>Sequence numbers are taken when a change is flushed but become visible only at commit, so a
+ * cursor on {@code seq} alone would pass a transaction that commits late. Instead only entries of
+ * transactions older than the oldest one still running are served: those have all finished, and any
+ * transaction that commits later has a higher id than every entry served so far. Nothing is held
+ * back once its writer and every older writer have committed, however long they ran.
+ *
+ * <p>Entries are kept for {@code app.changes.retention}; the {@code change-log-purge} job deletes
+ * older ones.
+ */
+@Service
+public class ChangeFeedService implements ClusterJob {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangeFeedService.class);
+
+  private final ChangeLogRepository changeLogRepository;
+  private final TransactionSnapshotRepository transactionSnapshotRepository;
+  private final ChangeFeedProperties properties;
+
+  public ChangeFeedService(
+      ChangeLogRepository changeLogRepository,
+      TransactionSnapshotRepository transactionSnapshotRepository,
+      ChangeFeedProperties properties) {
+    this.changeLogRepository = changeLogRepository;
+    this.transactionSnapshotRepository = transactionSnapshotRepository;
+    this.properties = properties;
+  }
+
+  /**
+   * Changes after {@code since}, oldest first.
+   *
+   * @param since token from a previous page, or {@code null} to start from the beginning
+   * @param types entity types to include, or empty for all
+   * @throws BadRequestException if the token or limit is invalid
+   */
+  // not read-only: a lagging replica could expose a later change before an earlier one
+  @Transactional
+  public ChangeFeedResponse getChanges(String since, Set<ChangeEntityType> types, int limit) {
+    Cursor after = parseToken(since);
+    if (limit < 1 || limit > properties.getMaxLimit()) {
+      throw new BadRequestException(
+          "limit must be between 1 and " + properties.getMaxLimit() + ": " + limit);
+    }
+    // read before the entries: whatever is below the horizon now is visible to the next statement
+    long horizon = transactionSnapshotRepository.oldestRunningTxid();
+    Limit page = Limit.of(limit + 1);
+    List<ChangeLogEntry> entries =
+        types.isEmpty()
+            ? changeLogRepository.findAfter(after.txid(), after.seq(), horizon, page)
+            : changeLogRepository.findAfter(after.txid(), after.seq(), horizon, types, page);
+
+    boolean hasMore = entries.size() > limit;
+    List<ChangeLogEntry> served = entries.subList(0, Math.min(limit, entries.size()));
+    Cursor last = served.isEmpty() ? after : Cursor.of(served.get(served.size() - 1));
+    List<ChangeResponse> changes = served.stream().map(ChangeResponse::fromEntity).toList();
+    return new ChangeFeedResponse(changes, last.toToken(), hasMore);
+  }
+
+  @Override
+  public String name() {
+    return "change-log-purge";
+  }
+
+  @Override
+  public String cron() {
+    return properties.getPurgeCron();
+  }
+
+  /** Deletes entries written longer than {@code app.changes.retention} ago. */
+  @Override
+  public String runChunk(String cursor) {
+    int purged =
+        changeLogRepository.deleteChangedBefore(
+            LocalDateTime.now().minus(properties.getRetention()));
+    if (purged > 0) {
+      log.info("Purged {} change log entries", purged);
+    }
+    return null;
+  }
+
+  /** Parses {@code txid:seq}. */
+  private Cursor parseToken(String since) {
+    if (since == null || since.isBlank()) {
+      return new Cursor(0, 0);
+    }
+    int colon = since.indexOf(':');
+    if (colon > 0) {
+      try {
+        long txid = Long.parseLong(since.substring(0, colon));
+        long seq = Long.parseLong(since.substring(colon + 1));
+        if (txid >= 0 && seq >= 0) {
+          return new Cursor(txid, seq);
+        }
+      } catch (NumberFormatException e) {
+        // fall through
+      }
+    }
+    throw new BadRequestException("Invalid change token: " + since);
+  }
+
+  private record Cursor(long txid, long seq) {
+
+    static Cursor of(ChangeLogEntry entry) {
+      return new Cursor(entry.getTxid(), entry.getSeq());
+    }
+
+    String toToken() {
+      return txid + ":" + seq;
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.CommissionProperties;
+import com.shipping.freightops.config.TransactionTimeouts;
+import com.shipping.freightops.exception.BadRequestException;
+import com.shipping.freightops.job.ClusterJob;
+import com.shipping.freightops.repository.CommissionStatementRepository;
+import com.shipping.freightops.repository.CommissionStatementRepository.AgentTotals;
+import com.shipping.freightops.repository.CommissionStatementRepository.Statement;
+import com.shipping.freightops.repository.CommissionStatementRepository.StatementRate;
+import com.shipping.freightops.repository.projection.CommissionStatement;
+import com.shipping.freightops.util.Money;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Monthly commission statements of the agents, kept in {@code agent_commission_statement}.
+ *
+ * <p>A statement counts the agent's delivered orders, live and archived, on the voyages completed
+ * in the month, and applies the agent's rate to their final prices. {@link #generate} computes the
+ * statements of all agents with one grouped query. A discount on an order of a completed voyage (a
+ * credit note on a delivered order), or a voyage that is reopened, marks the statements it may have
+ * moved stale; {@link #refresh} recomputes only those, at the rate they were issued with, and as a
+ * {@link ClusterJob} it does so every night for every period.
+ */
+@Service
+public class CommissionStatementService implements ClusterJob {
+
+  private final CommissionStatementRepository statementRepository;
+  private final CommissionProperties properties;
+  private final TransactionTemplate transactionTemplate;
+
+  public CommissionStatementService(
+      CommissionStatementRepository statementRepository,
+      CommissionProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.statementRepository = statementRepository;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Computes the statements of every agent for a month that has ended, at today's rates. Statements
+   * of agents left without delivered orders in the month are removed.
+   */
+  @Transactional(
+      timeoutString = TransactionTimeouts.REPORT_TIMEOUT,
+      label = TransactionTimeouts.REPORT)
+  public List<CommissionStatement> generate(YearMonth period) {
+    if (!period.isBefore(YearMonth.now())) {
+      throw new BadRequestException("Statements can only be generated for a month that has ended");
+    }
+    LocalDate start = period.atDay(1);
+    LocalDate end = period.plusMonths(1).atDay(1);
+    Set<Long> previous = statementRepository.lockPeriod(start).keySet();
+    List<Statement> statements =
+        statementRepository.sumDeliveredByAgent(start.atStartOfDay(), end.atStartOfDay()).stream()
+            .map(totals -> statement(totals, totals.commissionPercent()))
+            .toList();
+    save(start, end, statements, previous);
+    return statementRepository.findByPeriod(start);
+  }
+
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public List<CommissionStatement> getStatements(YearMonth period) {
+    return statementRepository.findByPeriod(period.atDay(1));
+  }
+
+  /** Recomputes the month's stale statements and returns all of the month's statements. */
+  @Transactional(
+      timeoutString = TransactionTimeouts.REPORT_TIMEOUT,
+      label = TransactionTimeouts.REPORT)
+  public List<CommissionStatement> refresh(YearMonth period) {
+    refreshStale(period.atDay(1));
+    return statementRepository.findByPeriod(period.atDay(1));
+  }
+
+  /** Marks stale the agent's statement covering the order's voyage, if it is completed. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordDiscount(Long agentId, Long voyageId) {
+    statementRepository.markStaleForOrder(agentId, voyageId);
+  }
+
+  /** Marks stale the statements counting the voyage, which is no longer completed. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordReopened(Long voyageId, LocalDateTime completedAt) {
+    statementRepository.markStaleForVoyage(voyageId, YearMonth.from(completedAt).atDay(1));
+  }
+
+  @Override
+  public String name() {
+    return "commission-statement-refresh";
+  }
+
+  @Override
+  public String cron() {
+    return properties.getCron();
+  }
+
+  /** Refreshes the next period after the one in {@code cursor} that has stale statements. */
+  @Override
+  public String runChunk(String cursor) {
+    LocalDate after = cursor == null ? null : LocalDate.parse(cursor);
+    return statementRepository
+        .findNextStalePeriod(after)
+        .map(
+            start -> {
+              transactionTemplate.executeWithoutResult(status -> refreshStale(start));
+              return start.toString();
+            })
+        .orElse(null);
+  }
+
+  /**
+   * Locks the period's statements first, so that a statement marked stale while it is being
+   * recomputed stays stale for the next refresh.
+   */
+  private void refreshStale(LocalDate start) {
+    Map<Long, StatementRate> rates = statementRepository.lockPeriod(start);
+    List<Long> staleAgents =
+        rates.entrySet().stream()
+            .filter(entry -> entry.getValue().stale())
+            .map(Map.Entry::getKey)
+            .toList();
+    if (staleAgents.isEmpty()) {
+      return;
+    }
+    LocalDate end = start.plusMonths(1);
+    List<Statement> statements =
+        statementRepository
+            .sumDeliveredByAgent(start.atStartOfDay(), end.atStartOfDay(), staleAgents)
+            .stream()
+            .map(totals -> statement(totals, rates.get(totals.agentId()).commissionPercent()))
+            .toList();
+    save(start, end, statements, staleAgents);
+  }
+
+  private void save(
+      LocalDate start, LocalDate end, List<Statement> statements, Iterable<Long> previous) {
+    statementRepository.saveAll(start, end, statements, LocalDateTime.now());
+    Set<Long> gone = new HashSet<>();
+    previous.forEach(gone::add);
+    statements.forEach(statement -> gone.remove(statement.agentId()));
+    statementRepository.deleteAll(start, gone);
+  }
+
+  private static Statement statement(AgentTotals totals, BigDecimal commissionPercent) {
+    Money orderValue = Money.of(totals.orderValueUsd());
+    return new Statement(
+        totals.agentId(),
+        totals.orderCount(),
+        orderValue.toBigDecimal(),
+        commissionPercent,
+        orderValue.percent(Money.basisPoints(commissionPercent)).toBigDecimal());
+  }
+}
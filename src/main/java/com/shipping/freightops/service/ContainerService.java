@@ -8,20 +8,22 @@ import com.shipping.freightops.config.AppProperties;
 import com.shipping.freightops.dto.ContainerLabelResponse;
 import com.shipping.freightops.dto.CreateContainerRequest;
 import com.shipping.freightops.entity.Container;
-import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.enums.ContainerSize;
 import com.shipping.freightops.enums.ContainerType;
 import com.shipping.freightops.enums.OrderStatus;
 import com.shipping.freightops.exception.PdfGenerationException;
 import com.shipping.freightops.repository.ContainerRepository;
-import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.repository.projection.ContainerLabelDocument;
+import com.shipping.freightops.repository.projection.ContainerSummary;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 record ContainerLabelData(
     String containerCode,
@@ -39,9 +41,9 @@ record ContainerLabelData(
 public class ContainerService {
 
   private final BarcodeService barcodeService;
-  private final FreightOrderRepository freightOrderRepository;
   private final ContainerRepository containerRepository;
   private final AppProperties appProperties;
+  private final TransactionTemplate readOnlyTransaction;
   private static final int BARCODE_WIDTH = 300;
   private static final int BARCODE_HEIGHT = 80;
 
@@ -52,13 +54,14 @@ public class ContainerService {
 
   public ContainerService(
       BarcodeService barcodeService,
-      FreightOrderRepository freightOrderRepository,
       ContainerRepository containerRepository,
-      AppProperties appProperties) {
+      AppProperties appProperties,
+      PlatformTransactionManager transactionManager) {
     this.barcodeService = barcodeService;
-    this.freightOrderRepository = freightOrderRepository;
     this.containerRepository = containerRepository;
     this.appProperties = appProperties;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
   }
 
   @Transactional
@@ -73,18 +76,10 @@ public class ContainerService {
     return containerRepository.save(container);
   }
 
+  /** Lists containers as projections; {@code null} filters are ignored. */
   @Transactional(readOnly = true)
-  public List<Container> getAllContainers(ContainerSize size, ContainerType type) {
-    if (size != null && type != null) {
-      return containerRepository.findBySizeAndType(size, type);
-    }
-    if (size != null) {
-      return containerRepository.findBySize(size);
-    }
-    if (type != null) {
-      return containerRepository.findByType(type);
-    }
-    return containerRepository.findAll();
+  public List<ContainerSummary> getAllContainers(ContainerSize size, ContainerType type) {
+    return containerRepository.findSummaries(size, type);
   }
 
   @Transactional(readOnly = true)
@@ -94,24 +89,27 @@ public class ContainerService {
         .orElseThrow(() -> new IllegalArgumentException("Container not found: " + id));
   }
 
-  @Transactional(readOnly = true)
+  /**
+   * Builds the label from a single read-only query; barcodes and the PDF are rendered after the
+   * transaction has ended.
+   */
   public ContainerLabelResponse generateContainerLabel(long containerId) {
 
-    Container container = getContainer(containerId);
+    ContainerLabelDocument document =
+        readOnlyTransaction.execute(
+            status ->
+                containerRepository
+                    .findLabelDocument(containerId, OrderStatus.CONFIRMED, Limit.of(1))
+                    .orElseThrow(
+                        () -> new IllegalArgumentException("Container not found: " + containerId)));
 
-    ContainerLabelData data = buildLabelData(container);
+    ContainerLabelData data = buildLabelData(document);
 
     byte[] pdf = generatePdf(data);
 
     return new ContainerLabelResponse(pdf, "container-" + data.containerCode() + "-label.pdf");
   }
 
-  private Container getContainer(long containerId) {
-    return containerRepository
-        .findById(containerId)
-        .orElseThrow(() -> new IllegalArgumentException("Container not found: " + containerId));
-  }
-
   private byte[] generatePdf(ContainerLabelData data) {
     ByteArrayOutputStream out = new ByteArrayOutputStream();
     try {
@@ -184,14 +182,14 @@ public class ContainerService {
     document.add(new Paragraph("\n"));
   }
 
-  private ContainerLabelData buildLabelData(Container container) {
+  private ContainerLabelData buildLabelData(ContainerLabelDocument document) {
 
-    String containerCode = container.getContainerCode();
+    String containerCode = document.containerCode();
 
     byte[] barCode = barcodeService.generateBarcode(containerCode, BARCODE_WIDTH, BARCODE_HEIGHT);
 
-    String containerSize = container.getSize().getPdfReadyValue();
-    String containerType = container.getType().toString();
+    String containerSize = document.size().getPdfReadyValue();
+    String containerType = document.type().toString();
 
     String voyageNumber = "-";
     String vesselName = "-";
@@ -199,18 +197,12 @@ public class ContainerService {
     String arrivalPort = "-";
     String departureDate = "-";
 
-    Optional<FreightOrder> activeOrderOpt =
-        freightOrderRepository
-            .findFirstByContainer_ContainerCodeAndStatusOrderByVoyage_DepartureTimeAsc(
-                containerCode, OrderStatus.CONFIRMED);
-
-    if (activeOrderOpt.isPresent()) {
-      FreightOrder fo = activeOrderOpt.get();
-      voyageNumber = fo.getVoyage().getVoyageNumber();
-      vesselName = fo.getVoyage().getVessel().getName();
-      departurePort = fo.getVoyage().getDeparturePort().getName();
-      arrivalPort = fo.getVoyage().getArrivalPort().getName();
-      departureDate = fo.getVoyage().getDepartureTime().format(DATE_FMT);
+    if (document.voyageNumber() != null) {
+      voyageNumber = document.voyageNumber();
+      vesselName = document.vesselName();
+      departurePort = document.departurePortName();
+      arrivalPort = document.arrivalPortName();
+      departureDate = document.departureTime().format(DATE_FMT);
     }
 
     String trackUrl = appProperties.getBaseUrl() + "/api/v1/track/container/" + containerCode;
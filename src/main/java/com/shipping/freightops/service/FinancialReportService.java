@@ -0,0 +1,249 @@
+package com.shipping.freightops.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shipping.freightops.config.TransactionTimeouts;
+import com.shipping.freightops.dto.OwnerFinancialShareResponse;
+import com.shipping.freightops.dto.VoyageFinancialReportResponse;
+import com.shipping.freightops.enums.ExportFormat;
+import com.shipping.freightops.exception.BadRequestException;
+import com.shipping.freightops.repository.FinancialReportRepository;
+import com.shipping.freightops.repository.FinancialReportRepository.DeliveredRevenue;
+import com.shipping.freightops.repository.FinancialReportRepository.OwnerShareRow;
+import com.shipping.freightops.repository.FinancialReportRepository.ReportVoyage;
+import com.shipping.freightops.repository.FinancialReportRepository.VesselShare;
+import com.shipping.freightops.util.Money;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Financial summaries of every voyage completed in a date range, with the split between the
+ * vessels' owners, streamed as NDJSON or CSV for the board pack.
+ *
+ * <p>However many voyages the range covers, the figures are read with five grouped queries: voyages
+ * with a {@link com.shipping.freightops.entity.VoyageFinancialSnapshot} take revenue, costs and the
+ * owner split from it, the others are summed from their delivered orders, live and archived, and
+ * costs and split by their vessel's current owners. Only those grouped figures are held for the
+ * whole range: the voyages are split in parallel {@value #CHUNK_SIZE} at a time, and each chunk is
+ * written in completion order before the next one is summarized.
+ */
+@Service
+public class FinancialReportService {
+
+  static final String[] CSV_HEADER = {
+    "voyageId",
+    "voyageNumber",
+    "vesselName",
+    "completedAt",
+    "orderCount",
+    "totalRevenueUsd",
+    "totalCostsUsd",
+    "netProfitUsd",
+    "ownerName",
+    "sharePercent",
+    "revenueShareUsd",
+    "costShareUsd",
+    "profitShareUsd"
+  };
+
+  /** Voyages summarized in parallel before they are written. */
+  static final int CHUNK_SIZE = 500;
+
+  private final FinancialReportRepository reportRepository;
+  private final ObjectWriter jsonWriter;
+
+  public FinancialReportService(
+      FinancialReportRepository reportRepository, ObjectMapper objectMapper) {
+    this.reportRepository = reportRepository;
+    this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * Writes the report of the voyages completed from {@code from} to {@code to}, both inclusive, to
+   * {@code out}: in NDJSON one line per voyage, in CSV one line per voyage and owner.
+   *
+   * @return the number of voyages written
+   */
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.EXPORT_TIMEOUT,
+      label = TransactionTimeouts.EXPORT)
+  public long writeReport(ExportFormat format, LocalDate from, LocalDate to, OutputStream out)
+      throws IOException {
+    validateRange(from, to);
+    LocalDateTime start = from.atStartOfDay();
+    LocalDateTime end = to.plusDays(1).atStartOfDay();
+
+    List<ReportVoyage> voyages = reportRepository.findCompletedVoyages(start, end);
+    Function<ReportVoyage, VoyageFinancialReportResponse> summary =
+        voyages.isEmpty() ? voyage -> null : summarizer(start, end);
+    switch (format) {
+      case NDJSON -> writeNdjson(voyages, summary, out);
+      case CSV -> writeCsv(voyages, summary, out);
+    }
+    return voyages.size();
+  }
+
+  /** Rejects a range that ends before it starts. */
+  public void validateRange(LocalDate from, LocalDate to) {
+    if (to.isBefore(from)) {
+      throw new BadRequestException("'to' must not be before 'from'");
+    }
+  }
+
+  private Function<ReportVoyage, VoyageFinancialReportResponse> summarizer(
+      LocalDateTime start, LocalDateTime end) {
+    Map<Long, DeliveredRevenue> revenue = reportRepository.sumDeliveredRevenue(start, end);
+    Map<Long, BigDecimal> costs = reportRepository.sumCosts(start, end);
+    Map<Long, List<OwnerShareRow>> snapshotOwners = reportRepository.findSnapshotOwners(start, end);
+    Map<Long, List<VesselShare>> vesselOwners = reportRepository.findVesselOwners(start, end);
+    return voyage ->
+        voyage.snapshotted()
+            ? fromSnapshot(voyage, snapshotOwners.getOrDefault(voyage.id(), List.of()))
+            : split(
+                voyage,
+                revenue.get(voyage.id()),
+                costs.getOrDefault(voyage.id(), BigDecimal.ZERO),
+                vesselOwners.getOrDefault(voyage.vesselId(), List.of()));
+  }
+
+  private static VoyageFinancialReportResponse fromSnapshot(
+      ReportVoyage voyage, List<OwnerShareRow> owners) {
+    return VoyageFinancialReportResponse.fromValues(
+        voyage.id(),
+        voyage.voyageNumber(),
+        voyage.vesselName(),
+        voyage.completedAt(),
+        voyage.orderCount(),
+        voyage.totalRevenueUsd(),
+        voyage.totalCostsUsd(),
+        voyage.netProfitUsd(),
+        owners.stream()
+            .map(
+                owner ->
+                    OwnerFinancialShareResponse.fromValues(
+                        owner.ownerName(),
+                        owner.sharePercent(),
+                        owner.revenueShareUsd(),
+                        owner.costShareUsd(),
+                        owner.profitShareUsd()))
+            .toList());
+  }
+
+  private static VoyageFinancialReportResponse split(
+      ReportVoyage voyage,
+      DeliveredRevenue delivered,
+      BigDecimal totalCostsUsd,
+      List<VesselShare> owners) {
+    Money totalRevenue = delivered == null ? Money.ZERO : Money.of(delivered.revenue());
+    Money totalCosts = Money.of(totalCostsUsd);
+    Money netProfit = totalRevenue.minus(totalCosts);
+    return VoyageFinancialReportResponse.fromValues(
+        voyage.id(),
+        voyage.voyageNumber(),
+        voyage.vesselName(),
+        voyage.completedAt(),
+        delivered == null ? 0 : Math.toIntExact(delivered.orderCount()),
+        totalRevenue.toBigDecimal(),
+        totalCosts.toBigDecimal(),
+        netProfit.toBigDecimal(),
+        owners.stream()
+            .map(
+                owner ->
+                    OwnerFinancialShareResponse.fromShare(
+                        owner.ownerName(),
+                        owner.sharePercent(),
+                        totalRevenue,
+                        totalCosts,
+                        netProfit))
+            .toList());
+  }
+
+  /** Summarizes each chunk only when the writer asks for it. */
+  private static Iterable<List<VoyageFinancialReportResponse>> summarizedChunks(
+      List<ReportVoyage> voyages, Function<ReportVoyage, VoyageFinancialReportResponse> summary) {
+    // an ordered parallel stream keeps completion order within the chunk
+    return () ->
+        IntStream.iterate(0, from -> from < voyages.size(), from -> from + CHUNK_SIZE)
+            .mapToObj(
+                from ->
+                    voyages
+                        .subList(from, Math.min(from + CHUNK_SIZE, voyages.size()))
+                        .parallelStream()
+                        .map(summary)
+                        .toList())
+            .iterator();
+  }
+
+  private void writeNdjson(
+      List<ReportVoyage> voyages,
+      Function<ReportVoyage, VoyageFinancialReportResponse> summary,
+      OutputStream out)
+      throws IOException {
+    JsonGenerator generator = jsonWriter.createGenerator(out);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.setRootValueSeparator(null);
+    for (List<VoyageFinancialReportResponse> chunk : summarizedChunks(voyages, summary)) {
+      for (VoyageFinancialReportResponse voyage : chunk) {
+        jsonWriter.writeValue(generator, voyage);
+        generator.writeRaw('\n');
+      }
+    }
+    generator.close();
+  }
+
+  private void writeCsv(
+      List<ReportVoyage> voyages,
+      Function<ReportVoyage, VoyageFinancialReportResponse> summary,
+      OutputStream out)
+      throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    FreightOrderExportService.writeCsvLine(writer, (Object[]) CSV_HEADER);
+    for (List<VoyageFinancialReportResponse> chunk : summarizedChunks(voyages, summary)) {
+      for (VoyageFinancialReportResponse voyage : chunk) {
+        if (voyage.getOwners().isEmpty()) {
+          writeCsvLine(writer, voyage, null);
+        }
+        for (OwnerFinancialShareResponse owner : voyage.getOwners()) {
+          writeCsvLine(writer, voyage, owner);
+        }
+      }
+    }
+    writer.flush();
+  }
+
+  private static void writeCsvLine(
+      Writer writer, VoyageFinancialReportResponse voyage, OwnerFinancialShareResponse owner)
+      throws IOException {
+    FreightOrderExportService.writeCsvLine(
+        writer,
+        voyage.getVoyageId(),
+        voyage.getVoyageNumber(),
+        voyage.getVesselName(),
+        voyage.getCompletedAt(),
+        voyage.getOrderCount(),
+        voyage.getTotalRevenueUsd(),
+        voyage.getTotalCostsUsd(),
+        voyage.getNetProfitUsd(),
+        owner == null ? null : owner.getOwnerName(),
+        owner == null ? null : owner.getSharePercent(),
+        owner == null ? null : owner.getRevenueShareUsd(),
+        owner == null ? null : owner.getCostShareUsd(),
+        owner == null ? null : owner.getProfitShareUsd());
+  }
+}
@@ -0,0 +1,85 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.TransactionTimeouts;
+import com.shipping.freightops.config.UtilizationProperties;
+import com.shipping.freightops.dto.VoyageUtilizationResponse;
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.VoyageRepository;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Load of every PLANNED or IN_PROGRESS voyage for the fleet dashboard.
+ *
+ * <p>Booked TEU and orders are the counters {@link VoyagePnlService} keeps per voyage, so one
+ * statement reads a row per open voyage without touching the orders. The result is kept in memory
+ * for {@code app.utilization.cache-ttl}. Writes that change them call {@link #invalidate}, which
+ * takes effect when their transaction commits. Cached figures carry the generation they were read
+ * in and are not served once it has moved on, so a read that raced a booking is not served again.
+ * The counters are read from the primary: a replica lagging behind a committed booking would
+ * otherwise be cached under the generation that booking started.
+ */
+@Service
+public class FleetUtilizationService {
+
+  private static final List<VoyageStatus> OPEN =
+      List.of(VoyageStatus.PLANNED, VoyageStatus.IN_PROGRESS);
+
+  private final VoyageRepository voyageRepository;
+  private final UtilizationProperties properties;
+
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Cached cached;
+
+  public FleetUtilizationService(
+      VoyageRepository voyageRepository, UtilizationProperties properties) {
+    this.voyageRepository = voyageRepository;
+    this.properties = properties;
+  }
+
+  @Transactional(timeoutString = TransactionTimeouts.READ_TIMEOUT, label = TransactionTimeouts.READ)
+  public List<VoyageUtilizationResponse> getFleetUtilization() {
+    Instant now = Instant.now();
+    Cached current = cached;
+    if (current != null
+        && current.generation() == generation.get()
+        && now.isBefore(current.expiresAt())) {
+      return current.voyages();
+    }
+    // read the generation first: an invalidation during the query makes the result unservable
+    long readGeneration = generation.get();
+    List<VoyageUtilizationResponse> voyages =
+        voyageRepository.findUtilizationByStatusIn(OPEN).stream()
+            .map(VoyageUtilizationResponse::fromProjection)
+            .toList();
+    cached = new Cached(voyages, readGeneration, now.plus(properties.getCacheTtl()));
+    return voyages;
+  }
+
+  /**
+   * Drops the cached figures once the current transaction commits, or at once outside of one. Call
+   * it from every write that books, opens or closes a voyage, or moves one in or out of the open
+   * statuses.
+   */
+  public void invalidate() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              generation.incrementAndGet();
+            }
+          });
+    } else {
+      generation.incrementAndGet();
+    }
+  }
+
+  private record Cached(
+      List<VoyageUtilizationResponse> voyages, long generation, Instant expiresAt) {}
+}
@@ -0,0 +1,193 @@
+package com.shipping.freightops.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shipping.freightops.config.TransactionTimeouts;
+import com.shipping.freightops.dto.FreightOrderResponse;
+import com.shipping.freightops.enums.ExportFormat;
+import com.shipping.freightops.repository.ArchivedFreightOrderRepository;
+import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.repository.projection.FreightOrderSummary;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streams freight orders straight to an {@link OutputStream}. Rows are read through forward-only
+ * cursors over the live and the archived orders ({@link FreightOrderRepository#streamSummaries},
+ * {@link ArchivedFreightOrderRepository#streamSummaries}), merged in id order and written one at a
+ * time, so an export runs in constant memory however many orders it covers and however old they
+ * are.
+ */
+@Service
+public class FreightOrderExportService {
+
+  static final String[] CSV_HEADER = {
+    "id",
+    "voyageNumber",
+    "containerCode",
+    "containerSize",
+    "containerType",
+    "agentId",
+    "agentName",
+    "customerName",
+    "customerEmail",
+    "orderedBy",
+    "status",
+    "basePriceUsd",
+    "discountPercent",
+    "finalPrice",
+    "discountReason",
+    "notes",
+    "createdAt"
+  };
+
+  private final FreightOrderRepository orderRepository;
+  private final ArchivedFreightOrderRepository archivedOrderRepository;
+  private final ObjectWriter jsonWriter;
+
+  public FreightOrderExportService(
+      FreightOrderRepository orderRepository,
+      ArchivedFreightOrderRepository archivedOrderRepository,
+      ObjectMapper objectMapper) {
+    this.orderRepository = orderRepository;
+    this.archivedOrderRepository = archivedOrderRepository;
+    this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * Writes every order matching the filters to {@code out}. All filters are optional; {@code from}
+   * is inclusive and {@code to} exclusive on the order's creation time.
+   *
+   * @return the number of orders written
+   */
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.EXPORT_TIMEOUT,
+      label = TransactionTimeouts.EXPORT)
+  public long export(
+      ExportFormat format, Long voyageId, LocalDateTime from, LocalDateTime to, OutputStream out)
+      throws IOException {
+    try (Stream<FreightOrderSummary> live = orderRepository.streamSummaries(voyageId, from, to);
+        Stream<FreightOrderSummary> archived =
+            archivedOrderRepository.streamSummaries(voyageId, from, to)) {
+      Iterator<FreightOrderSummary> rows = mergeById(live.iterator(), archived.iterator());
+      return switch (format) {
+        case NDJSON -> writeNdjson(rows, out);
+        case CSV -> writeCsv(rows, out);
+      };
+    }
+  }
+
+  /** Merges two id-ordered row iterators into one; an order is either live or archived. */
+  private static Iterator<FreightOrderSummary> mergeById(
+      Iterator<FreightOrderSummary> first, Iterator<FreightOrderSummary> second) {
+    return new Iterator<>() {
+      private FreightOrderSummary nextFirst = first.hasNext() ? first.next() : null;
+      private FreightOrderSummary nextSecond = second.hasNext() ? second.next() : null;
+
+      @Override
+      public boolean hasNext() {
+        return nextFirst != null || nextSecond != null;
+      }
+
+      @Override
+      public FreightOrderSummary next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        FreightOrderSummary row;
+        if (nextSecond == null || (nextFirst != null && nextFirst.id() < nextSecond.id())) {
+          row = nextFirst;
+          nextFirst = first.hasNext() ? first.next() : null;
+        } else {
+          row = nextSecond;
+          nextSecond = second.hasNext() ? second.next() : null;
+        }
+        return row;
+      }
+    };
+  }
+
+  private long writeNdjson(Iterator<FreightOrderSummary> rows, OutputStream out)
+      throws IOException {
+    JsonGenerator generator = jsonWriter.createGenerator(out);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.setRootValueSeparator(null);
+    long count = 0;
+    while (rows.hasNext()) {
+      jsonWriter.writeValue(generator, FreightOrderResponse.fromSummary(rows.next()));
+      generator.writeRaw('\n');
+      count++;
+    }
+    generator.close();
+    return count;
+  }
+
+  private long writeCsv(Iterator<FreightOrderSummary> rows, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writeCsvLine(writer, (Object[]) CSV_HEADER);
+    long count = 0;
+    while (rows.hasNext()) {
+      FreightOrderSummary row = rows.next();
+      writeCsvLine(
+          writer,
+          row.id(),
+          row.voyageNumber(),
+          row.containerCode(),
+          row.containerSize(),
+          row.containerType(),
+          row.agentId(),
+          row.agentName(),
+          row.customerName(),
+          row.customerEmail(),
+          row.orderedBy(),
+          row.status(),
+          row.basePriceUsd(),
+          row.discountPercent(),
+          row.finalPrice(),
+          row.discountReason(),
+          row.notes(),
+          row.createdAt());
+      count++;
+    }
+    writer.flush();
+    return count;
+  }
+
+  static void writeCsvLine(Writer writer, Object... values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      writer.write(csvField(values[i]));
+    }
+    writer.write("\r\n");
+  }
+
+  /** Quotes a field when it contains a separator, quote or line break (RFC 4180). */
+  static String csvField(Object value) {
+    String text =
+        value instanceof BigDecimal amount ? amount.toPlainString() : Objects.toString(value, "");
+    if (text.indexOf(',') < 0
+        && text.indexOf('"') < 0
+        && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
@@ -1,6 +1,7 @@
 package com.shipping.freightops.service;
 
 import com.shipping.freightops.config.BookingProperties;
+import com.shipping.freightops.config.TransactionTimeouts;
 import com.shipping.freightops.dto.CreateFreightOrderRequest;
 import com.shipping.freightops.dto.UpdateDiscountRequest;
 import com.shipping.freightops.entity.*;
@@ -9,6 +10,7 @@ import com.shipping.freightops.entity.Container;
 import com.shipping.freightops.entity.FreightOrder;
 import com.shipping.freightops.entity.Voyage;
 import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.DomainEventType;
 import com.shipping.freightops.enums.EventType;
 import com.shipping.freightops.enums.OrderStatus;
 import com.shipping.freightops.enums.VoyageStatus;
@@ -18,13 +20,18 @@ import com.shipping.freightops.repository.AgentRepository;
 import com.shipping.freightops.repository.ContainerRepository;
 import com.shipping.freightops.repository.FreightOrderRepository;
 import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.repository.projection.FreightOrderSummary;
+import com.shipping.freightops.util.Money;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -41,6 +48,12 @@ public class FreightOrderService {
   private final BookingProperties bookingProperties;
   private static final Logger log = LoggerFactory.getLogger(FreightOrderService.class);
   private final TrackingEventService trackingEventService;
+  private final TableStatisticsRepository tableStatisticsRepository;
+  private final OutboxService outboxService;
+  private final VoyagePnlService pnlService;
+  private final CommissionStatementService commissionService;
+  private final VoyageService voyageService;
+  private final FleetUtilizationService utilizationService;
 
   public FreightOrderService(
       FreightOrderRepository orderRepository,
@@ -50,7 +63,13 @@ public class FreightOrderService {
       CustomerRepository customerRepository,
       VoyagePriceRepository voyagePriceRepository,
       BookingProperties bookingProperties,
-      TrackingEventService trackingEventService) {
+      TrackingEventService trackingEventService,
+      TableStatisticsRepository tableStatisticsRepository,
+      OutboxService outboxService,
+      VoyagePnlService pnlService,
+      CommissionStatementService commissionService,
+      VoyageService voyageService,
+      FleetUtilizationService utilizationService) {
     this.orderRepository = orderRepository;
     this.voyageRepository = voyageRepository;
     this.containerRepository = containerRepository;
@@ -59,9 +78,17 @@ public class FreightOrderService {
     this.voyagePriceRepository = voyagePriceRepository;
     this.bookingProperties = bookingProperties;
     this.trackingEventService = trackingEventService;
+    this.tableStatisticsRepository = tableStatisticsRepository;
+    this.outboxService = outboxService;
+    this.pnlService = pnlService;
+    this.commissionService = commissionService;
+    this.voyageService = voyageService;
+    this.utilizationService = utilizationService;
   }
 
-  @Transactional
+  @Transactional(
+      timeoutString = TransactionTimeouts.BOOKING_TIMEOUT,
+      label = TransactionTimeouts.BOOKING)
   public FreightOrder createOrder(CreateFreightOrderRequest request) {
     Voyage voyage =
         voyageRepository
@@ -107,7 +134,7 @@ public class FreightOrderService {
             .orElseThrow(
                 () -> new BadRequestException("No price defined for voyage and container size"));
 
-    validateCapacity(voyage, container);
+    int loadAfterBookingTeu = validateCapacity(voyage, container);
 
     BigDecimal basePriceUsd = voyagePrice.getBasePriceUsd();
     BigDecimal discountPercentage =
@@ -126,8 +153,10 @@ public class FreightOrderService {
     order.setFinalPrice(finalPriceUsd);
 
     FreightOrder savedOrder = orderRepository.save(order);
+    pnlService.recordBooking(voyage.getId(), finalPriceUsd, container.getTeu());
+    utilizationService.invalidate();
 
-    handleAutoCutoff(voyage);
+    handleAutoCutoff(voyage, loadAfterBookingTeu);
     // Adding event tracking logique
     TrackingEvent event = new TrackingEvent();
     event.setFreightOrder(savedOrder);
@@ -137,58 +166,134 @@ public class FreightOrderService {
     event.setPerformedBy(order.getAgent().getName());
     trackingEventService.createEvent(event);
     savedOrder.getEvents().add(event);
+
+    outboxService.publish(
+        DomainEventType.ORDER_CREATED,
+        savedOrder.getId(),
+        Map.of(
+            "orderId", savedOrder.getId(),
+            "voyageId", voyage.getId(),
+            "containerId", container.getId(),
+            "customerId", customer.getId(),
+            "agentId", agent.getId(),
+            "teu", container.getTeu(),
+            "finalPrice", finalPriceUsd));
     return savedOrder;
   }
 
-  @Transactional(readOnly = true)
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
   public FreightOrder getOrder(Long id) {
     return orderRepository
         .findByIdWithAssociations(id)
         .orElseThrow(() -> new IllegalArgumentException("Freight order not found: " + id));
   }
 
-  @Transactional(readOnly = true)
-  public Page<FreightOrder> getAllOrders(Pageable pageable) {
-    return orderRepository.findAllWithAssociations(pageable);
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public Page<FreightOrderSummary> getAllOrders(Pageable pageable) {
+    return orderRepository.findAllSummaries(pageable);
+  }
+
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public Page<FreightOrderSummary> getOrdersByVoyage(Long voyageId, Pageable pageable) {
+    if (!voyageRepository.existsById(voyageId)) {
+      throw new IllegalArgumentException("Voyage not found");
+    }
+    return orderRepository.findSummariesByVoyageId(voyageId, pageable);
+  }
+
+  /** Count-free variant of {@link #getAllOrders}; callers only learn whether a next page exists. */
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public Slice<FreightOrderSummary> getAllOrdersSlice(Pageable pageable) {
+    return orderRepository.findSliceOfSummaries(pageable);
   }
 
-  @Transactional(readOnly = true)
-  public Page<FreightOrder> getOrdersByVoyage(Long voyageId, Pageable pageable) {
-    voyageRepository
-        .findById(voyageId)
-        .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
-    return orderRepository.findByVoyageIdWithAssociations(voyageId, pageable);
+  /** Count-free variant of {@link #getOrdersByVoyage}. */
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public Slice<FreightOrderSummary> getOrdersByVoyageSlice(Long voyageId, Pageable pageable) {
+    if (!voyageRepository.existsById(voyageId)) {
+      throw new IllegalArgumentException("Voyage not found");
+    }
+    return orderRepository.findSliceOfSummariesByVoyageId(voyageId, pageable);
+  }
+
+  /**
+   * Approximate number of freight orders, optionally restricted to one voyage, taken from planner
+   * statistics. Empty when the database cannot provide an estimate.
+   */
+  public OptionalLong estimateOrderCount(Long voyageId) {
+    return voyageId == null
+        ? tableStatisticsRepository.estimateRowCount("freight_orders")
+        : tableStatisticsRepository.estimateRowCount("freight_orders", "voyage_id", voyageId);
   }
 
-  @Transactional
+  /**
+   * Applies a discount. The order row is locked before its price is read, so concurrent discounts
+   * of one order are applied, and their events published, one after the other in commit order, each
+   * starting from the price the previous one left.
+   */
+  @Transactional(
+      timeoutString = TransactionTimeouts.BOOKING_TIMEOUT,
+      label = TransactionTimeouts.BOOKING)
   public FreightOrder updateDiscount(Long id, UpdateDiscountRequest request) {
     FreightOrder order =
         orderRepository
-            .findById(id)
+            .findByIdForUpdate(id)
             .orElseThrow(() -> new IllegalArgumentException("Freight order not found: " + id));
 
-    if (order.getStatus() == OrderStatus.CANCELLED || order.getStatus() == OrderStatus.DELIVERED)
+    if (order.getStatus() == OrderStatus.CANCELLED)
       throw new IllegalStateException(
-          "New discount cannot be applied on the cancelled or delivered freight order");
+          "New discount cannot be applied on the cancelled freight order");
 
     BigDecimal discountPercentage =
         request.getDiscountPercent() != null ? request.getDiscountPercent() : BigDecimal.ZERO;
+    BigDecimal previousFinalPrice = order.getFinalPrice();
 
     order.setDiscountPercent(discountPercentage);
     order.setDiscountReason(request.getReason());
     order.setFinalPrice(calculateFinalPrice(order.getBasePriceUsd(), order.getDiscountPercent()));
-    return orderRepository.save(order);
+    FreightOrder saved = orderRepository.save(order);
+    pnlService.recordPriceChange(
+        saved.getVoyage().getId(), previousFinalPrice, saved.getFinalPrice());
+    if (saved.getStatus() == OrderStatus.DELIVERED) {
+      voyageService.recordCreditNote(saved.getVoyage().getId());
+    }
+    commissionService.recordDiscount(saved.getAgent().getId(), saved.getVoyage().getId());
+
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("orderId", saved.getId());
+    payload.put("discountPercent", saved.getDiscountPercent());
+    payload.put("previousFinalPrice", previousFinalPrice);
+    payload.put("finalPrice", saved.getFinalPrice());
+    payload.put("reason", saved.getDiscountReason());
+    outboxService.publish(DomainEventType.ORDER_DISCOUNT_UPDATED, saved.getId(), payload);
+    return saved;
   }
 
+  /** The base price less the discount, which is rounded to hundredths of a percent first. */
   private BigDecimal calculateFinalPrice(BigDecimal basePriceUsd, BigDecimal discountPercent) {
-    BigDecimal discount = discountPercent.divide(BigDecimal.valueOf(100), 4, RoundingMode.HALF_UP);
-    return basePriceUsd
-        .multiply(BigDecimal.ONE.subtract(discount))
-        .setScale(2, RoundingMode.HALF_UP);
+    return Money.of(basePriceUsd).discounted(Money.basisPoints(discountPercent)).toBigDecimal();
   }
 
-  private void handleAutoCutoff(Voyage voyage) {
-    int currentLoadTeu = orderRepository.sumTeuByVoyageId(voyage.getId());
+  /**
+   * Closes booking once the load reaches the cutoff threshold. {@code currentLoadTeu} comes from
+   * {@link #validateCapacity}; the voyage row is locked, so it cannot have changed meanwhile.
+   */
+  private void handleAutoCutoff(Voyage voyage, int currentLoadTeu) {
     int maxCapacityTeu = voyage.getMaxCapacityTeu();
 
     double loadFactor = (double) currentLoadTeu / maxCapacityTeu;
@@ -206,10 +311,23 @@ public class FreightOrderService {
           bookingProperties.getAutoCutoffPercent());
 
       voyageRepository.save(voyage);
+      outboxService.publish(
+          DomainEventType.VOYAGE_BOOKING_CLOSED,
+          voyage.getId(),
+          Map.of(
+              "voyageId",
+              voyage.getId(),
+              "reason",
+              "AUTO_CUTOFF",
+              "loadTeu",
+              currentLoadTeu,
+              "maxCapacityTeu",
+              maxCapacityTeu));
     }
   }
 
-  private void validateCapacity(Voyage voyage, Container container) {
+  /** Rejects the booking if the container does not fit; returns the load including it. */
+  private int validateCapacity(Voyage voyage, Container container) {
 
     int currentLoadTeu = orderRepository.sumTeuByVoyageId(voyage.getId());
     int maxCapacityTeu = voyage.getMaxCapacityTeu();
@@ -224,5 +342,6 @@ public class FreightOrderService {
                   + "Requested container (%s) requires %d TEU.",
               remainingTeu, container.getSize(), requestedTeu));
     }
+    return currentLoadTeu + requestedTeu;
   }
 }
@@ -6,18 +6,24 @@ import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 import com.shipping.freightops.config.AppProperties;
-import com.shipping.freightops.entity.FreightOrder;
+import com.shipping.freightops.entity.ArchivedInvoice;
 import com.shipping.freightops.entity.Invoice;
 import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.repository.ArchivedFreightOrderRepository;
+import com.shipping.freightops.repository.ArchivedInvoiceRepository;
 import com.shipping.freightops.repository.FreightOrderRepository;
 import com.shipping.freightops.repository.InvoiceRepository;
+import com.shipping.freightops.repository.projection.InvoiceDocument;
 import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class InvoiceService {
@@ -26,28 +32,95 @@ public class InvoiceService {
 
   @Autowired private FreightOrderRepository freightOrderRepository;
 
+  @Autowired private ArchivedFreightOrderRepository archivedFreightOrderRepository;
+
+  @Autowired private ArchivedInvoiceRepository archivedInvoiceRepository;
+
   private static final int QR_SIZE_PX = 100;
   private static final float QR_SIZE_PT = 100f;
   @Autowired private BarcodeService barcodeService;
   @Autowired private AppProperties appProperties;
 
+  private final TransactionTemplate transaction;
+
   private static final BaseColor BRAND_TEAL = new BaseColor(95, 134, 112);
   private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-  @Transactional
+  public InvoiceService(PlatformTransactionManager transactionManager) {
+    this.transaction = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Renders the invoice of a delivered order. The order is read in one query and the invoice number
+   * recorded in a short transaction afterwards; the PDF itself is built without a persistence
+   * context or a connection held. The order is read from the primary, not a replica, so an order
+   * delivered or archived moments ago is seen as it is now.
+   */
   public byte[] generateInvoice(Long orderId) throws DocumentException, FileNotFoundException {
-    FreightOrder order =
-        freightOrderRepository
-            .findById(orderId)
-            .orElseThrow(() -> new IllegalArgumentException("Order not found"));
+    Optional<InvoiceDocument> live =
+        transaction.execute(status -> freightOrderRepository.findInvoiceDocument(orderId));
+    if (live.isEmpty()) {
+      return generateArchivedInvoice(orderId);
+    }
+    InvoiceDocument order = live.get();
+    requireDelivered(order.status());
 
-    if (!order.getStatus().equals(OrderStatus.DELIVERED)) {
+    // Pattern: INV-2025-00042
+    String invoiceNo = newInvoiceNumber(orderId);
+    byte[] pdf = render(order, invoiceNo);
+
+    // Logique de persistance
+    transaction.executeWithoutResult(
+        status ->
+            invoiceRepository.save(
+                new Invoice(freightOrderRepository.getReferenceById(orderId), invoiceNo)));
+
+    return pdf;
+  }
+
+  /**
+   * Invoices an order whose voyage has been archived. The invoice number issued before archiving is
+   * reused; otherwise a new one is recorded in {@code archived_invoices}.
+   */
+  private byte[] generateArchivedInvoice(Long orderId)
+      throws DocumentException, FileNotFoundException {
+    InvoiceDocument order =
+        transaction.execute(
+            status ->
+                archivedFreightOrderRepository
+                    .findById(orderId)
+                    .map(InvoiceDocument::fromArchive)
+                    .orElseThrow(() -> new IllegalArgumentException("Order not found")));
+    requireDelivered(order.status());
+
+    String invoiceNo =
+        transaction.execute(
+            status ->
+                archivedInvoiceRepository
+                    .findByOrderId(orderId)
+                    .map(ArchivedInvoice::getId)
+                    .orElseGet(
+                        () ->
+                            archivedInvoiceRepository
+                                .save(
+                                    new ArchivedInvoice(
+                                        newInvoiceNumber(orderId), orderId, LocalDateTime.now()))
+                                .getId()));
+    return render(order, invoiceNo);
+  }
+
+  private static void requireDelivered(OrderStatus status) {
+    if (!status.equals(OrderStatus.DELIVERED)) {
       throw new IllegalStateException("Invoice requires DELIVERED status");
     }
+  }
 
-    // Pattern: INV-2025-00042
-    String invoiceNo = String.format("INV-%d-%05d", LocalDate.now().getYear(), order.getId());
+  private static String newInvoiceNumber(Long orderId) {
+    return String.format("INV-%d-%05d", LocalDate.now().getYear(), orderId);
+  }
 
+  private byte[] render(InvoiceDocument order, String invoiceNo)
+      throws DocumentException, FileNotFoundException {
     Document document = new Document(PageSize.A4, 36, 36, 50, 36);
     ByteArrayOutputStream out = new ByteArrayOutputStream();
     PdfWriter writer = PdfWriter.getInstance(document, out);
@@ -81,10 +154,9 @@ public class InvoiceService {
     client.addCell(getBorderlessCell("BILL TO", headBold));
     client.addCell(
         getBorderlessCell(
-            order.getCustomer().getCompanyName(),
-            FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11)));
-    client.addCell(getBorderlessCell(order.getCustomer().getEmail(), normal));
-    client.addCell(getBorderlessCell(order.getCustomer().getAddress(), normal));
+            order.customerCompanyName(), FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11)));
+    client.addCell(getBorderlessCell(order.customerEmail(), normal));
+    client.addCell(getBorderlessCell(order.customerAddress(), normal));
     info.addCell(new PdfPCell(client)).setBorder(Rectangle.NO_BORDER);
 
     // Invoice Details: ID, Order Date, Delivery Date
@@ -110,22 +182,18 @@ public class InvoiceService {
     addStyledHead(shipTable, "Container Specifications", whiteHead);
     addStyledHead(shipTable, "Route", whiteHead);
 
-    shipTable.addCell(new Phrase(order.getVoyage().getVoyageNumber(), normal));
+    shipTable.addCell(new Phrase(order.voyageNumber(), normal));
     shipTable.addCell(
         new Phrase(
-            order.getContainer().getContainerCode()
+            order.containerCode()
                 + " ("
-                + order.getContainer().getSize()
+                + order.containerSize()
                 + " "
-                + order.getContainer().getType()
+                + order.containerType()
                 + ")",
             normal));
     shipTable.addCell(
-        new Phrase(
-            order.getVoyage().getDeparturePort().getName()
-                + " / "
-                + order.getVoyage().getArrivalPort().getName(),
-            normal));
+        new Phrase(order.departurePortName() + " / " + order.arrivalPortName(), normal));
 
     document.add(shipTable);
     document.add(new Paragraph("\n"));
@@ -135,19 +203,19 @@ public class InvoiceService {
     priceTable.setWidthPercentage(45);
     priceTable.setHorizontalAlignment(Element.ALIGN_RIGHT);
 
-    addPriceRow(priceTable, "Base Price", "$" + order.getBasePriceUsd(), normal, false);
+    addPriceRow(priceTable, "Base Price", "$" + order.basePriceUsd(), normal, false);
     addPriceRow(
         priceTable,
-        "Discount (" + order.getDiscountPercent() + "%)",
-        "-$" + order.getBasePriceUsd().subtract(order.getFinalPrice()),
+        "Discount (" + order.discountPercent() + "%)",
+        "-$" + order.basePriceUsd().subtract(order.finalPrice()),
         normal,
         false);
 
-    if (order.getDiscountReason() != null && !order.getDiscountReason().isEmpty()) {
+    if (order.discountReason() != null && !order.discountReason().isEmpty()) {
       addPriceRow(
           priceTable,
           "Discount Reason",
-          order.getDiscountReason(),
+          order.discountReason(),
           FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 9),
           false);
     }
@@ -155,7 +223,7 @@ public class InvoiceService {
     addPriceRow(
         priceTable,
         "FINAL PRICE (USD)",
-        "$" + order.getFinalPrice(),
+        "$" + order.finalPrice(),
         FontFactory.getFont(FontFactory.HELVETICA_BOLD, 11, BRAND_TEAL),
         true);
 
@@ -170,13 +238,10 @@ public class InvoiceService {
     document.add(footer);
 
     // --- 6. QR Code (bottom-right, absolute position) ---
-    addTrackingQr(writer, document, orderId);
+    addTrackingQr(writer, document, order.orderId());
 
     document.close();
 
-    // Logique de persistance
-    invoiceRepository.save(new Invoice(order, invoiceNo));
-
     return out.toByteArray();
   }
 
@@ -0,0 +1,112 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.ArchiveProperties;
+import com.shipping.freightops.job.ClusterJob;
+import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.repository.OrderArchiveRepository;
+import com.shipping.freightops.repository.VoyageRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the orders of voyages that have been COMPLETED for longer than {@code
+ * app.archive.completed-for-days} into the archive tables.
+ *
+ * <p>Each chunk of {@code app.archive.chunk-size} orders is copied and deleted in its own
+ * transaction, so a large voyage never holds locks for the whole run and an interrupted run simply
+ * resumes with the orders still left in the hot table. As a {@link ClusterJob}, each voyage is one
+ * chunk.
+ */
+@Service
+public class OrderArchiveService implements ClusterJob {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+  private final VoyageRepository voyageRepository;
+  private final FreightOrderRepository orderRepository;
+  private final OrderArchiveRepository archiveRepository;
+  private final ArchiveProperties properties;
+  private final TransactionTemplate transactionTemplate;
+
+  public OrderArchiveService(
+      VoyageRepository voyageRepository,
+      FreightOrderRepository orderRepository,
+      OrderArchiveRepository archiveRepository,
+      ArchiveProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.voyageRepository = voyageRepository;
+    this.orderRepository = orderRepository;
+    this.archiveRepository = archiveRepository;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public String name() {
+    return "order-archive";
+  }
+
+  @Override
+  public String cron() {
+    return properties.getCron();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /** Archives the next eligible voyage after the one in {@code cursor}, in id order. */
+  @Override
+  public String runChunk(String cursor) {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime cutoff = now.minusDays(properties.getCompletedForDays());
+    long afterId = cursor == null ? 0 : Long.parseLong(cursor);
+    List<Long> next = voyageRepository.findIdsCompletedBefore(cutoff, afterId, Limit.of(1));
+    if (next.isEmpty()) {
+      return null;
+    }
+    int moved = archiveVoyage(next.get(0), now);
+    if (moved > 0) {
+      log.info("Archived {} freight orders of voyage {}", moved, next.get(0));
+    }
+    return next.get(0).toString();
+  }
+
+  /** Archives every eligible voyage as of {@code now}; returns the number of orders moved. */
+  public int archiveCompletedVoyages(LocalDateTime now) {
+    LocalDateTime cutoff = now.minusDays(properties.getCompletedForDays());
+    int total = 0;
+    for (Long voyageId : voyageRepository.findIdsCompletedBefore(cutoff)) {
+      total += archiveVoyage(voyageId, now);
+    }
+    if (total > 0) {
+      log.info("Archived {} freight orders of voyages completed before {}", total, cutoff);
+    }
+    return total;
+  }
+
+  /** Archives all orders of one voyage, chunk by chunk. */
+  public int archiveVoyage(Long voyageId, LocalDateTime archivedAt) {
+    int total = 0;
+    int moved;
+    do {
+      moved = transactionTemplate.execute(status -> archiveNextChunk(voyageId, archivedAt));
+      total += moved;
+    } while (moved > 0);
+    return total;
+  }
+
+  private int archiveNextChunk(Long voyageId, LocalDateTime archivedAt) {
+    List<Long> orderIds =
+        orderRepository.findIdsByVoyageId(voyageId, PageRequest.of(0, properties.getChunkSize()));
+    return archiveRepository.archiveOrders(orderIds, archivedAt);
+  }
+}
@@ -0,0 +1,20 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.entity.OutboxEvent;
+import com.shipping.freightops.enums.DomainEventType;
+
+/**
+ * In-process consumer of outbox events, such as a projection, an email or a webhook. Every bean of
+ * this type is offered each event it supports by {@link OutboxRelay}.
+ *
+ * <p>Delivery is at least once: an event is redelivered to all its handlers when any of them
+ * throws, and again if the relay dies before recording the delivery, so handlers must be
+ * idempotent. Events of one aggregate arrive in the order they were written.
+ */
+public interface OutboxEventHandler {
+
+  boolean supports(DomainEventType type);
+
+  /** Handles one event; throwing schedules the event for another attempt. */
+  void handle(OutboxEvent event);
+}
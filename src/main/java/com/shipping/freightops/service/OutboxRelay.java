@@ -0,0 +1,182 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.OutboxProperties;
+import com.shipping.freightops.entity.OutboxEvent;
+import com.shipping.freightops.job.ClusterJob;
+import com.shipping.freightops.repository.OutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers outbox events to the {@link OutboxEventHandler} beans.
+ *
+ * <p>Each batch is claimed with {@code FOR UPDATE SKIP LOCKED}, so several instances can relay in
+ * parallel without blocking one another or delivering the same event twice. Only the oldest pending
+ * event of an aggregate is claimable, which keeps per-aggregate order across instances and retries.
+ * Each event's handlers run in a transaction of their own, so a failing event rolls back only its
+ * own side effects and is retried with exponential backoff, up to {@code app.outbox.max-attempts}
+ * deliveries, after which it is parked as FAILED; the batch transaction then records which events
+ * were delivered and releases the locks. Each event transaction has {@code
+ * app.outbox.event-timeout}, and the batch transaction that much per claimed event and one more for
+ * the claim itself, so slow handlers time out on their own event instead of rolling back a batch
+ * whose handlers have already committed.
+ */
+@Service
+public class OutboxRelay implements ClusterJob {
+
+  public static final String EVENTS_METRIC = "freightops.outbox.events";
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final OutboxRepository outboxRepository;
+  private final List<OutboxEventHandler> handlers;
+  private final OutboxProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final TransactionTemplate batchTransaction;
+  private final TransactionTemplate eventTransaction;
+
+  public OutboxRelay(
+      OutboxRepository outboxRepository,
+      List<OutboxEventHandler> handlers,
+      OutboxProperties properties,
+      MeterRegistry meterRegistry,
+      PlatformTransactionManager transactionManager) {
+    this.outboxRepository = outboxRepository;
+    this.handlers = handlers;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    int eventTimeout = Math.toIntExact(properties.getEventTimeout().toSeconds());
+    this.batchTransaction = new TransactionTemplate(transactionManager);
+    this.batchTransaction.setTimeout(
+        Math.multiplyExact(eventTimeout, properties.getBatchSize() + 1));
+    this.eventTransaction = new TransactionTemplate(transactionManager);
+    this.eventTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.eventTransaction.setTimeout(eventTimeout);
+  }
+
+  @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+  public void relayScheduled() {
+    if (properties.isEnabled()) {
+      relayPending(LocalDateTime.now());
+    }
+  }
+
+  @Override
+  public String name() {
+    return "outbox-purge";
+  }
+
+  @Override
+  public String cron() {
+    return properties.getPurgeCron();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return properties.isEnabled();
+  }
+
+  /** Deletes events delivered longer than {@code app.outbox.retention} ago. */
+  @Override
+  public String runChunk(String cursor) {
+    int purged =
+        outboxRepository.deletePublishedBefore(
+            LocalDateTime.now().minus(properties.getRetention()));
+    if (purged > 0) {
+      log.info("Purged {} delivered outbox events", purged);
+    }
+    return null;
+  }
+
+  /** Relays batches until no due event is left; returns the number of events delivered. */
+  public int relayPending(LocalDateTime now) {
+    int delivered = 0;
+    BatchResult batch;
+    do {
+      batch = batchTransaction.execute(status -> relayBatch(now));
+      delivered += batch.delivered();
+      // every claimed event is now delivered or pushed past now, so this terminates; the next
+      // pass picks up successors that were waiting behind this batch's events
+    } while (batch.claimed() > 0);
+    return delivered;
+  }
+
+  private BatchResult relayBatch(LocalDateTime now) {
+    List<OutboxEvent> events = outboxRepository.claimDue(now, properties.getBatchSize());
+    List<Long> delivered = new ArrayList<>(events.size());
+    for (OutboxEvent event : events) {
+      try {
+        eventTransaction.executeWithoutResult(status -> dispatch(event));
+        delivered.add(event.getId());
+        count(event, "delivered");
+      } catch (RuntimeException e) {
+        int attempt = event.getAttempts() + 1;
+        if (attempt >= properties.getMaxAttempts()) {
+          outboxRepository.markParked(event.getId(), truncate(String.valueOf(e)));
+          count(event, "parked");
+          log.error(
+              "Outbox event {} ({} of {} {}) failed on attempt {}, giving up",
+              event.getId(),
+              event.getEventType(),
+              event.getAggregateType(),
+              event.getAggregateId(),
+              attempt,
+              e);
+          continue;
+        }
+        LocalDateTime retryAt = now.plus(retryDelay(event.getAttempts()));
+        outboxRepository.markFailed(event.getId(), retryAt, truncate(String.valueOf(e)));
+        count(event, "failed");
+        log.warn(
+            "Outbox event {} ({} of {} {}) failed on attempt {}, retrying at {}",
+            event.getId(),
+            event.getEventType(),
+            event.getAggregateType(),
+            event.getAggregateId(),
+            attempt,
+            retryAt,
+            e);
+      }
+    }
+    outboxRepository.markPublished(delivered, now);
+    return new BatchResult(events.size(), delivered.size());
+  }
+
+  private void dispatch(OutboxEvent event) {
+    for (OutboxEventHandler handler : handlers) {
+      if (handler.supports(event.getEventType())) {
+        handler.handle(event);
+      }
+    }
+  }
+
+  private Duration retryDelay(int previousFailures) {
+    Duration delay = properties.getRetryDelay().multipliedBy(1L << Math.min(previousFailures, 20));
+    return delay.compareTo(properties.getMaxRetryDelay()) > 0
+        ? properties.getMaxRetryDelay()
+        : delay;
+  }
+
+  private void count(OutboxEvent event, String outcome) {
+    meterRegistry
+        .counter(EVENTS_METRIC, "type", event.getEventType().name(), "outcome", outcome)
+        .increment();
+  }
+
+  private static String truncate(String message) {
+    return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+  }
+
+  private record BatchResult(int claimed, int delivered) {}
+}
@@ -0,0 +1,45 @@
+package com.shipping.freightops.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipping.freightops.enums.DomainEventType;
+import com.shipping.freightops.repository.OutboxRepository;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records domain events in the outbox. The row is part of the caller's transaction, so an event is
+ * delivered if and only if the business change commits; delivery itself happens later in {@link
+ * OutboxRelay} and adds no latency to the caller.
+ */
+@Service
+public class OutboxService {
+
+  private final OutboxRepository outboxRepository;
+  private final ObjectMapper objectMapper;
+
+  public OutboxService(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+    this.outboxRepository = outboxRepository;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Appends an event for the aggregate {@code aggregateId}.
+   *
+   * @throws org.springframework.transaction.IllegalTransactionStateException if no transaction is
+   *     active
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void publish(DomainEventType type, Long aggregateId, Map<String, ?> payload) {
+    String json;
+    try {
+      json = objectMapper.writeValueAsString(payload);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Cannot serialize " + type + " payload", e);
+    }
+    outboxRepository.insert(type, aggregateId, json, LocalDateTime.now());
+  }
+}
@@ -0,0 +1,137 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.TransactionTimeouts;
+import com.shipping.freightops.dto.OwnerStatementResponse;
+import com.shipping.freightops.entity.VesselOwnerLedgerEntry;
+import com.shipping.freightops.entity.VoyageFinancialSnapshot;
+import com.shipping.freightops.entity.VoyageFinancialSnapshot.OwnerShare;
+import com.shipping.freightops.enums.LedgerEntryType;
+import com.shipping.freightops.exception.BadRequestException;
+import com.shipping.freightops.repository.VesselOwnerLedgerRepository;
+import com.shipping.freightops.repository.VesselRepository;
+import com.shipping.freightops.util.Money;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Ledger of what each vessel owner has been credited across the vessel's voyages, kept in {@code
+ * vessel_owner_ledger}.
+ *
+ * <p>Entries are appended in the transaction that changes a voyage's financial snapshot: its split
+ * when the voyage is completed, the change of a cost added or an order discounted afterwards, and
+ * the reversal of all of it when the voyage is reopened. Every entry carries the share the snapshot
+ * was split at, so a share that changes later only affects voyages completed after the change.
+ * Statements are sums of entries over a period.
+ */
+@Service
+public class OwnerLedgerService {
+
+  private final VesselOwnerLedgerRepository ledgerRepository;
+  private final VesselRepository vesselRepository;
+
+  public OwnerLedgerService(
+      VesselOwnerLedgerRepository ledgerRepository, VesselRepository vesselRepository) {
+    this.ledgerRepository = ledgerRepository;
+    this.vesselRepository = vesselRepository;
+  }
+
+  /** Credits each owner with their split of a voyage that has just been completed. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordCompletion(Long vesselId, VoyageFinancialSnapshot snapshot) {
+    ledgerRepository.saveAll(
+        snapshot.getOwners().stream()
+            .map(
+                owner ->
+                    new VesselOwnerLedgerEntry(
+                        vesselId,
+                        snapshot,
+                        owner,
+                        LedgerEntryType.COMPLETION,
+                        owner.getRevenueShareUsd(),
+                        owner.getCostShareUsd(),
+                        owner.getProfitShareUsd(),
+                        snapshot.getComputedAt()))
+            .toList());
+  }
+
+  /**
+   * Books the change of one owner's shares after a late cost or a credit note, if the rounded
+   * shares moved at all.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordLateChange(
+      Long vesselId,
+      VoyageFinancialSnapshot snapshot,
+      OwnerShare owner,
+      LedgerEntryType entryType,
+      Money revenueChange,
+      Money costChange,
+      Money profitChange) {
+    if (revenueChange.isZero() && costChange.isZero() && profitChange.isZero()) {
+      return;
+    }
+    ledgerRepository.save(
+        new VesselOwnerLedgerEntry(
+            vesselId,
+            snapshot,
+            owner,
+            entryType,
+            revenueChange,
+            costChange,
+            profitChange,
+            snapshot.getComputedAt()));
+  }
+
+  /**
+   * Reverses what the owners were credited for a voyage that left COMPLETED. The snapshot holds
+   * their split including late costs, which is what the ledger has booked for it.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordReopening(Long vesselId, VoyageFinancialSnapshot snapshot) {
+    LocalDateTime now = LocalDateTime.now();
+    ledgerRepository.saveAll(
+        snapshot.getOwners().stream()
+            .map(
+                owner ->
+                    new VesselOwnerLedgerEntry(
+                        vesselId,
+                        snapshot,
+                        owner,
+                        LedgerEntryType.REOPENING,
+                        owner.getRevenueShareUsd().negated(),
+                        owner.getCostShareUsd().negated(),
+                        owner.getProfitShareUsd().negated(),
+                        now))
+            .toList());
+  }
+
+  /**
+   * An owner's statement for one quarter of a year, from the entries booked in it. The owner is
+   * matched by email, case-insensitively, so the statement also covers voyages completed before a
+   * change of share or after the owner left the vessel.
+   */
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public OwnerStatementResponse getQuarterlyStatement(
+      Long vesselId, String ownerEmail, int year, int quarter) {
+    if (quarter < 1 || quarter > 4) {
+      throw new BadRequestException("quarter must be between 1 and 4");
+    }
+    if (!vesselRepository.existsById(vesselId)) {
+      throw new IllegalArgumentException("Vessel not found: " + vesselId);
+    }
+    LocalDate start = LocalDate.of(year, 3 * quarter - 2, 1);
+    LocalDate end = start.plusMonths(3);
+    List<VesselOwnerLedgerEntry> entries =
+        ledgerRepository.findForStatement(
+            vesselId, ownerEmail, start.atStartOfDay(), end.atStartOfDay());
+    return OwnerStatementResponse.fromEntries(
+        vesselId, ownerEmail, start, end.minusDays(1), entries);
+  }
+}
@@ -7,6 +7,7 @@ import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SpecVersion;
 import com.networknt.schema.ValidationMessage;
 import com.shipping.freightops.ai.AiClient;
+import com.shipping.freightops.config.TransactionTimeouts;
 import com.shipping.freightops.dto.PriceSuggestionResponse;
 import com.shipping.freightops.entity.Voyage;
 import com.shipping.freightops.entity.VoyagePrice;
@@ -85,11 +86,14 @@ public class PriceSuggestionService {
     return factory.getSchema(schemaJson);
   }
 
-  @Transactional(readOnly = true)
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.REPORT_TIMEOUT,
+      label = TransactionTimeouts.REPORT)
   public PriceSuggestionResponse getPriceSuggestion(Long voyageId, ContainerSize containerSize) {
     Voyage voyage =
         voyageRepository
-            .findById(voyageId)
+            .findByIdWithAssociations(voyageId)
             .orElseThrow(
                 () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Voyage not found"));
 
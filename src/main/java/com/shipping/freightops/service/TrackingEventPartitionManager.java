@@ -0,0 +1,164 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.TrackingPartitionProperties;
+import com.shipping.freightops.enums.PartitionRetentionAction;
+import com.shipping.freightops.job.ClusterJob;
+import java.sql.DatabaseMetaData;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the monthly partitions of {@code tracking_event} ahead of the clock and applies the
+ * retention policy to old ones.
+ *
+ * <p>Partitions are named {@code tracking_event_pYYYYMM} and cover one calendar month of {@code
+ * event_time}. Rows outside every monthly range land in {@code tracking_event_default}, which
+ * should stay empty: a month cannot be created while the default partition holds rows for it. On
+ * databases other than PostgreSQL every operation is a no-op.
+ */
+@Service
+public class TrackingEventPartitionManager implements ClusterJob {
+
+  private static final Logger log = LoggerFactory.getLogger(TrackingEventPartitionManager.class);
+
+  static final String PARENT = "tracking_event";
+  private static final String PREFIX = PARENT + "_p";
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TrackingPartitionProperties properties;
+  private final boolean postgres;
+
+  public TrackingEventPartitionManager(
+      JdbcTemplate jdbcTemplate, DataSource dataSource, TrackingPartitionProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.properties = properties;
+    this.postgres = isPostgres(dataSource);
+  }
+
+  @Override
+  public String name() {
+    return "tracking-partitions";
+  }
+
+  @Override
+  public String cron() {
+    return properties.getCron();
+  }
+
+  /** Partitions for the current month should exist before the first nightly run. */
+  @Override
+  public boolean runsAtStartup() {
+    return true;
+  }
+
+  @Override
+  public String runChunk(String cursor) {
+    maintain();
+    return null;
+  }
+
+  /** Creates the coming months and applies retention; both steps are idempotent. */
+  public void maintain() {
+    YearMonth current = YearMonth.now();
+    ensurePartitions(current);
+    applyRetention(current);
+  }
+
+  /** Creates the partitions for {@code current} and the configured number of months after it. */
+  public List<String> ensurePartitions(YearMonth current) {
+    List<String> created = new ArrayList<>();
+    if (!postgres) return created;
+    List<String> existing = attachedPartitions();
+    for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+      YearMonth month = current.plusMonths(i);
+      String name = partitionName(month);
+      if (existing.contains(name)) continue;
+      try {
+        jdbcTemplate.execute(
+            "CREATE TABLE IF NOT EXISTS "
+                + name
+                + " PARTITION OF "
+                + PARENT
+                + " FOR VALUES FROM ('"
+                + month.atDay(1)
+                + "') TO ('"
+                + month.plusMonths(1).atDay(1)
+                + "')");
+        created.add(name);
+        log.info("Created tracking event partition {}", name);
+      } catch (DataAccessException ex) {
+        // typically rows for this month already sit in the default partition
+        log.warn("Could not create partition {}: {}", name, ex.getMessage());
+      }
+    }
+    return created;
+  }
+
+  /**
+   * Detaches (and, for {@link PartitionRetentionAction#DROP}, drops) every monthly partition that
+   * ends before the retention window counted back from {@code current}.
+   */
+  public List<String> applyRetention(YearMonth current) {
+    List<String> expired = new ArrayList<>();
+    if (!postgres || properties.getRetentionMonths() <= 0) return expired;
+    YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths());
+    for (String name : attachedPartitions()) {
+      Optional<YearMonth> month = monthOf(name);
+      if (month.isEmpty() || !month.get().isBefore(oldestKept)) continue;
+      jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + name);
+      if (properties.getRetentionAction() == PartitionRetentionAction.DROP) {
+        jdbcTemplate.execute("DROP TABLE " + name);
+        log.info("Dropped tracking event partition {}", name);
+      } else {
+        log.info("Detached tracking event partition {}; archive and drop it when done", name);
+      }
+      expired.add(name);
+    }
+    return expired;
+  }
+
+  /** Names of the partitions currently attached to {@code tracking_event}. */
+  public List<String> attachedPartitions() {
+    if (!postgres) return List.of();
+    return jdbcTemplate.queryForList(
+        "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+            + " WHERE i.inhparent = to_regclass(?) ORDER BY c.relname",
+        String.class,
+        PARENT);
+  }
+
+  static String partitionName(YearMonth month) {
+    return PREFIX + month.format(SUFFIX);
+  }
+
+  static Optional<YearMonth> monthOf(String partitionName) {
+    if (!partitionName.startsWith(PREFIX)) return Optional.empty();
+    try {
+      return Optional.of(YearMonth.parse(partitionName.substring(PREFIX.length()), SUFFIX));
+    } catch (RuntimeException ex) {
+      return Optional.empty();
+    }
+  }
+
+  private static boolean isPostgres(DataSource dataSource) {
+    try {
+      String product =
+          JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+      return "PostgreSQL".equalsIgnoreCase(product);
+    } catch (MetaDataAccessException ex) {
+      return false;
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package com.shipping.freightops.service;
 
 import com.shipping.freightops.entity.*;
+import com.shipping.freightops.exception.BadRequestException;
+import com.shipping.freightops.repository.FreightOrderRepository;
 import com.shipping.freightops.repository.TrackingEventRepository;
+import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -9,18 +12,35 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class TrackingEventService {
   private final TrackingEventRepository trackingEventRepository;
+  private final FreightOrderRepository freightOrderRepository;
 
-  public TrackingEventService(TrackingEventRepository trackingEventRepository) {
+  public TrackingEventService(
+      TrackingEventRepository trackingEventRepository,
+      FreightOrderRepository freightOrderRepository) {
     this.trackingEventRepository = trackingEventRepository;
+    this.freightOrderRepository = freightOrderRepository;
   }
 
+  /**
+   * Records {@code event}. An event time before the order was created is rejected: order history is
+   * read from the order's creation month onwards, so such an event would never be listed.
+   */
   @Transactional
   public TrackingEvent createEvent(TrackingEvent event) {
+    LocalDateTime orderCreatedAt = event.getFreightOrder().getCreatedAt();
+    if (event.getEventTime() != null
+        && orderCreatedAt != null
+        && event.getEventTime().isBefore(orderCreatedAt)) {
+      throw new BadRequestException("eventTime must not be before the order was created");
+    }
     return trackingEventRepository.save(event);
   }
 
   @Transactional(readOnly = true)
   public List<TrackingEvent> getAllEventsByOrderId(Long id) {
-    return trackingEventRepository.findAllByFreightOrder_IdOrderByCreatedAtAsc(id);
+    return freightOrderRepository
+        .findCreatedAtById(id)
+        .map(createdAt -> trackingEventRepository.findByOrderIdSince(id, createdAt))
+        .orElse(List.of());
   }
 }
@@ -1,11 +1,18 @@
 package com.shipping.freightops.service;
 
+import com.shipping.freightops.config.TransactionTimeouts;
 import com.shipping.freightops.dto.ContainerTrackingResponse;
+import com.shipping.freightops.dto.OrderTrackingResponse;
+import com.shipping.freightops.entity.ArchivedFreightOrder;
 import com.shipping.freightops.entity.Container;
 import com.shipping.freightops.entity.FreightOrder;
+import com.shipping.freightops.repository.ArchivedFreightOrderRepository;
+import com.shipping.freightops.repository.ArchivedTrackingEventRepository;
 import com.shipping.freightops.repository.ContainerRepository;
 import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.repository.TrackingEventRepository;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,21 +21,47 @@ public class TrackingService {
 
   private final FreightOrderRepository orderRepository;
   private final ContainerRepository containerRepository;
+  private final TrackingEventRepository trackingEventRepository;
+  private final ArchivedFreightOrderRepository archivedOrderRepository;
+  private final ArchivedTrackingEventRepository archivedEventRepository;
 
   public TrackingService(
-      FreightOrderRepository orderRepository, ContainerRepository containerRepository) {
+      FreightOrderRepository orderRepository,
+      ContainerRepository containerRepository,
+      TrackingEventRepository trackingEventRepository,
+      ArchivedFreightOrderRepository archivedOrderRepository,
+      ArchivedTrackingEventRepository archivedEventRepository) {
     this.orderRepository = orderRepository;
     this.containerRepository = containerRepository;
+    this.trackingEventRepository = trackingEventRepository;
+    this.archivedOrderRepository = archivedOrderRepository;
+    this.archivedEventRepository = archivedEventRepository;
   }
 
-  @Transactional(readOnly = true)
-  public FreightOrder trackOrder(Long orderId) {
-    return orderRepository
-        .findById(orderId)
-        .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public OrderTrackingResponse trackOrder(Long orderId) {
+    Optional<FreightOrder> live = orderRepository.findByIdWithAssociations(orderId);
+    if (live.isPresent()) {
+      FreightOrder order = live.get();
+      return OrderTrackingResponse.fromEntity(
+          order, trackingEventRepository.findByOrderIdSince(orderId, order.getCreatedAt()));
+    }
+    // Orders of long-completed voyages live in the archive tables
+    ArchivedFreightOrder archived =
+        archivedOrderRepository
+            .findById(orderId)
+            .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+    return OrderTrackingResponse.fromArchive(
+        archived, archivedEventRepository.findByFreightOrderIdOrderByCreatedAtAsc(orderId));
   }
 
-  @Transactional(readOnly = true)
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
   public ContainerTrackingResponse trackContainer(String containerCode) {
     Container container =
         containerRepository
@@ -37,9 +70,8 @@ public class TrackingService {
                 () -> new IllegalArgumentException("Container not found: " + containerCode));
 
     List<FreightOrder> orders = orderRepository.findByContainerCode(containerCode);
-    if (orders.isEmpty()) {
-      return ContainerTrackingResponse.fromContainer(container);
-    }
-    return ContainerTrackingResponse.fromEntities(orders);
+    List<ArchivedFreightOrder> archived =
+        archivedOrderRepository.findByContainerCode(containerCode);
+    return ContainerTrackingResponse.fromContainer(container, orders, archived);
   }
 }
@@ -0,0 +1,211 @@
+package com.shipping.freightops.service;
+
+import com.shipping.freightops.config.PnlProperties;
+import com.shipping.freightops.config.TransactionTimeouts;
+import com.shipping.freightops.dto.VoyagePnlReconciliationResponse;
+import com.shipping.freightops.dto.VoyagePnlResponse;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.job.ClusterJob;
+import com.shipping.freightops.repository.VoyagePnlRepository;
+import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.repository.projection.VoyagePnl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Running profit and loss of each voyage, kept in {@code voyage_pnl}.
+ *
+ * <p>The writes that change a voyage's figures add their difference to its row in their own
+ * transaction: a booking its final price and TEU, a discount the change of price, a cost its
+ * amount. Reads are then a single-row lookup. {@link #reconcile} recomputes a voyage from its
+ * orders and costs and overwrites the row if they disagree; as a {@link ClusterJob} it does so
+ * every night for the voyages that are still planned or under way.
+ */
+@Service
+public class VoyagePnlService implements ClusterJob {
+
+  static final String DRIFT_METRIC = "freightops.pnl.drift";
+
+  private static final Logger log = LoggerFactory.getLogger(VoyagePnlService.class);
+  private static final List<VoyageStatus> OPEN =
+      List.of(VoyageStatus.PLANNED, VoyageStatus.IN_PROGRESS);
+
+  private final VoyagePnlRepository pnlRepository;
+  private final VoyageRepository voyageRepository;
+  private final EntityManager entityManager;
+  private final PnlProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter drift;
+
+  public VoyagePnlService(
+      VoyagePnlRepository pnlRepository,
+      VoyageRepository voyageRepository,
+      EntityManager entityManager,
+      PnlProperties properties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.pnlRepository = pnlRepository;
+    this.voyageRepository = voyageRepository;
+    this.entityManager = entityManager;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.drift =
+        Counter.builder(DRIFT_METRIC)
+            .description("Voyages whose running P&L disagreed with a recomputation")
+            .register(meterRegistry);
+  }
+
+  /** Starts the P&L of a new voyage at zero. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void open(Long voyageId) {
+    pnlRepository.save(
+        new VoyagePnl(voyageId, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, LocalDateTime.now()));
+  }
+
+  /** Adds a new order to its voyage's revenue and booked TEU. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordBooking(Long voyageId, BigDecimal finalPrice, int teu) {
+    apply(voyageId, 1, teu, finalPrice, BigDecimal.ZERO);
+  }
+
+  /**
+   * Moves the voyage's revenue by the change of an order's final price. The caller holds the
+   * order's row lock, so {@code previousPrice} is the price the revenue last counted.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordPriceChange(Long voyageId, BigDecimal previousPrice, BigDecimal newPrice) {
+    apply(voyageId, 0, 0, newPrice.subtract(previousPrice), BigDecimal.ZERO);
+  }
+
+  /** Adds a cost to its voyage's costs. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordCost(Long voyageId, BigDecimal amount) {
+    apply(voyageId, 0, 0, BigDecimal.ZERO, amount);
+  }
+
+  /**
+   * The voyage's running figures. A voyage without a row yet, written around this service, is
+   * recomputed on the fly.
+   */
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.READ_TIMEOUT,
+      label = TransactionTimeouts.READ)
+  public VoyagePnlResponse getPnl(Long voyageId) {
+    VoyagePnl pnl =
+        pnlRepository
+            .find(voyageId)
+            .or(() -> pnlRepository.recompute(voyageId, LocalDateTime.now()))
+            .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    return VoyagePnlResponse.fromProjection(pnl);
+  }
+
+  /** Recomputes the voyage's figures from its orders and costs and keeps those. */
+  @Transactional(
+      timeoutString = TransactionTimeouts.REPORT_TIMEOUT,
+      label = TransactionTimeouts.REPORT)
+  public VoyagePnlReconciliationResponse reconcile(Long voyageId) {
+    return reconcileInTransaction(voyageId);
+  }
+
+  @Override
+  public String name() {
+    return "voyage-pnl-reconcile";
+  }
+
+  @Override
+  public String cron() {
+    return properties.getCron();
+  }
+
+  /** Reconciles the next planned or in-progress voyages after the one in {@code cursor}. */
+  @Override
+  public String runChunk(String cursor) {
+    long afterId = cursor == null ? 0 : Long.parseLong(cursor);
+    List<Long> voyageIds =
+        voyageRepository.findIdsByStatusIn(OPEN, afterId, Limit.of(properties.getChunkSize()));
+    if (voyageIds.isEmpty()) {
+      return null;
+    }
+    for (Long voyageId : voyageIds) {
+      transactionTemplate.executeWithoutResult(status -> reconcileInTransaction(voyageId));
+    }
+    return String.valueOf(voyageIds.get(voyageIds.size() - 1));
+  }
+
+  private void apply(Long voyageId, long orders, long teu, BigDecimal revenue, BigDecimal costs) {
+    LocalDateTime now = LocalDateTime.now();
+    if (pnlRepository.add(voyageId, orders, teu, revenue, costs, now)) {
+      return;
+    }
+    // a voyage written around this service has no row yet; the voyage lock, free if the caller
+    // already holds it, makes one writer create it from the orders and costs, including this
+    // change once it is flushed
+    entityManager.find(Voyage.class, voyageId, LockModeType.PESSIMISTIC_WRITE);
+    if (pnlRepository.add(voyageId, orders, teu, revenue, costs, now)) {
+      return;
+    }
+    entityManager.flush();
+    pnlRepository.recompute(voyageId, now).ifPresent(pnlRepository::save);
+  }
+
+  /**
+   * Locks the voyage and its row before recomputing, so that an increment either commits before the
+   * orders are read or is applied on top of the recomputed figures.
+   */
+  private VoyagePnlReconciliationResponse reconcileInTransaction(Long voyageId) {
+    voyageRepository
+        .findByIdForUpdate(voyageId)
+        .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    Optional<VoyagePnl> recorded = pnlRepository.findForUpdate(voyageId);
+    VoyagePnl recomputed =
+        pnlRepository
+            .recompute(voyageId, LocalDateTime.now())
+            .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    boolean consistent = recorded.map(pnl -> matches(pnl, recomputed)).orElse(false);
+    if (!consistent) {
+      pnlRepository.save(recomputed);
+      if (recorded.isPresent()) {
+        drift.increment();
+        log.warn(
+            "Running P&L of voyage {} drifted: recorded {} orders, {} TEU, revenue {}, costs {};"
+                + " recomputed {} orders, {} TEU, revenue {}, costs {}",
+            voyageId,
+            recorded.get().orderCount(),
+            recorded.get().bookedTeu(),
+            recorded.get().revenueUsd(),
+            recorded.get().costsUsd(),
+            recomputed.orderCount(),
+            recomputed.bookedTeu(),
+            recomputed.revenueUsd(),
+            recomputed.costsUsd());
+      }
+    }
+    return VoyagePnlReconciliationResponse.fromValues(
+        consistent,
+        recorded.map(VoyagePnlResponse::fromProjection).orElse(null),
+        VoyagePnlResponse.fromProjection(recomputed));
+  }
+
+  private static boolean matches(VoyagePnl recorded, VoyagePnl recomputed) {
+    return recorded.orderCount() == recomputed.orderCount()
+        && recorded.bookedTeu() == recomputed.bookedTeu()
+        && recorded.revenueUsd().compareTo(recomputed.revenueUsd()) == 0
+        && recorded.costsUsd().compareTo(recomputed.costsUsd()) == 0;
+  }
+}
@@ -1,5 +1,6 @@
 package com.shipping.freightops.service;
 
+import com.shipping.freightops.config.TransactionTimeouts;
 import com.shipping.freightops.dto.BookingStatusUpdateRequest;
 import com.shipping.freightops.dto.CreateVoyageCostRequest;
 import com.shipping.freightops.dto.CreateVoyageRequest;
@@ -7,19 +8,27 @@ import com.shipping.freightops.dto.FinancialSummaryResponse;
 import com.shipping.freightops.dto.OwnerFinancialShareResponse;
 import com.shipping.freightops.dto.VoyagePriceRequest;
 import com.shipping.freightops.entity.*;
+import com.shipping.freightops.enums.DomainEventType;
+import com.shipping.freightops.enums.LedgerEntryType;
 import com.shipping.freightops.enums.OrderStatus;
 import com.shipping.freightops.enums.VoyageStatus;
 import com.shipping.freightops.repository.*;
+import com.shipping.freightops.repository.projection.VoyageFinancials;
+import com.shipping.freightops.repository.projection.VoyageSummary;
+import com.shipping.freightops.util.Money;
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -31,6 +40,13 @@ public class VoyageService {
   private final FreightOrderRepository orderRepository;
   private final VoyageCostRepository voyageCostRepository;
   private final VesselOwnerRepository vesselOwnerRepository;
+  private final VoyageFinancialSnapshotRepository snapshotRepository;
+  private final TableStatisticsRepository tableStatisticsRepository;
+  private final OutboxService outboxService;
+  private final VoyagePnlService pnlService;
+  private final CommissionStatementService commissionService;
+  private final OwnerLedgerService ownerLedgerService;
+  private final FleetUtilizationService utilizationService;
 
   private Voyage mapCreateVoyageRequestToVoyage(CreateVoyageRequest voyageRequest) {
     Voyage voyage = new Voyage();
@@ -41,13 +57,17 @@ public class VoyageService {
         vesselRepository
             .findById(voyageRequest.getVesselId())
             .orElseThrow(() -> new IllegalArgumentException(("Vessel not found")));
+    // both ports in one round trip
+    List<Port> ports =
+        portRepository.findAllById(
+            Stream.of(voyageRequest.getArrivalPortId(), voyageRequest.getDeparturePortId())
+                .filter(Objects::nonNull)
+                .toList());
     Port arrivalPort =
-        portRepository
-            .findById(voyageRequest.getArrivalPortId())
+        findPort(ports, voyageRequest.getArrivalPortId())
             .orElseThrow(() -> new IllegalArgumentException("Arrival port not found "));
     Port departurePort =
-        portRepository
-            .findById(voyageRequest.getDeparturePortId())
+        findPort(ports, voyageRequest.getDeparturePortId())
             .orElseThrow(() -> new IllegalArgumentException("departure port not found"));
     // check for departure time is in future
     if (!voyageRequest.getDepartureTime().isAfter(LocalDateTime.now()))
@@ -66,6 +86,10 @@ public class VoyageService {
     return voyage;
   }
 
+  private static Optional<Port> findPort(List<Port> ports, Long portId) {
+    return ports.stream().filter(port -> port.getId().equals(portId)).findFirst();
+  }
+
   public VoyageService(
       VoyageRepository voyageRepository,
       VesselRepository vesselRepository,
@@ -73,7 +97,14 @@ public class VoyageService {
       VoyagePriceRepository voyagePriceRepository,
       FreightOrderRepository orderRepository,
       VoyageCostRepository voyageCostRepository,
-      VesselOwnerRepository vesselOwnerRepository) {
+      VesselOwnerRepository vesselOwnerRepository,
+      VoyageFinancialSnapshotRepository snapshotRepository,
+      TableStatisticsRepository tableStatisticsRepository,
+      OutboxService outboxService,
+      VoyagePnlService pnlService,
+      CommissionStatementService commissionService,
+      OwnerLedgerService ownerLedgerService,
+      FleetUtilizationService utilizationService) {
     this.voyageRepository = voyageRepository;
     this.vesselRepository = vesselRepository;
     this.portRepository = portRepository;
@@ -81,16 +112,23 @@ public class VoyageService {
     this.orderRepository = orderRepository;
     this.voyageCostRepository = voyageCostRepository;
     this.vesselOwnerRepository = vesselOwnerRepository;
+    this.snapshotRepository = snapshotRepository;
+    this.tableStatisticsRepository = tableStatisticsRepository;
+    this.outboxService = outboxService;
+    this.pnlService = pnlService;
+    this.commissionService = commissionService;
+    this.ownerLedgerService = ownerLedgerService;
+    this.utilizationService = utilizationService;
   }
 
   @Transactional(readOnly = true)
-  public List<Voyage> getAll() {
-    return voyageRepository.findAllWithAssociations();
+  public List<VoyageSummary> getAll() {
+    return voyageRepository.findAllSummaries();
   }
 
   @Transactional(readOnly = true)
-  public List<Voyage> getAllByStatus(VoyageStatus status) {
-    return voyageRepository.findAllByStatusWithAssociations(status);
+  public List<VoyageSummary> getAllByStatus(VoyageStatus status) {
+    return voyageRepository.findSummariesByStatus(status);
   }
 
   @Transactional(readOnly = true)
@@ -102,24 +140,48 @@ public class VoyageService {
 
   @Transactional
   public Voyage addVoyage(@Valid CreateVoyageRequest voyageRequest) {
-    Voyage voyage = mapCreateVoyageRequestToVoyage(voyageRequest);
-    Voyage saved = voyageRepository.save(voyage);
-    return voyageRepository
-        .findByIdWithAssociations(saved.getId())
-        .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    // vessel and ports were loaded for validation and are already attached
+    Voyage saved = voyageRepository.save(mapCreateVoyageRequestToVoyage(voyageRequest));
+    pnlService.open(saved.getId());
+    utilizationService.invalidate();
+    return saved;
   }
 
+  /**
+   * Moves a voyage to {@code status}. The voyage row is locked before its current status is read,
+   * so concurrent changes of one voyage are applied, and their events published, one after the
+   * other in commit order; a change that finds the voyage already in {@code status} does nothing.
+   */
   @Transactional
   public Voyage updateStatus(VoyageStatus status, Long voyageId) {
-    Voyage voyage =
-        voyageRepository
-            .findById(voyageId)
-            .orElseThrow(() -> new IllegalArgumentException("voyage not found"));
+    Voyage voyage = lockWithAssociations(voyageId);
+    VoyageStatus previous = voyage.getStatus();
+    if (previous == status) {
+      return voyage;
+    }
+    LocalDateTime previousCompletedAt = voyage.getCompletedAt();
+    voyage.setCompletedAt(status == VoyageStatus.COMPLETED ? LocalDateTime.now() : null);
     voyage.setStatus(status);
-    voyageRepository.save(voyage);
-    return voyageRepository
-        .findByIdWithAssociations(voyageId)
-        .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    if (status == VoyageStatus.COMPLETED) {
+      snapshotFinancials(voyageId);
+    } else if (previous == VoyageStatus.COMPLETED) {
+      snapshotRepository
+          .findWithOwnersByVoyageId(voyageId)
+          .ifPresent(
+              snapshot -> {
+                ownerLedgerService.recordReopening(voyage.getVessel().getId(), snapshot);
+                snapshotRepository.delete(snapshot);
+              });
+      if (previousCompletedAt != null) {
+        commissionService.recordReopened(voyageId, previousCompletedAt);
+      }
+    }
+    utilizationService.invalidate();
+    outboxService.publish(
+        DomainEventType.VOYAGE_STATUS_CHANGED,
+        voyageId,
+        Map.of("voyageId", voyageId, "from", previous, "to", status));
+    return voyage;
   }
 
   @Transactional
@@ -127,6 +189,7 @@ public class VoyageService {
     boolean exists = voyageRepository.existsById(voyageId);
     if (!exists) throw new IllegalArgumentException("Voyage not found");
     voyageRepository.deleteById(voyageId);
+    utilizationService.invalidate();
   }
 
   @Transactional
@@ -159,6 +222,20 @@ public class VoyageService {
     return voyagePriceRepository.findByVoyageId(voyageId, pageable);
   }
 
+  /** Count-free variant of {@link #getAllPricesByVoyageId}. */
+  @Transactional(readOnly = true)
+  public Slice<VoyagePrice> getPricesByVoyageIdSlice(Long voyageId, Pageable pageable) {
+    if (!voyageRepository.existsById(voyageId)) {
+      throw new IllegalArgumentException("Voyage not found");
+    }
+    return voyagePriceRepository.findSliceByVoyageId(voyageId, pageable);
+  }
+
+  /** Approximate number of prices defined for a voyage, from planner statistics. */
+  public OptionalLong estimatePriceCount(Long voyageId) {
+    return tableStatisticsRepository.estimateRowCount("voyage_prices", "voyage_id", voyageId);
+  }
+
   @Transactional(readOnly = true)
   public List<FreightOrder> getActiveOrdersForVoyage(Long voyageId) {
     return orderRepository.findByVoyageIdAndStatusIn(
@@ -169,30 +246,78 @@ public class VoyageService {
     return orders.stream().mapToInt(order -> order.getContainer().getSize().getTeu()).sum();
   }
 
-  @Transactional
+  @Transactional(
+      timeoutString = TransactionTimeouts.BOOKING_TIMEOUT,
+      label = TransactionTimeouts.BOOKING)
   public Voyage updateBookingStatus(Long voyageId, BookingStatusUpdateRequest request) {
-    Voyage voyage =
-        voyageRepository
-            .findById(voyageId)
-            .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    Voyage voyage = lockWithAssociations(voyageId);
+    boolean closing = voyage.isBookingOpen() && !request.isBookingOpen();
     voyage.setBookingOpen(request.isBookingOpen());
-    voyageRepository.save(voyage);
+    utilizationService.invalidate();
+    if (closing) {
+      outboxService.publish(
+          DomainEventType.VOYAGE_BOOKING_CLOSED,
+          voyageId,
+          Map.of("voyageId", voyageId, "reason", "MANUAL"));
+    }
+    return voyage;
+  }
+
+  /**
+   * Loads and locks a voyage for a write that depends on its current state and returns it: vessel
+   * and ports are fetched in the same statement for the response, and the change is flushed at
+   * commit without a reload.
+   */
+  private Voyage lockWithAssociations(Long voyageId) {
     return voyageRepository
-        .findByIdWithAssociations(voyageId)
+        .findByIdWithAssociationsForUpdate(voyageId)
         .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
   }
 
+  /**
+   * Adds a cost to a voyage. The voyage row is locked, so a cost added while the voyage is being
+   * completed is either seen by its snapshot or applied to it afterwards.
+   */
   @Transactional
   public VoyageCost addVoyageCost(Long voyageId, @Valid CreateVoyageCostRequest request) {
     Voyage voyage =
         voyageRepository
-            .findById(voyageId)
+            .findByIdForUpdate(voyageId)
             .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
     VoyageCost voyageCost = new VoyageCost();
     voyageCost.setVoyage(voyage);
     voyageCost.setDescription(request.getDescription());
     voyageCost.setAmountUsd(request.getAmountUsd());
-    return voyageCostRepository.save(voyageCost);
+    VoyageCost saved = voyageCostRepository.save(voyageCost);
+    pnlService.recordCost(voyageId, saved.getAmountUsd());
+    if (voyage.getStatus() == VoyageStatus.COMPLETED) {
+      snapshotRepository
+          .findById(voyageId)
+          .ifPresent(
+              snapshot ->
+                  applyLateChange(voyage.getVessel().getId(), snapshot, LedgerEntryType.LATE_COST));
+    }
+    return saved;
+  }
+
+  /**
+   * Applies a discount on a delivered order, a credit note, to the voyage's snapshot if the voyage
+   * is completed. The voyage row is locked, as for a late cost.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordCreditNote(Long voyageId) {
+    Voyage voyage =
+        voyageRepository
+            .findByIdForUpdate(voyageId)
+            .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    if (voyage.getStatus() == VoyageStatus.COMPLETED) {
+      snapshotRepository
+          .findById(voyageId)
+          .ifPresent(
+              snapshot ->
+                  applyLateChange(
+                      voyage.getVessel().getId(), snapshot, LedgerEntryType.CREDIT_NOTE));
+    }
   }
 
   @Transactional(readOnly = true)
@@ -203,56 +328,131 @@ public class VoyageService {
     return voyageCostRepository.findByVoyageIdOrderByCreatedAtAsc(voyageId);
   }
 
-  @Transactional(readOnly = true)
+  @Transactional(
+      readOnly = true,
+      timeoutString = TransactionTimeouts.REPORT_TIMEOUT,
+      label = TransactionTimeouts.REPORT)
   public FinancialSummaryResponse getFinancialSummary(Long voyageId) {
-    Voyage voyage =
+    Optional<VoyageFinancialSnapshot> snapshot =
+        snapshotRepository.findWithOwnersByVoyageId(voyageId);
+    if (snapshot.isPresent()) {
+      return FinancialSummaryResponse.fromEntity(snapshot.get());
+    }
+    // not completed, or completed before snapshots were kept
+    VoyageFinancials financials =
         voyageRepository
-            .findById(voyageId)
+            .findFinancialsById(voyageId)
             .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
 
-    if (voyage.getStatus() != VoyageStatus.COMPLETED) {
+    if (financials.status() != VoyageStatus.COMPLETED) {
       throw new IllegalStateException(
           "Financial summary can only be generated for completed voyages");
     }
+    return summarize(financials);
+  }
 
-    List<FreightOrder> deliveredOrders =
-        orderRepository.findByVoyageIdAndStatus(voyageId, OrderStatus.DELIVERED);
-    List<VoyageCost> costs = voyageCostRepository.findByVoyageIdOrderByCreatedAtAsc(voyageId);
-    List<VesselOwner> owners = vesselOwnerRepository.findByVesselId(voyage.getVessel().getId());
+  /**
+   * Materializes the financial summary of a voyage that is being completed. The caller holds the
+   * voyage row lock, so a concurrent {@link #addVoyageCost} either commits before the totals are
+   * read or waits and then applies its cost to the snapshot.
+   */
+  private void snapshotFinancials(Long voyageId) {
+    VoyageFinancials financials =
+        voyageRepository
+            .findFinancialsById(voyageId)
+            .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    Money totalRevenue = Money.of(financials.deliveredRevenue());
+    Money totalCosts = Money.of(financials.totalCosts());
+    Money netProfit = totalRevenue.minus(totalCosts);
 
-    BigDecimal totalRevenue =
-        deliveredOrders.stream()
-            .map(FreightOrder::getFinalPrice)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-    BigDecimal totalCosts =
-        costs.stream().map(VoyageCost::getAmountUsd).reduce(BigDecimal.ZERO, BigDecimal::add);
-    BigDecimal netProfit = totalRevenue.subtract(totalCosts);
+    VoyageFinancialSnapshot snapshot =
+        snapshotRepository
+            .findById(voyageId)
+            .orElseGet(() -> new VoyageFinancialSnapshot(voyageId));
+    snapshot.setVoyageNumber(financials.voyageNumber());
+    snapshot.setTotalRevenueUsd(totalRevenue);
+    snapshot.setTotalCostsUsd(totalCosts);
+    snapshot.setNetProfitUsd(netProfit);
+    snapshot.setOrderCount(Math.toIntExact(financials.deliveredOrderCount()));
+    snapshot.setComputedAt(LocalDateTime.now());
+    snapshot.getOwners().clear();
+    for (VesselOwner owner : vesselOwnerRepository.findByVesselId(financials.vesselId())) {
+      long basisPoints = Money.basisPoints(owner.getSharePercent());
+      VoyageFinancialSnapshot.OwnerShare share = new VoyageFinancialSnapshot.OwnerShare();
+      share.setOwnerName(owner.getOwnerName());
+      share.setOwnerEmail(owner.getOwnerEmail());
+      share.setSharePercent(owner.getSharePercent());
+      share.setRevenueShareUsd(totalRevenue.percent(basisPoints));
+      share.setCostShareUsd(totalCosts.percent(basisPoints));
+      share.setProfitShareUsd(netProfit.percent(basisPoints));
+      snapshot.getOwners().add(share);
+    }
+    snapshotRepository.save(snapshot);
+    ownerLedgerService.recordCompletion(financials.vesselId(), snapshot);
+  }
+
+  /**
+   * Recomputes a snapshot's figures after a late cost or a credit note, from the voyage's delivered
+   * orders, live and archived, and its costs. Order count and the owners' percentages stay as they
+   * were at completion. The change of each owner's shares is booked to the owner ledger.
+   */
+  private void applyLateChange(
+      Long vesselId, VoyageFinancialSnapshot snapshot, LedgerEntryType entryType) {
+    VoyageFinancials financials =
+        voyageRepository
+            .findFinancialsById(snapshot.getVoyageId())
+            .orElseThrow(() -> new IllegalArgumentException("Voyage not found"));
+    Money totalRevenue = Money.of(financials.deliveredRevenue());
+    Money totalCosts = Money.of(financials.totalCosts());
+    Money netProfit = totalRevenue.minus(totalCosts);
+    snapshot.setTotalRevenueUsd(totalRevenue);
+    snapshot.setTotalCostsUsd(totalCosts);
+    snapshot.setNetProfitUsd(netProfit);
+    snapshot.setComputedAt(LocalDateTime.now());
+    for (VoyageFinancialSnapshot.OwnerShare owner : snapshot.getOwners()) {
+      long basisPoints = Money.basisPoints(owner.getSharePercent());
+      Money revenueShare = totalRevenue.percent(basisPoints);
+      Money costShare = totalCosts.percent(basisPoints);
+      Money profitShare = netProfit.percent(basisPoints);
+      ownerLedgerService.recordLateChange(
+          vesselId,
+          snapshot,
+          owner,
+          entryType,
+          revenueShare.minus(owner.getRevenueShareUsd()),
+          costShare.minus(owner.getCostShareUsd()),
+          profitShare.minus(owner.getProfitShareUsd()));
+      owner.setRevenueShareUsd(revenueShare);
+      owner.setCostShareUsd(costShare);
+      owner.setProfitShareUsd(profitShare);
+    }
+  }
+
+  private FinancialSummaryResponse summarize(VoyageFinancials financials) {
+    List<VesselOwner> owners = vesselOwnerRepository.findByVesselId(financials.vesselId());
+
+    Money totalRevenue = Money.of(financials.deliveredRevenue());
+    Money totalCosts = Money.of(financials.totalCosts());
+    Money netProfit = totalRevenue.minus(totalCosts);
 
     List<OwnerFinancialShareResponse> ownerBreakdown =
         owners.stream()
-            .map(owner -> mapOwnerSummary(owner, totalRevenue, totalCosts, netProfit))
+            .map(
+                owner ->
+                    OwnerFinancialShareResponse.fromShare(
+                        owner.getOwnerName(),
+                        owner.getSharePercent(),
+                        totalRevenue,
+                        totalCosts,
+                        netProfit))
             .toList();
 
     return FinancialSummaryResponse.fromValues(
-        voyage.getVoyageNumber(),
-        totalRevenue,
-        totalCosts,
-        netProfit,
-        deliveredOrders.size(),
+        financials.voyageNumber(),
+        totalRevenue.toBigDecimal(),
+        totalCosts.toBigDecimal(),
+        netProfit.toBigDecimal(),
+        Math.toIntExact(financials.deliveredOrderCount()),
         ownerBreakdown);
   }
-
-  private OwnerFinancialShareResponse mapOwnerSummary(
-      VesselOwner owner, BigDecimal totalRevenue, BigDecimal totalCosts, BigDecimal netProfit) {
-    return OwnerFinancialShareResponse.fromValues(
-        owner.getOwnerName(),
-        owner.getSharePercent(),
-        applyShare(totalRevenue, owner.getSharePercent()),
-        applyShare(totalCosts, owner.getSharePercent()),
-        applyShare(netProfit, owner.getSharePercent()));
-  }
-
-  private BigDecimal applyShare(BigDecimal amount, BigDecimal sharePercent) {
-    return amount.multiply(sharePercent).divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
-  }
 }
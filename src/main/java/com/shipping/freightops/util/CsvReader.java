@@ -0,0 +1,99 @@
+package com.shipping.freightops.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming CSV reader (RFC 4180): comma separated, fields optionally quoted with {@code "}
+ * and quotes escaped by doubling them. Quoted fields may span lines. Reads one record at a time, so
+ * files of any size can be processed in constant memory.
+ */
+public final class CsvReader {
+
+  private final Reader reader;
+  private int lookahead = -2;
+  private long line = 1;
+  private long recordLine;
+
+  /** The reader should be buffered; it is read one character at a time. */
+  public CsvReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Reads the next record.
+   *
+   * @return the fields of the record, or {@code null} at end of input
+   * @throws IllegalArgumentException if a quoted field is not closed before end of input
+   */
+  public List<String> readRecord() throws IOException {
+    int c = next();
+    if (c == -1) {
+      return null;
+    }
+    recordLine = line;
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new IllegalArgumentException("Unterminated quoted field on line " + recordLine);
+        }
+        if (c == '"') {
+          if (peek() == '"') {
+            next();
+            field.append('"');
+          } else {
+            quoted = false;
+          }
+        } else {
+          if (c == '\n') {
+            line++;
+          }
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\r' || c == '\n' || c == -1) {
+        if (c == '\r' && peek() == '\n') {
+          next();
+        }
+        if (c != -1) {
+          line++;
+        }
+        fields.add(field.toString());
+        return fields;
+      } else {
+        field.append((char) c);
+      }
+      c = next();
+    }
+  }
+
+  /** Line on which the record last returned by {@link #readRecord()} started, 1-based. */
+  public long getRecordLine() {
+    return recordLine;
+  }
+
+  private int next() throws IOException {
+    if (lookahead != -2) {
+      int c = lookahead;
+      lookahead = -2;
+      return c;
+    }
+    return reader.read();
+  }
+
+  private int peek() throws IOException {
+    if (lookahead == -2) {
+      lookahead = reader.read();
+    }
+    return lookahead;
+  }
+}
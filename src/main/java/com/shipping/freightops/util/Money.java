@@ -0,0 +1,117 @@
+package com.shipping.freightops.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A USD amount held as a whole number of cents, for pricing and settlement arithmetic that would
+ * otherwise allocate several {@link BigDecimal}s per operation.
+ *
+ * <p>Percentages are passed as basis points (hundredths of a percent), the precision every
+ * percentage column has. Results are rounded half up, away from zero on ties, which is what {@code
+ * BigDecimal} with {@link RoundingMode#HALF_UP} at two decimals gives for the same inputs.
+ * Arithmetic that would overflow a {@code long} throws {@link ArithmeticException}.
+ */
+public final class Money implements Comparable<Money> {
+
+  public static final Money ZERO = new Money(0);
+
+  private static final long BASIS_POINTS = 10_000;
+
+  private final long cents;
+
+  private Money(long cents) {
+    this.cents = cents;
+  }
+
+  public static Money ofCents(long cents) {
+    return cents == 0 ? ZERO : new Money(cents);
+  }
+
+  /**
+   * The amount as money; {@code null} is zero, as for a sum over no rows.
+   *
+   * @throws ArithmeticException if the amount has a fraction of a cent
+   */
+  public static Money of(BigDecimal amount) {
+    if (amount == null) {
+      return ZERO;
+    }
+    return ofCents(amount.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+  }
+
+  /**
+   * A percentage in basis points, rounded half up to hundredths of a percent. Discounts have always
+   * been rounded that way before they are applied; stored percentages already are.
+   */
+  public static long basisPoints(BigDecimal percent) {
+    return percent.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  public long toCents() {
+    return cents;
+  }
+
+  /** The amount with two decimals. */
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(cents, 2);
+  }
+
+  public Money plus(Money other) {
+    return ofCents(Math.addExact(cents, other.cents));
+  }
+
+  public Money minus(Money other) {
+    return ofCents(Math.subtractExact(cents, other.cents));
+  }
+
+  public Money negated() {
+    return ofCents(Math.negateExact(cents));
+  }
+
+  /** {@code basisPoints} of this amount, rounded half up to cents. */
+  public Money percent(long basisPoints) {
+    return ofCents(divideHalfUp(Math.multiplyExact(cents, basisPoints)));
+  }
+
+  /**
+   * This amount less a discount of {@code basisPoints}, rounded half up to cents. Rounds once, so
+   * it is not always {@code minus(percent(basisPoints))}.
+   */
+  public Money discounted(long basisPoints) {
+    return ofCents(divideHalfUp(Math.multiplyExact(cents, BASIS_POINTS - basisPoints)));
+  }
+
+  public boolean isZero() {
+    return cents == 0;
+  }
+
+  private static long divideHalfUp(long value) {
+    long quotient = value / BASIS_POINTS;
+    long remainder = value % BASIS_POINTS;
+    if (Math.abs(remainder) * 2 >= BASIS_POINTS) {
+      quotient += Long.signum(value);
+    }
+    return quotient;
+  }
+
+  @Override
+  public int compareTo(Money other) {
+    return Long.compare(cents, other.cents);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof Money money && money.cents == cents;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(cents);
+  }
+
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+}
@@ -0,0 +1,60 @@
+-- Financial summary of completed voyages, written at completion and updated
+-- when a cost is added afterwards. Voyages already completed get theirs below.
+create table voyage_financial_snapshot (
+    voyage_id         bigint         not null,
+    voyage_number     varchar(255)   not null,
+    total_revenue_usd numeric(19, 2) not null,
+    total_costs_usd   numeric(19, 2) not null,
+    net_profit_usd    numeric(19, 2) not null,
+    order_count       integer        not null,
+    computed_at       timestamp(6)   not null,
+    primary key (voyage_id),
+    foreign key (voyage_id) references voyages on delete cascade
+);
+
+create table voyage_financial_snapshot_owner (
+    voyage_id         bigint         not null,
+    owner_index       integer        not null,
+    owner_name        varchar(255)   not null,
+    share_percent     numeric(5, 2)  not null,
+    revenue_share_usd numeric(19, 2) not null,
+    cost_share_usd    numeric(19, 2) not null,
+    profit_share_usd  numeric(19, 2) not null,
+    primary key (voyage_id, owner_index),
+    foreign key (voyage_id) references voyage_financial_snapshot on delete cascade
+);
+
+-- the snapshot completion would have written for voyages completed before
+-- this migration: delivered orders, live and archived, the costs, and the
+-- split among the vessel's current owners
+insert into voyage_financial_snapshot (voyage_id, voyage_number, total_revenue_usd,
+                                       total_costs_usd, net_profit_usd, order_count, computed_at)
+select t.voyage_id, t.voyage_number, t.revenue, t.costs, t.revenue - t.costs, t.order_count, now()
+from (
+    select v.id as voyage_id, v.voyage_number,
+           coalesce((select sum(fo.final_price) from freight_orders fo
+                     where fo.voyage_id = v.id and fo.status = 'DELIVERED'), 0)
+         + coalesce((select sum(ao.final_price) from archived_freight_orders ao
+                     where ao.voyage_id = v.id and ao.status = 'DELIVERED'), 0) as revenue,
+           coalesce((select sum(c.amount_usd) from voyage_costs c
+                     where c.voyage_id = v.id), 0) as costs,
+           (select count(*) from freight_orders fo
+            where fo.voyage_id = v.id and fo.status = 'DELIVERED')
+         + (select count(*) from archived_freight_orders ao
+            where ao.voyage_id = v.id and ao.status = 'DELIVERED') as order_count
+    from voyages v
+    where v.status = 'COMPLETED'
+) t;
+
+-- shares are rounded half up to cents, as the summary does
+insert into voyage_financial_snapshot_owner (voyage_id, owner_index, owner_name, share_percent,
+                                             revenue_share_usd, cost_share_usd, profit_share_usd)
+select s.voyage_id,
+       row_number() over (partition by s.voyage_id order by o.id) - 1,
+       o.owner_name, o.share_percent,
+       round(s.total_revenue_usd * o.share_percent / 100, 2),
+       round(s.total_costs_usd * o.share_percent / 100, 2),
+       round(s.net_profit_usd * o.share_percent / 100, 2)
+from voyage_financial_snapshot s
+join voyages v on v.id = s.voyage_id
+join vessel_owners o on o.vessel_id = v.vessel_id;
@@ -0,0 +1,33 @@
+-- Running profit and loss of every voyage, kept current by the writes that
+-- change it: bookings and discounts add to the revenue, costs to the costs.
+create table voyage_pnl (
+    voyage_id   bigint         not null,
+    order_count bigint         not null,
+    revenue_usd numeric(19, 2) not null,
+    costs_usd   numeric(19, 2) not null,
+    updated_at  timestamp(6)   not null,
+    primary key (voyage_id),
+    foreign key (voyage_id) references voyages on delete cascade
+);
+
+-- start from the current orders and costs; archived orders belong to
+-- completed voyages and still count towards their revenue
+insert into voyage_pnl (voyage_id, order_count, revenue_usd, costs_usd, updated_at)
+select v.id,
+       coalesce(o.order_count, 0),
+       coalesce(o.revenue_usd, 0),
+       coalesce(c.costs_usd, 0),
+       localtimestamp
+from voyages v
+left join (
+    select voyage_id, count(*) as order_count, sum(final_price) as revenue_usd
+    from (
+        select voyage_id, final_price from freight_orders where status <> 'CANCELLED'
+        union all
+        select voyage_id, final_price from archived_freight_orders where status <> 'CANCELLED'
+    ) booked
+    group by voyage_id
+) o on o.voyage_id = v.id
+left join (
+    select voyage_id, sum(amount_usd) as costs_usd from voyage_costs group by voyage_id
+) c on c.voyage_id = v.id;
@@ -0,0 +1,21 @@
+-- Monthly commission statement of each agent: its delivered orders on voyages
+-- completed in [period_start, period_end), at the rate in force when the
+-- statement was computed. A discount or a reopened voyage marks the statements
+-- it affects stale, and those are recomputed on their own.
+create table agent_commission_statement (
+    agent_id           bigint         not null,
+    period_start       date           not null,
+    period_end         date           not null,
+    order_count        bigint         not null,
+    order_value_usd    numeric(19, 2) not null,
+    commission_percent numeric(5, 2)  not null,
+    commission_usd     numeric(19, 2) not null,
+    stale              boolean        not null,
+    computed_at        timestamp(6)   not null,
+    primary key (agent_id, period_start),
+    foreign key (agent_id) references agents
+);
+
+-- the refresh job looks for periods with stale statements
+create index idx_agent_commission_statement_stale
+    on agent_commission_statement (period_start) where stale;
@@ -0,0 +1,47 @@
+-- Owners are identified across voyages by vessel and email, which a change of
+-- share (remove and re-add) keeps. Earlier snapshot rows take the email of the
+-- owner of that name if the owner is still on the vessel.
+alter table voyage_financial_snapshot_owner add column owner_email varchar(255);
+
+update voyage_financial_snapshot_owner so
+set owner_email = (
+    select min(o.owner_email)
+    from vessel_owners o
+    join voyages v on v.vessel_id = o.vessel_id
+    where v.id = so.voyage_id and o.owner_name = so.owner_name
+);
+
+-- Append-only ledger of what each owner was credited per voyage: the split at
+-- completion, the change of a late cost, and the reversal when a voyage is
+-- reopened. Entries keep the share they were booked at, and are not tied to
+-- the voyage or owner rows so that history outlives them.
+create table vessel_owner_ledger (
+    id            bigint generated by default as identity,
+    vessel_id     bigint         not null,
+    owner_name    varchar(255)   not null,
+    owner_email   varchar(255),
+    voyage_id     bigint         not null,
+    voyage_number varchar(255)   not null,
+    entry_type    varchar(16)    not null,
+    share_percent numeric(5, 2)  not null,
+    revenue_usd   numeric(19, 2) not null,
+    costs_usd     numeric(19, 2) not null,
+    profit_usd    numeric(19, 2) not null,
+    booked_at     timestamp(6)   not null,
+    primary key (id)
+);
+
+-- statements read one vessel's entries for a quarter
+create index idx_vessel_owner_ledger_vessel_booked on vessel_owner_ledger (vessel_id, booked_at);
+
+-- start from the snapshots that exist, booked when their voyage was completed
+insert into vessel_owner_ledger (vessel_id, owner_name, owner_email, voyage_id, voyage_number,
+                                 entry_type, share_percent, revenue_usd, costs_usd, profit_usd,
+                                 booked_at)
+select v.vessel_id, so.owner_name, so.owner_email, s.voyage_id, s.voyage_number,
+       'COMPLETION', so.share_percent, so.revenue_share_usd, so.cost_share_usd, so.profit_share_usd,
+       coalesce(v.completed_at, s.computed_at)
+from voyage_financial_snapshot_owner so
+join voyage_financial_snapshot s on s.voyage_id = so.voyage_id
+join voyages v on v.id = s.voyage_id
+order by s.voyage_id, so.owner_index;
@@ -0,0 +1,20 @@
+-- TEU of the orders counted in order_count, kept with the other running
+-- figures so that the fleet utilization dashboard reads one row per voyage
+alter table voyage_pnl add column booked_teu bigint not null default 0;
+
+update voyage_pnl p
+set booked_teu = coalesce((
+        select sum(c.teu)
+        from freight_orders fo
+        join containers c on c.id = fo.container_id
+        where fo.voyage_id = p.voyage_id and fo.status <> 'CANCELLED'
+    ), 0)
+  + coalesce((
+        select sum(ao.container_teu)
+        from archived_freight_orders ao
+        where ao.voyage_id = p.voyage_id and ao.status <> 'CANCELLED'
+    ), 0);
+
+-- the dashboard reads only open voyages, a small slice of the table
+create index idx_voyages_open_departure on voyages (departure_time, id)
+    where status in ('PLANNED', 'IN_PROGRESS');
@@ -0,0 +1,156 @@
+-- Baseline: the schema as previously produced by Hibernate (ddl-auto=update).
+-- Databases created before Flyway was introduced are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and start from V2.
+
+create table agents (
+    id                 bigint generated by default as identity,
+    name               varchar(255)  not null,
+    email              varchar(255)  not null,
+    commission_percent numeric(38, 2) not null,
+    type               varchar(255)  not null check (type in ('INTERNAL', 'EXTERNAL')),
+    active             boolean       not null,
+    created_at         timestamp(6)  not null,
+    updated_at         timestamp(6)  not null,
+    primary key (id)
+);
+
+create table containers (
+    id             bigint generated by default as identity,
+    container_code varchar(11)  not null unique,
+    size           varchar(255) not null check (size in ('TWENTY_FOOT', 'FORTY_FOOT')),
+    type           varchar(255) not null check (type in ('DRY', 'REEFER', 'OPEN_TOP', 'FLAT_RACK', 'TANK')),
+    teu            integer      not null,
+    created_at     timestamp(6) not null,
+    updated_at     timestamp(6) not null,
+    primary key (id)
+);
+
+create table customers (
+    id           bigint generated by default as identity,
+    company_name varchar(255) not null,
+    contact_name varchar(255) not null,
+    email        varchar(255) not null,
+    phone        varchar(255),
+    address      varchar(255),
+    created_at   timestamp(6) not null,
+    updated_at   timestamp(6) not null,
+    primary key (id)
+);
+
+create table ports (
+    id         bigint generated by default as identity,
+    unlocode   varchar(5)   not null unique,
+    name       varchar(255) not null,
+    country    varchar(255) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table vessels (
+    id           bigint generated by default as identity,
+    name         varchar(255) not null,
+    imo_number   varchar(7)   not null unique,
+    capacity_teu integer      not null,
+    created_at   timestamp(6) not null,
+    updated_at   timestamp(6) not null,
+    primary key (id)
+);
+
+create table vessel_owners (
+    id            bigint generated by default as identity,
+    vessel_id     bigint        not null,
+    owner_name    varchar(255)  not null,
+    owner_email   varchar(255)  not null,
+    share_percent numeric(5, 2) not null,
+    created_at    timestamp(6)  not null,
+    updated_at    timestamp(6)  not null,
+    primary key (id)
+);
+
+create table voyages (
+    id                bigint generated by default as identity,
+    voyage_number     varchar(255) not null unique,
+    vessel_id         bigint       not null,
+    departure_port_id bigint       not null,
+    arrival_port_id   bigint       not null,
+    departure_time    timestamp(6) not null,
+    arrival_time      timestamp(6) not null,
+    status            varchar(255) not null check (status in ('PLANNED', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    max_capacity_teu  integer      not null,
+    booking_open      boolean,
+    created_at        timestamp(6) not null,
+    updated_at        timestamp(6) not null,
+    primary key (id)
+);
+
+create table voyage_costs (
+    id          bigint generated by default as identity,
+    voyage_id   bigint         not null,
+    description varchar(255)   not null,
+    amount_usd  numeric(12, 2) not null,
+    created_at  timestamp(6)   not null,
+    updated_at  timestamp(6)   not null,
+    primary key (id)
+);
+
+create table voyage_prices (
+    id             bigint generated by default as identity,
+    voyage_id      bigint         not null,
+    container_size varchar(255)   not null check (container_size in ('TWENTY_FOOT', 'FORTY_FOOT')),
+    base_price_usd numeric(10, 2) not null,
+    created_at     timestamp(6)   not null,
+    updated_at     timestamp(6)   not null,
+    primary key (id),
+    constraint uc_voyage_container_size unique (voyage_id, container_size)
+);
+
+create table freight_orders (
+    id               bigint generated by default as identity,
+    voyage_id        bigint         not null,
+    container_id     bigint         not null,
+    agent_id         bigint         not null,
+    customer_id      bigint         not null,
+    ordered_by       varchar(255)   not null,
+    notes            varchar(500),
+    status           varchar(255)   not null check (status in ('PENDING', 'CONFIRMED', 'IN_TRANSIT', 'DELIVERED', 'CANCELLED')),
+    base_price_usd   numeric(10, 2) not null,
+    discount_percent numeric(5, 2)  not null,
+    final_price      numeric(10, 2) not null,
+    discount_reason  varchar(500),
+    created_at       timestamp(6)   not null,
+    updated_at       timestamp(6)   not null,
+    primary key (id)
+);
+
+create table tracking_event (
+    id               bigint generated by default as identity,
+    freight_order_id bigint       not null,
+    event_type       smallint check (event_type between 0 and 6),
+    description      varchar(255) not null,
+    location         varchar(255),
+    performed_by     varchar(255),
+    event_time       timestamp(6),
+    created_at       timestamp(6) not null,
+    updated_at       timestamp(6) not null,
+    primary key (id)
+);
+
+create table invoice (
+    id       varchar(255) not null,
+    order_id bigint unique,
+    primary key (id)
+);
+
+alter table if exists freight_orders add constraint FKh6htxaj861b4ptsvgwcsnmug3 foreign key (agent_id) references agents;
+alter table if exists freight_orders add constraint FKbml21njy01t37tviqg2kogh2l foreign key (container_id) references containers;
+alter table if exists freight_orders add constraint FK6wf7hutpvklt0iype34gucld2 foreign key (customer_id) references customers;
+alter table if exists freight_orders add constraint FKfhoane63d1rxom38csg2li4fq foreign key (voyage_id) references voyages;
+alter table if exists invoice add constraint FKobtj3lsjiassqyk6omy4r9c3c foreign key (order_id) references freight_orders;
+alter table if exists tracking_event add constraint FKn7px2jq9u3qsxoveoqif0oqt8 foreign key (freight_order_id) references freight_orders;
+alter table if exists vessel_owners add constraint FKn6c93jcsb9182v0kc5psvx2ho foreign key (vessel_id) references vessels on delete cascade;
+alter table if exists voyage_costs add constraint FKixsyy78nym9seo8su215pn5cr foreign key (voyage_id) references voyages on delete cascade;
+alter table if exists voyage_prices add constraint FKidbjjst8cpp2uqa0xqk9ldt52 foreign key (voyage_id) references voyages;
+alter table if exists voyages add constraint FK45qf5aldxhf25lwfa7jj6mes9 foreign key (arrival_port_id) references ports;
+alter table if exists voyages add constraint FK4va4whvgh04vwcnoe2wuq7ymf foreign key (departure_port_id) references ports;
+alter table if exists voyages add constraint FKf4yrgibi9kxrwu1hvx3u59x25 foreign key (vessel_id) references vessels;
@@ -0,0 +1,29 @@
+-- Composite indexes for the hot booking, tracking and pricing queries.
+-- Built CONCURRENTLY so existing databases keep accepting bookings; Flyway
+-- runs this script outside a transaction because every statement is
+-- non-transactional.
+
+-- findByVoyageIdAndStatusIn / findByVoyageIdAndStatus; container_id is
+-- included so sumTeuByVoyageId can read it without touching the heap.
+create index concurrently if not exists idx_freight_orders_voyage_status
+    on freight_orders (voyage_id, status) include (container_id);
+
+-- findFirstByContainer_ContainerCodeAndStatusOrderByVoyage_DepartureTimeAsc
+create index concurrently if not exists idx_freight_orders_container_status
+    on freight_orders (container_id, status);
+
+-- findByAgentId
+create index concurrently if not exists idx_freight_orders_agent
+    on freight_orders (agent_id);
+
+-- findAllByFreightOrder_IdOrderByCreatedAtAsc
+create index concurrently if not exists idx_tracking_event_order_created
+    on tracking_event (freight_order_id, created_at);
+
+-- findHistoricalPricesSameRoute: route lookup, newest departures first
+create index concurrently if not exists idx_voyages_route_departure
+    on voyages (departure_port_id, arrival_port_id, departure_time desc);
+
+-- voyage cost listings and the on-delete-cascade from voyages
+create index concurrently if not exists idx_voyage_costs_voyage
+    on voyage_costs (voyage_id);
@@ -0,0 +1,57 @@
+-- Range-partition tracking_event by event month.
+--
+-- event_time becomes the partition key and therefore NOT NULL (old rows fall
+-- back to created_at) and part of the primary key. Monthly partitions are
+-- created for the existing data and three months ahead; after that
+-- TrackingEventPartitionManager keeps them ahead of the clock. The copy runs in
+-- this migration's transaction, so tracking writes block until it commits.
+
+drop index if exists idx_tracking_event_order_created;
+alter table tracking_event rename to tracking_event_unpartitioned;
+alter index tracking_event_pkey rename to tracking_event_unpartitioned_pkey;
+
+create table tracking_event (
+    id               bigint generated by default as identity,
+    freight_order_id bigint       not null,
+    event_type       smallint check (event_type between 0 and 6),
+    description      varchar(255) not null,
+    location         varchar(255),
+    performed_by     varchar(255),
+    event_time       timestamp(6) not null,
+    created_at       timestamp(6) not null,
+    updated_at       timestamp(6) not null,
+    primary key (id, event_time)
+) partition by range (event_time);
+
+do $$
+declare
+    part_month date := date_trunc('month', coalesce(
+                           (select min(coalesce(event_time, created_at)) from tracking_event_unpartitioned),
+                           now()));
+    last_month date := date_trunc('month', now()) + interval '3 months';
+begin
+    while part_month <= last_month loop
+        execute format('create table %I partition of tracking_event for values from (%L) to (%L)',
+                       'tracking_event_p' || to_char(part_month, 'YYYYMM'),
+                       part_month, (part_month + interval '1 month')::date);
+        part_month := (part_month + interval '1 month')::date;
+    end loop;
+end $$;
+
+create table tracking_event_default partition of tracking_event default;
+
+insert into tracking_event (id, freight_order_id, event_type, description, location,
+                            performed_by, event_time, created_at, updated_at)
+select id, freight_order_id, event_type, description, location,
+       performed_by, coalesce(event_time, created_at), created_at, updated_at
+from tracking_event_unpartitioned;
+
+drop table tracking_event_unpartitioned;
+
+select setval(pg_get_serial_sequence('tracking_event', 'id'),
+              coalesce((select max(id) from tracking_event), 0) + 1, false);
+
+alter table tracking_event
+    add constraint FKn7px2jq9u3qsxoveoqif0oqt8 foreign key (freight_order_id) references freight_orders;
+
+create index idx_tracking_event_order_created on tracking_event (freight_order_id, created_at);
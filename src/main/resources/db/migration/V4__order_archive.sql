@@ -0,0 +1,68 @@
+-- Cold archive for the orders of long-completed voyages.
+-- Rows keep their original ids and carry a denormalized copy of the voyage, container, agent and
+-- customer they were shown with, so the archive has no foreign keys into the hot tables.
+
+alter table voyages add column completed_at timestamp(6);
+
+update voyages set completed_at = updated_at where status = 'COMPLETED';
+
+create index idx_voyages_completed_at on voyages (completed_at) where status = 'COMPLETED';
+
+create table archived_freight_orders (
+    id                    bigint         not null,
+    voyage_id             bigint         not null,
+    voyage_number         varchar(255)   not null,
+    vessel_name           varchar(255),
+    departure_port_name   varchar(255),
+    arrival_port_name     varchar(255),
+    departure_time        timestamp(6),
+    arrival_time          timestamp(6),
+    voyage_status         varchar(255) check (voyage_status in ('PLANNED', 'IN_PROGRESS', 'COMPLETED', 'CANCELLED')),
+    container_id          bigint         not null,
+    container_code        varchar(11)    not null,
+    container_size        varchar(255)   not null check (container_size in ('TWENTY_FOOT', 'FORTY_FOOT')),
+    container_type        varchar(255)   not null check (container_type in ('DRY', 'REEFER', 'OPEN_TOP', 'FLAT_RACK', 'TANK')),
+    agent_id              bigint         not null,
+    agent_name            varchar(255),
+    customer_id           bigint         not null,
+    customer_company_name varchar(255),
+    customer_email        varchar(255),
+    customer_address      varchar(255),
+    ordered_by            varchar(255)   not null,
+    notes                 varchar(500),
+    status                varchar(255)   not null check (status in ('PENDING', 'CONFIRMED', 'IN_TRANSIT', 'DELIVERED', 'CANCELLED')),
+    base_price_usd        numeric(10, 2) not null,
+    discount_percent      numeric(5, 2)  not null,
+    final_price           numeric(10, 2) not null,
+    discount_reason       varchar(500),
+    created_at            timestamp(6)   not null,
+    updated_at            timestamp(6)   not null,
+    archived_at           timestamp(6)   not null,
+    primary key (id)
+);
+
+create index idx_archived_freight_orders_container on archived_freight_orders (container_code);
+create index idx_archived_freight_orders_voyage on archived_freight_orders (voyage_id);
+
+create table archived_tracking_events (
+    id               bigint       not null,
+    freight_order_id bigint       not null,
+    event_type       smallint check (event_type between 0 and 6),
+    description      varchar(255) not null,
+    location         varchar(255),
+    performed_by     varchar(255),
+    event_time       timestamp(6) not null,
+    created_at       timestamp(6) not null,
+    updated_at       timestamp(6) not null,
+    archived_at      timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_archived_tracking_events_order on archived_tracking_events (freight_order_id, created_at);
+
+create table archived_invoices (
+    id          varchar(255) not null,
+    order_id    bigint       not null unique,
+    archived_at timestamp(6) not null,
+    primary key (id)
+);
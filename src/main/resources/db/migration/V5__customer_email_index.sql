@@ -0,0 +1,4 @@
+-- Bulk customer import deduplicates on the case-insensitive email address.
+-- Built CONCURRENTLY, so Flyway runs this script outside a transaction.
+create index concurrently if not exists idx_customers_email_lower
+    on customers (lower(email));
@@ -0,0 +1,18 @@
+-- Change feed for integration partners: one row per insert, update or delete
+-- of a voyage, freight order, voyage price or tracking event. The feed is
+-- ordered by the writing transaction's id, then by seq (see ChangeFeedService).
+create table change_log (
+    seq         bigint generated by default as identity,
+    entity_type varchar(32)  not null,
+    entity_id   bigint       not null,
+    operation   varchar(16)  not null,
+    changed_at  timestamp(6) not null,
+    txid        bigint       not null default pg_current_xact_id()::text::bigint,
+    primary key (seq)
+);
+
+create index idx_change_log_txid_seq on change_log (txid, seq);
+-- feeds filtered by entity type walk this index in feed order
+create index idx_change_log_type_txid_seq on change_log (entity_type, txid, seq);
+-- the nightly purge deletes by age
+create index idx_change_log_changed_at on change_log (changed_at);
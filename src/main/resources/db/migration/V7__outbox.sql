@@ -0,0 +1,23 @@
+-- Transactional outbox: domain events written with the business change and
+-- delivered to in-process handlers by the relay.
+create table outbox_event (
+    id              bigint generated by default as identity,
+    aggregate_type  varchar(32)   not null,
+    aggregate_id    bigint        not null,
+    event_type      varchar(64)   not null,
+    payload         varchar(4000) not null,
+    created_at      timestamp(6)  not null,
+    status          varchar(16)   not null,
+    attempts        integer       not null,
+    next_attempt_at timestamp(6)  not null,
+    published_at    timestamp(6),
+    last_error      varchar(1000),
+    primary key (id)
+);
+
+-- the relay's claim query: due events in id order, and the per-aggregate
+-- "is there an older pending event" probe; both only look at pending rows,
+-- so delivered (PUBLISHED) and parked (FAILED) events drop out of them
+create index idx_outbox_event_pending on outbox_event (id) where status = 'PENDING';
+create index idx_outbox_event_pending_aggregate
+    on outbox_event (aggregate_type, aggregate_id, id) where status = 'PENDING';
@@ -0,0 +1,36 @@
+-- Daily booking rollups for the management dashboards, kept up to date from
+-- order events and rebuilt per day by the backfill.
+create table booking_daily_rollup (
+    dimension     varchar(16)    not null check (dimension in ('TOTAL', 'ROUTE', 'AGENT', 'CUSTOMER')),
+    booking_date  date           not null,
+    dimension_key varchar(32)    not null,
+    bookings      bigint         not null,
+    teu           bigint         not null,
+    revenue       numeric(19, 2) not null,
+    -- dashboards read one dimension over a date range
+    primary key (dimension, booking_date, dimension_key)
+);
+
+-- outbox events already counted in the rollups; rows of delivered events are
+-- purged nightly, as those can no longer be redelivered
+create table booking_rollup_applied_event (
+    event_id bigint not null,
+    primary key (event_id)
+);
+
+-- TEU of the container an archived order was booked with, copied from
+-- containers.teu like the other container details, so archive aggregates read
+-- it instead of deriving it from the size.
+alter table archived_freight_orders add column container_teu integer;
+
+update archived_freight_orders ao
+set container_teu = c.teu
+from containers c
+where c.id = ao.container_id;
+
+-- containers deleted since their orders were archived: the size's nominal TEU
+update archived_freight_orders
+set container_teu = case container_size when 'FORTY_FOOT' then 2 else 1 end
+where container_teu is null;
+
+alter table archived_freight_orders alter column container_teu set not null;
@@ -0,0 +1,25 @@
+-- Runs of the cluster jobs: outcome, duration and the checkpoint an
+-- unfinished run is resumed from.
+--
+-- scheduled_for is the cron fire time a scheduled run was started for. Every
+-- instance fires the same cron; the first to take the job lock records the
+-- slot and the others skip it. Runs started by hand have no slot.
+create table job_run (
+    id            bigint generated by default as identity,
+    job_name      varchar(64)   not null,
+    node          varchar(255)  not null,
+    status        varchar(16)   not null check (status in ('RUNNING', 'SUCCEEDED', 'FAILED', 'INTERRUPTED')),
+    scheduled_for timestamp(6),
+    started_at    timestamp(6)  not null,
+    finished_at   timestamp(6),
+    duration_ms   bigint,
+    chunks        integer       not null,
+    checkpoint    varchar(255),
+    resumed_from  bigint,
+    error         varchar(1000),
+    primary key (id),
+    constraint uc_job_run_scheduled unique (job_name, scheduled_for)
+);
+
+-- the runner reads the latest run of a job before starting the next one
+create index idx_job_run_job on job_run (job_name, id);
@@ -0,0 +1,122 @@
+package com.shipping.freightops.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shipping.freightops.service.FleetUtilizationService;
+import com.shipping.freightops.service.InvoiceService;
+import com.shipping.freightops.service.VoyageService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import javax.sql.DataSource;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the application against two separate H2 instances standing in for the primary and the
+ * replica. The replica has no schema, so tests identify the routed database by its JDBC url.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:freightops-primary;DB_CLOSE_DELAY=-1",
+      "app.datasource.replica.enabled=true",
+      "app.datasource.replica.url=jdbc:h2:mem:freightops-replica;DB_CLOSE_DELAY=-1",
+      "app.datasource.replica.username=sa",
+      "app.datasource.replica.password=",
+      "app.datasource.replica.max-lag=10s",
+      "app.datasource.replica.lag-check-interval=0s",
+      "app.datasource.replica.lag-query=SELECT lag_seconds FROM replica_status"
+    })
+class ReadReplicaRoutingTest {
+
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private VoyageService voyageService;
+  @Autowired private InvoiceService invoiceService;
+  @Autowired private FleetUtilizationService utilizationService;
+
+  @Autowired
+  @Qualifier("replicaDataSource")
+  private DataSource replicaDataSource;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  private JdbcTemplate replica;
+
+  @BeforeEach
+  void setUp() {
+    replica = new JdbcTemplate(replicaDataSource);
+    replica.execute("CREATE TABLE IF NOT EXISTS replica_status (lag_seconds DOUBLE)");
+    replica.update("DELETE FROM replica_status");
+    replica.update("INSERT INTO replica_status VALUES (0)");
+  }
+
+  @AfterEach
+  void tearDown() {
+    replica.execute("DROP TABLE IF EXISTS replica_status");
+  }
+
+  @Test
+  @DisplayName("read-only transactions are served by the replica")
+  void readOnlyTransaction_usesReplica() {
+    assertThat(connectionUrl(true)).contains("freightops-replica");
+  }
+
+  @Test
+  @DisplayName("read-write transactions stay on the primary")
+  void readWriteTransaction_usesPrimary() {
+    assertThat(connectionUrl(false)).contains("freightops-primary");
+  }
+
+  @Test
+  @DisplayName("reads fall back to the primary while replica lag exceeds the limit")
+  void laggingReplica_fallsBackToPrimary() {
+    replica.update("UPDATE replica_status SET lag_seconds = 60");
+
+    assertThat(connectionUrl(true)).contains("freightops-primary");
+  }
+
+  @Test
+  @DisplayName("reads fall back to the primary when the lag check fails")
+  void unreachableReplica_fallsBackToPrimary() {
+    replica.execute("DROP TABLE replica_status");
+
+    assertThat(connectionUrl(true)).contains("freightops-primary");
+    // the primary holds the schema, so read-only services keep working
+    assertThat(voyageService.getAll()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("invoices read the order from the primary, which may be ahead of the replica")
+  void generateInvoice_readsPrimary() {
+    // on the replica, which has no schema, this would fail with a SQL error instead
+    assertThatThrownBy(() -> invoiceService.generateInvoice(-1L))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Order not found");
+  }
+
+  @Test
+  @DisplayName("fleet utilization reads the counters from the primary, never a lagging replica")
+  void fleetUtilization_readsPrimary() {
+    // on the replica, which has no schema, this would fail with a SQL error instead
+    assertThat(utilizationService.getFleetUtilization()).isEmpty();
+  }
+
+  private String connectionUrl(boolean readOnly) {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    tx.setReadOnly(readOnly);
+    return tx.execute(
+        status ->
+            entityManager
+                .unwrap(Session.class)
+                .doReturningWork(connection -> connection.getMetaData().getURL()));
+  }
+}
@@ -0,0 +1,84 @@
+package com.shipping.freightops.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.entity.Port;
+import com.shipping.freightops.repository.PortRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+@SpringBootTest(
+    properties = {
+      "app.metrics.repository.slow-threshold=0ms",
+      "app.metrics.repository.slow-log-sample-rate=1.0"
+    })
+@ExtendWith(OutputCaptureExtension.class)
+class RepositoryMetricsTest {
+
+  @Autowired private PortRepository portRepository;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    if (portRepository.findByUnlocode("ZZMTA").isEmpty()) {
+      portRepository.save(new Port("ZZMTA", "Metrics A", "Metricsland"));
+      portRepository.save(new Port("ZZMTB", "Metrics B", "Metricsland"));
+    }
+  }
+
+  @Test
+  @DisplayName("repository calls record latency and rows tagged by repository and method")
+  void recordsLatencyAndRows() {
+    portRepository.findByCountryIn(List.of("Metricsland"));
+
+    assertThat(
+            meterRegistry
+                .get("spring.data.repository.invocations")
+                .tag("repository", "PortRepository")
+                .tag("method", "findByCountryIn")
+                .timer()
+                .count())
+        .isPositive();
+    assertThat(
+            meterRegistry
+                .get(RepositoryMetricsInterceptor.ROWS_METRIC)
+                .tag("repository", "PortRepository")
+                .tag("method", "findByCountryIn")
+                .summary()
+                .max())
+        .isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("connection acquire time is attributed to the repository method that asked")
+  void attributesConnectionAcquireToRepository() {
+    portRepository.findByUnlocode("ZZMTA");
+
+    assertThat(
+            meterRegistry
+                .get(ConnectionAcquireTimingDataSource.ACQUIRE_METRIC)
+                .tag("repository", "PortRepository")
+                .tag("method", "findByUnlocode")
+                .timer()
+                .count())
+        .isPositive();
+  }
+
+  @Test
+  @DisplayName("calls above the slow threshold are logged with their arguments")
+  void logsSlowCallsWithArguments(CapturedOutput output) {
+    portRepository.findByUnlocode("ZZMTB");
+
+    assertThat(output.getOut())
+        .contains("Slow repository call PortRepository.findByUnlocode")
+        .contains("args=[ZZMTB]");
+  }
+}
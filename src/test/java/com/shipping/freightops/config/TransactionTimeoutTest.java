@@ -0,0 +1,103 @@
+package com.shipping.freightops.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** A deliberately slow report run under a one-second budget. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionTimeoutTest {
+
+  @Autowired private SlowReport slowReport;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private MockMvc mockMvc;
+
+  @Test
+  @DisplayName("a statement that outlives its transaction budget fails and is counted")
+  void slowQuery_exceedsBudget() {
+    double before = timeouts();
+
+    assertThatThrownBy(slowReport::run).isInstanceOf(TransactionTimedOutException.class);
+
+    assertThat(timeouts()).isEqualTo(before + 1);
+  }
+
+  @Test
+  @DisplayName("a timed-out request is answered with 503 Service Unavailable")
+  void slowQuery_returnsServiceUnavailable() throws Exception {
+    mockMvc
+        .perform(get("/test/slow-report"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.status").value(503));
+  }
+
+  private double timeouts() {
+    return meterRegistry
+        .counter(
+            TransactionTimeoutInterceptor.TIMEOUTS_METRIC, "budget", TransactionTimeouts.REPORT)
+        .count();
+  }
+
+  @TestConfiguration
+  static class SlowReportConfig {
+
+    @Bean
+    SlowReport slowReport(JdbcTemplate jdbcTemplate) {
+      return new SlowReport(jdbcTemplate);
+    }
+
+    @Bean
+    SlowReportController slowReportController(SlowReport slowReport) {
+      return new SlowReportController(slowReport);
+    }
+  }
+
+  static class SlowReport {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SlowReport(JdbcTemplate jdbcTemplate) {
+      this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Uses up its budget before the statement, which then runs into the deadline. */
+    @Transactional(readOnly = true, timeout = 1, label = TransactionTimeouts.REPORT)
+    public Integer run() throws InterruptedException {
+      Thread.sleep(1100);
+      return jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+    }
+  }
+
+  @RestController
+  static class SlowReportController {
+
+    private final SlowReport slowReport;
+
+    SlowReportController(SlowReport slowReport) {
+      this.slowReport = slowReport;
+    }
+
+    @GetMapping("/test/slow-report")
+    Integer slowReport() throws InterruptedException {
+      return slowReport.run();
+    }
+  }
+}
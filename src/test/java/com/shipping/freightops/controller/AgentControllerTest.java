@@ -13,6 +13,7 @@ import com.shipping.freightops.entity.Agent;
 import com.shipping.freightops.enums.AgentType;
 import com.shipping.freightops.repository.AgentRepository;
 import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.support.QueryBudget;
 import java.math.BigDecimal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -226,6 +227,23 @@ class AgentControllerTest {
 
   // ── HELPER ──
 
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/agents and /{id} stay within their statement budget")
+  void readAgents_withinQueryBudget() throws Exception {
+    Agent agent = saveAgent("Budget One", "b1@test.com", AgentType.INTERNAL, true);
+    saveAgent("Budget Two", "b2@test.com", AgentType.EXTERNAL, true);
+    saveAgent("Budget Three", "b3@test.com", AgentType.INTERNAL, false);
+
+    QueryBudget.atMost(1)
+        .run(() -> mockMvc.perform(get("/api/v1/agents")).andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .run(
+            () ->
+                mockMvc.perform(get("/api/v1/agents/" + agent.getId())).andExpect(status().isOk()));
+  }
+
   private Agent saveAgent(String name, String email, AgentType type, boolean active) {
     Agent agent = new Agent();
     agent.setName(name);
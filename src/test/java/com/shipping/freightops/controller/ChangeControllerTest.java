@@ -0,0 +1,199 @@
+package com.shipping.freightops.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipping.freightops.entity.*;
+import com.shipping.freightops.enums.AgentType;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.EventType;
+import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.repository.*;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ChangeControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private EntityManager entityManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PortRepository portRepository;
+  @Autowired private VesselRepository vesselRepository;
+  @Autowired private VoyageRepository voyageRepository;
+  @Autowired private VoyagePriceRepository voyagePriceRepository;
+  @Autowired private ContainerRepository containerRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private AgentRepository agentRepository;
+  @Autowired private FreightOrderRepository freightOrderRepository;
+  @Autowired private TrackingEventRepository trackingEventRepository;
+
+  private String since;
+  private Long voyageId;
+  private Long priceId;
+  private Long orderId;
+  private Long eventId;
+
+  @BeforeEach
+  void setUp() {
+    Long lastSeq = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM change_log", Long.class);
+    // entries carry txid 0 outside PostgreSQL
+    since = "0:" + (lastSeq == null ? 0 : lastSeq);
+
+    Port departure = portRepository.save(new Port("ZZCFA", "Feed A", "Feedland"));
+    Port arrival = portRepository.save(new Port("ZZCFB", "Feed B", "Feedland"));
+    Vessel vessel = vesselRepository.save(new Vessel("MV Feed", "7777771", 1000));
+
+    Voyage voyage = new Voyage();
+    voyage.setVoyageNumber("VOY-CF-1");
+    voyage.setVessel(vessel);
+    voyage.setDeparturePort(departure);
+    voyage.setArrivalPort(arrival);
+    voyage.setDepartureTime(LocalDateTime.now().plusDays(3));
+    voyage.setArrivalTime(LocalDateTime.now().plusDays(10));
+    voyage.setMaxCapacityTeu(vessel.getCapacityTeu());
+    voyage.setBookingOpen(true);
+    voyageId = voyageRepository.save(voyage).getId();
+
+    VoyagePrice price = new VoyagePrice();
+    price.setVoyage(voyage);
+    price.setContainerSize(ContainerSize.TWENTY_FOOT);
+    price.setBasePriceUsd(BigDecimal.valueOf(900));
+    priceId = voyagePriceRepository.save(price).getId();
+
+    Container container =
+        containerRepository.save(
+            new Container("CFEU0000001", ContainerSize.TWENTY_FOOT, ContainerType.DRY));
+    Customer customer =
+        customerRepository.save(new Customer("Feed Co", "Contact", "feed@test.com"));
+
+    Agent agent = new Agent();
+    agent.setName("Feed Agent");
+    agent.setEmail("feed-agent@test.com");
+    agent.setCommissionPercent(BigDecimal.TWO);
+    agent.setType(AgentType.INTERNAL);
+    agentRepository.save(agent);
+
+    FreightOrder order = new FreightOrder();
+    order.setAgent(agent);
+    order.setVoyage(voyage);
+    order.setContainer(container);
+    order.setCustomer(customer);
+    order.setStatus(OrderStatus.PENDING);
+    order.setOrderedBy("feed-test");
+    order.setBasePriceUsd(BigDecimal.valueOf(900));
+    order.setFinalPrice(BigDecimal.valueOf(900));
+    orderId = freightOrderRepository.save(order).getId();
+
+    eventId =
+        trackingEventRepository
+            .save(
+                new TrackingEvent(
+                    order, EventType.GATE_IN, "Gated in", "Feed A", "feed-test", null))
+            .getId();
+
+    voyage.setBookingOpen(false);
+    entityManager.flush();
+    voyagePriceRepository.delete(price);
+    entityManager.flush();
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/changes → changes in commit order with their operation")
+  void listsChangesInOrder() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/changes").param("since", since))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changes.length()").value(6))
+        .andExpect(jsonPath("$.changes[0].entityType").value("VOYAGE"))
+        .andExpect(jsonPath("$.changes[0].entityId").value(voyageId))
+        .andExpect(jsonPath("$.changes[0].operation").value("CREATED"))
+        .andExpect(jsonPath("$.changes[1].entityType").value("VOYAGE_PRICE"))
+        .andExpect(jsonPath("$.changes[2].entityType").value("FREIGHT_ORDER"))
+        .andExpect(jsonPath("$.changes[2].entityId").value(orderId))
+        .andExpect(jsonPath("$.changes[3].entityType").value("TRACKING_EVENT"))
+        .andExpect(jsonPath("$.changes[3].entityId").value(eventId))
+        .andExpect(jsonPath("$.changes[4].entityType").value("VOYAGE"))
+        .andExpect(jsonPath("$.changes[4].operation").value("UPDATED"))
+        .andExpect(jsonPath("$.changes[5].entityId").value(priceId))
+        .andExpect(jsonPath("$.changes[5].operation").value("DELETED"))
+        .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/changes → the next token resumes after the last change returned")
+  void pagesWithToken() throws Exception {
+    String body =
+        mockMvc
+            .perform(get("/api/v1/changes").param("since", since).param("limit", "4"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes.length()").value(4))
+            .andExpect(jsonPath("$.hasMore").value(true))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    String next = objectMapper.readTree(body).get("nextToken").asText();
+
+    body =
+        mockMvc
+            .perform(get("/api/v1/changes").param("since", next).param("limit", "4"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes.length()").value(2))
+            .andExpect(jsonPath("$.changes[0].operation").value("UPDATED"))
+            .andExpect(jsonPath("$.hasMore").value(false))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    JsonNode last = objectMapper.readTree(body);
+
+    // an up-to-date client keeps its token
+    mockMvc
+        .perform(get("/api/v1/changes").param("since", last.get("nextToken").asText()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changes.length()").value(0))
+        .andExpect(jsonPath("$.nextToken").value(last.get("nextToken").asText()));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/changes?types=VOYAGE → only voyage changes")
+  void filtersByType() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/changes").param("since", since).param("types", "VOYAGE"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.changes.length()").value(2))
+        .andExpect(jsonPath("$.changes[0].operation").value("CREATED"))
+        .andExpect(jsonPath("$.changes[1].operation").value("UPDATED"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/changes with an invalid token or limit → 400")
+  void rejectsInvalidToken() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/changes").param("since", "abc"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/v1/changes").param("since", "12")).andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get("/api/v1/changes").param("since", "1:-2"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get("/api/v1/changes").param("since", since).param("limit", "0"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,257 @@
+package com.shipping.freightops.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipping.freightops.dto.UpdateDiscountRequest;
+import com.shipping.freightops.entity.Agent;
+import com.shipping.freightops.entity.Container;
+import com.shipping.freightops.entity.Customer;
+import com.shipping.freightops.entity.FreightOrder;
+import com.shipping.freightops.entity.Port;
+import com.shipping.freightops.entity.Vessel;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.enums.AgentType;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.AgentRepository;
+import com.shipping.freightops.repository.ContainerRepository;
+import com.shipping.freightops.repository.CustomerRepository;
+import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.repository.PortRepository;
+import com.shipping.freightops.repository.VesselRepository;
+import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.service.CommissionStatementService;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CommissionControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PortRepository portRepository;
+  @Autowired private VesselRepository vesselRepository;
+  @Autowired private VoyageRepository voyageRepository;
+  @Autowired private ContainerRepository containerRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private AgentRepository agentRepository;
+  @Autowired private FreightOrderRepository orderRepository;
+  @Autowired private CommissionStatementService commissionService;
+  @Autowired private EntityManager entityManager;
+
+  private Vessel vessel;
+  private Port departure;
+  private Port arrival;
+  private Container container;
+  private Customer customer;
+  private Agent alpha;
+  private Agent beta;
+  private Voyage march;
+
+  @BeforeEach
+  void setUp() {
+    // voyages completed in a year no other test uses
+    departure = portRepository.save(new Port("ZZCMA", "Commission A", "Commissionland"));
+    arrival = portRepository.save(new Port("ZZCMB", "Commission B", "Commissionland"));
+    vessel = vesselRepository.save(new Vessel("MV Commission", "7770002", 100));
+    container =
+        containerRepository.save(
+            new Container("CMSU0000001", ContainerSize.TWENTY_FOOT, ContainerType.DRY));
+    customer =
+        customerRepository.save(new Customer("Commission Co", "Contact", "commission@test.com"));
+    alpha = agent("Alpha Forwarding", "5.00", AgentType.INTERNAL);
+    beta = agent("Beta Freight", "8.00", AgentType.EXTERNAL);
+
+    march = voyage("CM-001", LocalDateTime.of(2003, 3, 10, 12, 0));
+    order(march, alpha, "1000.00", OrderStatus.DELIVERED);
+    order(march, alpha, "2000.50", OrderStatus.DELIVERED);
+    order(march, alpha, "500.00", OrderStatus.CANCELLED);
+    order(march, beta, "3000.00", OrderStatus.DELIVERED);
+    Voyage april = voyage("CM-002", LocalDateTime.of(2003, 4, 2, 8, 0));
+    order(april, beta, "999.00", OrderStatus.DELIVERED);
+    // the statements are computed with plain SQL
+    entityManager.flush();
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/commissions/statements → one statement per agent for the month")
+  void generate_computesEveryAgent() throws Exception {
+    mockMvc
+        .perform(post("/api/v1/commissions/statements").param("period", "2003-03"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].agentName").value("Alpha Forwarding"))
+        .andExpect(jsonPath("$[0].period").value("2003-03"))
+        .andExpect(jsonPath("$[0].orderCount").value(2))
+        .andExpect(jsonPath("$[0].orderValueUsd").value(3000.50))
+        .andExpect(jsonPath("$[0].commissionUsd").value(150.03))
+        .andExpect(jsonPath("$[0].stale").value(false))
+        .andExpect(jsonPath("$[1].agentName").value("Beta Freight"))
+        .andExpect(jsonPath("$[1].agentType").value("EXTERNAL"))
+        .andExpect(jsonPath("$[1].commissionUsd").value(240.00));
+
+    mockMvc
+        .perform(get("/api/v1/commissions/statements").param("period", "2003-03"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)));
+  }
+
+  @Test
+  @DisplayName("a late discount marks the statement stale; refresh recomputes it at its own rate")
+  void lateDiscount_refreshesStaleStatement() throws Exception {
+    FreightOrder inTransit = order(march, alpha, "1000.00", OrderStatus.IN_TRANSIT);
+    entityManager.flush();
+    mockMvc
+        .perform(post("/api/v1/commissions/statements").param("period", "2003-03"))
+        .andExpect(status().isOk());
+
+    UpdateDiscountRequest discount = new UpdateDiscountRequest();
+    discount.setDiscountPercent(BigDecimal.TEN);
+    discount.setReason("Late claim");
+    mockMvc
+        .perform(
+            patch("/api/v1/freight-orders/{id}/discount", inTransit.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(discount)))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(get("/api/v1/commissions/statements").param("period", "2003-03"))
+        .andExpect(jsonPath("$[0].stale").value(true))
+        .andExpect(jsonPath("$[1].stale").value(false));
+
+    inTransit.setStatus(OrderStatus.DELIVERED);
+    alpha.setCommissionPercent(new BigDecimal("20.00"));
+    entityManager.flush();
+
+    mockMvc
+        .perform(post("/api/v1/commissions/statements/refresh").param("period", "2003-03"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].stale").value(false))
+        .andExpect(jsonPath("$[0].orderCount").value(3))
+        .andExpect(jsonPath("$[0].orderValueUsd").value(3900.50))
+        .andExpect(jsonPath("$[0].commissionPercent").value(5.00))
+        .andExpect(jsonPath("$[0].commissionUsd").value(195.03))
+        .andExpect(jsonPath("$[1].commissionUsd").value(240.00));
+  }
+
+  @Test
+  @DisplayName("a credit note on a delivered order marks the statement stale; refresh lowers it")
+  void creditNote_refreshLowersStatement() throws Exception {
+    FreightOrder delivered = order(march, alpha, "1000.00", OrderStatus.DELIVERED);
+    entityManager.flush();
+    mockMvc
+        .perform(post("/api/v1/commissions/statements").param("period", "2003-03"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].orderValueUsd").value(4000.50))
+        .andExpect(jsonPath("$[0].commissionUsd").value(200.03));
+
+    UpdateDiscountRequest discount = new UpdateDiscountRequest();
+    discount.setDiscountPercent(BigDecimal.TEN);
+    discount.setReason("Damaged cargo");
+    mockMvc
+        .perform(
+            patch("/api/v1/freight-orders/{id}/discount", delivered.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(discount)))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(post("/api/v1/commissions/statements/refresh").param("period", "2003-03"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].stale").value(false))
+        .andExpect(jsonPath("$[0].orderCount").value(3))
+        .andExpect(jsonPath("$[0].orderValueUsd").value(3900.50))
+        .andExpect(jsonPath("$[0].commissionUsd").value(195.03))
+        .andExpect(jsonPath("$[1].commissionUsd").value(240.00));
+  }
+
+  @Test
+  @DisplayName("reopening a voyage marks its statements stale and the job drops emptied ones")
+  void reopenedVoyage_refreshedByJob() throws Exception {
+    mockMvc
+        .perform(post("/api/v1/commissions/statements").param("period", "2003-03"))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", march.getId(), "IN_PROGRESS"))
+        .andExpect(status().isOk());
+    entityManager.flush();
+    assertThat(commissionService.getStatements(YearMonth.of(2003, 3)))
+        .allMatch(statement -> statement.stale());
+
+    String cursor = commissionService.runChunk(null);
+    while (cursor != null) {
+      cursor = commissionService.runChunk(cursor);
+    }
+
+    assertThat(commissionService.getStatements(YearMonth.of(2003, 3))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/commissions/statements → 400 for a month that has not ended")
+  void generate_currentMonth_returnsBadRequest() throws Exception {
+    mockMvc
+        .perform(post("/api/v1/commissions/statements").param("period", YearMonth.now().toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  private Agent agent(String name, String commissionPercent, AgentType type) {
+    Agent agent = new Agent();
+    agent.setName(name);
+    agent.setEmail(name.toLowerCase().replace(' ', '.') + "@agents.com");
+    agent.setCommissionPercent(new BigDecimal(commissionPercent));
+    agent.setType(type);
+    return agentRepository.save(agent);
+  }
+
+  private Voyage voyage(String number, LocalDateTime completedAt) {
+    Voyage voyage = new Voyage();
+    voyage.setVoyageNumber(number);
+    voyage.setVessel(vessel);
+    voyage.setDeparturePort(departure);
+    voyage.setArrivalPort(arrival);
+    voyage.setDepartureTime(completedAt.minusDays(20));
+    voyage.setArrivalTime(completedAt.minusDays(1));
+    voyage.setMaxCapacityTeu(100);
+    voyage.setBookingOpen(false);
+    voyage.setStatus(VoyageStatus.COMPLETED);
+    voyage.setCompletedAt(completedAt);
+    return voyageRepository.save(voyage);
+  }
+
+  private FreightOrder order(Voyage voyage, Agent agent, String finalPrice, OrderStatus status) {
+    FreightOrder order = new FreightOrder();
+    order.setVoyage(voyage);
+    order.setContainer(container);
+    order.setCustomer(customer);
+    order.setAgent(agent);
+    order.setOrderedBy("commission-test");
+    order.setBasePriceUsd(new BigDecimal(finalPrice));
+    order.setDiscountPercent(BigDecimal.ZERO);
+    order.setFinalPrice(new BigDecimal(finalPrice));
+    order.setStatus(status);
+    return orderRepository.save(order);
+  }
+}
@@ -6,6 +6,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
@@ -21,6 +22,9 @@ import com.shipping.freightops.enums.ContainerSize;
 import com.shipping.freightops.enums.ContainerType;
 import com.shipping.freightops.enums.OrderStatus;
 import com.shipping.freightops.repository.*;
+import com.shipping.freightops.repository.projection.ContainerLabelDocument;
+import com.shipping.freightops.support.QueryBudget;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -32,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,6 +46,7 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class ContainerControllerTest {
   @Autowired private MockMvc mockMvc;
+  @Autowired private EntityManager entityManager;
   @Autowired private ObjectMapper objectMapper;
   @Autowired private ContainerRepository containerRepository;
   @Autowired private VoyageRepository voyageRepository;
@@ -298,4 +304,97 @@ public class ContainerControllerTest {
               System.out.println("PDF saved to: " + file.toAbsolutePath());
             });
   }
+
+  @Test
+  @DisplayName(
+      "label data comes from the confirmed order only, and is empty for unbooked containers")
+  void findLabelDocument_usesConfirmedOrder() {
+    ContainerLabelDocument booked =
+        containerRepository
+            .findLabelDocument(savedContainer.getId(), OrderStatus.CONFIRMED, Limit.of(1))
+            .orElseThrow();
+    assertEquals("VOY-ACTIVE", booked.voyageNumber());
+    assertEquals("MV Active", booked.vesselName());
+    assertEquals("Jebel Ali", booked.departurePortName());
+
+    Long unbookedId = containerRepository.findByContainerCode("ABCD1234567").orElseThrow().getId();
+    ContainerLabelDocument unbooked =
+        containerRepository
+            .findLabelDocument(unbookedId, OrderStatus.CONFIRMED, Limit.of(1))
+            .orElseThrow();
+    assertEquals("ABCD1234567", unbooked.containerCode());
+    assertNull(unbooked.voyageNumber());
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/containers/import → imports valid rows and reports the rest")
+  void importContainers_reportsRejectedRows() throws Exception {
+    String csv =
+        """
+        containerCode,size,type
+        NEWU0000001,TWENTY_FOOT,DRY
+        NEWU0000002,forty_foot,REEFER
+        TSTU1234567,TWENTY_FOOT,DRY
+        NEWU0000001,FORTY_FOOT,DRY
+        NEWU0000003,FIFTY_FOOT,DRY
+        SHORT,TWENTY_FOOT,
+        """;
+
+    mockMvc
+        .perform(post("/api/v1/containers/import").contentType("text/csv").content(csv))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rowsRead").value(6))
+        .andExpect(jsonPath("$.imported").value(2))
+        .andExpect(jsonPath("$.rejected").value(4))
+        .andExpect(jsonPath("$.errors[0].line").value(4))
+        .andExpect(jsonPath("$.errors[0].messages[0]").value("Container code already exists"))
+        .andExpect(jsonPath("$.errors[1].line").value(5))
+        .andExpect(jsonPath("$.errors[1].messages[0]").value("Duplicate container code in file"))
+        .andExpect(jsonPath("$.errors[2].line").value(6))
+        .andExpect(jsonPath("$.errors[2].messages[0]").value("Invalid size: FIFTY_FOOT"))
+        .andExpect(jsonPath("$.errors[3].line").value(7))
+        .andExpect(jsonPath("$.errors[3].messages", hasSize(2)));
+
+    Container imported = containerRepository.findByContainerCode("NEWU0000002").orElseThrow();
+    assertEquals(ContainerSize.FORTY_FOOT, imported.getSize());
+    assertEquals(2, imported.getTeu());
+    assertEquals(
+        ContainerSize.TWENTY_FOOT,
+        containerRepository.findByContainerCode("NEWU0000001").orElseThrow().getSize());
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/containers/import without required columns → 400 Bad Request")
+  void importContainers_missingColumns_returnsBadRequest() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/containers/import")
+                .contentType("text/csv")
+                .content("containerCode,size\nNEWU0000001,TWENTY_FOOT\n"))
+        .andExpect(status().isBadRequest());
+  }
+
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/containers endpoints stay within their statement budget")
+  void readContainers_withinQueryBudget() throws Exception {
+    QueryBudget.atMost(2)
+        .clearing(entityManager)
+        .run(() -> mockMvc.perform(get("/api/v1/containers")).andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/containers/" + savedContainer.getId()))
+                    .andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/containers/" + savedContainer.getId() + "/label"))
+                    .andExpect(status().isOk()));
+  }
 }
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shipping.freightops.dto.CreateCustomerRequest;
 import com.shipping.freightops.entity.Customer;
 import com.shipping.freightops.repository.CustomerRepository;
+import com.shipping.freightops.support.QueryBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -117,4 +118,50 @@ class CustomerControllerTest {
         .andExpect(jsonPath("$[0].companyName").value("Acme Corp"))
         .andExpect(jsonPath("$[1].companyName").value("Beta Ltd"));
   }
+
+  @Test
+  @DisplayName("POST /api/v1/customers/import → emails are deduplicated case-insensitively")
+  void importCustomers_deduplicatesEmails() throws Exception {
+    customerRepository.save(new Customer("Acme Corp", "John Doe", "john@acme.com"));
+    String csv =
+        """
+        companyName,contactName,email,phone,address
+        Acme Corp,John Doe,JOHN@ACME.COM,,
+        "Globex, Inc.",Jane Roe,jane@globex.com,555-0100,"1 Main St, Springfield"
+        Initech,Bill,not-an-email,,
+        """;
+
+    mockMvc
+        .perform(post("/api/v1/customers/import").contentType("text/csv").content(csv))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(1))
+        .andExpect(jsonPath("$.errors[0].line").value(2))
+        .andExpect(jsonPath("$.errors[0].messages[0]").value("Email already exists"))
+        .andExpect(jsonPath("$.errors[1].line").value(4))
+        .andExpect(jsonPath("$.errors[1].messages[0]").value("Email should be valid"));
+    mockMvc
+        .perform(get("/api/v1/customers"))
+        .andExpect(jsonPath("$[?(@.email == 'jane@globex.com')].companyName").value("Globex, Inc."))
+        .andExpect(
+            jsonPath("$[?(@.email == 'jane@globex.com')].address").value("1 Main St, Springfield"));
+  }
+
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/customers and /{id} stay within their statement budget")
+  void readCustomers_withinQueryBudget() throws Exception {
+    Customer customer =
+        customerRepository.save(new Customer("Acme Corp", "John Doe", "john@acme.com"));
+    customerRepository.save(new Customer("Beta Ltd", "Jane Smith", "jane@beta.com"));
+
+    QueryBudget.atMost(1)
+        .run(() -> mockMvc.perform(get("/api/v1/customers")).andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/customers/" + customer.getId()))
+                    .andExpect(status().isOk()));
+  }
 }
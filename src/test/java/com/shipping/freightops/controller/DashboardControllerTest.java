@@ -0,0 +1,124 @@
+package com.shipping.freightops.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class DashboardControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    // rollup rows in a year no other test books in
+    rollup("TOTAL", "2001-03-01", "ALL", 3, 4, "3000.00");
+    rollup("TOTAL", "2001-03-02", "ALL", 1, 2, "1800.00");
+    rollup("ROUTE", "2001-03-01", "ZZDBA-ZZDBB", 2, 2, "1200.00");
+    rollup("ROUTE", "2001-03-02", "ZZDBA-ZZDBB", 1, 2, "1800.00");
+    rollup("ROUTE", "2001-03-01", "ZZDBC-ZZDBD", 1, 2, "1800.00");
+    rollup("ROUTE", "2001-04-01", "ZZDBC-ZZDBD", 9, 9, "9000.00");
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/dashboards/bookings → keys ranked by revenue over the range")
+  void ranksKeysByRevenue() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/dashboards/bookings")
+                .param("dimension", "ROUTE")
+                .param("from", "2001-03-01")
+                .param("to", "2001-03-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].key").value("ZZDBA-ZZDBB"))
+        .andExpect(jsonPath("$[0].bookings").value(3))
+        .andExpect(jsonPath("$[0].teu").value(4))
+        .andExpect(jsonPath("$[0].revenue").value(3000.00))
+        .andExpect(jsonPath("$[1].key").value("ZZDBC-ZZDBD"))
+        .andExpect(jsonPath("$[1].revenue").value(1800.00));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/dashboards/bookings/daily → one entry per day with bookings")
+  void listsDailyFigures() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/dashboards/bookings/daily")
+                .param("from", "2001-03-01")
+                .param("to", "2001-03-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].date").value("2001-03-01"))
+        .andExpect(jsonPath("$[0].bookings").value(3))
+        .andExpect(jsonPath("$[1].date").value("2001-03-02"))
+        .andExpect(jsonPath("$[1].revenue").value(1800.00));
+
+    mockMvc
+        .perform(
+            get("/api/v1/dashboards/bookings/daily")
+                .param("dimension", "ROUTE")
+                .param("key", "ZZDBC-ZZDBD")
+                .param("from", "2001-03-01")
+                .param("to", "2001-04-30"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[1].date").value("2001-04-01"))
+        .andExpect(jsonPath("$[1].bookings").value(9));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/dashboards/bookings with an inverted or too long range → 400")
+  void rejectsInvalidRanges() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/dashboards/bookings")
+                .param("dimension", "AGENT")
+                .param("from", "2001-03-02")
+                .param("to", "2001-03-01"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            get("/api/v1/dashboards/bookings/daily")
+                .param("from", "2001-01-01")
+                .param("to", "2003-01-01"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            get("/api/v1/dashboards/bookings/daily")
+                .param("dimension", "CUSTOMER")
+                .param("from", "2001-03-01")
+                .param("to", "2001-03-02"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private void rollup(
+      String dimension, String date, String key, long bookings, long teu, String revenue) {
+    jdbcTemplate.update(
+        "INSERT INTO booking_daily_rollup "
+            + "(dimension, booking_date, dimension_key, bookings, teu, revenue) "
+            + "VALUES (?, ?, ?, ?, ?, ?)",
+        dimension,
+        LocalDate.parse(date),
+        key,
+        bookings,
+        teu,
+        new BigDecimal(revenue));
+  }
+}
@@ -0,0 +1,230 @@
+package com.shipping.freightops.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.shipping.freightops.entity.Agent;
+import com.shipping.freightops.entity.Container;
+import com.shipping.freightops.entity.Customer;
+import com.shipping.freightops.entity.FreightOrder;
+import com.shipping.freightops.entity.Port;
+import com.shipping.freightops.entity.Vessel;
+import com.shipping.freightops.entity.VesselOwner;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.entity.VoyageCost;
+import com.shipping.freightops.enums.AgentType;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.AgentRepository;
+import com.shipping.freightops.repository.ContainerRepository;
+import com.shipping.freightops.repository.CustomerRepository;
+import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.repository.PortRepository;
+import com.shipping.freightops.repository.VesselOwnerRepository;
+import com.shipping.freightops.repository.VesselRepository;
+import com.shipping.freightops.repository.VoyageCostRepository;
+import com.shipping.freightops.repository.VoyageRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class FinancialReportControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PortRepository portRepository;
+  @Autowired private VesselRepository vesselRepository;
+  @Autowired private VesselOwnerRepository vesselOwnerRepository;
+  @Autowired private VoyageRepository voyageRepository;
+  @Autowired private VoyageCostRepository voyageCostRepository;
+  @Autowired private ContainerRepository containerRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private AgentRepository agentRepository;
+  @Autowired private FreightOrderRepository orderRepository;
+  @Autowired private EntityManager entityManager;
+
+  private Port departure;
+  private Port arrival;
+  private Vessel vessel;
+  private Container container;
+  private Customer customer;
+  private Agent agent;
+
+  @BeforeEach
+  void setUp() {
+    departure = portRepository.save(new Port("ZZFRA", "Report A", "Reportland"));
+    arrival = portRepository.save(new Port("ZZFRB", "Report B", "Reportland"));
+    vessel = vesselRepository.save(new Vessel("MV Report", "7770001", 100));
+    owner("Report Alpha", 60);
+    owner("Report Beta", 40);
+    container =
+        containerRepository.save(
+            new Container("FRPU0000001", ContainerSize.TWENTY_FOOT, ContainerType.DRY));
+    customer = customerRepository.save(new Customer("Report Co", "Contact", "report@test.com"));
+    agent = new Agent();
+    agent.setName("Report Agent");
+    agent.setEmail("report-agent@test.com");
+    agent.setCommissionPercent(BigDecimal.TWO);
+    agent.setType(AgentType.INTERNAL);
+    agentRepository.save(agent);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/reports/voyage-financials → one line per voyage completed in range")
+  void voyageFinancials_ndjson() throws Exception {
+    Voyage snapshotted = voyage("FR-001");
+    delivered(snapshotted, 100000);
+    delivered(snapshotted, 150000);
+    cost(snapshotted, 180000);
+    // completed through the API, so its figures and split are taken from its snapshot
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", snapshotted.getId(), "COMPLETED"))
+        .andExpect(status().isOk());
+    snapshotted.setCompletedAt(LocalDateTime.of(2002, 3, 10, 12, 0));
+    // shares changed after completion only apply to voyages without a snapshot
+    List<VesselOwner> owners = vesselOwnerRepository.findByVesselId(vessel.getId());
+    owners.forEach(owner -> owner.setSharePercent(BigDecimal.valueOf(50)));
+
+    Voyage summed = voyage("FR-002");
+    delivered(summed, 1000);
+    cost(summed, 200);
+    complete(summed, LocalDateTime.of(2002, 3, 20, 8, 0));
+    complete(voyage("FR-003"), LocalDateTime.of(2002, 4, 1, 0, 0));
+    // the report reads with plain SQL
+    entityManager.flush();
+
+    String body =
+        mockMvc
+            .perform(
+                get("/api/v1/reports/voyage-financials")
+                    .param("from", "2002-03-01")
+                    .param("to", "2002-03-31"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(JsonPath.<String>read(lines[0], "$.voyageNumber")).isEqualTo("FR-001");
+    assertThat(JsonPath.<Number>read(lines[0], "$.netProfitUsd").doubleValue()).isEqualTo(70000);
+    assertThat(JsonPath.<Number>read(lines[0], "$.owners[0].profitShareUsd").doubleValue())
+        .isEqualTo(42000);
+    assertThat(JsonPath.<String>read(lines[1], "$.voyageNumber")).isEqualTo("FR-002");
+    assertThat(JsonPath.<Number>read(lines[1], "$.orderCount").intValue()).isEqualTo(1);
+    assertThat(JsonPath.<Number>read(lines[1], "$.netProfitUsd").doubleValue()).isEqualTo(800);
+    assertThat(JsonPath.<Number>read(lines[1], "$.owners[1].profitShareUsd").doubleValue())
+        .isEqualTo(400);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/reports/voyage-financials?format=CSV → one line per voyage and owner")
+  void voyageFinancials_csv() throws Exception {
+    Voyage voyage = voyage("FR-004");
+    delivered(voyage, 1000);
+    complete(voyage, LocalDateTime.of(2002, 5, 2, 9, 30));
+    entityManager.flush();
+
+    String body =
+        mockMvc
+            .perform(
+                get("/api/v1/reports/voyage-financials")
+                    .param("from", "2002-05-01")
+                    .param("to", "2002-05-31")
+                    .param("format", "CSV"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    String[] lines = body.split("\r\n");
+    assertThat(lines).hasSize(3);
+    assertThat(lines[0]).startsWith("voyageId,voyageNumber,vesselName,completedAt,");
+    assertThat(lines[1])
+        .isEqualTo(
+            voyage.getId()
+                + ",FR-004,MV Report,2002-05-02T09:30,1,1000.00,0.00,1000.00,Report Alpha,60.00,"
+                + "600.00,0.00,600.00");
+    assertThat(lines[2]).contains(",Report Beta,40.00,400.00,0.00,400.00");
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/reports/voyage-financials → 400 when the range ends before it starts")
+  void voyageFinancials_invalidRange() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/reports/voyage-financials")
+                .param("from", "2002-05-31")
+                .param("to", "2002-05-01"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private Voyage voyage(String number) {
+    Voyage voyage = new Voyage();
+    voyage.setVoyageNumber(number);
+    voyage.setVessel(vessel);
+    voyage.setDeparturePort(departure);
+    voyage.setArrivalPort(arrival);
+    voyage.setDepartureTime(LocalDateTime.of(2002, 1, 1, 0, 0));
+    voyage.setArrivalTime(LocalDateTime.of(2002, 1, 20, 0, 0));
+    voyage.setMaxCapacityTeu(100);
+    voyage.setBookingOpen(false);
+    return voyageRepository.save(voyage);
+  }
+
+  private void complete(Voyage voyage, LocalDateTime completedAt) {
+    voyage.setStatus(VoyageStatus.COMPLETED);
+    voyage.setCompletedAt(completedAt);
+    voyageRepository.save(voyage);
+  }
+
+  private void delivered(Voyage voyage, long finalPrice) {
+    FreightOrder order = new FreightOrder();
+    order.setVoyage(voyage);
+    order.setContainer(container);
+    order.setCustomer(customer);
+    order.setAgent(agent);
+    order.setOrderedBy("report-test");
+    order.setBasePriceUsd(BigDecimal.valueOf(finalPrice));
+    order.setDiscountPercent(BigDecimal.ZERO);
+    order.setFinalPrice(BigDecimal.valueOf(finalPrice));
+    order.setStatus(OrderStatus.DELIVERED);
+    orderRepository.save(order);
+  }
+
+  private void cost(Voyage voyage, long amount) {
+    VoyageCost cost = new VoyageCost();
+    cost.setVoyage(voyage);
+    cost.setDescription("Fuel");
+    cost.setAmountUsd(BigDecimal.valueOf(amount));
+    voyageCostRepository.save(cost);
+  }
+
+  private void owner(String name, int sharePercent) {
+    VesselOwner owner = new VesselOwner();
+    owner.setVessel(vessel);
+    owner.setOwnerName(name);
+    owner.setOwnerEmail(name.toLowerCase().replace(' ', '-') + "@owners.com");
+    owner.setSharePercent(BigDecimal.valueOf(sharePercent));
+    vesselOwnerRepository.save(owner);
+  }
+}
@@ -1,5 +1,6 @@
 package com.shipping.freightops.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -14,6 +15,8 @@ import com.shipping.freightops.enums.*;
 import com.shipping.freightops.repository.*;
 import com.shipping.freightops.service.FreightOrderService;
 import com.shipping.freightops.service.TrackingEventService;
+import com.shipping.freightops.support.QueryBudget;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import org.hamcrest.CoreMatchers;
@@ -40,6 +43,7 @@ import org.springframework.transaction.annotation.Transactional;
 class FreightOrderControllerTest {
 
   @Autowired private MockMvc mockMvc;
+  @Autowired private EntityManager entityManager;
   @Autowired private ObjectMapper objectMapper;
   @Autowired private PortRepository portRepository;
   @Autowired private VesselRepository vesselRepository;
@@ -50,6 +54,7 @@ class FreightOrderControllerTest {
   @Autowired private VoyagePriceRepository voyagePriceRepository;
   @Autowired private FreightOrderService freightOrderService;
   @Autowired private AgentRepository agentRepository;
+  @Autowired private ArchivedFreightOrderRepository archivedOrderRepository;
 
   private Voyage savedVoyage;
   private Container savedContainer;
@@ -62,6 +67,7 @@ class FreightOrderControllerTest {
   void setUp() {
     // Clear state between tests — children first to respect FK constraints
     freightOrderRepository.deleteAll();
+    archivedOrderRepository.deleteAll();
     agentRepository.deleteAll();
     voyagePriceRepository.deleteAll();
     voyageRepository.deleteAll();
@@ -288,6 +294,97 @@ class FreightOrderControllerTest {
         .andExpect(jsonPath("$.totalPages").value(1));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/freight-orders?count=NONE → 200 OK with hasNext and no totals")
+  void listOrders_countNone_returnsSliceWithoutTotals() throws Exception {
+    int totalOrders = 5;
+
+    for (int i = 1; i < totalOrders; i++) {
+      CreateFreightOrderRequest request = new CreateFreightOrderRequest();
+      request.setVoyageId(savedVoyage.getId());
+      request.setContainerId(savedContainer.getId());
+      request.setCustomerId(savedCustomer.getId());
+      request.setAgentId(savedAgent.getId());
+      request.setOrderedBy("user-" + i);
+
+      freightOrderService.createOrder(request);
+    }
+    mockMvc
+        .perform(
+            get("/api/v1/freight-orders")
+                .param("count", "NONE")
+                .param("page", "0")
+                .param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.page").value(0))
+        .andExpect(jsonPath("$.size").value(2))
+        .andExpect(jsonPath("$.hasNext").value(true))
+        .andExpect(jsonPath("$.countMode").value("NONE"))
+        .andExpect(jsonPath("$.totalElements").doesNotExist())
+        .andExpect(jsonPath("$.totalPages").doesNotExist());
+
+    mockMvc
+        .perform(
+            get("/api/v1/freight-orders")
+                .param("count", "NONE")
+                .param("page", "2")
+                .param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.hasNext").value(false));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/freight-orders?count=ESTIMATED → last page reports the exact total")
+  void listOrders_countEstimated_lastPageHasExactTotal() throws Exception {
+    int totalOrders = 5;
+
+    for (int i = 1; i < totalOrders; i++) {
+      CreateFreightOrderRequest request = new CreateFreightOrderRequest();
+      request.setVoyageId(savedVoyage.getId());
+      request.setContainerId(savedContainer.getId());
+      request.setCustomerId(savedCustomer.getId());
+      request.setAgentId(savedAgent.getId());
+      request.setOrderedBy("user-" + i);
+
+      freightOrderService.createOrder(request);
+    }
+    mockMvc
+        .perform(
+            get("/api/v1/freight-orders")
+                .param("voyageId", String.valueOf(savedVoyage.getId()))
+                .param("count", "ESTIMATED")
+                .param("page", "1")
+                .param("size", "3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(2))
+        .andExpect(jsonPath("$.hasNext").value(false))
+        .andExpect(jsonPath("$.countMode").value("ESTIMATED"))
+        .andExpect(jsonPath("$.totalElements").value(totalOrders))
+        .andExpect(jsonPath("$.totalPages").value(2));
+  }
+
+  @Test
+  @DisplayName(
+      "GET /api/v1/freight-orders?count=ESTIMATED → a page past the end has no exact total")
+  void listOrders_countEstimated_outOfRangePageHasNoExactTotal() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/freight-orders")
+                .param("voyageId", String.valueOf(savedVoyage.getId()))
+                .param("count", "ESTIMATED")
+                .param("page", "500")
+                .param("size", "20"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(0))
+        .andExpect(jsonPath("$.hasNext").value(false))
+        .andExpect(jsonPath("$.countMode").value("ESTIMATED"))
+        // H2 has no estimate, and 500 * 20 rows were never seen
+        .andExpect(jsonPath("$.totalElements").doesNotExist())
+        .andExpect(jsonPath("$.totalPages").doesNotExist());
+  }
+
   @Test
   @DisplayName("PATCH /api/v1/freight-orders/{id}/discount → 200 OK")
   void updateDiscount_returnsUpdatedOrder() throws Exception {
@@ -501,4 +598,215 @@ class FreightOrderControllerTest {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$").isArray());
   }
+
+  // ── EXPORT ──
+
+  @Test
+  @DisplayName("GET /api/v1/freight-orders/export → one JSON object per line")
+  void exportOrders_ndjson() throws Exception {
+    FreightOrder copy = new FreightOrder();
+    copy.setVoyage(savedVoyage);
+    copy.setContainer(savedContainer);
+    copy.setCustomer(savedCustomer);
+    copy.setAgent(savedAgent);
+    copy.setOrderedBy("ops");
+    copy.setBasePriceUsd(BigDecimal.valueOf(900));
+    copy.setFinalPrice(BigDecimal.valueOf(900));
+    freightOrderRepository.save(copy);
+
+    String body =
+        mockMvc
+            .perform(get("/api/v1/freight-orders/export"))
+            .andExpect(status().isOk())
+            .andExpect(
+                MockMvcResultMatchers.content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(
+                MockMvcResultMatchers.header()
+                    .string(
+                        "Content-Disposition",
+                        CoreMatchers.containsString("freight-orders.ndjson")))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(JsonPath.<Number>read(lines[0], "$.id").longValue()).isEqualTo(freightOrderId);
+    assertThat(JsonPath.<String>read(lines[0], "$.voyageNumber")).isEqualTo("VOY-001");
+    assertThat(JsonPath.<String>read(lines[1], "$.orderedBy")).isEqualTo("ops");
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/freight-orders/export?format=CSV → header row and quoted fields")
+  void exportOrders_csv() throws Exception {
+    FreightOrder order = freightOrderRepository.findById(freightOrderId).orElseThrow();
+    order.setNotes("fragile, \"handle\" with care");
+    freightOrderRepository.save(order);
+
+    String body =
+        mockMvc
+            .perform(get("/api/v1/freight-orders/export").param("format", "CSV"))
+            .andExpect(status().isOk())
+            .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("text/csv"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    String[] lines = body.split("\r\n");
+    assertThat(lines).hasSize(2);
+    assertThat(lines[0]).startsWith("id,voyageNumber,containerCode,");
+    assertThat(lines[1])
+        .startsWith(freightOrderId + ",VOY-001,TSTU1234567,TWENTY_FOOT,DRY,")
+        .contains(",115.00,2.00,126.00,random,\"fragile, \"\"handle\"\" with care\",");
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/freight-orders/export filters by voyage and creation time")
+  void exportOrders_filters() throws Exception {
+    LocalDateTime now = LocalDateTime.now();
+
+    mockMvc
+        .perform(
+            get("/api/v1/freight-orders/export")
+                .param("voyageId", savedVoyage.getId().toString())
+                .param("from", now.minusDays(1).toString())
+                .param("to", now.plusDays(1).toString()))
+        .andExpect(status().isOk())
+        .andExpect(MockMvcResultMatchers.content().string(CoreMatchers.containsString("VOY-001")));
+    mockMvc
+        .perform(
+            get("/api/v1/freight-orders/export")
+                .param("voyageId", String.valueOf(savedVoyage.getId() + 1)))
+        .andExpect(status().isOk())
+        .andExpect(MockMvcResultMatchers.content().string(""));
+    mockMvc
+        .perform(get("/api/v1/freight-orders/export").param("from", now.plusDays(1).toString()))
+        .andExpect(status().isOk())
+        .andExpect(MockMvcResultMatchers.content().string(""));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/freight-orders/export includes archived orders in id order")
+  void exportOrders_includesArchivedOrders() throws Exception {
+    ArchivedFreightOrder archived = new ArchivedFreightOrder();
+    archived.setId(freightOrderId + 1000);
+    archived.setVoyageId(savedVoyage.getId());
+    archived.setVoyageNumber("VOY-OLD");
+    archived.setContainerId(savedContainer.getId());
+    archived.setContainerCode("TSTU1234567");
+    archived.setContainerSize(ContainerSize.TWENTY_FOOT);
+    archived.setContainerType(ContainerType.DRY);
+    archived.setAgentId(savedAgent.getId());
+    archived.setCustomerId(savedCustomer.getId());
+    archived.setOrderedBy("archive");
+    archived.setStatus(OrderStatus.DELIVERED);
+    archived.setBasePriceUsd(BigDecimal.valueOf(700));
+    archived.setDiscountPercent(BigDecimal.ZERO);
+    archived.setFinalPrice(BigDecimal.valueOf(700));
+    archived.setCreatedAt(LocalDateTime.now().minusYears(1));
+    archived.setUpdatedAt(archived.getCreatedAt());
+    archived.setArchivedAt(LocalDateTime.now());
+    archivedOrderRepository.save(archived);
+    FreightOrder later = new FreightOrder();
+    later.setVoyage(savedVoyage);
+    later.setContainer(savedContainer);
+    later.setCustomer(savedCustomer);
+    later.setAgent(savedAgent);
+    later.setOrderedBy("ops");
+    later.setBasePriceUsd(BigDecimal.valueOf(900));
+    later.setFinalPrice(BigDecimal.valueOf(900));
+    freightOrderRepository.save(later);
+
+    String[] lines =
+        mockMvc
+            .perform(
+                get("/api/v1/freight-orders/export")
+                    .param("voyageId", savedVoyage.getId().toString()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString()
+            .split("\n");
+
+    assertThat(lines).hasSize(3);
+    assertThat(JsonPath.<Number>read(lines[1], "$.id").longValue()).isEqualTo(later.getId());
+    assertThat(JsonPath.<Number>read(lines[2], "$.id").longValue()).isEqualTo(archived.getId());
+    assertThat(JsonPath.<String>read(lines[2], "$.voyageNumber")).isEqualTo("VOY-OLD");
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/freight-orders/export with from after to → 400")
+  void exportOrders_invalidRange_returnsBadRequest() throws Exception {
+    LocalDateTime now = LocalDateTime.now();
+    mockMvc
+        .perform(
+            get("/api/v1/freight-orders/export")
+                .param("from", now.toString())
+                .param("to", now.minusDays(1).toString()))
+        .andExpect(status().isBadRequest());
+  }
+
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/freight-orders endpoints stay within their statement budget")
+  void readOrders_withinQueryBudget() throws Exception {
+    FreightOrder order = freightOrderRepository.findById(freightOrderId).orElseThrow();
+    for (String description : new String[] {"Gate in", "Loaded", "Discharged"}) {
+      trackingEventService.createEvent(
+          new TrackingEvent(order, EventType.NOTE, description, "Jebel Ali", "ops", null));
+    }
+
+    QueryBudget.atMost(1)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/freight-orders/{id}", freightOrderId))
+                    .andExpect(status().isOk()));
+    QueryBudget.atMost(2)
+        .clearing(entityManager)
+        .run(() -> mockMvc.perform(get("/api/v1/freight-orders")).andExpect(status().isOk()));
+    QueryBudget.atMost(2)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/freight-orders/{id}/events", freightOrderId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3)));
+    // live and archived cursors
+    QueryBudget.atMost(2)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/freight-orders/export").param("format", "CSV"))
+                    .andExpect(status().isOk()));
+  }
+
+  @Test
+  @DisplayName("POST /api/v1/freight-orders stays within its statement budget")
+  void createOrder_withinQueryBudget() throws Exception {
+    CreateFreightOrderRequest request = new CreateFreightOrderRequest();
+    request.setVoyageId(savedVoyage.getId());
+    request.setContainerId(savedContainer.getId());
+    request.setCustomerId(savedCustomer.getId());
+    request.setAgentId(savedAgent.getId());
+    request.setOrderedBy("ops-team");
+
+    // locked voyage, container, agent, customer, price, booked TEU, insert and change log, P&L
+    // (built from the orders: the fixture voyage was saved without one), tracking event and change
+    // log, outbox event
+    QueryBudget.atMost(16)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(
+                        post("/api/v1/freight-orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated()));
+  }
 }
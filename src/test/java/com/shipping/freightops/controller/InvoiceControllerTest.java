@@ -29,6 +29,7 @@ import com.shipping.freightops.repository.PortRepository;
 import com.shipping.freightops.repository.VesselRepository;
 import com.shipping.freightops.repository.VoyagePriceRepository;
 import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.support.QueryBudget;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -151,4 +152,18 @@ class InvoiceControllerTest {
                   "PDF must contain QR tracking label");
             });
   }
+
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/invoices/{orderId} loads the order in one query and stores the number")
+  void generateInvoice_withinQueryBudget() throws Exception {
+    QueryBudget.atMost(2)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/invoices/{id}", deliveredOrderId))
+                    .andExpect(status().isOk()));
+  }
 }
@@ -14,6 +14,7 @@ import com.shipping.freightops.repository.FreightOrderRepository;
 import com.shipping.freightops.repository.PortRepository;
 import com.shipping.freightops.repository.VoyagePriceRepository;
 import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.support.QueryBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -96,4 +97,36 @@ class PortControllerTest {
                 .content(objectMapper.writeValueAsString(request)))
         .andExpect(status().isConflict());
   }
+
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("POST /api/v1/ports/import → skips unlocodes that already exist")
+  void importPorts_skipsExisting() throws Exception {
+    portRepository.save(new Port("AEJEA", "Jebel Ali", "UAE"));
+    String csv = "unlocode,name,country\nAEJEA,Jebel Ali,UAE\nNLRTM,Rotterdam,Netherlands\n";
+
+    mockMvc
+        .perform(post("/api/v1/ports/import").contentType("text/csv").content(csv))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(1))
+        .andExpect(jsonPath("$.errors[0].key").value("AEJEA"))
+        .andExpect(jsonPath("$.errors[0].messages[0]").value("Unlocode already exists"));
+    mockMvc
+        .perform(get("/api/v1/ports"))
+        .andExpect(jsonPath("$[?(@.unlocode == 'NLRTM')].name").value("Rotterdam"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/ports and /{id} stay within their statement budget")
+  void readPorts_withinQueryBudget() throws Exception {
+    Port port = portRepository.save(new Port("AEJEA", "Jebel Ali", "UAE"));
+    portRepository.save(new Port("CNSHA", "Shanghai", "China"));
+
+    QueryBudget.atMost(1)
+        .run(() -> mockMvc.perform(get("/api/v1/ports")).andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .run(
+            () -> mockMvc.perform(get("/api/v1/ports/" + port.getId())).andExpect(status().isOk()));
+  }
 }
@@ -1,5 +1,6 @@
 package com.shipping.freightops.controller;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -9,9 +10,14 @@ import com.shipping.freightops.entity.*;
 import com.shipping.freightops.enums.AgentType;
 import com.shipping.freightops.enums.ContainerSize;
 import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.EventType;
 import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.exception.BadRequestException;
 import com.shipping.freightops.repository.*;
 import com.shipping.freightops.service.FreightOrderService;
+import com.shipping.freightops.service.TrackingEventService;
+import com.shipping.freightops.support.QueryBudget;
+import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +35,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class TrackingControllerTest {
 
   @Autowired private MockMvc mockMvc;
+  @Autowired private EntityManager entityManager;
   @Autowired private PortRepository portRepository;
   @Autowired private VesselRepository vesselRepository;
   @Autowired private VoyageRepository voyageRepository;
@@ -38,6 +45,8 @@ public class TrackingControllerTest {
   @Autowired private FreightOrderRepository freightOrderRepository;
   @Autowired private VoyagePriceRepository voyagePriceRepository;
   @Autowired private FreightOrderService freightOrderService;
+  @Autowired private TrackingEventRepository trackingEventRepository;
+  @Autowired private TrackingEventService trackingEventService;
 
   private Long orderId;
   private Long orderId2;
@@ -215,4 +224,65 @@ public class TrackingControllerTest {
         .andExpect(jsonPath("$.containerCode").value("TSTU1234567"))
         .andExpect(jsonPath("$.events").isArray());
   }
+
+  @Test
+  @DisplayName("GET /api/v1/track/order/{orderId} - events without event time are listed")
+  void testTrackOrder_eventTimeDefaultsToCreation() throws Exception {
+    FreightOrder order = freightOrderRepository.findById(orderId).orElseThrow();
+    TrackingEvent event = new TrackingEvent();
+    event.setFreightOrder(order);
+    event.setEventType(EventType.GATE_IN);
+    event.setDescription("Gate in");
+    trackingEventRepository.saveAndFlush(event);
+
+    mockMvc
+        .perform(get("/api/v1/track/order/" + orderId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.events.length()").value(1))
+        .andExpect(jsonPath("$.events[0].description").value("Gate in"))
+        .andExpect(jsonPath("$.events[0].eventTime").isNotEmpty());
+  }
+
+  @Test
+  @DisplayName("an event timed before its order is rejected rather than hidden from the history")
+  void createEvent_beforeOrderCreation_isRejected() {
+    FreightOrder order = freightOrderRepository.findById(orderId).orElseThrow();
+    TrackingEvent event = new TrackingEvent();
+    event.setFreightOrder(order);
+    event.setEventType(EventType.GATE_IN);
+    event.setDescription("Migrated gate in");
+    event.setEventTime(order.getCreatedAt().minusMonths(2));
+
+    assertThatThrownBy(() -> trackingEventService.createEvent(event))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/track endpoints stay within their statement budget")
+  void tracking_withinQueryBudget() throws Exception {
+    FreightOrder order = freightOrderRepository.findById(orderId2).orElseThrow();
+    trackingEventRepository.save(
+        new TrackingEvent(order, EventType.GATE_IN, "Gate in", "Jebel Ali", "ops", null));
+    trackingEventRepository.save(
+        new TrackingEvent(order, EventType.LOADED, "Loaded", "Jebel Ali", "ops", null));
+
+    QueryBudget.atMost(2)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/track/order/" + orderId2))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.vesselName").value("MV Test 2"))
+                    .andExpect(jsonPath("$.events.length()").value(3)));
+    QueryBudget.atMost(3)
+        .clearing(entityManager)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/track/container/CONT-001"))
+                    .andExpect(status().isOk()));
+  }
 }
@@ -11,6 +11,7 @@ import com.shipping.freightops.entity.Vessel;
 import com.shipping.freightops.repository.VesselRepository;
 import com.shipping.freightops.repository.VoyagePriceRepository;
 import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.support.QueryBudget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -125,4 +126,21 @@ public class VesselControllerTest {
         .andExpect(jsonPath("$[0].id").exists())
         .andExpect(jsonPath("$[0].id").isNotEmpty());
   }
+
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/vessels and /{id} stay within their statement budget")
+  void readVessels_withinQueryBudget() throws Exception {
+    vesselRepository.save(new Vessel("MV Budget", "9111111", 2000));
+
+    QueryBudget.atMost(1)
+        .run(() -> mockMvc.perform(get("/api/v1/vessels")).andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/vessels/" + savedVessel.getId()))
+                    .andExpect(status().isOk()));
+  }
 }
@@ -14,6 +14,7 @@ import com.shipping.freightops.repository.VesselOwnerRepository;
 import com.shipping.freightops.repository.VesselRepository;
 import com.shipping.freightops.repository.VoyagePriceRepository;
 import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.support.QueryBudget;
 import java.math.BigDecimal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -194,6 +195,24 @@ class VesselOwnerControllerTest {
         .andExpect(status().isNotFound());
   }
 
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/vessels/{vesselId}/owners stays within its statement budget")
+  void listOwners_withinQueryBudget() throws Exception {
+    addOwnerDirectly(savedVessel, "Alice Corp", "alice@corp.com", new BigDecimal("40.00"));
+    addOwnerDirectly(savedVessel, "Bob Ltd", "bob@ltd.com", new BigDecimal("35.00"));
+    addOwnerDirectly(savedVessel, "Carol SA", "carol@sa.com", new BigDecimal("25.00"));
+
+    QueryBudget.atMost(2)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/vessels/" + savedVessel.getId() + "/owners"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(3)));
+  }
+
   // ── HELPER ──
 
   private VesselOwner addOwnerDirectly(Vessel vessel, String name, String email, BigDecimal share) {
@@ -0,0 +1,260 @@
+package com.shipping.freightops.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.shipping.freightops.entity.Agent;
+import com.shipping.freightops.entity.Container;
+import com.shipping.freightops.entity.Customer;
+import com.shipping.freightops.entity.FreightOrder;
+import com.shipping.freightops.entity.Port;
+import com.shipping.freightops.entity.Vessel;
+import com.shipping.freightops.entity.VesselOwner;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.enums.AgentType;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.AgentRepository;
+import com.shipping.freightops.repository.ContainerRepository;
+import com.shipping.freightops.repository.CustomerRepository;
+import com.shipping.freightops.repository.FreightOrderRepository;
+import com.shipping.freightops.repository.PortRepository;
+import com.shipping.freightops.repository.VesselOwnerRepository;
+import com.shipping.freightops.repository.VesselRepository;
+import com.shipping.freightops.repository.VoyageRepository;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Owner statements built from the ledger as voyages are completed, costed and reopened. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class VesselOwnerStatementControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private PortRepository portRepository;
+  @Autowired private VesselRepository vesselRepository;
+  @Autowired private VesselOwnerRepository vesselOwnerRepository;
+  @Autowired private VoyageRepository voyageRepository;
+  @Autowired private ContainerRepository containerRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private AgentRepository agentRepository;
+  @Autowired private FreightOrderRepository orderRepository;
+  @Autowired private EntityManager entityManager;
+
+  private Vessel vessel;
+  private VesselOwner alpha;
+  private Voyage first;
+  private Voyage second;
+
+  @BeforeEach
+  void setUp() {
+    Port departure = portRepository.save(new Port("ZZOSA", "Ledger A", "Ledgerland"));
+    Port arrival = portRepository.save(new Port("ZZOSB", "Ledger B", "Ledgerland"));
+    vessel = vesselRepository.save(new Vessel("MV Ledger", "7770003", 100));
+    Container container =
+        containerRepository.save(
+            new Container("OLSU0000001", ContainerSize.TWENTY_FOOT, ContainerType.DRY));
+    Customer customer =
+        customerRepository.save(new Customer("Ledger Co", "Contact", "ledger@test.com"));
+    Agent agent = new Agent();
+    agent.setName("Ledger Agent");
+    agent.setEmail("ledger.agent@agents.com");
+    agent.setCommissionPercent(BigDecimal.TEN);
+    agent.setType(AgentType.INTERNAL);
+    agentRepository.save(agent);
+
+    alpha = owner("Alpha Shipping Ltd", "alpha@owners.com", "60.00");
+    owner("Beta Maritime Co", "beta@owners.com", "40.00");
+
+    first = voyage("OL-001", departure, arrival);
+    second = voyage("OL-002", departure, arrival);
+    order(first, container, customer, agent, "1000.00");
+    order(second, container, customer, agent, "2000.00");
+    // completion reads the totals with plain SQL
+    entityManager.flush();
+  }
+
+  @Test
+  @DisplayName("statement books each voyage at the share held when it was completed")
+  void statement_spansShareChange() throws Exception {
+    complete(first);
+    mockMvc
+        .perform(
+            post("/api/v1/voyages/{voyageId}/costs", first.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\":\"Demurrage\",\"amountUsd\":100.00}"))
+        .andExpect(status().isCreated());
+
+    // the share changes: the owner is removed and added again at 30%
+    mockMvc
+        .perform(
+            delete("/api/v1/vessels/{vesselId}/owners/{ownerId}", vessel.getId(), alpha.getId()))
+        .andExpect(status().isNoContent());
+    owner("Alpha Shipping Ltd", "alpha@owners.com", "30.00");
+    complete(second);
+
+    mockMvc
+        .perform(statement("ALPHA@owners.com"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.ownerName").value("Alpha Shipping Ltd"))
+        .andExpect(jsonPath("$.entries", hasSize(3)))
+        .andExpect(jsonPath("$.entries[0].voyageNumber").value("OL-001"))
+        .andExpect(jsonPath("$.entries[0].entryType").value("COMPLETION"))
+        .andExpect(jsonPath("$.entries[0].sharePercent").value(60.00))
+        .andExpect(jsonPath("$.entries[0].revenueUsd").value(600.00))
+        .andExpect(jsonPath("$.entries[1].entryType").value("LATE_COST"))
+        .andExpect(jsonPath("$.entries[1].sharePercent").value(60.00))
+        .andExpect(jsonPath("$.entries[1].revenueUsd").value(0))
+        .andExpect(jsonPath("$.entries[1].costsUsd").value(60.00))
+        .andExpect(jsonPath("$.entries[1].profitUsd").value(-60.00))
+        .andExpect(jsonPath("$.entries[2].voyageNumber").value("OL-002"))
+        .andExpect(jsonPath("$.entries[2].sharePercent").value(30.00))
+        .andExpect(jsonPath("$.entries[2].revenueUsd").value(600.00))
+        .andExpect(jsonPath("$.revenueUsd").value(1200.00))
+        .andExpect(jsonPath("$.costsUsd").value(60.00))
+        .andExpect(jsonPath("$.profitUsd").value(1140.00));
+
+    mockMvc
+        .perform(statement("beta@owners.com"))
+        .andExpect(jsonPath("$.entries", hasSize(3)))
+        .andExpect(jsonPath("$.revenueUsd").value(1200.00))
+        .andExpect(jsonPath("$.costsUsd").value(40.00));
+  }
+
+  @Test
+  @DisplayName("a credit note on a completed voyage books the change of revenue and profit")
+  void statement_booksCreditNote() throws Exception {
+    complete(first);
+    Long orderId =
+        orderRepository
+            .findByVoyageIdAndStatus(first.getId(), OrderStatus.DELIVERED)
+            .get(0)
+            .getId();
+    mockMvc
+        .perform(
+            patch("/api/v1/freight-orders/{id}/discount", orderId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"discountPercent\":10,\"reason\":\"Damaged cargo\"}"))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(statement("alpha@owners.com"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.entries", hasSize(2)))
+        .andExpect(jsonPath("$.entries[1].entryType").value("CREDIT_NOTE"))
+        .andExpect(jsonPath("$.entries[1].revenueUsd").value(-60.00))
+        .andExpect(jsonPath("$.entries[1].costsUsd").value(0))
+        .andExpect(jsonPath("$.entries[1].profitUsd").value(-60.00))
+        .andExpect(jsonPath("$.revenueUsd").value(540.00))
+        .andExpect(jsonPath("$.profitUsd").value(540.00));
+  }
+
+  @Test
+  @DisplayName("reopening a voyage reverses what its owners were credited")
+  void statement_reversesReopenedVoyage() throws Exception {
+    complete(first);
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", first.getId(), "IN_PROGRESS"))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(statement("alpha@owners.com"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.entries", hasSize(2)))
+        .andExpect(jsonPath("$.entries[1].entryType").value("REOPENING"))
+        .andExpect(jsonPath("$.entries[1].revenueUsd").value(-600.00))
+        .andExpect(jsonPath("$.revenueUsd").value(0))
+        .andExpect(jsonPath("$.profitUsd").value(0));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/vessels/{vesselId}/owners/statement → 400 for an invalid quarter")
+  void statement_invalidQuarter_returnsBadRequest() throws Exception {
+    mockMvc
+        .perform(
+            get("/api/v1/vessels/{vesselId}/owners/statement", vessel.getId())
+                .param("ownerEmail", "alpha@owners.com")
+                .param("year", "2025")
+                .param("quarter", "5"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            get("/api/v1/vessels/{vesselId}/owners/statement", 999999L)
+                .param("ownerEmail", "alpha@owners.com")
+                .param("year", "2025")
+                .param("quarter", "1"))
+        .andExpect(status().isNotFound());
+  }
+
+  private MockHttpServletRequestBuilder statement(String ownerEmail) {
+    LocalDate today = LocalDate.now();
+    return get("/api/v1/vessels/{vesselId}/owners/statement", vessel.getId())
+        .param("ownerEmail", ownerEmail)
+        .param("year", String.valueOf(today.getYear()))
+        .param("quarter", String.valueOf((today.getMonthValue() + 2) / 3));
+  }
+
+  private void complete(Voyage voyage) throws Exception {
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", voyage.getId(), "COMPLETED"))
+        .andExpect(status().isOk());
+  }
+
+  private VesselOwner owner(String name, String email, String sharePercent) {
+    VesselOwner owner = new VesselOwner();
+    owner.setVessel(vessel);
+    owner.setOwnerName(name);
+    owner.setOwnerEmail(email);
+    owner.setSharePercent(new BigDecimal(sharePercent));
+    return vesselOwnerRepository.save(owner);
+  }
+
+  private Voyage voyage(String number, Port departure, Port arrival) {
+    Voyage voyage = new Voyage();
+    voyage.setVoyageNumber(number);
+    voyage.setVessel(vessel);
+    voyage.setDeparturePort(departure);
+    voyage.setArrivalPort(arrival);
+    voyage.setDepartureTime(LocalDateTime.now().minusDays(20));
+    voyage.setArrivalTime(LocalDateTime.now().minusDays(1));
+    voyage.setMaxCapacityTeu(100);
+    voyage.setBookingOpen(false);
+    voyage.setStatus(VoyageStatus.IN_PROGRESS);
+    return voyageRepository.save(voyage);
+  }
+
+  private void order(
+      Voyage voyage, Container container, Customer customer, Agent agent, String finalPrice) {
+    FreightOrder order = new FreightOrder();
+    order.setVoyage(voyage);
+    order.setContainer(container);
+    order.setCustomer(customer);
+    order.setAgent(agent);
+    order.setOrderedBy("ledger-test");
+    order.setBasePriceUsd(new BigDecimal(finalPrice));
+    order.setDiscountPercent(BigDecimal.ZERO);
+    order.setFinalPrice(new BigDecimal(finalPrice));
+    order.setStatus(OrderStatus.DELIVERED);
+    orderRepository.save(order);
+  }
+}
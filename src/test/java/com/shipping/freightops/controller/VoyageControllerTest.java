@@ -1,11 +1,13 @@
 package com.shipping.freightops.controller;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shipping.freightops.dto.BookingStatusUpdateRequest;
+import com.shipping.freightops.dto.CreateFreightOrderRequest;
 import com.shipping.freightops.dto.CreateVoyageRequest;
 import com.shipping.freightops.dto.VoyagePriceRequest;
 import com.shipping.freightops.entity.*;
@@ -13,7 +15,11 @@ import com.shipping.freightops.enums.AgentType;
 import com.shipping.freightops.enums.ContainerSize;
 import com.shipping.freightops.enums.ContainerType;
 import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.enums.VoyageStatus;
 import com.shipping.freightops.repository.*;
+import com.shipping.freightops.service.FleetUtilizationService;
+import com.shipping.freightops.service.VoyagePnlService;
+import com.shipping.freightops.support.QueryBudget;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -41,6 +47,8 @@ public class VoyageControllerTest {
   @Autowired private FreightOrderRepository freightOrderRepository;
   @Autowired private CustomerRepository customerRepository;
   @Autowired private AgentRepository agentRepository;
+  @Autowired private FleetUtilizationService utilizationService;
+  @Autowired private VoyagePnlService pnlService;
 
   private Vessel vessel;
   private Port arrivalPort;
@@ -328,6 +336,35 @@ public class VoyageControllerTest {
         .andExpect(jsonPath("$.totalElements").value(0));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/voyages/{voyageId}/prices?count=NONE → 200 OK without totals")
+  void getVoyagePrices_countNone_omitsTotals() throws Exception {
+    VoyagePrice price1 = new VoyagePrice();
+    price1.setVoyage(voyage);
+    price1.setContainerSize(ContainerSize.TWENTY_FOOT);
+    price1.setBasePriceUsd(BigDecimal.valueOf(1000));
+    voyagePriceRepository.save(price1);
+
+    VoyagePrice price2 = new VoyagePrice();
+    price2.setVoyage(voyage);
+    price2.setContainerSize(ContainerSize.FORTY_FOOT);
+    price2.setBasePriceUsd(BigDecimal.valueOf(1500));
+    voyagePriceRepository.save(price2);
+
+    mockMvc
+        .perform(
+            get("/api/v1/voyages/{id}/prices", voyage.getId())
+                .param("count", "NONE")
+                .param("page", "0")
+                .param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.hasNext").value(true))
+        .andExpect(jsonPath("$.countMode").value("NONE"))
+        .andExpect(jsonPath("$.totalElements").doesNotExist())
+        .andExpect(jsonPath("$.totalPages").doesNotExist());
+  }
+
   @Test
   @DisplayName("GET /api/v1/voyages/{voyageId}/prices → 404 Not Found if voyage does not exist")
   void getVoyagePrices_returnsNotFound() throws Exception {
@@ -437,6 +474,114 @@ public class VoyageControllerTest {
     mockMvc.perform(get("/api/v1/voyages/999999/load")).andExpect(status().isNotFound());
   }
 
+  @Test
+  @DisplayName("GET /voyages/utilization → open voyages' running load in one query, then cached")
+  void getFleetUtilization_groupsOpenVoyages() throws Exception {
+    FreightOrder active = new FreightOrder();
+    active.setVoyage(voyage);
+    active.setContainer(container40);
+    active.setCustomer(customer);
+    active.setOrderedBy("ops");
+    active.setBasePriceUsd(BigDecimal.valueOf(2000));
+    active.setDiscountPercent(BigDecimal.ZERO);
+    active.setFinalPrice(BigDecimal.valueOf(2000));
+    active.setStatus(OrderStatus.CONFIRMED);
+    active.setAgent(agent);
+
+    FreightOrder cancelled = new FreightOrder();
+    cancelled.setVoyage(voyage);
+    cancelled.setContainer(container20);
+    cancelled.setCustomer(customer);
+    cancelled.setOrderedBy("ops");
+    cancelled.setBasePriceUsd(BigDecimal.valueOf(1000));
+    cancelled.setDiscountPercent(BigDecimal.ZERO);
+    cancelled.setFinalPrice(BigDecimal.valueOf(1000));
+    cancelled.setStatus(OrderStatus.CANCELLED);
+    cancelled.setAgent(agent);
+    freightOrderRepository.saveAll(List.of(active, cancelled));
+
+    Voyage completed = new Voyage();
+    completed.setVoyageNumber("E-DONE");
+    completed.setVessel(vessel);
+    completed.setDepartureTime(LocalDateTime.now().minusDays(9));
+    completed.setArrivalTime(LocalDateTime.now().minusDays(2));
+    completed.setDeparturePort(departurePort);
+    completed.setArrivalPort(arrivalPort);
+    completed.setMaxCapacityTeu(4);
+    completed.setStatus(VoyageStatus.COMPLETED);
+    voyageRepository.save(completed);
+    // the orders were written around the services that keep the counters
+    pnlService.reconcile(voyage.getId());
+    utilizationService.invalidate();
+
+    QueryBudget.atMost(1)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/utilization"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].voyageNumber").value("E-228"))
+                    .andExpect(jsonPath("$[0].status").value("PLANNED"))
+                    .andExpect(jsonPath("$[0].maxCapacityTeu").value(4))
+                    .andExpect(jsonPath("$[0].bookedTeu").value(2))
+                    .andExpect(jsonPath("$[0].freeTeu").value(2))
+                    .andExpect(jsonPath("$[0].containerCount").value(1))
+                    .andExpect(jsonPath("$[0].utilizationPercent").value(50.0))
+                    .andExpect(jsonPath("$[0].bookingOpen").value(true)));
+    QueryBudget.atMost(0)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/utilization"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].bookedTeu").value(2)));
+  }
+
+  @Test
+  @DisplayName("GET /voyages/utilization → a booking and a closed booking drop the cached load")
+  void getFleetUtilization_invalidatedByBooking() throws Exception {
+    VoyagePrice price = new VoyagePrice();
+    price.setVoyage(voyage);
+    price.setContainerSize(ContainerSize.TWENTY_FOOT);
+    price.setBasePriceUsd(BigDecimal.valueOf(1000));
+    voyagePriceRepository.save(price);
+    utilizationService.invalidate();
+
+    mockMvc
+        .perform(get("/api/v1/voyages/utilization"))
+        .andExpect(jsonPath("$[0].bookedTeu").value(0));
+
+    CreateFreightOrderRequest booking = new CreateFreightOrderRequest();
+    booking.setVoyageId(voyage.getId());
+    booking.setContainerId(container20.getId());
+    booking.setCustomerId(customer.getId());
+    booking.setAgentId(agent.getId());
+    booking.setOrderedBy("ops");
+    mockMvc
+        .perform(
+            post("/api/v1/freight-orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(booking)))
+        .andExpect(status().isCreated());
+    mockMvc
+        .perform(get("/api/v1/voyages/utilization"))
+        .andExpect(jsonPath("$[0].bookedTeu").value(1))
+        .andExpect(jsonPath("$[0].freeTeu").value(3));
+
+    BookingStatusUpdateRequest closing = new BookingStatusUpdateRequest();
+    closing.setBookingOpen(false);
+    mockMvc
+        .perform(
+            patch("/api/v1/voyages/{id}/booking-status", voyage.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(closing)))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(get("/api/v1/voyages/utilization"))
+        .andExpect(jsonPath("$[0].bookingOpen").value(false));
+  }
+
   @Test
   @DisplayName("PATCH /booking-status → closes booking")
   void updateBookingStatus_closeBooking() throws Exception {
@@ -537,6 +682,14 @@ public class VoyageControllerTest {
         .andExpect(jsonPath("$.totalElements").value(0));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/voyages/{voyageId}/containers?count=NONE → 404 Not Found")
+  void getContainersByVoyageId_countNone_returnsNotFound() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/voyages/{voyageId}/containers", 99999L).param("count", "NONE"))
+        .andExpect(status().isNotFound());
+  }
+
   @Test
   @DisplayName("GET /api/v1/voyages/{voyageId}/containers → 404 Not Found")
   void getContainersByVoyageId_returnsNotFound() throws Exception {
@@ -547,4 +700,154 @@ public class VoyageControllerTest {
                 .param("size", "20"))
         .andExpect(status().isNotFound());
   }
+
+  // ── QUERY BUDGETS ──
+
+  @Test
+  @DisplayName("GET /api/v1/voyages endpoints stay within their statement budget")
+  void readVoyages_withinQueryBudget() throws Exception {
+    freightOrderRepository.saveAll(
+        List.of(
+            budgetOrder(container20, OrderStatus.PENDING),
+            budgetOrder(container40, OrderStatus.CONFIRMED)));
+
+    QueryBudget.atMost(1)
+        .run(() -> mockMvc.perform(get("/api/v1/voyages")).andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages").param("status", "PLANNED"))
+                    .andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/" + voyage.getId()))
+                    .andExpect(status().isOk()));
+    QueryBudget.atMost(2)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/{id}/containers", voyage.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(2)));
+    QueryBudget.atMost(2)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/{id}/prices", voyage.getId()))
+                    .andExpect(status().isOk()));
+    QueryBudget.atMost(2)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/" + voyage.getId() + "/load"))
+                    .andExpect(status().isOk()));
+  }
+
+  @Test
+  @DisplayName("voyage writes load the association graph once and skip the reload")
+  void writeVoyages_withinQueryBudget() throws Exception {
+    CreateVoyageRequest voyageRequest = new CreateVoyageRequest();
+    voyageRequest.setVesselId(vessel.getId());
+    voyageRequest.setVoyageNumber("BUDGET-1");
+    voyageRequest.setDeparturePortId(departurePort.getId());
+    voyageRequest.setArrivalPortId(arrivalPort.getId());
+    voyageRequest.setDepartureTime(LocalDateTime.now().plusDays(5));
+    voyageRequest.setArrivalTime(LocalDateTime.now().plusDays(9));
+    // vessel, both ports, insert, change log, P&L row
+    QueryBudget.atMost(6)
+        .run(
+            () ->
+                mockMvc
+                    .perform(
+                        post("/api/v1/voyages")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(voyageRequest)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.vesselName").value(vessel.getName()))
+                    .andExpect(jsonPath("$.arrivalPortName").value(arrivalPort.getName())));
+
+    // locked voyage with vessel and ports, outbox event, update, change log
+    QueryBudget.atMost(4)
+        .run(
+            () ->
+                mockMvc
+                    .perform(patch("/api/v1/voyages/{id}/IN_PROGRESS", voyage.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                    .andExpect(jsonPath("$.departurePortName").value(departurePort.getName())));
+
+    BookingStatusUpdateRequest bookingRequest = new BookingStatusUpdateRequest();
+    bookingRequest.setBookingOpen(false);
+    QueryBudget.atMost(4)
+        .run(
+            () ->
+                mockMvc
+                    .perform(
+                        patch("/api/v1/voyages/{id}/booking-status", voyage.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(bookingRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.bookingOpen").value(false))
+                    .andExpect(jsonPath("$.vesselName").value(vessel.getName())));
+
+    Voyage updated = voyageRepository.findById(voyage.getId()).orElseThrow();
+    assertThat(updated.getStatus()).isEqualTo(VoyageStatus.IN_PROGRESS);
+    assertThat(updated.isBookingOpen()).isFalse();
+  }
+
+  @Test
+  @DisplayName("GET /voyages/{id}/pnl → a new voyage starts at zero")
+  void getPnl_newVoyageStartsAtZero() throws Exception {
+    CreateVoyageRequest voyageRequest = new CreateVoyageRequest();
+    voyageRequest.setVesselId(this.vessel.getId());
+    voyageRequest.setVoyageNumber("E-PNL");
+    voyageRequest.setDeparturePortId(this.departurePort.getId());
+    voyageRequest.setArrivalPortId(this.arrivalPort.getId());
+    voyageRequest.setDepartureTime(LocalDateTime.now().plusDays(1));
+    voyageRequest.setArrivalTime(LocalDateTime.now().plusDays(5));
+    String created =
+        mockMvc
+            .perform(
+                post("/api/v1/voyages")
+                    .contentType("application/json")
+                    .content(objectMapper.writeValueAsString(voyageRequest)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+    long voyageId = objectMapper.readTree(created).get("id").asLong();
+
+    QueryBudget.atMost(1)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/{voyageId}/pnl", voyageId))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.orderCount").value(0))
+                    .andExpect(jsonPath("$.revenueUsd").value(0))
+                    .andExpect(jsonPath("$.marginUsd").value(0))
+                    .andExpect(jsonPath("$.marginPercent").doesNotExist()));
+  }
+
+  @Test
+  @DisplayName("GET /voyages/{id}/pnl → 404 for an unknown voyage")
+  void getPnl_unknownVoyage() throws Exception {
+    mockMvc.perform(get("/api/v1/voyages/{voyageId}/pnl", 999999)).andExpect(status().isNotFound());
+  }
+
+  private FreightOrder budgetOrder(Container container, OrderStatus status) {
+    FreightOrder order = new FreightOrder();
+    order.setVoyage(voyage);
+    order.setContainer(container);
+    order.setCustomer(customer);
+    order.setAgent(agent);
+    order.setOrderedBy("ops");
+    order.setBasePriceUsd(BigDecimal.valueOf(1000));
+    order.setFinalPrice(BigDecimal.valueOf(1000));
+    order.setStatus(status);
+    return order;
+  }
 }
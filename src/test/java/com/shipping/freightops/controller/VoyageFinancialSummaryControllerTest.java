@@ -1,6 +1,7 @@
 package com.shipping.freightops.controller;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -29,6 +30,7 @@ import com.shipping.freightops.repository.VesselRepository;
 import com.shipping.freightops.repository.VoyageCostRepository;
 import com.shipping.freightops.repository.VoyagePriceRepository;
 import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.support.QueryBudget;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -182,6 +184,152 @@ class VoyageFinancialSummaryControllerTest {
         .andExpect(status().isConflict());
   }
 
+  @Test
+  @DisplayName("financial summary of a completed voyage without orders or costs is all zero")
+  void getFinancialSummary_returnsZerosWhenNothingBooked() throws Exception {
+    voyage.setStatus(VoyageStatus.COMPLETED);
+    voyageRepository.save(voyage);
+    createAndSaveOwners();
+
+    mockMvc
+        .perform(get("/api/v1/voyages/{voyageId}/financial-summary", voyage.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRevenueUsd").value(0))
+        .andExpect(jsonPath("$.totalCostsUsd").value(0))
+        .andExpect(jsonPath("$.netProfitUsd").value(0))
+        .andExpect(jsonPath("$.orderCount").value(0))
+        .andExpect(jsonPath("$.owners[0].profitShareUsd").value(0));
+  }
+
+  @Test
+  @DisplayName("owner shares changed after completion do not rewrite a completed voyage's split")
+  void completeVoyage_fixesOwnerSplit() throws Exception {
+    createAndSaveOwners();
+    createAndSaveDeliveredOrders();
+    createAndSaveCosts();
+
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", voyage.getId(), "COMPLETED"))
+        .andExpect(status().isOk());
+    List<VesselOwner> owners = vesselOwnerRepository.findByVesselId(vessel.getId());
+    owners.forEach(owner -> owner.setSharePercent(BigDecimal.valueOf(50)));
+    vesselOwnerRepository.saveAll(owners);
+
+    mockMvc
+        .perform(get("/api/v1/voyages/{voyageId}/financial-summary", voyage.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRevenueUsd").value(250000))
+        .andExpect(jsonPath("$.netProfitUsd").value(70000))
+        .andExpect(jsonPath("$.orderCount").value(2))
+        .andExpect(jsonPath("$.owners[0].sharePercent").value(60))
+        .andExpect(jsonPath("$.owners[0].profitShareUsd").value(42000))
+        .andExpect(jsonPath("$.owners[1].profitShareUsd").value(28000));
+  }
+
+  @Test
+  @DisplayName("a cost added after completion updates the snapshot's costs and profit split")
+  void addVoyageCost_afterCompletion_updatesSnapshot() throws Exception {
+    createAndSaveOwners();
+    createAndSaveDeliveredOrders();
+    createAndSaveCosts();
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", voyage.getId(), "COMPLETED"))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(
+            post("/api/v1/voyages/{voyageId}/costs", voyage.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"description\":\"Demurrage\",\"amountUsd\":20000}"))
+        .andExpect(status().isCreated());
+
+    mockMvc
+        .perform(get("/api/v1/voyages/{voyageId}/financial-summary", voyage.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRevenueUsd").value(250000))
+        .andExpect(jsonPath("$.totalCostsUsd").value(200000))
+        .andExpect(jsonPath("$.netProfitUsd").value(50000))
+        .andExpect(jsonPath("$.owners[0].costShareUsd").value(120000))
+        .andExpect(jsonPath("$.owners[0].profitShareUsd").value(30000))
+        .andExpect(jsonPath("$.owners[1].costShareUsd").value(80000))
+        .andExpect(jsonPath("$.owners[1].profitShareUsd").value(20000));
+  }
+
+  @Test
+  @DisplayName("a credit note after completion updates the snapshot's revenue and profit split")
+  void discountDeliveredOrder_afterCompletion_updatesSnapshot() throws Exception {
+    createAndSaveOwners();
+    createAndSaveDeliveredOrders();
+    createAndSaveCosts();
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", voyage.getId(), "COMPLETED"))
+        .andExpect(status().isOk());
+    Long orderId =
+        freightOrderRepository.findAll().stream()
+            .filter(order -> order.getContainer().getId().equals(container20.getId()))
+            .findFirst()
+            .orElseThrow()
+            .getId();
+
+    mockMvc
+        .perform(
+            patch("/api/v1/freight-orders/{id}/discount", orderId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"discountPercent\":10,\"reason\":\"Damaged cargo\"}"))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(get("/api/v1/voyages/{voyageId}/financial-summary", voyage.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRevenueUsd").value(240000))
+        .andExpect(jsonPath("$.totalCostsUsd").value(180000))
+        .andExpect(jsonPath("$.netProfitUsd").value(60000))
+        .andExpect(jsonPath("$.orderCount").value(2))
+        .andExpect(jsonPath("$.owners[0].revenueShareUsd").value(144000))
+        .andExpect(jsonPath("$.owners[0].profitShareUsd").value(36000))
+        .andExpect(jsonPath("$.owners[1].revenueShareUsd").value(96000))
+        .andExpect(jsonPath("$.owners[1].profitShareUsd").value(24000));
+  }
+
+  @Test
+  @DisplayName("moving a voyage out of COMPLETED drops its snapshot")
+  void reopenVoyage_dropsFinancialSnapshot() throws Exception {
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", voyage.getId(), "COMPLETED"))
+        .andExpect(status().isOk());
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", voyage.getId(), "IN_PROGRESS"))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(get("/api/v1/voyages/{voyageId}/financial-summary", voyage.getId()))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  @DisplayName("GET costs and financial-summary stay within their statement budget")
+  void financialReads_withinQueryBudget() throws Exception {
+    createAndSaveOwners();
+    createAndSaveDeliveredOrders();
+    createAndSaveCosts();
+    mockMvc
+        .perform(patch("/api/v1/voyages/{voyageId}/{status}", voyage.getId(), "COMPLETED"))
+        .andExpect(status().isOk());
+
+    QueryBudget.atMost(2)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/{voyageId}/costs", voyage.getId()))
+                    .andExpect(status().isOk()));
+    QueryBudget.atMost(1)
+        .run(
+            () ->
+                mockMvc
+                    .perform(get("/api/v1/voyages/{voyageId}/financial-summary", voyage.getId()))
+                    .andExpect(status().isOk()));
+  }
+
   private void createAndSaveCost(String description, long amount) {
     VoyageCost cost = new VoyageCost();
     cost.setVoyage(voyage);
@@ -13,6 +13,7 @@ import com.shipping.freightops.repository.PortRepository;
 import com.shipping.freightops.repository.VesselRepository;
 import com.shipping.freightops.repository.VoyagePriceRepository;
 import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.support.QueryBudget;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.BeforeEach;
@@ -128,6 +129,37 @@ class VoyagePriceSuggestionControllerTest {
         .andExpect(jsonPath("$.confidence").value("LOW"));
   }
 
+  @Test
+  @DisplayName("GET /api/v1/voyages/{voyageId}/price-suggestion stays within its statement budget")
+  void getPriceSuggestion_withinQueryBudget() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      Voyage pastVoyage = new Voyage();
+      pastVoyage.setVoyageNumber("VOY-2024-10" + i);
+      pastVoyage.setVessel(voyage.getVessel());
+      pastVoyage.setDeparturePort(voyage.getDeparturePort());
+      pastVoyage.setArrivalPort(voyage.getArrivalPort());
+      pastVoyage.setDepartureTime(LocalDateTime.now().minusMonths(2 + i));
+      pastVoyage.setArrivalTime(LocalDateTime.now().minusMonths(2 + i).plusDays(14));
+      pastVoyage.setMaxCapacityTeu(voyage.getMaxCapacityTeu());
+      pastVoyage.setBookingOpen(false);
+
+      VoyagePrice price = new VoyagePrice();
+      price.setVoyage(voyageRepository.save(pastVoyage));
+      price.setContainerSize(ContainerSize.TWENTY_FOOT);
+      price.setBasePriceUsd(BigDecimal.valueOf(1100 + i * 50));
+      voyagePriceRepository.save(price);
+    }
+
+    QueryBudget.atMost(3)
+        .run(
+            () ->
+                mockMvc
+                    .perform(
+                        get("/api/v1/voyages/{voyageId}/price-suggestion", voyage.getId())
+                            .param("containerSize", "TWENTY_FOOT"))
+                    .andExpect(status().isOk()));
+  }
+
   private Voyage createPastVoyageOnSameRoute() {
     Voyage pastVoyage = new Voyage();
     pastVoyage.setVoyageNumber("VOY-2024-099");
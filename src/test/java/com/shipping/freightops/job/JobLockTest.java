@@ -0,0 +1,31 @@
+package com.shipping.freightops.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.support.PostgresIntegrationTest;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class JobLockTest extends PostgresIntegrationTest {
+
+  @Autowired private JobLock jobLock;
+
+  @Test
+  @DisplayName("only one holder of a job lock at a time; closing the lease releases it")
+  void lockIsExclusiveUntilReleased() {
+    Optional<JobLock.Lease> first = jobLock.tryAcquire("lock-test");
+    assertThat(first).isPresent();
+
+    assertThat(jobLock.tryAcquire("lock-test")).as("held on another connection").isEmpty();
+    try (JobLock.Lease other = jobLock.tryAcquire("lock-test-other").orElseThrow()) {
+      assertThat(other).isNotNull();
+    }
+
+    first.get().close();
+    try (JobLock.Lease again = jobLock.tryAcquire("lock-test").orElseThrow()) {
+      assertThat(again).isNotNull();
+    }
+  }
+}
@@ -0,0 +1,203 @@
+package com.shipping.freightops.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.entity.JobRun;
+import com.shipping.freightops.enums.JobRunStatus;
+import com.shipping.freightops.repository.JobRunRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Pageable;
+
+@SpringBootTest
+class JobRunnerTest {
+
+  @Autowired private JobRunner jobRunner;
+  @Autowired private JobRunRepository runRepository;
+  @Autowired private ChunkedJob chunkedJob;
+  @Autowired private BlockingJob blockingJob;
+
+  @BeforeEach
+  void setUp() {
+    runRepository.deleteAll();
+    chunkedJob.reset();
+  }
+
+  @Test
+  @DisplayName("a run executes every chunk and records its outcome and duration")
+  void recordsSuccessfulRun() {
+    assertThat(jobRunner.run(ChunkedJob.NAME)).contains(JobRunStatus.SUCCEEDED);
+
+    assertThat(chunkedJob.cursors).containsExactly(null, "1", "2");
+    JobRun run = latestRun();
+    assertThat(run.getStatus()).isEqualTo(JobRunStatus.SUCCEEDED);
+    assertThat(run.getChunks()).isEqualTo(3);
+    assertThat(run.getCheckpoint()).isNull();
+    assertThat(run.getDurationMs()).isNotNull();
+    assertThat(run.getFinishedAt()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("a failed run is resumed by the next one after its last completed chunk")
+  void resumesFailedRun() {
+    chunkedJob.failAt = "2";
+
+    assertThat(jobRunner.run(ChunkedJob.NAME)).contains(JobRunStatus.FAILED);
+    JobRun failed = latestRun();
+    assertThat(failed.getChunks()).isEqualTo(2);
+    assertThat(failed.getCheckpoint()).isEqualTo("2");
+    assertThat(failed.getError()).contains("chunk 2 failed");
+
+    chunkedJob.reset();
+    assertThat(jobRunner.run(ChunkedJob.NAME)).contains(JobRunStatus.SUCCEEDED);
+    assertThat(chunkedJob.cursors).containsExactly("2");
+    assertThat(latestRun().getResumedFrom()).isEqualTo(failed.getId());
+  }
+
+  @Test
+  @DisplayName("a run left RUNNING by a dead instance is marked interrupted and resumed")
+  void resumesRunOfDeadInstance() {
+    JobRun orphan = new JobRun();
+    orphan.setJobName(ChunkedJob.NAME);
+    orphan.setNode("1@dead-node");
+    orphan.setStatus(JobRunStatus.RUNNING);
+    orphan.setStartedAt(LocalDateTime.now().minusHours(1));
+    orphan.setChunks(1);
+    orphan.setCheckpoint("1");
+    orphan = runRepository.save(orphan);
+
+    assertThat(jobRunner.run(ChunkedJob.NAME)).contains(JobRunStatus.SUCCEEDED);
+
+    assertThat(chunkedJob.cursors).containsExactly("1", "2");
+    assertThat(runRepository.findById(orphan.getId()).orElseThrow().getStatus())
+        .isEqualTo(JobRunStatus.INTERRUPTED);
+  }
+
+  @Test
+  @DisplayName("a job already running on this instance is not started twice")
+  void skipsJobThatIsAlreadyRunning() throws Exception {
+    CompletableFuture<Optional<JobRunStatus>> first = jobRunner.submit(BlockingJob.NAME);
+    assertThat(blockingJob.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThat(jobRunner.run(BlockingJob.NAME)).isEmpty();
+
+    blockingJob.release.countDown();
+    assertThat(first.get(5, TimeUnit.SECONDS)).contains(JobRunStatus.SUCCEEDED);
+    assertThat(runRepository.findByJobNameOrderByIdDesc(BlockingJob.NAME, Pageable.unpaged()))
+        .hasSize(1);
+  }
+
+  @Test
+  @DisplayName("a scheduled fire time runs once, however many instances trigger it")
+  void skipsFireTimeThatAlreadyRan() throws Exception {
+    LocalDateTime fireTime = LocalDateTime.of(2026, 3, 1, 3, 30);
+
+    assertThat(jobRunner.submit(ChunkedJob.NAME, fireTime).get(5, TimeUnit.SECONDS))
+        .contains(JobRunStatus.SUCCEEDED);
+    // another instance's trigger for the same fire time, after the first run finished
+    assertThat(jobRunner.submit(ChunkedJob.NAME, fireTime).get(5, TimeUnit.SECONDS)).isEmpty();
+    assertThat(chunkedJob.cursors).containsExactly(null, "1", "2");
+    assertThat(latestRun().getScheduledFor()).isEqualTo(fireTime);
+
+    assertThat(jobRunner.submit(ChunkedJob.NAME, fireTime.plusDays(1)).get(5, TimeUnit.SECONDS))
+        .contains(JobRunStatus.SUCCEEDED);
+    assertThat(jobRunner.run(ChunkedJob.NAME)).as("run by hand").contains(JobRunStatus.SUCCEEDED);
+    assertThat(runRepository.findByJobNameOrderByIdDesc(ChunkedJob.NAME, Pageable.unpaged()))
+        .hasSize(3);
+  }
+
+  private JobRun latestRun() {
+    return runRepository.findFirstByJobNameOrderByIdDesc(ChunkedJob.NAME).orElseThrow();
+  }
+
+  @TestConfiguration
+  static class JobConfig {
+
+    @Bean
+    ChunkedJob chunkedJob() {
+      return new ChunkedJob();
+    }
+
+    @Bean
+    BlockingJob blockingJob() {
+      return new BlockingJob();
+    }
+  }
+
+  /** Three chunks with cursors {@code null, 1, 2}; optionally fails at one of them. */
+  static class ChunkedJob implements ClusterJob {
+
+    static final String NAME = "test-chunked";
+
+    final List<String> cursors = Collections.synchronizedList(new ArrayList<>());
+    volatile String failAt;
+
+    @Override
+    public String name() {
+      return NAME;
+    }
+
+    @Override
+    public String cron() {
+      return "-";
+    }
+
+    @Override
+    public String runChunk(String cursor) {
+      if (cursor != null && cursor.equals(failAt)) {
+        throw new IllegalStateException("chunk " + cursor + " failed");
+      }
+      cursors.add(cursor);
+      int next = cursor == null ? 1 : Integer.parseInt(cursor) + 1;
+      return next < 3 ? String.valueOf(next) : null;
+    }
+
+    void reset() {
+      cursors.clear();
+      failAt = null;
+    }
+  }
+
+  /** A single chunk that waits until the test releases it. */
+  static class BlockingJob implements ClusterJob {
+
+    static final String NAME = "test-blocking";
+
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public String name() {
+      return NAME;
+    }
+
+    @Override
+    public String cron() {
+      return "-";
+    }
+
+    @Override
+    public String runChunk(String cursor) {
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.shipping.freightops.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.entity.Container;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.repository.projection.ContainerSummary;
+import java.util.List;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/** Integration tests for {@link ContainerRepository}. */
+@DataJpaTest
+class ContainerRepositoryTest {
+
+  @Autowired private TestEntityManager entityManager;
+  @Autowired private ContainerRepository containerRepository;
+
+  @BeforeEach
+  void setUp() {
+    entityManager.persist(
+        new Container("MSCU1234567", ContainerSize.TWENTY_FOOT, ContainerType.DRY));
+    entityManager.persist(
+        new Container("MSCU7654321", ContainerSize.FORTY_FOOT, ContainerType.DRY));
+    entityManager.persist(
+        new Container("MSCU1111111", ContainerSize.FORTY_FOOT, ContainerType.REEFER));
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("findSummaries without filters returns every container")
+  void findSummaries_noFilters() {
+    List<ContainerSummary> result = containerRepository.findSummaries(null, null);
+
+    assertThat(result)
+        .extracting(ContainerSummary::containerCode)
+        .containsExactlyInAnyOrder("MSCU1234567", "MSCU7654321", "MSCU1111111");
+  }
+
+  @Test
+  @DisplayName("findSummaries applies size and type filters together")
+  void findSummaries_bothFilters() {
+    List<ContainerSummary> result =
+        containerRepository.findSummaries(ContainerSize.FORTY_FOOT, ContainerType.DRY);
+
+    assertThat(result).hasSize(1);
+    ContainerSummary summary = result.get(0);
+    assertThat(summary.containerCode()).isEqualTo("MSCU7654321");
+    assertThat(summary.teu()).isEqualTo(2);
+    assertThat(summary.createdAt()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("findSummaries does not load managed entities")
+  void findSummaries_doesNotPopulatePersistenceContext() {
+    containerRepository.findSummaries(ContainerSize.TWENTY_FOOT, null);
+
+    SessionImplementor session = entityManager.getEntityManager().unwrap(SessionImplementor.class);
+    assertThat(session.getPersistenceContextInternal().getNumberOfManagedEntities()).isZero();
+  }
+}
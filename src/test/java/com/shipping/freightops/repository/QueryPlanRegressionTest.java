@@ -0,0 +1,171 @@
+package com.shipping.freightops.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.support.PostgresIntegrationTest;
+import com.shipping.freightops.support.SqlCapture;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the Flyway schema on a real PostgreSQL, loads a few hundred thousand synthetic rows and
+ * fails when a hot repository query is planned as a sequential scan over a large table.
+ *
+ * <p>The SQL under test is captured from Hibernate while the repository method runs, then re-issued
+ * as {@code EXPLAIN (FORMAT JSON)} with the same parameter values. Skipped when Docker is not
+ * available.
+ */
+@Sql(
+    scripts = "/db/plan-test-data.sql",
+    executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS,
+    config = @SqlConfig(separator = ScriptUtils.EOF_STATEMENT_SEPARATOR))
+@Transactional
+class QueryPlanRegressionTest extends PostgresIntegrationTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ContainerRepository containerRepository;
+  @Autowired private FreightOrderRepository freightOrderRepository;
+  @Autowired private TrackingEventRepository trackingEventRepository;
+  @Autowired private VoyagePriceRepository voyagePriceRepository;
+
+  @Test
+  @DisplayName("findByVoyageIdAndStatusIn uses the voyage/status index")
+  void findByVoyageIdAndStatusIn() {
+    long voyageId = minId("voyages") + 123;
+    String sql =
+        queryStatement(
+            () ->
+                freightOrderRepository.findByVoyageIdAndStatusIn(
+                    voyageId, List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED)));
+
+    assertNoSeqScan(explain(sql, voyageId, "PENDING", "CONFIRMED"), "freight_orders");
+  }
+
+  @Test
+  @DisplayName("sumTeuByVoyageId does not scan freight orders or containers")
+  void sumTeuByVoyageId() {
+    long voyageId = minId("voyages") + 123;
+    String sql = queryStatement(() -> freightOrderRepository.sumTeuByVoyageId(voyageId));
+
+    assertNoSeqScan(explain(sql, voyageId), "freight_orders", "containers");
+  }
+
+  @Test
+  @DisplayName("container label lookup uses the container/status index")
+  void findLabelDocument() {
+    long containerId = minId("containers") + 42;
+    String sql =
+        queryStatement(
+            () ->
+                containerRepository.findLabelDocument(
+                    containerId, OrderStatus.CONFIRMED, Limit.of(1)));
+
+    assertNoSeqScan(
+        explain(sql, "CONFIRMED", containerId, 1), "freight_orders", "containers", "voyages");
+  }
+
+  @Test
+  @DisplayName("tracking history uses the order index and prunes older event partitions")
+  void findByOrderIdSince() {
+    long orderId = minId("freight_orders") + 4242;
+    LocalDateTime since = LocalDateTime.of(2020, 6, 1, 0, 0);
+    String sql = queryStatement(() -> trackingEventRepository.findByOrderIdSince(orderId, since));
+
+    JsonNode plan = explain(sql, orderId, since);
+    assertNoSeqScan(plan, "tracking_event");
+    assertThat(scannedRelations(plan))
+        .as("partitions scanned in plan %s", plan.toPrettyString())
+        .doesNotContain("tracking_event_p202001", "tracking_event_p202005")
+        .contains("tracking_event_p202006");
+  }
+
+  @Test
+  @DisplayName("historical route prices use the route/departure index")
+  void findHistoricalPricesSameRoute() {
+    long firstPort = minId("ports");
+    long excluded = minId("voyages");
+    String sql =
+        queryStatement(
+            () ->
+                voyagePriceRepository.findHistoricalPricesSameRoute(
+                    firstPort + 3,
+                    firstPort + 7,
+                    excluded,
+                    ContainerSize.FORTY_FOOT,
+                    PageRequest.of(0, 10)));
+
+    assertNoSeqScan(
+        explain(sql, firstPort + 3, firstPort + 7, excluded, "FORTY_FOOT", 10),
+        "voyages",
+        "voyage_prices");
+  }
+
+  private long minId(String table) {
+    return jdbcTemplate.queryForObject("select min(id) from " + table, Long.class);
+  }
+
+  /** The repository query itself; anything after it is an association load. */
+  private static String queryStatement(Runnable query) {
+    List<String> statements = SqlCapture.capture(query);
+    assertThat(statements).isNotEmpty();
+    return statements.get(0);
+  }
+
+  private JsonNode explain(String sql, Object... args) {
+    String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+    try {
+      return MAPPER.readTree(json).get(0).get("Plan");
+    } catch (Exception ex) {
+      throw new IllegalStateException("Unreadable plan: " + json, ex);
+    }
+  }
+
+  private static void assertNoSeqScan(JsonNode plan, String... tables) {
+    List<String> seqScans = new ArrayList<>();
+    collectSeqScans(plan, seqScans);
+    assertThat(seqScans)
+        .as("sequential scans in plan %s", plan.toPrettyString())
+        .doesNotContain(tables);
+  }
+
+  private static List<String> scannedRelations(JsonNode plan) {
+    List<String> relations = new ArrayList<>();
+    collectRelations(plan, relations);
+    return relations;
+  }
+
+  private static void collectRelations(JsonNode node, List<String> into) {
+    if (node.has("Relation Name")) {
+      into.add(node.get("Relation Name").asText());
+    }
+    for (JsonNode child : node.path("Plans")) {
+      collectRelations(child, into);
+    }
+  }
+
+  private static void collectSeqScans(JsonNode node, List<String> into) {
+    if ("Seq Scan".equals(node.path("Node Type").asText())) {
+      into.add(node.path("Relation Name").asText());
+    }
+    for (JsonNode child : node.path("Plans")) {
+      collectSeqScans(child, into);
+    }
+  }
+}
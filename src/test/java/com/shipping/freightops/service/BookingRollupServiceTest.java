@@ -0,0 +1,105 @@
+package com.shipping.freightops.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.entity.Agent;
+import com.shipping.freightops.entity.Customer;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.RollupDimension;
+import com.shipping.freightops.repository.projection.DailyBookings;
+import com.shipping.freightops.support.BookingFixture;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+@Import(BookingFixture.class)
+class BookingRollupServiceTest {
+
+  @Autowired private BookingRollupService rollupService;
+  @Autowired private OutboxRelay relay;
+  @Autowired private BookingFixture fixture;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final LocalDate today = LocalDate.now();
+  private String route;
+  private Voyage voyage;
+  private Agent agent;
+  private Customer customer;
+
+  @BeforeEach
+  void setUp() {
+    voyage = fixture.voyage("Rollup");
+    route = voyage.getDeparturePort().getUnlocode() + "-" + voyage.getArrivalPort().getUnlocode();
+    fixture.price(voyage, ContainerSize.TWENTY_FOOT, 1000);
+    fixture.price(voyage, ContainerSize.FORTY_FOOT, 1800);
+    agent = fixture.agent("Rollup");
+    customer = fixture.customer("Rollup");
+  }
+
+  @Test
+  @DisplayName("order events update every dimension and a redelivered event is not counted twice")
+  void orderEventsUpdateRollupsOnce() {
+    Long first = book(ContainerSize.TWENTY_FOOT);
+    book(ContainerSize.FORTY_FOOT);
+    fixture.discount(first, 10);
+
+    relay.relayPending(LocalDateTime.now());
+
+    assertDay(RollupDimension.ROUTE, route, 2, 3, "2700.00");
+    assertDay(RollupDimension.AGENT, agent.getId().toString(), 2, 3, "2700.00");
+    assertDay(RollupDimension.CUSTOMER, customer.getId().toString(), 2, 3, "2700.00");
+
+    // as if the relay had died after the handlers ran but before recording the delivery
+    jdbcTemplate.update(
+        "UPDATE outbox_event SET status = 'PENDING', published_at = NULL "
+            + "WHERE aggregate_type = 'FREIGHT_ORDER' AND aggregate_id = ?",
+        first);
+    relay.relayPending(LocalDateTime.now());
+
+    assertDay(RollupDimension.ROUTE, route, 2, 3, "2700.00");
+  }
+
+  @Test
+  @DisplayName("backfill rebuilds a day from the orders without double-counting pending events")
+  void backfillMatchesIncrementalRollups() {
+    Long first = book(ContainerSize.TWENTY_FOOT);
+    relay.relayPending(LocalDateTime.now());
+    jdbcTemplate.update(
+        "UPDATE booking_daily_rollup SET bookings = 99 WHERE dimension = 'ROUTE' "
+            + "AND dimension_key = ?",
+        route);
+
+    book(ContainerSize.FORTY_FOOT);
+    fixture.discount(first, 50);
+    rollupService.backfill(today, today);
+
+    assertDay(RollupDimension.ROUTE, route, 2, 3, "2300.00");
+
+    relay.relayPending(LocalDateTime.now());
+
+    assertDay(RollupDimension.ROUTE, route, 2, 3, "2300.00");
+    assertDay(RollupDimension.AGENT, agent.getId().toString(), 2, 3, "2300.00");
+  }
+
+  private void assertDay(
+      RollupDimension dimension, String key, long bookings, long teu, String revenue) {
+    List<DailyBookings> days = rollupService.getDaily(dimension, key, today, today);
+    assertThat(days).hasSize(1);
+    assertThat(days.get(0).bookings()).isEqualTo(bookings);
+    assertThat(days.get(0).teu()).isEqualTo(teu);
+    assertThat(days.get(0).revenue()).isEqualByComparingTo(revenue);
+  }
+
+  private Long book(ContainerSize size) {
+    return fixture.book(voyage, agent, customer, size);
+  }
+}
@@ -0,0 +1,111 @@
+package com.shipping.freightops.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.dto.ChangeFeedResponse;
+import com.shipping.freightops.dto.ChangeResponse;
+import com.shipping.freightops.enums.ChangeEntityType;
+import com.shipping.freightops.support.PostgresIntegrationTest;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ChangeFeedServiceTest extends PostgresIntegrationTest {
+
+  private static final Set<ChangeEntityType> EVENTS = Set.of(ChangeEntityType.TRACKING_EVENT);
+
+  @Autowired private ChangeFeedService changeFeedService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  private String since;
+
+  @BeforeEach
+  void setUp() {
+    since =
+        jdbcTemplate.query(
+            "SELECT txid, seq FROM change_log ORDER BY txid DESC, seq DESC LIMIT 1",
+            rs -> rs.next() ? rs.getLong("txid") + ":" + rs.getLong("seq") : "0:0");
+  }
+
+  @Test
+  @DisplayName("a change committed late is served before later transactions, never skipped")
+  void lateCommitIsNotSkipped() throws Exception {
+    CountDownLatch begun = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> slow =
+        CompletableFuture.runAsync(
+            () ->
+                transactionTemplate.executeWithoutResult(
+                    status -> {
+                      // takes its transaction id now, writes its change only after the other
+                      jdbcTemplate.queryForObject(
+                          "SELECT pg_current_xact_id()::text", String.class);
+                      begun.countDown();
+                      await(release);
+                      insertChange(1);
+                    }));
+    await(begun);
+    transactionTemplate.executeWithoutResult(status -> insertChange(2));
+
+    ChangeFeedResponse whileRunning = changeFeedService.getChanges(since, EVENTS, 10);
+    assertThat(whileRunning.getChanges()).as("held back behind the running writer").isEmpty();
+    assertThat(whileRunning.getNextToken()).isEqualTo(since);
+
+    release.countDown();
+    slow.get(10, TimeUnit.SECONDS);
+
+    ChangeFeedResponse afterCommit = changeFeedService.getChanges(since, EVENTS, 10);
+    assertThat(afterCommit.getChanges())
+        .extracting(ChangeResponse::getEntityId)
+        .containsExactly(1L, 2L);
+    assertThat(changeFeedService.getChanges(afterCommit.getNextToken(), EVENTS, 10).getChanges())
+        .isEmpty();
+  }
+
+  @Test
+  @DisplayName("change-log-purge deletes entries older than the retention")
+  void purgesExpiredEntries() {
+    insertChange(3, LocalDateTime.now().minusDays(31));
+    insertChange(4, LocalDateTime.now().minusDays(29));
+
+    changeFeedService.runChunk(null);
+
+    assertThat(
+            jdbcTemplate.queryForList(
+                "SELECT entity_id FROM change_log WHERE entity_type = 'TRACKING_EVENT'"
+                    + " AND entity_id IN (3, 4)",
+                Long.class))
+        .containsExactly(4L);
+  }
+
+  private void insertChange(long entityId) {
+    insertChange(entityId, LocalDateTime.now());
+  }
+
+  private void insertChange(long entityId, LocalDateTime changedAt) {
+    jdbcTemplate.update(
+        "INSERT INTO change_log (entity_type, entity_id, operation, changed_at)"
+            + " VALUES ('TRACKING_EVENT', ?, 'CREATED', ?)",
+        entityId,
+        Timestamp.valueOf(changedAt));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,275 @@
+package com.shipping.freightops.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.shipping.freightops.entity.*;
+import com.shipping.freightops.enums.AgentType;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.enums.EventType;
+import com.shipping.freightops.enums.OrderStatus;
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.*;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@TestPropertySource(properties = {"app.archive.completed-for-days=30", "app.archive.chunk-size=2"})
+class OrderArchiveServiceTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private EntityManager entityManager;
+  @Autowired private OrderArchiveService archiveService;
+  @Autowired private VoyageService voyageService;
+  @Autowired private PortRepository portRepository;
+  @Autowired private VesselRepository vesselRepository;
+  @Autowired private VoyageRepository voyageRepository;
+  @Autowired private ContainerRepository containerRepository;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private AgentRepository agentRepository;
+  @Autowired private FreightOrderRepository orderRepository;
+  @Autowired private TrackingEventRepository trackingEventRepository;
+  @Autowired private InvoiceRepository invoiceRepository;
+  @Autowired private ArchivedFreightOrderRepository archivedOrderRepository;
+  @Autowired private ArchivedTrackingEventRepository archivedEventRepository;
+  @Autowired private ArchivedInvoiceRepository archivedInvoiceRepository;
+
+  private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+  private Vessel vessel;
+  private Port departurePort;
+  private Port arrivalPort;
+  private Agent agent;
+  private Customer customer;
+
+  @BeforeEach
+  void setUp() {
+    archivedInvoiceRepository.deleteAll();
+    archivedEventRepository.deleteAll();
+    archivedOrderRepository.deleteAll();
+    invoiceRepository.deleteAll();
+    trackingEventRepository.deleteAll();
+    orderRepository.deleteAll();
+    voyageRepository.deleteAll();
+    containerRepository.deleteAll();
+    vesselRepository.deleteAll();
+    customerRepository.deleteAll();
+    portRepository.deleteAll();
+    agentRepository.deleteAll();
+
+    departurePort = portRepository.save(new Port("AEJEA", "Jebel Ali", "UAE"));
+    arrivalPort = portRepository.save(new Port("CNSHA", "Shanghai", "China"));
+    vessel = vesselRepository.save(new Vessel("MV Archive", "9444444", 3000));
+    customer = new Customer("Archive Co", "Contact", "billing@archive.test");
+    customer.setAddress("1 Quay Street");
+    customer = customerRepository.save(customer);
+
+    agent = new Agent();
+    agent.setName("Archive Agent");
+    agent.setEmail("agent@archive.test");
+    agent.setCommissionPercent(BigDecimal.TWO);
+    agent.setType(AgentType.INTERNAL);
+    agent = agentRepository.save(agent);
+  }
+
+  @Test
+  @DisplayName("orders of voyages completed before the cutoff move to the archive")
+  void archivesOnlyVoyagesPastCutoff() {
+    Voyage old = completedVoyage("VOY-OLD", now.minusDays(45));
+    Voyage recent = completedVoyage("VOY-RECENT", now.minusDays(5));
+    FreightOrder archived = order(old, "MSCU1111111");
+    order(old, "MSCU2222222");
+    order(old, "MSCU3333333");
+    FreightOrder kept = order(recent, "MSCU4444444");
+    trackingEventRepository.save(
+        new TrackingEvent(archived, EventType.DISCHARGED, "Discharged", "Shanghai", "ops", null));
+    invoiceRepository.save(new Invoice(archived, "INV-2025-00001"));
+    flushAndClear();
+
+    int moved = archiveService.archiveCompletedVoyages(now);
+    flushAndClear();
+
+    assertThat(moved).isEqualTo(3);
+    assertThat(orderRepository.findById(archived.getId())).isEmpty();
+    assertThat(orderRepository.findById(kept.getId())).isPresent();
+    assertThat(trackingEventRepository.count()).isZero();
+    assertThat(invoiceRepository.count()).isZero();
+
+    ArchivedFreightOrder copy = archivedOrderRepository.findById(archived.getId()).orElseThrow();
+    assertThat(copy.getVoyageNumber()).isEqualTo("VOY-OLD");
+    assertThat(copy.getVesselName()).isEqualTo("MV Archive");
+    assertThat(copy.getContainerCode()).isEqualTo("MSCU1111111");
+    assertThat(copy.getContainerTeu()).isEqualTo(1);
+    assertThat(copy.getCustomerCompanyName()).isEqualTo("Archive Co");
+    assertThat(copy.getArchivedAt()).isEqualTo(now);
+    assertThat(archivedEventRepository.findByFreightOrderIdOrderByCreatedAtAsc(archived.getId()))
+        .hasSize(1);
+    assertThat(archivedInvoiceRepository.findByOrderId(archived.getId()))
+        .map(ArchivedInvoice::getId)
+        .contains("INV-2025-00001");
+  }
+
+  @Test
+  @DisplayName("as a cluster job, each chunk archives the next eligible voyage in id order")
+  void runChunk_archivesOneVoyagePerChunk() {
+    Voyage first = completedVoyage("VOY-OLD-1", now.minusDays(45));
+    Voyage second = completedVoyage("VOY-OLD-2", now.minusDays(60));
+    Voyage recent = completedVoyage("VOY-RECENT", now.minusDays(5));
+    order(first, "MSCU1111111");
+    order(second, "MSCU2222222");
+    order(recent, "MSCU3333333");
+    flushAndClear();
+
+    String cursor = archiveService.runChunk(null);
+    flushAndClear();
+    assertThat(cursor).isEqualTo(first.getId().toString());
+    assertThat(archivedOrderRepository.count()).isEqualTo(1);
+
+    cursor = archiveService.runChunk(cursor);
+    assertThat(cursor).isEqualTo(second.getId().toString());
+    assertThat(archiveService.runChunk(cursor)).isNull();
+    flushAndClear();
+    assertThat(orderRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("completing a voyage stamps completedAt and reopening clears it")
+  void updateStatusTracksCompletion() {
+    Voyage voyage = completedVoyage("VOY-STAMP", null);
+    voyage.setStatus(VoyageStatus.IN_PROGRESS);
+    voyageRepository.save(voyage);
+
+    assertThat(voyageService.updateStatus(VoyageStatus.COMPLETED, voyage.getId()).getCompletedAt())
+        .isNotNull();
+    assertThat(
+            voyageService.updateStatus(VoyageStatus.IN_PROGRESS, voyage.getId()).getCompletedAt())
+        .isNull();
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/track/order/{id} → reads an archived order and its events")
+  void trackOrderFallsBackToArchive() throws Exception {
+    Voyage old = completedVoyage("VOY-OLD", now.minusDays(45));
+    FreightOrder order = order(old, "MSCU1111111");
+    trackingEventRepository.save(
+        new TrackingEvent(order, EventType.DISCHARGED, "Discharged", "Shanghai", "ops", null));
+    flushAndClear();
+    archiveService.archiveCompletedVoyages(now);
+    flushAndClear();
+
+    mockMvc
+        .perform(get("/api/v1/track/order/" + order.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.orderId").value(order.getId()))
+        .andExpect(jsonPath("$.voyageNumber").value("VOY-OLD"))
+        .andExpect(jsonPath("$.departurePort").value("Jebel Ali"))
+        .andExpect(jsonPath("$.events.length()").value(1))
+        .andExpect(jsonPath("$.events[0].description").value("Discharged"));
+
+    mockMvc
+        .perform(get("/api/v1/track/container/MSCU1111111"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.voyages.length()").value(1))
+        .andExpect(jsonPath("$.voyages[0].voyageNumber").value("VOY-OLD"));
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/invoices/{id} → invoices an archived order with a stable number")
+  void invoiceFallsBackToArchive() throws Exception {
+    Voyage old = completedVoyage("VOY-OLD", now.minusDays(45));
+    FreightOrder order = order(old, "MSCU1111111");
+    flushAndClear();
+    archiveService.archiveCompletedVoyages(now);
+    flushAndClear();
+
+    for (int i = 0; i < 2; i++) {
+      mockMvc
+          .perform(get("/api/v1/invoices/" + order.getId()))
+          .andExpect(status().isOk())
+          .andExpect(content().contentType(MediaType.APPLICATION_PDF));
+    }
+    assertThat(archivedInvoiceRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("GET /api/v1/voyages/{id}/financial-summary → counts archived orders")
+  void financialSummaryCountsArchivedOrders() throws Exception {
+    // completed before snapshots were kept: summarized from its orders
+    Voyage old = completedVoyage("VOY-OLD", now.minusDays(45));
+    order(old, "MSCU1111111");
+    order(old, "MSCU2222222");
+    flushAndClear();
+    archiveService.archiveCompletedVoyages(now);
+    flushAndClear();
+
+    mockMvc
+        .perform(get("/api/v1/voyages/{voyageId}/financial-summary", old.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRevenueUsd").value(2000))
+        .andExpect(jsonPath("$.orderCount").value(2));
+
+    // completed again after its orders were archived: the new snapshot still has them
+    voyageService.updateStatus(VoyageStatus.IN_PROGRESS, old.getId());
+    voyageService.updateStatus(VoyageStatus.COMPLETED, old.getId());
+    flushAndClear();
+
+    mockMvc
+        .perform(get("/api/v1/voyages/{voyageId}/financial-summary", old.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalRevenueUsd").value(2000))
+        .andExpect(jsonPath("$.netProfitUsd").value(2000))
+        .andExpect(jsonPath("$.orderCount").value(2));
+  }
+
+  private Voyage completedVoyage(String number, LocalDateTime completedAt) {
+    Voyage voyage = new Voyage();
+    voyage.setVoyageNumber(number);
+    voyage.setVessel(vessel);
+    voyage.setDeparturePort(departurePort);
+    voyage.setArrivalPort(arrivalPort);
+    voyage.setDepartureTime(now.minusDays(80));
+    voyage.setArrivalTime(now.minusDays(60));
+    voyage.setMaxCapacityTeu(vessel.getCapacityTeu());
+    voyage.setStatus(VoyageStatus.COMPLETED);
+    voyage.setCompletedAt(completedAt);
+    return voyageRepository.save(voyage);
+  }
+
+  private FreightOrder order(Voyage voyage, String containerCode) {
+    Container container =
+        containerRepository.save(
+            new Container(containerCode, ContainerSize.TWENTY_FOOT, ContainerType.DRY));
+    FreightOrder order = new FreightOrder();
+    order.setVoyage(voyage);
+    order.setContainer(container);
+    order.setCustomer(customer);
+    order.setAgent(agent);
+    order.setOrderedBy("ops");
+    order.setStatus(OrderStatus.DELIVERED);
+    order.setBasePriceUsd(BigDecimal.valueOf(1000));
+    order.setFinalPrice(BigDecimal.valueOf(1000));
+    return orderRepository.save(order);
+  }
+
+  private void flushAndClear() {
+    entityManager.flush();
+    entityManager.clear();
+  }
+}
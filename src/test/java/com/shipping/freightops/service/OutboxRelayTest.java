@@ -0,0 +1,314 @@
+package com.shipping.freightops.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shipping.freightops.dto.BookingStatusUpdateRequest;
+import com.shipping.freightops.entity.OutboxEvent;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.DomainEventType;
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.support.BookingFixture;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@Import(BookingFixture.class)
+@TestPropertySource(properties = {"app.outbox.event-timeout=1s", "app.outbox.max-attempts=3"})
+class OutboxRelayTest {
+
+  @Autowired private OutboxRelay relay;
+  @Autowired private OutboxService outboxService;
+  @Autowired private VoyageService voyageService;
+  @Autowired private RecordingHandler handler;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private BookingFixture fixture;
+  @Autowired private ObjectMapper objectMapper;
+
+  private Voyage voyage;
+  private Long voyageId;
+
+  @BeforeEach
+  void setUp() {
+    voyage = fixture.voyage("Outbox");
+    voyageId = voyage.getId();
+  }
+
+  @Test
+  @DisplayName("events committed with a voyage change are delivered once and in order")
+  void deliversCommittedEventsInOrder() {
+    voyageService.updateStatus(VoyageStatus.IN_PROGRESS, voyageId);
+    voyageService.updateStatus(VoyageStatus.COMPLETED, voyageId);
+    BookingStatusUpdateRequest close = new BookingStatusUpdateRequest();
+    close.setBookingOpen(false);
+    voyageService.updateBookingStatus(voyageId, close);
+
+    relay.relayPending(LocalDateTime.now());
+
+    assertThat(handler.received(voyageId))
+        .extracting(OutboxEvent::getEventType)
+        .containsExactly(
+            DomainEventType.VOYAGE_STATUS_CHANGED,
+            DomainEventType.VOYAGE_STATUS_CHANGED,
+            DomainEventType.VOYAGE_BOOKING_CLOSED);
+    assertThat(handler.received(voyageId).get(1).getPayload())
+        .contains("\"from\":\"IN_PROGRESS\"")
+        .contains("\"to\":\"COMPLETED\"");
+    assertThat(pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("an event rolled back with its transaction is never written")
+  void rolledBackEventIsDiscarded() {
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              outboxService.publish(
+                  DomainEventType.VOYAGE_STATUS_CHANGED, voyageId, Map.of("voyageId", voyageId));
+              status.setRollbackOnly();
+            });
+
+    assertThat(pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("a failing event is retried later and holds back the rest of its aggregate")
+  void failedEventIsRetriedAndBlocksItsAggregate() {
+    handler.failFor(voyageId);
+    voyageService.updateStatus(VoyageStatus.IN_PROGRESS, voyageId);
+    voyageService.updateStatus(VoyageStatus.COMPLETED, voyageId);
+
+    LocalDateTime now = LocalDateTime.now();
+    relay.relayPending(now);
+
+    assertThat(handler.received(voyageId)).isEmpty();
+    assertThat(pending()).isEqualTo(2);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_event WHERE aggregate_id = ? ORDER BY id LIMIT 1",
+                Integer.class,
+                voyageId))
+        .isEqualTo(1);
+
+    handler.recover(voyageId);
+    relay.relayPending(now);
+    assertThat(handler.received(voyageId)).as("retry not due yet").isEmpty();
+
+    relay.relayPending(now.plusMinutes(1));
+    assertThat(handler.received(voyageId))
+        .extracting(OutboxEvent::getPayload)
+        .satisfiesExactly(
+            first -> assertThat(first).contains("\"to\":\"IN_PROGRESS\""),
+            second -> assertThat(second).contains("\"to\":\"COMPLETED\""));
+    assertThat(pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("an event that fails max-attempts times is parked and its successors flow again")
+  void poisonEventIsParked() {
+    handler.failFor(voyageId);
+    voyageService.updateStatus(VoyageStatus.IN_PROGRESS, voyageId);
+    voyageService.updateStatus(VoyageStatus.COMPLETED, voyageId);
+
+    LocalDateTime now = LocalDateTime.now();
+    for (int attempt = 0; attempt < 3; attempt++) {
+      relay.relayPending(now.plusMinutes(attempt));
+    }
+    assertThat(
+            jdbcTemplate.queryForList(
+                "SELECT status FROM outbox_event WHERE aggregate_id = ? ORDER BY id",
+                String.class,
+                voyageId))
+        .containsExactly("FAILED", "PENDING");
+
+    // only the parked event was poison
+    handler.recover(voyageId);
+    relay.relayPending(now.plusMinutes(3));
+    assertThat(handler.received(voyageId))
+        .extracting(OutboxEvent::getPayload)
+        .singleElement()
+        .satisfies(payload -> assertThat(payload).contains("\"to\":\"COMPLETED\""));
+    assertThat(pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("a handler that overruns its event timeout fails that event, not the batch")
+  void slowHandlerTimesOutOnItsOwnEvent() {
+    Long otherVoyageId = -voyageId;
+    handler.slowFor(voyageId);
+    voyageService.updateStatus(VoyageStatus.IN_PROGRESS, voyageId);
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status ->
+                outboxService.publish(
+                    DomainEventType.VOYAGE_BOOKING_CLOSED,
+                    otherVoyageId,
+                    Map.of("voyageId", otherVoyageId)));
+
+    relay.relayPending(LocalDateTime.now());
+
+    assertThat(handler.received(voyageId)).isEmpty();
+    assertThat(pending()).isEqualTo(1);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT last_error FROM outbox_event WHERE aggregate_id = ? AND event_type = ?",
+                String.class,
+                voyageId,
+                DomainEventType.VOYAGE_STATUS_CHANGED.name()))
+        .contains("TransactionTimedOutException");
+    assertThat(handler.received(otherVoyageId)).hasSize(1);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT published_at FROM outbox_event WHERE aggregate_id = ?",
+                LocalDateTime.class,
+                otherVoyageId))
+        .as("delivered in the same batch")
+        .isNotNull();
+  }
+
+  @Test
+  @DisplayName("discounts applied to one order at once are chained and announced in commit order")
+  void concurrentDiscountsAreSerialized() throws Exception {
+    Long orderId = book();
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<CompletableFuture<Void>> discounts =
+        IntStream.of(10, 20)
+            .mapToObj(
+                percent ->
+                    CompletableFuture.runAsync(
+                        () -> {
+                          try {
+                            start.await();
+                          } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                          }
+                          fixture.discount(orderId, percent);
+                        }))
+            .toList();
+    start.countDown();
+    discounts.forEach(CompletableFuture::join);
+
+    List<JsonNode> events =
+        jdbcTemplate.query(
+            "SELECT payload FROM outbox_event WHERE aggregate_type = 'FREIGHT_ORDER'"
+                + " AND aggregate_id = ? AND event_type = ? ORDER BY id",
+            (rs, rowNum) -> readTree(rs.getString("payload")),
+            orderId,
+            DomainEventType.ORDER_DISCOUNT_UPDATED.name());
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).get("previousFinalPrice").decimalValue()).isEqualByComparingTo("1000");
+    assertThat(events.get(1).get("previousFinalPrice").decimalValue())
+        .as("starts from the price the first discount left")
+        .isEqualByComparingTo(events.get(0).get("finalPrice").decimalValue());
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT final_price FROM freight_orders WHERE id = ?", BigDecimal.class, orderId))
+        .isEqualByComparingTo(events.get(1).get("finalPrice").decimalValue());
+  }
+
+  private Long book() {
+    fixture.price(voyage, ContainerSize.TWENTY_FOOT, 1000);
+    return fixture.book(
+        voyage, fixture.agent("Outbox"), fixture.customer("Outbox"), ContainerSize.TWENTY_FOOT);
+  }
+
+  private JsonNode readTree(String json) {
+    try {
+      return objectMapper.readTree(json);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private int pending() {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM outbox_event WHERE aggregate_id = ? AND status = 'PENDING'",
+        Integer.class,
+        voyageId);
+  }
+
+  @TestConfiguration
+  static class HandlerConfig {
+
+    @Bean
+    RecordingHandler recordingHandler(JdbcTemplate jdbcTemplate) {
+      return new RecordingHandler(jdbcTemplate);
+    }
+  }
+
+  /** Records voyage events and fails or stalls on request, as a flaky downstream would. */
+  static class RecordingHandler implements OutboxEventHandler {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<OutboxEvent> events = new CopyOnWriteArrayList<>();
+    private final Set<Long> failing = ConcurrentHashMap.newKeySet();
+    private final Set<Long> slow = ConcurrentHashMap.newKeySet();
+
+    RecordingHandler(JdbcTemplate jdbcTemplate) {
+      this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+      return type.name().startsWith("VOYAGE_");
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+      if (failing.contains(event.getAggregateId())) {
+        throw new IllegalStateException("downstream unavailable");
+      }
+      if (slow.contains(event.getAggregateId())) {
+        try {
+          Thread.sleep(1100);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        // past the event timeout, so this statement fails
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+      }
+      events.add(event);
+    }
+
+    void slowFor(Long aggregateId) {
+      slow.add(aggregateId);
+    }
+
+    void failFor(Long aggregateId) {
+      failing.add(aggregateId);
+    }
+
+    void recover(Long aggregateId) {
+      failing.remove(aggregateId);
+    }
+
+    List<OutboxEvent> received(Long aggregateId) {
+      return events.stream().filter(e -> e.getAggregateId().equals(aggregateId)).toList();
+    }
+  }
+}
@@ -116,7 +116,7 @@ class PriceSuggestionServiceTest {
 
     // Mock voyage
     Voyage voyage = createMockVoyage();
-    when(voyageRepository.findById(voyageId)).thenReturn(Optional.of(voyage));
+    when(voyageRepository.findByIdWithAssociations(voyageId)).thenReturn(Optional.of(voyage));
 
     // Mock historical prices
     VoyagePrice historicalPrice = createMockVoyagePrice();
@@ -182,7 +182,7 @@ class PriceSuggestionServiceTest {
 
     // Mock voyage
     Voyage voyage = createMockVoyage();
-    when(voyageRepository.findById(voyageId)).thenReturn(Optional.of(voyage));
+    when(voyageRepository.findByIdWithAssociations(voyageId)).thenReturn(Optional.of(voyage));
 
     // Mock historical prices
     VoyagePrice historicalPrice = createMockVoyagePrice();
@@ -233,7 +233,7 @@ class PriceSuggestionServiceTest {
 
     // Mock voyage
     Voyage voyage = createMockVoyage();
-    when(voyageRepository.findById(voyageId)).thenReturn(Optional.of(voyage));
+    when(voyageRepository.findByIdWithAssociations(voyageId)).thenReturn(Optional.of(voyage));
 
     // Mock historical prices
     VoyagePrice historicalPrice = createMockVoyagePrice();
@@ -0,0 +1,87 @@
+package com.shipping.freightops.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.config.TrackingPartitionProperties;
+import com.shipping.freightops.enums.PartitionRetentionAction;
+import com.shipping.freightops.support.PostgresIntegrationTest;
+import java.time.YearMonth;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** Partition maintenance against the partitioned {@code tracking_event} table on PostgreSQL. */
+class TrackingEventPartitionManagerTest extends PostgresIntegrationTest {
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private DataSource dataSource;
+
+  @AfterEach
+  void cleanUp() {
+    for (int month = 1; month <= 4; month++) {
+      jdbcTemplate.execute("DROP TABLE IF EXISTS tracking_event_p19990" + month);
+    }
+  }
+
+  @Test
+  @DisplayName("creates the current month plus months-ahead, once")
+  void ensurePartitions_createsMissingMonthsOnly() {
+    TrackingEventPartitionManager manager = manager(PartitionRetentionAction.DETACH);
+
+    List<String> created = manager.ensurePartitions(YearMonth.of(1999, 1));
+
+    assertThat(created)
+        .containsExactly(
+            "tracking_event_p199901",
+            "tracking_event_p199902",
+            "tracking_event_p199903",
+            "tracking_event_p199904");
+    assertThat(manager.attachedPartitions()).containsAll(created);
+    assertThat(manager.ensurePartitions(YearMonth.of(1999, 1))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("DETACH keeps expired partitions as standalone tables")
+  void applyRetention_detach() {
+    TrackingEventPartitionManager manager = manager(PartitionRetentionAction.DETACH);
+    manager.ensurePartitions(YearMonth.of(1999, 1));
+
+    // 24 months before 2001-03 is 1999-03: January and February expire
+    List<String> expired = manager.applyRetention(YearMonth.of(2001, 3));
+
+    assertThat(expired).containsExactly("tracking_event_p199901", "tracking_event_p199902");
+    assertThat(manager.attachedPartitions())
+        .doesNotContain("tracking_event_p199901", "tracking_event_p199902")
+        .contains("tracking_event_p199903", "tracking_event_p199904");
+    assertThat(tableExists("tracking_event_p199901")).isTrue();
+  }
+
+  @Test
+  @DisplayName("DROP removes expired partitions")
+  void applyRetention_drop() {
+    TrackingEventPartitionManager manager = manager(PartitionRetentionAction.DROP);
+    manager.ensurePartitions(YearMonth.of(1999, 1));
+
+    manager.applyRetention(YearMonth.of(2001, 3));
+
+    assertThat(tableExists("tracking_event_p199901")).isFalse();
+    assertThat(tableExists("tracking_event_p199903")).isTrue();
+  }
+
+  private TrackingEventPartitionManager manager(PartitionRetentionAction action) {
+    TrackingPartitionProperties properties = new TrackingPartitionProperties();
+    properties.setMonthsAhead(3);
+    properties.setRetentionMonths(24);
+    properties.setRetentionAction(action);
+    return new TrackingEventPartitionManager(jdbcTemplate, dataSource, properties);
+  }
+
+  private boolean tableExists(String name) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+  }
+}
@@ -0,0 +1,132 @@
+package com.shipping.freightops.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.dto.CreateVoyageCostRequest;
+import com.shipping.freightops.dto.VoyagePnlReconciliationResponse;
+import com.shipping.freightops.dto.VoyagePnlResponse;
+import com.shipping.freightops.entity.Agent;
+import com.shipping.freightops.entity.Customer;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.support.BookingFixture;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+@Import(BookingFixture.class)
+class VoyagePnlServiceTest {
+
+  @Autowired private VoyagePnlService pnlService;
+  @Autowired private VoyageService voyageService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private BookingFixture fixture;
+
+  private Voyage voyage;
+  private Long voyageId;
+  private Agent agent;
+  private Customer customer;
+
+  @BeforeEach
+  void setUp() {
+    // saved around VoyageService, so the voyage starts without a P&L row
+    voyage = fixture.voyage("Pnl");
+    voyageId = voyage.getId();
+    fixture.price(voyage, ContainerSize.TWENTY_FOOT, 1000);
+    fixture.price(voyage, ContainerSize.FORTY_FOOT, 1800);
+    agent = fixture.agent("Pnl");
+    customer = fixture.customer("Pnl");
+  }
+
+  @Test
+  @DisplayName("bookings, discounts and costs keep the running P&L equal to a recomputation")
+  void writesKeepRunningPnlCurrent() {
+    Long first = book(ContainerSize.TWENTY_FOOT);
+    book(ContainerSize.FORTY_FOOT);
+    fixture.discount(first, 10);
+    addCost(500);
+
+    VoyagePnlResponse pnl = pnlService.getPnl(voyageId);
+    assertThat(pnl.getOrderCount()).isEqualTo(2);
+    assertThat(pnl.getBookedTeu()).isEqualTo(3);
+    assertThat(pnl.getRevenueUsd()).isEqualByComparingTo("2700.00");
+    assertThat(pnl.getCostsUsd()).isEqualByComparingTo("500.00");
+    assertThat(pnl.getMarginUsd()).isEqualByComparingTo("2200.00");
+    assertThat(pnl.getMarginPercent()).isEqualByComparingTo("81.48");
+
+    VoyagePnlReconciliationResponse reconciliation = pnlService.reconcile(voyageId);
+    assertThat(reconciliation.isConsistent()).isTrue();
+    assertThat(reconciliation.getRecomputed().getRevenueUsd()).isEqualByComparingTo("2700.00");
+  }
+
+  @Test
+  @DisplayName("reconciling overwrites drifted figures with the recomputation and counts the drift")
+  void reconcileRepairsDrift() {
+    book(ContainerSize.TWENTY_FOOT);
+    jdbcTemplate.update(
+        "UPDATE voyage_pnl SET revenue_usd = 1, order_count = 7 WHERE voyage_id = ?", voyageId);
+    double drifted = meterRegistry.counter(VoyagePnlService.DRIFT_METRIC).count();
+
+    VoyagePnlReconciliationResponse reconciliation = pnlService.reconcile(voyageId);
+
+    assertThat(reconciliation.isConsistent()).isFalse();
+    assertThat(reconciliation.getRecorded().getOrderCount()).isEqualTo(7);
+    assertThat(meterRegistry.counter(VoyagePnlService.DRIFT_METRIC).count()).isEqualTo(drifted + 1);
+    VoyagePnlResponse pnl = pnlService.getPnl(voyageId);
+    assertThat(pnl.getOrderCount()).isEqualTo(1);
+    assertThat(pnl.getRevenueUsd()).isEqualByComparingTo("1000.00");
+  }
+
+  @Test
+  @DisplayName("discounts applied to one order at once move the revenue once each")
+  void concurrentDiscountsKeepRevenueExact() {
+    Long orderId = book(ContainerSize.TWENTY_FOOT);
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<CompletableFuture<Void>> discounts =
+        IntStream.of(10, 20)
+            .mapToObj(
+                percent ->
+                    CompletableFuture.runAsync(
+                        () -> {
+                          try {
+                            start.await();
+                          } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                          }
+                          fixture.discount(orderId, percent);
+                        }))
+            .toList();
+    start.countDown();
+    discounts.forEach(CompletableFuture::join);
+
+    BigDecimal finalPrice =
+        jdbcTemplate.queryForObject(
+            "SELECT final_price FROM freight_orders WHERE id = ?", BigDecimal.class, orderId);
+    assertThat(pnlService.getPnl(voyageId).getRevenueUsd()).isEqualByComparingTo(finalPrice);
+    assertThat(pnlService.reconcile(voyageId).isConsistent()).isTrue();
+  }
+
+  private Long book(ContainerSize size) {
+    return fixture.book(voyage, agent, customer, size);
+  }
+
+  private void addCost(int usd) {
+    CreateVoyageCostRequest request = new CreateVoyageCostRequest();
+    request.setDescription("Bunkers");
+    request.setAmountUsd(BigDecimal.valueOf(usd));
+    voyageService.addVoyageCost(voyageId, request);
+  }
+}
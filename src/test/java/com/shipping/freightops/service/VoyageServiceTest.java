@@ -0,0 +1,91 @@
+package com.shipping.freightops.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shipping.freightops.entity.VesselOwner;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.enums.DomainEventType;
+import com.shipping.freightops.enums.LedgerEntryType;
+import com.shipping.freightops.enums.VoyageStatus;
+import com.shipping.freightops.repository.VesselOwnerRepository;
+import com.shipping.freightops.support.BookingFixture;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest
+@Import(BookingFixture.class)
+class VoyageServiceTest {
+
+  @Autowired private VoyageService voyageService;
+  @Autowired private BookingFixture fixture;
+  @Autowired private VesselOwnerRepository vesselOwnerRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Long voyageId;
+
+  @BeforeEach
+  void setUp() {
+    Voyage voyage = fixture.voyage("Completion");
+    voyageId = voyage.getId();
+    VesselOwner owner = new VesselOwner();
+    owner.setVessel(voyage.getVessel());
+    owner.setOwnerName("Completion Owner");
+    owner.setOwnerEmail("completion@owners.com");
+    owner.setSharePercent(new BigDecimal("100.00"));
+    vesselOwnerRepository.save(owner);
+  }
+
+  @Test
+  @DisplayName("a voyage completed twice at once is snapshotted, credited and announced once")
+  void concurrentCompletionAppliesOnce() {
+    voyageService.updateStatus(VoyageStatus.IN_PROGRESS, voyageId);
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<CompletableFuture<Void>> completions =
+        IntStream.range(0, 2)
+            .mapToObj(
+                i ->
+                    CompletableFuture.runAsync(
+                        () -> {
+                          try {
+                            start.await();
+                          } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                          }
+                          voyageService.updateStatus(VoyageStatus.COMPLETED, voyageId);
+                        }))
+            .toList();
+    start.countDown();
+    completions.forEach(CompletableFuture::join);
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_event WHERE aggregate_id = ? AND event_type = ?"
+                    + " AND payload LIKE '%\"to\":\"COMPLETED\"%'",
+                Integer.class, voyageId, DomainEventType.VOYAGE_STATUS_CHANGED.name()))
+        .isEqualTo(1);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM voyage_financial_snapshot WHERE voyage_id = ?",
+                Integer.class,
+                voyageId))
+        .isEqualTo(1);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM vessel_owner_ledger WHERE voyage_id = ? AND entry_type = ?",
+                Integer.class,
+                voyageId,
+                LedgerEntryType.COMPLETION.name()))
+        .isEqualTo(1);
+  }
+}
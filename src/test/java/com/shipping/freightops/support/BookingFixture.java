@@ -0,0 +1,144 @@
+package com.shipping.freightops.support;
+
+import com.shipping.freightops.dto.CreateFreightOrderRequest;
+import com.shipping.freightops.dto.UpdateDiscountRequest;
+import com.shipping.freightops.entity.Agent;
+import com.shipping.freightops.entity.Container;
+import com.shipping.freightops.entity.Customer;
+import com.shipping.freightops.entity.Port;
+import com.shipping.freightops.entity.Vessel;
+import com.shipping.freightops.entity.Voyage;
+import com.shipping.freightops.entity.VoyagePrice;
+import com.shipping.freightops.enums.AgentType;
+import com.shipping.freightops.enums.ContainerSize;
+import com.shipping.freightops.enums.ContainerType;
+import com.shipping.freightops.repository.AgentRepository;
+import com.shipping.freightops.repository.ContainerRepository;
+import com.shipping.freightops.repository.CustomerRepository;
+import com.shipping.freightops.repository.PortRepository;
+import com.shipping.freightops.repository.VesselRepository;
+import com.shipping.freightops.repository.VoyagePriceRepository;
+import com.shipping.freightops.repository.VoyageRepository;
+import com.shipping.freightops.service.FreightOrderService;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.test.context.TestComponent;
+
+/**
+ * Saves the voyages, parties and bookings that service tests run against, committed and with unique
+ * codes, so tests that share the database across contexts never collide.
+ *
+ * <pre>{@code
+ * @SpringBootTest
+ * @Import(BookingFixture.class)
+ * class SomeServiceTest {
+ *   @Autowired private BookingFixture fixture;
+ * }
+ * }</pre>
+ *
+ * <p>Voyages are saved through the repository rather than {@code VoyageService}, so they start
+ * without a P&amp;L row or any outbox event.
+ */
+@TestComponent
+public class BookingFixture {
+
+  private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+  private final PortRepository portRepository;
+  private final VesselRepository vesselRepository;
+  private final VoyageRepository voyageRepository;
+  private final VoyagePriceRepository voyagePriceRepository;
+  private final ContainerRepository containerRepository;
+  private final CustomerRepository customerRepository;
+  private final AgentRepository agentRepository;
+  private final FreightOrderService orderService;
+
+  public BookingFixture(
+      PortRepository portRepository,
+      VesselRepository vesselRepository,
+      VoyageRepository voyageRepository,
+      VoyagePriceRepository voyagePriceRepository,
+      ContainerRepository containerRepository,
+      CustomerRepository customerRepository,
+      AgentRepository agentRepository,
+      FreightOrderService orderService) {
+    this.portRepository = portRepository;
+    this.vesselRepository = vesselRepository;
+    this.voyageRepository = voyageRepository;
+    this.voyagePriceRepository = voyagePriceRepository;
+    this.containerRepository = containerRepository;
+    this.customerRepository = customerRepository;
+    this.agentRepository = agentRepository;
+    this.orderService = orderService;
+  }
+
+  /** A 1000 TEU voyage open for booking, departing in three days between two new ports. */
+  public Voyage voyage(String label) {
+    String code = next(3);
+    Port departure = portRepository.save(new Port("ZX" + code, label + " A", label + "land"));
+    Port arrival = portRepository.save(new Port("ZY" + code, label + " B", label + "land"));
+    Vessel vessel = vesselRepository.save(new Vessel("MV " + label, "8880" + code, 1000));
+
+    Voyage voyage = new Voyage();
+    voyage.setVoyageNumber("VOY-FX-" + code);
+    voyage.setVessel(vessel);
+    voyage.setDeparturePort(departure);
+    voyage.setArrivalPort(arrival);
+    voyage.setDepartureTime(LocalDateTime.now().plusDays(3));
+    voyage.setArrivalTime(LocalDateTime.now().plusDays(10));
+    voyage.setMaxCapacityTeu(1000);
+    voyage.setBookingOpen(true);
+    return voyageRepository.save(voyage);
+  }
+
+  /** Prices {@code size} containers on {@code voyage} at {@code usd}. */
+  public void price(Voyage voyage, ContainerSize size, int usd) {
+    VoyagePrice price = new VoyagePrice();
+    price.setVoyage(voyage);
+    price.setContainerSize(size);
+    price.setBasePriceUsd(BigDecimal.valueOf(usd));
+    voyagePriceRepository.save(price);
+  }
+
+  /** An internal agent on a 2% commission. */
+  public Agent agent(String label) {
+    String code = next(6);
+    Agent agent = new Agent();
+    agent.setName(label + " Agent " + code);
+    agent.setEmail(label.toLowerCase() + "-agent-" + code + "@test.com");
+    agent.setCommissionPercent(BigDecimal.TWO);
+    agent.setType(AgentType.INTERNAL);
+    return agentRepository.save(agent);
+  }
+
+  public Customer customer(String label) {
+    return customerRepository.save(
+        new Customer(label + " Co", "Contact", label.toLowerCase() + "-" + next(6) + "@test.com"));
+  }
+
+  /** Books a new dry container of {@code size} on {@code voyage} and returns the order id. */
+  public Long book(Voyage voyage, Agent agent, Customer customer, ContainerSize size) {
+    Container container =
+        containerRepository.save(new Container("FXEU" + next(7), size, ContainerType.DRY));
+    CreateFreightOrderRequest request = new CreateFreightOrderRequest();
+    request.setVoyageId(voyage.getId());
+    request.setContainerId(container.getId());
+    request.setAgentId(agent.getId());
+    request.setCustomerId(customer.getId());
+    request.setOrderedBy("fixture");
+    return orderService.createOrder(request).getId();
+  }
+
+  public void discount(Long orderId, int percent) {
+    UpdateDiscountRequest request = new UpdateDiscountRequest();
+    request.setDiscountPercent(BigDecimal.valueOf(percent));
+    request.setReason("fixture");
+    orderService.updateDiscount(orderId, request);
+  }
+
+  /** A number unique in the JVM, zero-padded to {@code digits}; port codes only fit three. */
+  private static String next(int digits) {
+    return String.format("%0" + digits + "d", SEQUENCE.incrementAndGet());
+  }
+}
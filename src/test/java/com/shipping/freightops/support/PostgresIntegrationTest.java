@@ -0,0 +1,35 @@
+package com.shipping.freightops.support;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base class for tests that need real PostgreSQL behaviour (plans, partitions, locking). The schema
+ * comes from the Flyway migrations and Hibernate only validates it. One container is shared by
+ * every subclass; the tests are skipped when Docker is not available.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.flyway.enabled=true",
+      "spring.flyway.locations=classpath:db/migration",
+      "spring.flyway.postgresql.transactional-lock=false",
+      "spring.jpa.hibernate.ddl-auto=validate"
+    })
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+  private static final PostgreSQLContainer<?> POSTGRES =
+      new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) {
+    POSTGRES.start();
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+    registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+  }
+}
@@ -0,0 +1,100 @@
+package com.shipping.freightops.support;
+
+import jakarta.persistence.EntityManager;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Asserts how many SQL statements a service call or MockMvc request may issue, and flags the same
+ * SELECT being repeated — the usual signature of an N+1 on a lazy association.
+ *
+ * <pre>{@code
+ * QueryBudget.atMost(2)
+ *     .clearing(entityManager)
+ *     .run(() -> mockMvc.perform(get("/api/v1/voyages")).andExpect(status().isOk()));
+ * }</pre>
+ *
+ * <p>Statements are counted through {@link SqlCapture}: everything executed on the calling thread,
+ * by Hibernate or plain JDBC, counts against the budget. In {@code @Transactional} tests call
+ * {@link #clearing(EntityManager)}: otherwise pending inserts from the set-up are flushed inside
+ * the budget, and entities already in the persistence context are served without any SQL at all.
+ */
+public final class QueryBudget {
+
+  private final int maxStatements;
+  private int maxRepeats = 1;
+  private EntityManager entityManager;
+
+  private QueryBudget(int maxStatements) {
+    this.maxStatements = maxStatements;
+  }
+
+  /** A budget of at most {@code maxStatements} statements. */
+  public static QueryBudget atMost(int maxStatements) {
+    return new QueryBudget(maxStatements);
+  }
+
+  /** Allows an identical SELECT to run up to {@code maxRepeats} times. Default: 1 */
+  public QueryBudget allowingRepeats(int maxRepeats) {
+    this.maxRepeats = maxRepeats;
+    return this;
+  }
+
+  /** Flushes and clears {@code entityManager} before the measured action runs. */
+  public QueryBudget clearing(EntityManager entityManager) {
+    this.entityManager = entityManager;
+    return this;
+  }
+
+  /** Runs {@code action}, fails if it exceeded the budget, and returns its result. */
+  public <T> T run(SqlCapture.Action<T> action) throws Exception {
+    if (entityManager != null) {
+      entityManager.flush();
+      entityManager.clear();
+    }
+    SqlCapture.Captured<T> captured = SqlCapture.call(action);
+    verify(captured.statements());
+    return captured.result();
+  }
+
+  private void verify(List<String> statements) {
+    Map<String, Long> repeated =
+        statements.stream()
+            .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+            .collect(Collectors.groupingBy(sql -> sql, LinkedHashMap::new, Collectors.counting()))
+            .entrySet()
+            .stream()
+            .filter(e -> e.getValue() > maxRepeats)
+            .collect(
+                Collectors.toMap(
+                    Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+
+    if (statements.size() <= maxStatements && repeated.isEmpty()) {
+      return;
+    }
+    StringBuilder message = new StringBuilder();
+    if (statements.size() > maxStatements) {
+      message.append(
+          String.format(
+              "Expected at most %d statements but %d were issued%n",
+              maxStatements, statements.size()));
+    }
+    repeated.forEach(
+        (sql, count) ->
+            message.append(
+                String.format("Repeated %d times (possible N+1): %s%n", count, singleLine(sql))));
+    message.append("Statements:").append(System.lineSeparator());
+    IntStream.range(0, statements.size())
+        .forEach(
+            i -> message.append(String.format("  %d. %s%n", i + 1, singleLine(statements.get(i)))));
+    throw new AssertionError(message.toString());
+  }
+
+  private static String singleLine(String sql) {
+    return sql.replaceAll("\\s+", " ").strip();
+  }
+}
@@ -0,0 +1,202 @@
+package com.shipping.freightops.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Records the SQL executed on the current thread while a capture is active. Statements are seen at
+ * the JDBC level, on every connection of the test context's data sources, so SQL issued by
+ * Hibernate, a {@code JdbcTemplate} or an entity listener is recorded alike. {@link Registration}
+ * wraps the data sources; it is registered for every test context in {@code
+ * src/test/resources/META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports}.
+ *
+ * <p>A JDBC batch is recorded once, as the single round trip it is.
+ */
+public final class SqlCapture {
+
+  private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+  private static final Set<String> EXECUTE =
+      Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+  private static final Set<String> EXECUTE_BATCH = Set.of("executeBatch", "executeLargeBatch");
+
+  private SqlCapture() {}
+
+  /** Work whose statements are captured; may throw, as MockMvc calls do. */
+  @FunctionalInterface
+  public interface Action<T> {
+    T run() throws Exception;
+  }
+
+  /** Result of an action together with the statements it issued. */
+  public record Captured<T>(T result, List<String> statements) {}
+
+  /** Runs {@code action} and returns every statement executed meanwhile, in order. */
+  public static List<String> capture(Runnable action) {
+    try {
+      return call(() -> {
+            action.run();
+            return null;
+          })
+          .statements();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Runs {@code action} and returns its result with the statements it issued, in order. */
+  public static <T> Captured<T> call(Action<T> action) throws Exception {
+    List<String> previous = CAPTURED.get();
+    List<String> statements = new ArrayList<>();
+    CAPTURED.set(statements);
+    try {
+      return new Captured<>(action.run(), statements);
+    } finally {
+      CAPTURED.set(previous);
+    }
+  }
+
+  private static void record(String sql) {
+    List<String> statements = CAPTURED.get();
+    if (statements != null && sql != null) {
+      statements.add(sql);
+    }
+  }
+
+  /** Wraps every {@link DataSource} bean so the statements run on its connections are recorded. */
+  @AutoConfiguration
+  public static class Registration {
+
+    @Bean
+    static BeanPostProcessor sqlCapturePostProcessor() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (bean instanceof DataSource dataSource && !(bean instanceof CapturingDataSource)) {
+            return new CapturingDataSource(dataSource);
+          }
+          return bean;
+        }
+      };
+    }
+  }
+
+  /**
+   * Hands out recording connections. Data sources stacked on one another (a routing proxy over two
+   * pools) each wrap their connections, but a statement is only wrapped once, so it is recorded
+   * once.
+   */
+  private static class CapturingDataSource extends DelegatingDataSource {
+
+    CapturingDataSource(DataSource target) {
+      super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      return wrap(super.getConnection(), Connection.class, new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+      return wrap(
+          super.getConnection(username, password), Connection.class, new ConnectionHandler());
+    }
+  }
+
+  private static <T> T wrap(T target, Class<T> type, Handler handler) {
+    if (Proxy.isProxyClass(target.getClass())
+        && Proxy.getInvocationHandler(target) instanceof Handler) {
+      return target;
+    }
+    handler.target = target;
+    return type.cast(
+        Proxy.newProxyInstance(SqlCapture.class.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+
+  private abstract static class Handler implements InvocationHandler {
+
+    Object target;
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        default:
+          return handle(method, args);
+      }
+    }
+
+    abstract Object handle(Method method, Object[] args) throws Throwable;
+
+    Object forward(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(target, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+
+  private static class ConnectionHandler extends Handler {
+
+    @Override
+    Object handle(Method method, Object[] args) throws Throwable {
+      Object result = forward(method, args);
+      if (result instanceof Statement statement) {
+        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+        @SuppressWarnings("unchecked")
+        Class<Statement> type = (Class<Statement>) method.getReturnType();
+        return wrap(statement, type, new StatementHandler(sql));
+      }
+      return result;
+    }
+  }
+
+  private static class StatementHandler extends Handler {
+
+    /** SQL of a prepared or callable statement; {@code null} for a plain statement. */
+    private final String preparedSql;
+
+    private final List<String> batch = new ArrayList<>();
+
+    StatementHandler(String preparedSql) {
+      this.preparedSql = preparedSql;
+    }
+
+    @Override
+    Object handle(Method method, Object[] args) throws Throwable {
+      String name = method.getName();
+      if (EXECUTE.contains(name)) {
+        record(args != null && args.length > 0 ? (String) args[0] : preparedSql);
+      } else if (EXECUTE_BATCH.contains(name)) {
+        record(preparedSql != null ? preparedSql : String.join(";\n", batch));
+        batch.clear();
+      } else if (name.equals("addBatch") && args != null && args.length == 1) {
+        batch.add((String) args[0]);
+      } else if (name.equals("clearBatch")) {
+        batch.clear();
+      }
+      return forward(method, args);
+    }
+  }
+}
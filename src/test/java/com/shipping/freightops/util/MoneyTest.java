@@ -0,0 +1,83 @@
+package com.shipping.freightops.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/** {@link Money} against the {@code BigDecimal} arithmetic it replaces. */
+class MoneyTest {
+
+  private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+  @Test
+  @DisplayName("percent rounds ties half up, away from zero")
+  void percent_roundsTiesAwayFromZero() {
+    // 0.05 * 50% = 0.025
+    assertThat(Money.ofCents(5).percent(5000)).isEqualTo(Money.ofCents(3));
+    assertThat(Money.ofCents(-5).percent(5000)).isEqualTo(Money.ofCents(-3));
+    assertThat(Money.ofCents(5).percent(4999)).isEqualTo(Money.ofCents(2));
+  }
+
+  @Test
+  @DisplayName("discounted rounds once, not the discount and then the price")
+  void discounted_roundsOnce() {
+    // 0.05 less 50% is 0.025, while 0.05 less round(0.025) would be 0.02
+    assertThat(Money.ofCents(5).discounted(5000)).isEqualTo(Money.ofCents(3));
+    assertThat(Money.ofCents(5).minus(Money.ofCents(5).percent(5000))).isEqualTo(Money.ofCents(2));
+  }
+
+  @Test
+  @DisplayName("owner shares match multiply-then-divide with HALF_UP at two decimals")
+  void percent_matchesBigDecimal() {
+    Random random = new Random(42);
+    for (int i = 0; i < 100_000; i++) {
+      BigDecimal amount = BigDecimal.valueOf(random.nextLong(-10_000_000_000L, 10_000_000_000L), 2);
+      BigDecimal share = BigDecimal.valueOf(random.nextLong(0, 10_001), 2);
+
+      BigDecimal expected = amount.multiply(share).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+
+      assertThat(Money.of(amount).percent(Money.basisPoints(share)).toBigDecimal())
+          .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  @DisplayName("final prices match the discount rounded to four places, then the price to two")
+  void discounted_matchesBigDecimal() {
+    Random random = new Random(7);
+    for (int i = 0; i < 100_000; i++) {
+      BigDecimal basePrice = BigDecimal.valueOf(random.nextLong(1, 100_000_000), 2);
+      // requests are not limited to two decimals
+      BigDecimal discountPercent = BigDecimal.valueOf(random.nextLong(0, 100_001), 3);
+
+      BigDecimal discount = discountPercent.divide(HUNDRED, 4, RoundingMode.HALF_UP);
+      BigDecimal expected =
+          basePrice.multiply(BigDecimal.ONE.subtract(discount)).setScale(2, RoundingMode.HALF_UP);
+
+      assertThat(Money.of(basePrice).discounted(Money.basisPoints(discountPercent)).toBigDecimal())
+          .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  @DisplayName("converts exactly to and from two-decimal amounts")
+  void of_isExact() {
+    assertThat(Money.of(new BigDecimal("1234.5")).toCents()).isEqualTo(123450);
+    assertThat(Money.of(null)).isEqualTo(Money.ZERO);
+    assertThat(Money.ofCents(-1).toBigDecimal()).isEqualTo(new BigDecimal("-0.01"));
+    assertThatThrownBy(() -> Money.of(new BigDecimal("0.001")))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  @DisplayName("overflow throws instead of wrapping")
+  void percent_overflowThrows() {
+    assertThatThrownBy(() -> Money.ofCents(Long.MAX_VALUE / 100).percent(10_000))
+        .isInstanceOf(ArithmeticException.class);
+  }
+}
@@ -0,0 +1,74 @@
+-- Synthetic volume for QueryPlanRegressionTest. Sized so that a missing index
+-- shows up as a sequential scan rather than being hidden by tiny tables.
+-- Executed as a single statement (it contains a DO block).
+
+insert into ports (unlocode, name, country, created_at, updated_at)
+select 'P' || lpad(g::text, 4, '0'), 'Port ' || g, 'Country', now(), now()
+from generate_series(1, 40) g;
+
+insert into vessels (name, imo_number, capacity_teu, created_at, updated_at)
+select 'Vessel ' || g, lpad(g::text, 7, '0'), 5000, now(), now()
+from generate_series(1, 40) g;
+
+insert into agents (name, email, commission_percent, type, active, created_at, updated_at)
+select 'Agent ' || g, 'agent' || g || '@test.com', 5.00, 'INTERNAL', true, now(), now()
+from generate_series(1, 50) g;
+
+insert into customers (company_name, contact_name, email, created_at, updated_at)
+select 'Company ' || g, 'Contact ' || g, 'customer' || g || '@test.com', now(), now()
+from generate_series(1, 2000) g;
+
+insert into containers (container_code, size, type, teu, created_at, updated_at)
+select 'TSTU' || lpad(g::text, 7, '0'),
+       case when g % 2 = 0 then 'FORTY_FOOT' else 'TWENTY_FOOT' end, 'DRY',
+       case when g % 2 = 0 then 2 else 1 end, now(), now()
+from generate_series(1, 100000) g;
+
+insert into voyages (voyage_number, vessel_id, departure_port_id, arrival_port_id,
+                     departure_time, arrival_time, status, max_capacity_teu, booking_open,
+                     created_at, updated_at)
+select 'VOY-' || g,
+       (select min(id) from vessels) + g % 40,
+       (select min(id) from ports) + g % 40,
+       (select min(id) from ports) + (g / 40) % 40,
+       timestamp '2020-01-01' + g * interval '2 hours',
+       timestamp '2020-01-10' + g * interval '2 hours',
+       'PLANNED', 5000, true, now(), now()
+from generate_series(1, 20000) g;
+
+insert into voyage_prices (voyage_id, container_size, base_price_usd, created_at, updated_at)
+select v.id, s.size, 1000, now(), now()
+from voyages v cross join (values ('TWENTY_FOOT'), ('FORTY_FOOT')) s(size);
+
+insert into freight_orders (voyage_id, container_id, agent_id, customer_id, ordered_by, status,
+                            base_price_usd, discount_percent, final_price, created_at, updated_at)
+select (select min(id) from voyages) + g % 20000,
+       (select min(id) from containers) + g % 100000,
+       (select min(id) from agents) + g % 50,
+       (select min(id) from customers) + g % 2000,
+       'ops',
+       (array['PENDING', 'CONFIRMED', 'IN_TRANSIT', 'DELIVERED', 'CANCELLED'])[1 + g % 5],
+       1000, 0, 1000, now(), now()
+from generate_series(1, 300000) g;
+
+-- monthly partitions for the synthetic event range (2020-01 .. 2021-02)
+do $$
+declare
+    part_month date := date '2020-01-01';
+begin
+    while part_month < date '2021-03-01' loop
+        execute format('create table %I partition of tracking_event for values from (%L) to (%L)',
+                       'tracking_event_p' || to_char(part_month, 'YYYYMM'),
+                       part_month, (part_month + interval '1 month')::date);
+        part_month := (part_month + interval '1 month')::date;
+    end loop;
+end $$;
+
+insert into tracking_event (freight_order_id, event_type, description, event_time,
+                            created_at, updated_at)
+select (select min(id) from freight_orders) + g % 300000, 0, 'event',
+       timestamp '2020-01-01' + g * interval '1 minute',
+       timestamp '2020-01-01' + g * interval '1 minute', now()
+from generate_series(1, 600000) g;
+
+analyze;